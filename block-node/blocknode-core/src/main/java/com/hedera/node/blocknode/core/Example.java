@@ -18,11 +18,17 @@ package com.hedera.node.blocknode.core;
 
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.node.blocknode.core.spi.DummyCoreSpi;
+import com.hedera.node.blocknode.filesystem.api.BlockFileSystemApi;
 import com.hedera.node.blocknode.filesystem.api.DummyFileSystemApi;
 import com.hedera.node.blocknode.filesystem.local.LocalFileSystem;
+import com.hedera.node.blocknode.filesystem.s3.ObjectStorageClient;
 import com.hedera.node.blocknode.filesystem.s3.S3FileSystem;
+import com.hedera.node.blocknode.filesystem.s3.S3FileSystemConfig;
 import com.hedera.node.blocknode.grpc.api.DummyGrpcApi;
 import com.hedera.node.blocknode.state.BlockNodeState;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
 
 public interface Example {
 
@@ -38,11 +44,13 @@ public interface Example {
         return new BlockNodeState();
     }
 
-    default DummyFileSystemApi s3FileSystem() {
-        return new S3FileSystem();
+    default BlockFileSystemApi s3FileSystem(
+            ObjectStorageClient client, Path cacheDirectory, S3FileSystemConfig config, Executor executor)
+            throws IOException {
+        return new S3FileSystem(client, cacheDirectory, config, executor);
     }
 
-    default DummyFileSystemApi localFileSystem() {
-        return new LocalFileSystem();
+    default BlockFileSystemApi localFileSystem(Path directory) throws IOException {
+        return new LocalFileSystem(directory);
     }
 }
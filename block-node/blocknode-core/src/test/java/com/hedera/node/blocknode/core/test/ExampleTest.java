@@ -25,7 +25,10 @@ import com.hedera.node.blocknode.core.Example;
 import com.hedera.node.blocknode.core.spi.DummyCoreSpi;
 import com.hedera.node.blocknode.filesystem.api.DummyFileSystemApi;
 import com.hedera.node.blocknode.grpc.api.DummyGrpcApi;
+import java.io.IOException;
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class ExampleTest {
 
@@ -36,7 +39,7 @@ class ExampleTest {
     }
 
     @Test
-    void exampleSpiNullCheck() {
+    void exampleSpiNullCheck(@TempDir final Path directory) throws IOException {
         final Example example = new Example() {
             @Override
             public AccountID accountIdFrom(byte[] bytes) {
@@ -55,7 +58,9 @@ class ExampleTest {
 
             @Override
             public DummyFileSystemApi fileSystemApi() {
-                return localFileSystem();
+                return () -> {
+                    // Do nothing.
+                };
             }
         };
 
@@ -63,13 +68,12 @@ class ExampleTest {
         assertNull(example.spi());
         assertNull(example.grpcApi());
         assertNotNull(example.fileSystemApi());
-        assertNotNull(example.localFileSystem());
-        assertNotNull(example.s3FileSystem());
+        try (final var localFileSystem = example.localFileSystem(directory)) {
+            assertNotNull(localFileSystem);
+        }
         assertNotNull(example.newState());
 
         assertNull(example.newState().applicationState());
         assertDoesNotThrow(example.fileSystemApi()::doSomething);
-        assertDoesNotThrow(example.s3FileSystem()::doSomething);
-        assertDoesNotThrow(example.localFileSystem()::doSomething);
     }
 }
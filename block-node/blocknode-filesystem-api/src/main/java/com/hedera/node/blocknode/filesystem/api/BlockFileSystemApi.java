@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.filesystem.api;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A store of blocks, numbered consecutively, each with the consensus time at which it ended. Blocks are only ever
+ * appended, in order, by a single writer; any number of readers may read them concurrently.
+ */
+public interface BlockFileSystemApi extends Closeable {
+    /**
+     * Appends a block to the store.
+     *
+     * @param blockNumber the number of the block, which must be one more than {@link #latestBlockNumber()} unless the
+     *                    store is empty
+     * @param consensusTime the consensus time of the block, which must not be before that of the latest block
+     * @param contents the contents of the block, from its position to its limit
+     * @throws IllegalArgumentException if the block number or consensus time is out of order
+     * @throws IOException if the block could not be written
+     */
+    void append(long blockNumber, @NonNull Instant consensusTime, @NonNull ByteBuffer contents) throws IOException;
+
+    /**
+     * Gets the number of the first block in the store.
+     *
+     * @return the number of the first block, or -1 if the store is empty
+     */
+    long firstBlockNumber();
+
+    /**
+     * Gets the number of the latest block in the store.
+     *
+     * @return the number of the latest block, or -1 if the store is empty
+     */
+    long latestBlockNumber();
+
+    /**
+     * Gets the number of the first block with a consensus time at or after the given time.
+     *
+     * @param consensusTime the consensus time
+     * @return the number of the block, or -1 if no block is that recent
+     */
+    long blockNumberAt(@NonNull Instant consensusTime);
+
+    /**
+     * Reads a block.
+     *
+     * @param blockNumber the number of the block
+     * @return a read-only buffer with the contents of the block, or null if it is not in the store
+     * @throws IOException if the block could not be read
+     */
+    @Nullable
+    ByteBuffer read(long blockNumber) throws IOException;
+
+    /**
+     * Transfers the contents of a range of blocks, one after the other, to the given channel.
+     *
+     * @param firstBlockNumber the number of the first block to transfer
+     * @param lastBlockNumber the number of the last block to transfer, inclusive
+     * @param target the channel to transfer the blocks to
+     * @return the number of bytes transferred
+     * @throws IllegalArgumentException if any of the blocks is not in the store
+     * @throws IOException if the blocks could not be transferred
+     */
+    long transferTo(long firstBlockNumber, long lastBlockNumber, @NonNull WritableByteChannel target)
+            throws IOException;
+
+    /**
+     * Waits until a block is in the store, to follow the tail of the store without polling it.
+     *
+     * @param blockNumber the number of the block to wait for
+     * @param timeout the maximum time to wait
+     * @return whether the block is in the store
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitBlock(long blockNumber, @NonNull Duration timeout) throws InterruptedException;
+}
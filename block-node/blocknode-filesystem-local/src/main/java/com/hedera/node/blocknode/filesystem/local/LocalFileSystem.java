@@ -16,16 +16,331 @@
 
 package com.hedera.node.blocknode.filesystem.local;
 
-import com.hedera.node.blocknode.core.spi.DummyCoreSpi;
-import com.hedera.node.blocknode.filesystem.api.DummyFileSystemApi;
+import static java.util.Objects.requireNonNull;
 
-public class LocalFileSystem implements DummyFileSystemApi {
+import com.hedera.node.blocknode.filesystem.api.BlockFileSystemApi;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link BlockFileSystemApi} storing blocks in a directory of the local file system. Blocks are appended to
+ * {@link Segment}s of up to a maximum size, each with an index of the number, consensus time, and location of its
+ * blocks; so any block can be found, by number or by consensus time, without reading any other. Reads are served
+ * from memory-mapped segment files, and ranges of blocks are transferred to a channel straight from the file.
+ *
+ * <p>Readers following the tail of the store wait on {@link #awaitBlock(long, Duration)}, which returns as soon as
+ * the block is appended, so they never need to poll.
+ */
+public class LocalFileSystem implements BlockFileSystemApi {
+    /** The default maximum size of a segment */
+    public static final long DEFAULT_SEGMENT_SIZE = 256L * 1024 * 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    /** The segments of the store, in order of their blocks; the last one is the one appended to */
+    private final List<Segment> segments = new ArrayList<>();
+
+    private long firstBlockNumber = -1;
+    private long latestBlockNumber = -1;
+    private Instant latestConsensusTime = Instant.MIN;
+    private boolean closed;
+
+    /**
+     * Opens the store in the given directory, with segments of the default size.
+     *
+     * @param directory the directory of the store, created if it does not exist
+     * @throws IOException if the store could not be opened
+     */
+    public LocalFileSystem(@NonNull final Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the store in the given directory. A segment is sealed, and a new one started, before a block that would
+     * take it past the given size; but a block bigger than that size still gets a segment of its own.
+     *
+     * @param directory the directory of the store, created if it does not exist
+     * @param segmentSize the maximum size of a segment
+     * @throws IOException if the store could not be opened
+     */
+    public LocalFileSystem(@NonNull final Path directory, final long segmentSize) throws IOException {
+        this.directory = requireNonNull(directory, "directory must not be null");
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be positive");
+        }
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        try {
+            load();
+        } catch (final IOException | RuntimeException e) {
+            closeSegments();
+            throw e;
+        }
+    }
+
+    private void load() throws IOException {
+        final List<Long> firstBlockNumbers = new ArrayList<>();
+        try (final var files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(Segment.DATA_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - Segment.DATA_SUFFIX.length())))
+                    .sorted()
+                    .forEach(firstBlockNumbers::add);
+        }
+        for (final var first : firstBlockNumbers) {
+            final var segment = Segment.open(directory, first);
+            if (!segments.isEmpty()) {
+                final var previous = segments.get(segments.size() - 1);
+                if (previous.count() == 0 || first != previous.lastBlockNumber() + 1) {
+                    segment.close();
+                    throw new IOException("Missing blocks before segment " + Segment.fileNameOf(first));
+                }
+                previous.seal();
+            }
+            segments.add(segment);
+            if (segment.count() > 0) {
+                if (firstBlockNumber < 0) {
+                    firstBlockNumber = segment.firstBlockNumber();
+                }
+                latestBlockNumber = segment.lastBlockNumber();
+            }
+        }
+        if (latestBlockNumber >= 0) {
+            latestConsensusTime = segmentOf(latestBlockNumber).consensusTimeOf(latestBlockNumber);
+        }
+    }
+
+    @Override
+    public void append(
+            final long blockNumber, @NonNull final Instant consensusTime, @NonNull final ByteBuffer contents)
+            throws IOException {
+        requireNonNull(consensusTime, "consensusTime must not be null");
+        requireNonNull(contents, "contents must not be null");
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Store is closed");
+            }
+            if (latestBlockNumber >= 0 && blockNumber != latestBlockNumber + 1) {
+                throw new IllegalArgumentException(
+                        "Block " + blockNumber + " does not follow block " + latestBlockNumber);
+            }
+            if (blockNumber < 0) {
+                throw new IllegalArgumentException("Block number must not be negative");
+            }
+            if (consensusTime.isBefore(latestConsensusTime)) {
+                throw new IllegalArgumentException("Block " + blockNumber + " is before the latest block");
+            }
+            var segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment != null
+                    && segment.count() > 0
+                    && segment.size() + contents.remaining() > segmentSize) {
+                segment.seal();
+                segment = null;
+            }
+            if (segment == null || segment.count() == 0 && segment.firstBlockNumber() != blockNumber) {
+                if (segment != null) {
+                    // An empty segment left from a store that never got its first block
+                    segments.remove(segments.size() - 1).close();
+                }
+                segment = Segment.open(directory, blockNumber);
+                segments.add(segment);
+            }
+            segment.append(consensusTime, contents);
+            if (firstBlockNumber < 0) {
+                firstBlockNumber = blockNumber;
+            }
+            latestBlockNumber = blockNumber;
+            latestConsensusTime = consensusTime;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long firstBlockNumber() {
+        lock.lock();
+        try {
+            return firstBlockNumber;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long latestBlockNumber() {
+        lock.lock();
+        try {
+            return latestBlockNumber;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long blockNumberAt(@NonNull final Instant consensusTime) {
+        requireNonNull(consensusTime, "consensusTime must not be null");
+        lock.lock();
+        try {
+            // Find the first segment whose latest block is at or after the time, then the block within it
+            int low = 0;
+            int high = segments.size();
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                final var segment = segments.get(mid);
+                if (segment.count() == 0
+                        || segment.compareConsensusTime(segment.lastBlockNumber(), consensusTime) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == segments.size() ? -1 : segments.get(low).blockNumberAt(consensusTime);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Nullable
     @Override
-    public void doSomething() {
-        final DummyCoreSpi dummyCoreSpi = () -> {
-            // Do nothing.
-        };
+    public ByteBuffer read(final long blockNumber) throws IOException {
+        final Segment segment;
+        final long offset;
+        final int length;
+        lock.lock();
+        try {
+            if (closed || !contains(blockNumber)) {
+                return null;
+            }
+            segment = segmentOf(blockNumber);
+            offset = segment.offsetOf(blockNumber);
+            length = segment.lengthOf(blockNumber);
+        } finally {
+            lock.unlock();
+        }
+        return segment.read(offset, length);
+    }
+
+    @Override
+    public long transferTo(
+            final long firstBlockNumber, final long lastBlockNumber, @NonNull final WritableByteChannel target)
+            throws IOException {
+        requireNonNull(target, "target must not be null");
+        // Each segment holds its blocks one after the other, so the range is one transfer per segment
+        final List<Segment> rangeSegments = new ArrayList<>();
+        final List<long[]> ranges = new ArrayList<>();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Store is closed");
+            }
+            if (firstBlockNumber > lastBlockNumber || !contains(firstBlockNumber) || !contains(lastBlockNumber)) {
+                throw new IllegalArgumentException(
+                        "Blocks " + firstBlockNumber + " to " + lastBlockNumber + " are not in the store");
+            }
+            long blockNumber = firstBlockNumber;
+            while (blockNumber <= lastBlockNumber) {
+                final var segment = segmentOf(blockNumber);
+                final var last = Math.min(lastBlockNumber, segment.lastBlockNumber());
+                final var offset = segment.offsetOf(blockNumber);
+                final var end = segment.offsetOf(last) + segment.lengthOf(last);
+                rangeSegments.add(segment);
+                ranges.add(new long[] {offset, end - offset});
+                blockNumber = last + 1;
+            }
+        } finally {
+            lock.unlock();
+        }
+        long transferred = 0;
+        for (int i = 0; i < rangeSegments.size(); i++) {
+            final var range = ranges.get(i);
+            transferred += rangeSegments.get(i).transferTo(range[0], range[1], target);
+        }
+        return transferred;
+    }
+
+    @Override
+    public boolean awaitBlock(final long blockNumber, @NonNull final Duration timeout) throws InterruptedException {
+        requireNonNull(timeout, "timeout must not be null");
+        var remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (!closed && latestBlockNumber < blockNumber) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = appended.awaitNanos(remaining);
+            }
+            return !closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (!closed) {
+                closed = true;
+                appended.signalAll();
+                closeSegments();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeSegments() throws IOException {
+        IOException failure = null;
+        for (final var segment : segments) {
+            try {
+                segment.close();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        segments.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean contains(final long blockNumber) {
+        return firstBlockNumber >= 0 && blockNumber >= firstBlockNumber && blockNumber <= latestBlockNumber;
+    }
 
-        dummyCoreSpi.doSomething();
+    @NonNull
+    private Segment segmentOf(final long blockNumber) {
+        // The last segment with a first block at or before the block
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).firstBlockNumber() <= blockNumber) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return segments.get(low);
     }
 }
@@ -0,0 +1,326 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.filesystem.local;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * A segment of a {@link LocalFileSystem}: a data file with the contents of consecutive blocks, one after the other,
+ * and an index file with a fixed-size entry per block giving its number, consensus time, and location in the data
+ * file. Blocks are always written to the data file before their index entries, so on opening a segment any block
+ * with no complete index entry, or an index entry past the end of the data file, is discarded.
+ *
+ * <p>Only the latest segment of a store is appended to; once a segment is sealed, its data file is mapped into
+ * memory once and every read is a slice of that mapping.
+ *
+ * <p>The index is kept in memory as primitive arrays. It must only be accessed while holding the lock of the store;
+ * the {@code read} and {@code transferTo} methods may be called without it.
+ */
+final class Segment implements Closeable {
+    static final String DATA_SUFFIX = ".blk";
+    static final String INDEX_SUFFIX = ".idx";
+
+    /** The block number (8), consensus seconds (8), consensus nanos (4), length (4), and offset (8) of a block */
+    private static final int INDEX_ENTRY_BYTES = 32;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final long firstBlockNumber;
+    private final FileChannel data;
+    private final FileChannel index;
+    private final ByteBuffer indexEntry =
+            ByteBuffer.allocate(INDEX_ENTRY_BYTES).order(ByteOrder.BIG_ENDIAN);
+
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private long[] consensusSeconds = new long[INITIAL_CAPACITY];
+    private int[] consensusNanos = new int[INITIAL_CAPACITY];
+    private int count;
+    private long size;
+    /** The mapping of the whole data file, once the segment is sealed */
+    private volatile MappedByteBuffer mapped;
+
+    private Segment(final long firstBlockNumber, @NonNull final FileChannel data, @NonNull final FileChannel index) {
+        this.firstBlockNumber = firstBlockNumber;
+        this.data = data;
+        this.index = index;
+    }
+
+    /**
+     * Opens the segment starting at the given block in the given directory, creating its files if they do not exist
+     * and discarding any block that was not completely written.
+     *
+     * @param directory the directory of the store
+     * @param firstBlockNumber the number of the first block of the segment
+     * @return the segment
+     * @throws IOException if the files of the segment could not be opened or are corrupt
+     */
+    @NonNull
+    static Segment open(@NonNull final Path directory, final long firstBlockNumber) throws IOException {
+        final var name = fileNameOf(firstBlockNumber);
+        final var data = FileChannel.open(
+                directory.resolve(name + DATA_SUFFIX),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        final FileChannel index;
+        try {
+            index = FileChannel.open(
+                    directory.resolve(name + INDEX_SUFFIX),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (final IOException e) {
+            data.close();
+            throw e;
+        }
+        final var segment = new Segment(firstBlockNumber, data, index);
+        try {
+            segment.recover();
+        } catch (final IOException e) {
+            segment.close();
+            throw e;
+        }
+        return segment;
+    }
+
+    /**
+     * Gets the name, without suffix, of the files of the segment starting at the given block. Names are zero-padded
+     * so that they sort in the order of their blocks.
+     */
+    @NonNull
+    static String fileNameOf(final long firstBlockNumber) {
+        return String.format("%019d", firstBlockNumber);
+    }
+
+    private void recover() throws IOException {
+        final var dataSize = data.size();
+        final var entries = index.size() / INDEX_ENTRY_BYTES;
+        long position = 0;
+        for (long i = 0; i < entries; i++) {
+            indexEntry.clear();
+            readFully(index, indexEntry, i * INDEX_ENTRY_BYTES);
+            indexEntry.flip();
+            final var blockNumber = indexEntry.getLong();
+            final var seconds = indexEntry.getLong();
+            final var nanos = indexEntry.getInt();
+            final var length = indexEntry.getInt();
+            final var offset = indexEntry.getLong();
+            if (blockNumber != firstBlockNumber + i || offset != position || length < 0) {
+                throw new IOException("Corrupt index entry for block " + (firstBlockNumber + i) + " in segment "
+                        + fileNameOf(firstBlockNumber));
+            }
+            if (offset + length > dataSize) {
+                break;
+            }
+            add(offset, length, seconds, nanos);
+            position = offset + length;
+        }
+        // Discard whatever was written after the last complete block
+        index.truncate((long) count * INDEX_ENTRY_BYTES);
+        data.truncate(size);
+    }
+
+    /**
+     * Appends a block to the data file, then its entry to the index file, forcing both to storage.
+     *
+     * @param consensusTime the consensus time of the block
+     * @param contents the contents of the block
+     * @throws IOException if the block could not be written
+     */
+    void append(@NonNull final Instant consensusTime, @NonNull final ByteBuffer contents) throws IOException {
+        final var length = contents.remaining();
+        final var offset = size;
+        long position = offset;
+        while (contents.hasRemaining()) {
+            position += data.write(contents, position);
+        }
+        data.force(false);
+
+        indexEntry.clear();
+        indexEntry
+                .putLong(firstBlockNumber + count)
+                .putLong(consensusTime.getEpochSecond())
+                .putInt(consensusTime.getNano())
+                .putInt(length)
+                .putLong(offset)
+                .flip();
+        long indexPosition = (long) count * INDEX_ENTRY_BYTES;
+        while (indexEntry.hasRemaining()) {
+            indexPosition += index.write(indexEntry, indexPosition);
+        }
+        index.force(false);
+
+        add(offset, length, consensusTime.getEpochSecond(), consensusTime.getNano());
+    }
+
+    /**
+     * Seals the segment, after which nothing more is appended to it, and maps its data file into memory.
+     *
+     * @throws IOException if the data file could not be mapped
+     */
+    void seal() throws IOException {
+        // A buffer cannot map more than 2GB, in which case every read maps just its own block
+        if (size <= Integer.MAX_VALUE) {
+            mapped = data.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    long firstBlockNumber() {
+        return firstBlockNumber;
+    }
+
+    long lastBlockNumber() {
+        return firstBlockNumber + count - 1;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long offsetOf(final long blockNumber) {
+        return offsets[indexOf(blockNumber)];
+    }
+
+    int lengthOf(final long blockNumber) {
+        return lengths[indexOf(blockNumber)];
+    }
+
+    @NonNull
+    Instant consensusTimeOf(final long blockNumber) {
+        final var i = indexOf(blockNumber);
+        return Instant.ofEpochSecond(consensusSeconds[i], consensusNanos[i]);
+    }
+
+    /**
+     * Compares the consensus time of a block of this segment with the given time.
+     *
+     * @return a negative number, zero, or a positive number as the block is before, at, or after the given time
+     */
+    int compareConsensusTime(final long blockNumber, @NonNull final Instant consensusTime) {
+        final var i = indexOf(blockNumber);
+        final var bySeconds = Long.compare(consensusSeconds[i], consensusTime.getEpochSecond());
+        return bySeconds != 0 ? bySeconds : Integer.compare(consensusNanos[i], consensusTime.getNano());
+    }
+
+    /**
+     * Gets the number of the first block of this segment at or after the given consensus time.
+     *
+     * @return the number of the block, or one more than {@link #lastBlockNumber()} if there is none
+     */
+    long blockNumberAt(@NonNull final Instant consensusTime) {
+        long low = firstBlockNumber;
+        long high = lastBlockNumber() + 1;
+        while (low < high) {
+            final long mid = (low + high) >>> 1;
+            if (compareConsensusTime(mid, consensusTime) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Reads a range of the data file, from the mapping of the whole file if the segment is sealed, or by mapping just
+     * that range otherwise.
+     */
+    @NonNull
+    ByteBuffer read(final long offset, final int length) throws IOException {
+        final var wholeFile = mapped;
+        if (wholeFile != null) {
+            return wholeFile.slice((int) offset, length);
+        }
+        return data.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    /**
+     * Transfers a range of the data file to the given channel, without copying it through the Java heap where the
+     * operating system supports it.
+     */
+    long transferTo(final long offset, final long length, @NonNull final WritableByteChannel target)
+            throws IOException {
+        long transferred = 0;
+        while (transferred < length) {
+            final var n = data.transferTo(offset + transferred, length - transferred, target);
+            if (n <= 0) {
+                throw new IOException("Could not transfer blocks of segment " + fileNameOf(firstBlockNumber));
+            }
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mapped = null;
+        try {
+            data.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    private int indexOf(final long blockNumber) {
+        return Math.toIntExact(blockNumber - firstBlockNumber);
+    }
+
+    private void add(final long offset, final int length, final long seconds, final int nanos) {
+        if (count == offsets.length) {
+            final var capacity = count * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            consensusSeconds = Arrays.copyOf(consensusSeconds, capacity);
+            consensusNanos = Arrays.copyOf(consensusNanos, capacity);
+        }
+        offsets[count] = offset;
+        lengths[count] = length;
+        consensusSeconds[count] = seconds;
+        consensusNanos[count] = nanos;
+        count++;
+        size = offset + length;
+    }
+
+    private static void readFully(
+            @NonNull final FileChannel channel, @NonNull final ByteBuffer buffer, final long position)
+            throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            final var n = channel.read(buffer, at);
+            if (n < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            at += n;
+        }
+    }
+}
@@ -16,25 +16,175 @@
 
 package com.hedera.node.blocknode.filesystem.local.test;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.hedera.node.blocknode.filesystem.local.LocalFileSystem;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class LocalFileSystemTest {
+    private static final Instant START = Instant.ofEpochSecond(1_700_000_000L);
+    /** Small enough that every few blocks start a new segment */
+    private static final long SEGMENT_SIZE = 64;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void readsBlocksAcrossSegments() throws IOException {
+        try (final var store = new LocalFileSystem(directory, SEGMENT_SIZE)) {
+            assertEquals(-1, store.firstBlockNumber());
+            assertEquals(-1, store.latestBlockNumber());
+
+            appendBlocks(store, 10, 30);
+
+            assertEquals(10, store.firstBlockNumber());
+            assertEquals(39, store.latestBlockNumber());
+            for (long n = 10; n < 40; n++) {
+                assertArrayEquals(contentsOf(n), bytesOf(store.read(n)));
+            }
+            assertNull(store.read(9));
+            assertNull(store.read(40));
+        }
+        try (final var files = Files.list(directory)) {
+            assertTrue(files.count() > 2);
+        }
+    }
+
+    @Test
+    void findsBlocksByConsensusTime() throws IOException {
+        try (final var store = new LocalFileSystem(directory, SEGMENT_SIZE)) {
+            appendBlocks(store, 0, 20);
+
+            assertEquals(0, store.blockNumberAt(START.minusSeconds(1)));
+            assertEquals(0, store.blockNumberAt(START));
+            assertEquals(7, store.blockNumberAt(START.plusSeconds(6).plusNanos(1)));
+            assertEquals(19, store.blockNumberAt(consensusTimeOf(19)));
+            assertEquals(-1, store.blockNumberAt(consensusTimeOf(19).plusNanos(1)));
+        }
+    }
+
+    @Test
+    void transfersRangesAcrossSegments() throws IOException {
+        try (final var store = new LocalFileSystem(directory, SEGMENT_SIZE)) {
+            appendBlocks(store, 0, 20);
+
+            final var out = new ByteArrayOutputStream();
+            final var transferred = store.transferTo(3, 17, Channels.newChannel(out));
+
+            final var expected = new ByteArrayOutputStream();
+            for (long n = 3; n <= 17; n++) {
+                expected.write(contentsOf(n));
+            }
+            assertEquals(expected.size(), transferred);
+            assertArrayEquals(expected.toByteArray(), out.toByteArray());
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> store.transferTo(15, 20, Channels.newChannel(new ByteArrayOutputStream())));
+        }
+    }
+
+    @Test
+    void rejectsBlocksOutOfOrder() throws IOException {
+        try (final var store = new LocalFileSystem(directory, SEGMENT_SIZE)) {
+            appendBlocks(store, 5, 2);
+
+            assertThrows(IllegalArgumentException.class, () -> append(store, 8, consensusTimeOf(8)));
+            assertThrows(IllegalArgumentException.class, () -> append(store, 7, START));
+            assertEquals(6, store.latestBlockNumber());
+        }
+    }
 
     @Test
-    void localFileSystemNullCheck() {
-        final LocalFileSystem localFileSystem = null;
-        assertNull(localFileSystem);
+    void reopensAndDiscardsPartiallyWrittenBlocks() throws IOException {
+        try (final var store = new LocalFileSystem(directory, SEGMENT_SIZE)) {
+            appendBlocks(store, 0, 10);
+        }
+        // Emulate a crash after writing the data of a block, but before writing its index entry
+        final Path latestData;
+        try (final var files = Files.list(directory)) {
+            latestData = files.filter(file -> file.toString().endsWith(".blk"))
+                    .sorted()
+                    .reduce((a, b) -> b)
+                    .orElseThrow();
+        }
+        Files.write(latestData, contentsOf(10), StandardOpenOption.APPEND);
+
+        try (final var store = new LocalFileSystem(directory, SEGMENT_SIZE)) {
+            assertEquals(0, store.firstBlockNumber());
+            assertEquals(9, store.latestBlockNumber());
+            assertEquals(9, store.blockNumberAt(consensusTimeOf(9)));
+
+            appendBlocks(store, 10, 5);
+
+            for (long n = 0; n < 15; n++) {
+                assertArrayEquals(contentsOf(n), bytesOf(store.read(n)));
+            }
+        }
     }
 
     @Test
-    void localFileSystemDoSomethingCheck() {
-        final LocalFileSystem localFileSystem = new LocalFileSystem();
-        assertNotNull(localFileSystem);
-        assertDoesNotThrow(localFileSystem::doSomething);
+    void awaitBlockReturnsOnceBlockIsAppended() throws Exception {
+        try (final var store = new LocalFileSystem(directory, SEGMENT_SIZE)) {
+            appendBlocks(store, 0, 1);
+            assertTrue(store.awaitBlock(0, Duration.ZERO));
+            assertFalse(store.awaitBlock(1, Duration.ofMillis(10)));
+
+            final var waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return store.awaitBlock(1, Duration.ofMinutes(1));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            appendBlocks(store, 1, 1);
+
+            assertTrue(waiting.get(1, TimeUnit.MINUTES));
+        }
+    }
+
+    private static void appendBlocks(final LocalFileSystem store, final long first, final int count)
+            throws IOException {
+        for (long n = first; n < first + count; n++) {
+            append(store, n, consensusTimeOf(n));
+        }
+    }
+
+    private static void append(final LocalFileSystem store, final long blockNumber, final Instant consensusTime)
+            throws IOException {
+        store.append(blockNumber, consensusTime, ByteBuffer.wrap(contentsOf(blockNumber)));
+    }
+
+    private static Instant consensusTimeOf(final long blockNumber) {
+        return START.plusSeconds(blockNumber);
+    }
+
+    private static byte[] contentsOf(final long blockNumber) {
+        return ("block " + blockNumber + " " + "x".repeat((int) (blockNumber % 7)))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytesOf(final ByteBuffer buffer) {
+        final var bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
     }
 }
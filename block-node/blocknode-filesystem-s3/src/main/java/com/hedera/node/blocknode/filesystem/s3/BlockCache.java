@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.filesystem.s3;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of blocks on local disk, in front of the object store of an {@link S3FileSystem}, evicting the least
+ * recently used blocks once it holds more than a maximum number of bytes. Each block is a file, written to a temporary
+ * file first and then moved into place, so a block in the cache is always complete. Blocks are read by mapping their
+ * files, and a mapping stays valid even if its block is evicted afterwards.
+ */
+final class BlockCache {
+    private static final String SUFFIX = ".blk";
+
+    private final Path directory;
+    private final long maxBytes;
+    /** The size of each block in the cache, least recently used first */
+    private final Map<Long, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long bytes;
+
+    /**
+     * Creates a cache in the given directory, discarding anything a previous cache left in it.
+     *
+     * @param directory the directory of the cache
+     * @param maxBytes the maximum number of bytes to keep
+     * @throws IOException if the directory could not be created or cleared
+     */
+    BlockCache(@NonNull final Path directory, final long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        try (final var files = Files.list(directory)) {
+            for (final var it = files.iterator(); it.hasNext(); ) {
+                Files.deleteIfExists(it.next());
+            }
+        }
+    }
+
+    /**
+     * Reads a block from the cache.
+     *
+     * @return a read-only mapping of the block, or null if it is not cached
+     */
+    @Nullable
+    synchronized ByteBuffer read(final long blockNumber) throws IOException {
+        if (sizes.get(blockNumber) == null) {
+            return null;
+        }
+        return map(pathOf(blockNumber));
+    }
+
+    /** Creates a temporary file in the cache directory, to write a block to before adding it. */
+    @NonNull
+    Path newTempFile() throws IOException {
+        return Files.createTempFile(directory, "block", ".tmp");
+    }
+
+    /**
+     * Adds a block, already written to the given temporary file, to the cache; then evicts the least recently used
+     * blocks other than it until the cache is no bigger than its maximum.
+     */
+    synchronized void add(final long blockNumber, @NonNull final Path tempFile, final long size) throws IOException {
+        Files.move(tempFile, pathOf(blockNumber), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        final var previous = sizes.put(blockNumber, size);
+        bytes += size - (previous == null ? 0 : previous);
+        final Iterator<Map.Entry<Long, Long>> it = sizes.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            final var eldest = it.next();
+            if (eldest.getKey() == blockNumber) {
+                continue;
+            }
+            Files.deleteIfExists(pathOf(eldest.getKey()));
+            bytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+
+    /** Maps the whole of a file read-only. */
+    @NonNull
+    static ByteBuffer map(@NonNull final Path file) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @NonNull
+    private Path pathOf(final long blockNumber) {
+        return directory.resolve(blockNumber + SUFFIX);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.filesystem.s3;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link ObjectStorageClient} keeping objects in memory, with the semantics of S3 that matter to the
+ * {@link S3FileSystem}: objects uploaded in parts are only visible once their upload is completed, every part but the
+ * last must be at least a minimum size, and completing an upload checks the entity tag of every part. It stands in
+ * for a real store in tests, and when running a block node locally.
+ */
+public class InMemoryObjectStorageClient implements ObjectStorageClient {
+    private final int minPartSize;
+    private final NavigableMap<String, byte[]> objects = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicLong nextUploadId = new AtomicLong();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private final AtomicInteger maxPartsInFlight = new AtomicInteger();
+
+    /** Creates a client requiring parts of at least {@link S3FileSystemConfig#MIN_PART_SIZE}, as S3 does. */
+    public InMemoryObjectStorageClient() {
+        this(S3FileSystemConfig.MIN_PART_SIZE);
+    }
+
+    /**
+     * Creates a client requiring parts of at least the given size.
+     *
+     * @param minPartSize the minimum size of every part but the last
+     */
+    public InMemoryObjectStorageClient(final int minPartSize) {
+        this.minPartSize = minPartSize;
+    }
+
+    /**
+     * Gets the number of requests made to this client.
+     *
+     * @return the number of requests
+     */
+    public int requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Gets the most parts that were being uploaded at once.
+     *
+     * @return the most parts uploaded at once
+     */
+    public int maxPartsInFlight() {
+        return maxPartsInFlight.get();
+    }
+
+    @Override
+    public void putObject(@NonNull final String key, @NonNull final ByteBuffer contents) {
+        requests.incrementAndGet();
+        objects.put(requireNonNull(key), bytesOf(contents));
+    }
+
+    @NonNull
+    @Override
+    public String createMultipartUpload(@NonNull final String key) {
+        requests.incrementAndGet();
+        final var uploadId = requireNonNull(key) + "#" + nextUploadId.incrementAndGet();
+        uploads.put(uploadId, new ConcurrentHashMap<>());
+        return uploadId;
+    }
+
+    @NonNull
+    @Override
+    public String uploadPart(
+            @NonNull final String key,
+            @NonNull final String uploadId,
+            final int partNumber,
+            @NonNull final ByteBuffer contents)
+            throws IOException {
+        requests.incrementAndGet();
+        final var inFlight = partsInFlight.incrementAndGet();
+        maxPartsInFlight.accumulateAndGet(inFlight, Math::max);
+        try {
+            final var bytes = bytesOf(contents);
+            partsOf(uploadId).put(partNumber, bytes);
+            return eTagOf(bytes);
+        } finally {
+            partsInFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(
+            @NonNull final String key, @NonNull final String uploadId, @NonNull final List<String> partETags)
+            throws IOException {
+        requests.incrementAndGet();
+        final var parts = partsOf(uploadId);
+        int size = 0;
+        for (int i = 0; i < partETags.size(); i++) {
+            final var part = parts.get(i + 1);
+            if (part == null || !eTagOf(part).equals(partETags.get(i))) {
+                throw new IOException("Part " + (i + 1) + " of upload " + uploadId + " does not match");
+            }
+            if (part.length < minPartSize && i < partETags.size() - 1) {
+                throw new IOException("Part " + (i + 1) + " of upload " + uploadId + " is too small");
+            }
+            size += part.length;
+        }
+        final var object = new byte[size];
+        int offset = 0;
+        for (int i = 0; i < partETags.size(); i++) {
+            final var part = parts.get(i + 1);
+            System.arraycopy(part, 0, object, offset, part.length);
+            offset += part.length;
+        }
+        objects.put(key, object);
+        uploads.remove(uploadId);
+    }
+
+    @Override
+    public void abortMultipartUpload(@NonNull final String key, @NonNull final String uploadId) {
+        requests.incrementAndGet();
+        uploads.remove(uploadId);
+    }
+
+    @NonNull
+    @Override
+    public ByteBuffer getObject(@NonNull final String key, final long offset, final int length) throws IOException {
+        requests.incrementAndGet();
+        final var object = objects.get(key);
+        if (object == null) {
+            throw new FileNotFoundException("No object " + key);
+        }
+        if (offset < 0 || length < 0 || offset + length > object.length) {
+            throw new IOException("Range " + offset + "+" + length + " is outside object " + key);
+        }
+        return ByteBuffer.wrap(Arrays.copyOfRange(object, (int) offset, (int) offset + length));
+    }
+
+    @NonNull
+    @Override
+    public List<ObjectSummary> listObjects(@NonNull final String prefix) {
+        requests.incrementAndGet();
+        final List<ObjectSummary> summaries = new ArrayList<>();
+        objects.tailMap(prefix, true).entrySet().stream()
+                .takeWhile(e -> e.getKey().startsWith(prefix))
+                .forEach(e -> summaries.add(new ObjectSummary(e.getKey(), e.getValue().length)));
+        return summaries;
+    }
+
+    @NonNull
+    private Map<Integer, byte[]> partsOf(@NonNull final String uploadId) throws IOException {
+        final var parts = uploads.get(uploadId);
+        if (parts == null) {
+            throw new IOException("No upload " + uploadId);
+        }
+        return parts;
+    }
+
+    @NonNull
+    private static String eTagOf(@NonNull final byte[] bytes) {
+        return Integer.toHexString(Arrays.hashCode(bytes)) + "-" + bytes.length;
+    }
+
+    @NonNull
+    private static byte[] bytesOf(@NonNull final ByteBuffer contents) {
+        final var bytes = new byte[contents.remaining()];
+        contents.duplicate().get(bytes);
+        return bytes;
+    }
+}
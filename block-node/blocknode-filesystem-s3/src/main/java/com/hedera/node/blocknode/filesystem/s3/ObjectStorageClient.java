@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.filesystem.s3;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The operations of an S3-compatible object store used by the {@link S3FileSystem}. An implementation adapts this to
+ * the client of a particular store; {@link InMemoryObjectStorageClient} is a stand-in that needs no store at all.
+ *
+ * <p>Implementations must be thread-safe, since parts and ranges of objects are uploaded and downloaded in parallel.
+ */
+public interface ObjectStorageClient {
+    /**
+     * The key and size of an object.
+     *
+     * @param key the key of the object
+     * @param size the size of the object in bytes
+     */
+    record ObjectSummary(@NonNull String key, long size) {}
+
+    /**
+     * Uploads an object in a single request.
+     *
+     * @param key the key of the object
+     * @param contents the contents of the object, from its position to its limit
+     * @throws IOException if the object could not be uploaded
+     */
+    void putObject(@NonNull String key, @NonNull ByteBuffer contents) throws IOException;
+
+    /**
+     * Starts a multipart upload of an object.
+     *
+     * @param key the key of the object
+     * @return the ID of the upload
+     * @throws IOException if the upload could not be started
+     */
+    @NonNull
+    String createMultipartUpload(@NonNull String key) throws IOException;
+
+    /**
+     * Uploads a part of a multipart upload. Parts may be uploaded in any order, and concurrently.
+     *
+     * @param key the key of the object
+     * @param uploadId the ID of the upload
+     * @param partNumber the number of the part, starting from 1
+     * @param contents the contents of the part, from its position to its limit
+     * @return the entity tag of the part
+     * @throws IOException if the part could not be uploaded
+     */
+    @NonNull
+    String uploadPart(@NonNull String key, @NonNull String uploadId, int partNumber, @NonNull ByteBuffer contents)
+            throws IOException;
+
+    /**
+     * Completes a multipart upload, making the object visible.
+     *
+     * @param key the key of the object
+     * @param uploadId the ID of the upload
+     * @param partETags the entity tags of the parts, in order of their numbers
+     * @throws IOException if the upload could not be completed
+     */
+    void completeMultipartUpload(@NonNull String key, @NonNull String uploadId, @NonNull List<String> partETags)
+            throws IOException;
+
+    /**
+     * Aborts a multipart upload, discarding its parts.
+     *
+     * @param key the key of the object
+     * @param uploadId the ID of the upload
+     * @throws IOException if the upload could not be aborted
+     */
+    void abortMultipartUpload(@NonNull String key, @NonNull String uploadId) throws IOException;
+
+    /**
+     * Downloads a range of an object.
+     *
+     * @param key the key of the object
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the contents of the range
+     * @throws IOException if the range could not be downloaded
+     */
+    @NonNull
+    ByteBuffer getObject(@NonNull String key, long offset, int length) throws IOException;
+
+    /**
+     * Lists the objects whose keys start with the given prefix.
+     *
+     * @param prefix the prefix
+     * @return the objects, in order of their keys
+     * @throws IOException if the objects could not be listed
+     */
+    @NonNull
+    List<ObjectSummary> listObjects(@NonNull String prefix) throws IOException;
+}
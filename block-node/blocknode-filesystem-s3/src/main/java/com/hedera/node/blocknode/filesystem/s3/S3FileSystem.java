@@ -16,16 +16,421 @@
 
 package com.hedera.node.blocknode.filesystem.s3;
 
-import com.hedera.node.blocknode.core.spi.DummyCoreSpi;
-import com.hedera.node.blocknode.filesystem.api.DummyFileSystemApi;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.blocknode.filesystem.api.BlockFileSystemApi;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link BlockFileSystemApi} storing each block as an object in an S3-compatible object store, with a
+ * {@link BlockCache} on local disk in front of it.
+ *
+ * <p>A block bigger than the part size is uploaded in parts, all uploaded in parallel. The parts are slices of the
+ * block being appended, never copies of it; and the parts being uploaded at once, across all blocks, never add up to
+ * more than the maximum bytes in flight, so appending a block waits for earlier parts to finish uploading rather than
+ * using more memory. A block that is not cached is downloaded in ranges, in parallel, each written straight to a cache
+ * file, so a block is never buffered whole on the heap.
+ *
+ * <p>The key of each block holds its number and consensus time, so the store needs no index of its own: on opening,
+ * listing the objects is enough to find every block by number or time.
+ */
+public class S3FileSystem implements BlockFileSystemApi {
+    /** The prefix of the keys of all blocks */
+    static final String PREFIX = "blocks/";
+
+    private final ObjectStorageClient client;
+    private final S3FileSystemConfig config;
+    private final Executor executor;
+    private final BlockCache cache;
+    /** A permit for each part that may be uploaded at once */
+    private final Semaphore partsInFlight;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    private long firstBlockNumber = -1;
+    private int count;
+    private long[] consensusSeconds = new long[64];
+    private int[] consensusNanos = new int[64];
+    private long[] sizes = new long[64];
+    private boolean closed;
+
+    /**
+     * Opens the store of blocks in the given object store.
+     *
+     * @param client the client of the object store
+     * @param cacheDirectory the directory of the local cache, whose contents are discarded
+     * @param config the configuration of the store
+     * @param executor the executor on which parts and ranges are uploaded and downloaded
+     * @throws IOException if the blocks could not be listed, or the cache could not be created
+     */
+    public S3FileSystem(
+            @NonNull final ObjectStorageClient client,
+            @NonNull final Path cacheDirectory,
+            @NonNull final S3FileSystemConfig config,
+            @NonNull final Executor executor)
+            throws IOException {
+        this.client = requireNonNull(client, "client must not be null");
+        this.config = requireNonNull(config, "config must not be null");
+        this.executor = requireNonNull(executor, "executor must not be null");
+        this.cache = new BlockCache(
+                requireNonNull(cacheDirectory, "cacheDirectory must not be null"), config.maxCacheBytes());
+        this.partsInFlight =
+                new Semaphore((int) Math.min(Integer.MAX_VALUE, config.maxInFlightBytes() / config.partSize()));
+        load();
+    }
+
+    private void load() throws IOException {
+        for (final var summary : client.listObjects(PREFIX)) {
+            final var name = summary.key().substring(PREFIX.length());
+            final var fields = name.substring(0, name.length() - ".blk".length()).split("_");
+            final var blockNumber = Long.parseLong(fields[0]);
+            if (firstBlockNumber >= 0 && blockNumber != firstBlockNumber + count) {
+                throw new IOException("Missing blocks before block " + blockNumber);
+            }
+            if (firstBlockNumber < 0) {
+                firstBlockNumber = blockNumber;
+            }
+            add(Long.parseLong(fields[1]), Integer.parseInt(fields[2]), summary.size());
+        }
+    }
+
+    @Override
+    public void append(
+            final long blockNumber, @NonNull final Instant consensusTime, @NonNull final ByteBuffer contents)
+            throws IOException {
+        requireNonNull(consensusTime, "consensusTime must not be null");
+        requireNonNull(contents, "contents must not be null");
+        // Only one writer appends, so checking the order of the block need not hold the lock during the upload
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Store is closed");
+            }
+            if (blockNumber < 0) {
+                throw new IllegalArgumentException("Block number must not be negative");
+            }
+            if (count > 0) {
+                if (blockNumber != latestBlockNumber() + 1) {
+                    throw new IllegalArgumentException(
+                            "Block " + blockNumber + " does not follow block " + latestBlockNumber());
+                }
+                if (compareConsensusTime(count - 1, consensusTime) > 0) {
+                    throw new IllegalArgumentException("Block " + blockNumber + " is before the latest block");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        final var block = contents.slice();
+        upload(keyOf(blockNumber, consensusTime), block);
+        cacheBlock(blockNumber, block);
+
+        lock.lock();
+        try {
+            if (firstBlockNumber < 0) {
+                firstBlockNumber = blockNumber;
+            }
+            add(consensusTime.getEpochSecond(), consensusTime.getNano(), block.remaining());
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long firstBlockNumber() {
+        lock.lock();
+        try {
+            return count == 0 ? -1 : firstBlockNumber;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long latestBlockNumber() {
+        lock.lock();
+        try {
+            return count == 0 ? -1 : firstBlockNumber + count - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long blockNumberAt(@NonNull final Instant consensusTime) {
+        requireNonNull(consensusTime, "consensusTime must not be null");
+        lock.lock();
+        try {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (compareConsensusTime(mid, consensusTime) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == count ? -1 : firstBlockNumber + low;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Nullable
+    @Override
+    public ByteBuffer read(final long blockNumber) throws IOException {
+        final String key;
+        final long size;
+        lock.lock();
+        try {
+            if (closed || !contains(blockNumber)) {
+                return null;
+            }
+            final var i = (int) (blockNumber - firstBlockNumber);
+            key = keyOf(blockNumber, Instant.ofEpochSecond(consensusSeconds[i], consensusNanos[i]));
+            size = sizes[i];
+        } finally {
+            lock.unlock();
+        }
+        final var cached = cache.read(blockNumber);
+        return cached != null ? cached : download(blockNumber, key, size);
+    }
 
-public class S3FileSystem implements DummyFileSystemApi {
     @Override
-    public void doSomething() {
-        final DummyCoreSpi dummyCoreSpi = () -> {
-            // Do nothing.
-        };
+    public long transferTo(
+            final long firstBlockNumber, final long lastBlockNumber, @NonNull final WritableByteChannel target)
+            throws IOException {
+        requireNonNull(target, "target must not be null");
+        lock.lock();
+        try {
+            if (firstBlockNumber > lastBlockNumber || !contains(firstBlockNumber) || !contains(lastBlockNumber)) {
+                throw new IllegalArgumentException(
+                        "Blocks " + firstBlockNumber + " to " + lastBlockNumber + " are not in the store");
+            }
+        } finally {
+            lock.unlock();
+        }
+        long transferred = 0;
+        for (long n = firstBlockNumber; n <= lastBlockNumber; n++) {
+            final var block = read(n);
+            if (block == null) {
+                throw new IOException("Store is closed");
+            }
+            while (block.hasRemaining()) {
+                transferred += target.write(block);
+            }
+        }
+        return transferred;
+    }
+
+    @Override
+    public boolean awaitBlock(final long blockNumber, @NonNull final Duration timeout) throws InterruptedException {
+        requireNonNull(timeout, "timeout must not be null");
+        var remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (!closed && (count == 0 || firstBlockNumber + count - 1 < blockNumber)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = appended.awaitNanos(remaining);
+            }
+            return !closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Closes the store; the executor is not shut down, nor is the cache cleared. */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void upload(@NonNull final String key, @NonNull final ByteBuffer block) throws IOException {
+        final var size = block.remaining();
+        if (size <= config.partSize()) {
+            acquirePart();
+            try {
+                client.putObject(key, block.duplicate());
+            } finally {
+                partsInFlight.release();
+            }
+            return;
+        }
+        final var uploadId = client.createMultipartUpload(key);
+        try {
+            final var parts = (size + config.partSize() - 1) / config.partSize();
+            final List<CompletableFuture<String>> eTags = new ArrayList<>(parts);
+            for (int i = 0; i < parts; i++) {
+                final var offset = i * config.partSize();
+                final var part = block.slice(offset, Math.min(config.partSize(), size - offset));
+                final var partNumber = i + 1;
+                // Waits for earlier parts, of this block or others, if too many bytes are in flight
+                acquirePart();
+                eTags.add(supplyAsync(() -> {
+                    try {
+                        return client.uploadPart(key, uploadId, partNumber, part);
+                    } finally {
+                        partsInFlight.release();
+                    }
+                }));
+            }
+            client.completeMultipartUpload(key, uploadId, joinAll(eTags));
+        } catch (final IOException | RuntimeException e) {
+            try {
+                client.abortMultipartUpload(key, uploadId);
+            } catch (final IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    @NonNull
+    private ByteBuffer download(final long blockNumber, @NonNull final String key, final long size)
+            throws IOException {
+        final var tempFile = cache.newTempFile();
+        try {
+            try (final var channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                final List<CompletableFuture<Integer>> ranges = new ArrayList<>();
+                for (long offset = 0; offset < size; offset += config.rangeSize()) {
+                    final var rangeOffset = offset;
+                    final var length = (int) Math.min(config.rangeSize(), size - offset);
+                    ranges.add(supplyAsync(() -> {
+                        final var range = client.getObject(key, rangeOffset, length);
+                        long position = rangeOffset;
+                        while (range.hasRemaining()) {
+                            position += channel.write(range, position);
+                        }
+                        return length;
+                    }));
+                }
+                joinAll(ranges);
+            }
+            // The mapping stays valid however soon the block is evicted from the cache
+            final var block = BlockCache.map(tempFile);
+            cache.add(blockNumber, tempFile, size);
+            return block;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void cacheBlock(final long blockNumber, @NonNull final ByteBuffer block) throws IOException {
+        final var tempFile = cache.newTempFile();
+        try {
+            try (final var channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                final var contents = block.duplicate();
+                while (contents.hasRemaining()) {
+                    channel.write(contents);
+                }
+            }
+            cache.add(blockNumber, tempFile, block.remaining());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void acquirePart() throws InterruptedIOException {
+        try {
+            partsInFlight.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting to upload a part");
+        }
+    }
+
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+
+    @NonNull
+    private <T> CompletableFuture<T> supplyAsync(@NonNull final IOSupplier<T> supplier) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return supplier.get();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                },
+                executor);
+    }
+
+    @NonNull
+    private static <T> List<T> joinAll(@NonNull final List<CompletableFuture<T>> futures) throws IOException {
+        final List<T> results = new ArrayList<>(futures.size());
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            for (final var future : futures) {
+                results.add(future.join());
+            }
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        return results;
+    }
+
+    private boolean contains(final long blockNumber) {
+        return count > 0 && blockNumber >= firstBlockNumber && blockNumber < firstBlockNumber + count;
+    }
+
+    private int compareConsensusTime(final int i, @NonNull final Instant consensusTime) {
+        final var bySeconds = Long.compare(consensusSeconds[i], consensusTime.getEpochSecond());
+        return bySeconds != 0 ? bySeconds : Integer.compare(consensusNanos[i], consensusTime.getNano());
+    }
+
+    private void add(final long seconds, final int nanos, final long size) {
+        if (count == sizes.length) {
+            final var capacity = count * 2;
+            consensusSeconds = Arrays.copyOf(consensusSeconds, capacity);
+            consensusNanos = Arrays.copyOf(consensusNanos, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        consensusSeconds[count] = seconds;
+        consensusNanos[count] = nanos;
+        sizes[count] = size;
+        count++;
+    }
 
-        dummyCoreSpi.doSomething();
+    /** Gets the key of a block, which sorts in order of block number, and holds its consensus time. */
+    @NonNull
+    static String keyOf(final long blockNumber, @NonNull final Instant consensusTime) {
+        return String.format(
+                "%s%019d_%d_%09d.blk", PREFIX, blockNumber, consensusTime.getEpochSecond(), consensusTime.getNano());
     }
 }
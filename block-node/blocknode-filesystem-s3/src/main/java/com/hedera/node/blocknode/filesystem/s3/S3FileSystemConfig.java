@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.filesystem.s3;
+
+/**
+ * The configuration of an {@link S3FileSystem}.
+ *
+ * @param partSize the size of each part of a multipart upload; blocks no bigger than this are uploaded in one request
+ * @param maxInFlightBytes the maximum number of bytes being uploaded at once, across all blocks
+ * @param rangeSize the size of each range downloaded in parallel when reading a block
+ * @param maxCacheBytes the maximum size of the local cache of blocks
+ * @param minPartSize the smallest part the object store accepts, which {@code partSize} must not be below; this is
+ *                    {@link #MIN_PART_SIZE} for S3, and only lower for tests against an
+ *                    {@link InMemoryObjectStorageClient} created with the same minimum
+ */
+public record S3FileSystemConfig(
+        int partSize, long maxInFlightBytes, int rangeSize, long maxCacheBytes, int minPartSize) {
+    /** The smallest part S3 accepts, other than the last part of an upload */
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /** The default configuration */
+    public static final S3FileSystemConfig DEFAULT =
+            new S3FileSystemConfig(8 * 1024 * 1024, 64L * 1024 * 1024, 8 * 1024 * 1024, 1024L * 1024 * 1024);
+
+    public S3FileSystemConfig {
+        if (minPartSize <= 0 || rangeSize <= 0) {
+            throw new IllegalArgumentException("minPartSize and rangeSize must be positive");
+        }
+        if (partSize < minPartSize) {
+            throw new IllegalArgumentException("partSize must be at least " + minPartSize);
+        }
+        if (maxInFlightBytes < partSize) {
+            throw new IllegalArgumentException("maxInFlightBytes must be at least partSize");
+        }
+        if (maxCacheBytes < 0) {
+            throw new IllegalArgumentException("maxCacheBytes must not be negative");
+        }
+    }
+
+    /**
+     * Creates a configuration for S3, whose parts must be at least {@link #MIN_PART_SIZE}.
+     *
+     * @param partSize the size of each part of a multipart upload
+     * @param maxInFlightBytes the maximum number of bytes being uploaded at once, across all blocks
+     * @param rangeSize the size of each range downloaded in parallel when reading a block
+     * @param maxCacheBytes the maximum size of the local cache of blocks
+     */
+    public S3FileSystemConfig(
+            final int partSize, final long maxInFlightBytes, final int rangeSize, final long maxCacheBytes) {
+        this(partSize, maxInFlightBytes, rangeSize, maxCacheBytes, MIN_PART_SIZE);
+    }
+}
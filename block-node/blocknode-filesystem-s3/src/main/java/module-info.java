@@ -5,7 +5,7 @@ module com.hedera.storage.blocknode.filesystem.s3 {
             com.hedera.storage.blocknode.core;
 
     // Require the modules needed for compilation.
-    requires com.hedera.storage.blocknode.core.spi;
+    requires static com.github.spotbugs.annotations;
 
     // Require modules which are needed for compilation and should be available to all modules that depend on this
     // module (including tests and other source sets).
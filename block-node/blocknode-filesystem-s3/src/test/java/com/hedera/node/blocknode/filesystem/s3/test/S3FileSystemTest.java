@@ -16,25 +16,174 @@
 
 package com.hedera.node.blocknode.filesystem.s3.test;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.hedera.node.blocknode.filesystem.s3.InMemoryObjectStorageClient;
 import com.hedera.node.blocknode.filesystem.s3.S3FileSystem;
+import com.hedera.node.blocknode.filesystem.s3.S3FileSystemConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class S3FileSystemTest {
+    private static final Instant START = Instant.ofEpochSecond(1_700_000_000L);
+    /** Three parts of 16 bytes may be in flight at once; blocks are read in ranges of 10 bytes */
+    private static final S3FileSystemConfig CONFIG = new S3FileSystemConfig(16, 48, 10, 1024, 16);
+
+    @TempDir
+    private Path directory;
+
+    private final InMemoryObjectStorageClient client = new InMemoryObjectStorageClient(16);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void uploadsBigBlocksInPartsWithBoundedBytesInFlight() throws IOException {
+        try (final var store = new S3FileSystem(client, directory.resolve("cache"), CONFIG, executor)) {
+            appendBlocks(store, 0, 3, 200);
+
+            for (long n = 0; n < 3; n++) {
+                assertArrayEquals(contentsOf(n, 200), bytesOf(store.read(n)));
+            }
+            assertTrue(client.maxPartsInFlight() <= 3);
+        }
+    }
+
+    @Test
+    void readsUncachedBlocksInRangesAfterReopening() throws IOException {
+        try (final var store = new S3FileSystem(client, directory.resolve("cache"), CONFIG, executor)) {
+            appendBlocks(store, 5, 10, 35);
+        }
+
+        try (final var store = new S3FileSystem(client, directory.resolve("other-cache"), CONFIG, executor)) {
+            assertEquals(5, store.firstBlockNumber());
+            assertEquals(14, store.latestBlockNumber());
+            assertEquals(9, store.blockNumberAt(START.plusSeconds(4)));
+            assertEquals(-1, store.blockNumberAt(START.plusSeconds(10)));
+
+            final var requests = client.requestCount();
+            assertArrayEquals(contentsOf(7, 35), bytesOf(store.read(7)));
+            // 35 bytes in ranges of 10
+            assertEquals(requests + 4, client.requestCount());
+            // And then from the cache
+            assertArrayEquals(contentsOf(7, 35), bytesOf(store.read(7)));
+            assertEquals(requests + 4, client.requestCount());
+            assertNull(store.read(15));
+        }
+    }
 
     @Test
-    void localFileSystemNullCheck() {
-        final S3FileSystem s3FileSystem = null;
-        assertNull(s3FileSystem);
+    void evictsLeastRecentlyUsedBlocksFromCache() throws IOException {
+        final var smallCache = new S3FileSystemConfig(16, 48, 10, 100, 16);
+        try (final var store = new S3FileSystem(client, directory.resolve("cache"), smallCache, executor)) {
+            appendBlocks(store, 0, 5, 40);
+
+            final var requests = client.requestCount();
+            assertArrayEquals(contentsOf(4, 40), bytesOf(store.read(4)));
+            assertEquals(requests, client.requestCount());
+            assertArrayEquals(contentsOf(0, 40), bytesOf(store.read(0)));
+            assertTrue(client.requestCount() > requests);
+        }
     }
 
     @Test
-    void localFileSystemDoSomethingCheck() {
-        final S3FileSystem s3FileSystem = new S3FileSystem();
-        assertNotNull(s3FileSystem);
-        assertDoesNotThrow(s3FileSystem::doSomething);
+    void abortsFailedUploads() throws IOException {
+        // Parts of 16 bytes are too small for a store requiring at least 32
+        final var strictClient = new InMemoryObjectStorageClient(32);
+        try (final var store = new S3FileSystem(strictClient, directory.resolve("cache"), CONFIG, executor)) {
+            appendBlocks(store, 0, 1, 16);
+
+            assertThrows(IOException.class, () -> appendBlocks(store, 1, 1, 100));
+
+            assertEquals(0, store.latestBlockNumber());
+            assertEquals(1, strictClient.listObjects("").size());
+        }
+    }
+
+    @Test
+    void transfersRangesAndRejectsBlocksOutOfOrder() throws IOException {
+        try (final var store = new S3FileSystem(client, directory.resolve("cache"), CONFIG, executor)) {
+            appendBlocks(store, 0, 4, 20);
+
+            final var out = new ByteArrayOutputStream();
+            assertEquals(60, store.transferTo(1, 3, Channels.newChannel(out)));
+            final var expected = new ByteArrayOutputStream();
+            for (long n = 1; n <= 3; n++) {
+                expected.write(contentsOf(n, 20));
+            }
+            assertArrayEquals(expected.toByteArray(), out.toByteArray());
+
+            assertThrows(IllegalArgumentException.class, () -> appendBlocks(store, 5, 1, 20));
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> store.append(4, START, ByteBuffer.wrap(contentsOf(4, 20))));
+        }
+    }
+
+    @Test
+    void awaitBlockReturnsOnceBlockIsAppended() throws Exception {
+        try (final var store = new S3FileSystem(client, directory.resolve("cache"), CONFIG, executor)) {
+            assertFalse(store.awaitBlock(0, Duration.ofMillis(10)));
+
+            final var waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return store.awaitBlock(0, Duration.ofMinutes(1));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            appendBlocks(store, 0, 1, 10);
+
+            assertTrue(waiting.get(1, TimeUnit.MINUTES));
+        }
+    }
+
+    @Test
+    void rejectsPartsSmallerThanTheObjectStoreAccepts() {
+        assertThrows(IllegalArgumentException.class, () -> new S3FileSystemConfig(16, 48, 10, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new S3FileSystemConfig(8, 48, 10, 1024, 16));
+        assertEquals(S3FileSystemConfig.MIN_PART_SIZE, S3FileSystemConfig.DEFAULT.minPartSize());
+    }
+
+    private static void appendBlocks(final S3FileSystem store, final long first, final int count, final int size)
+            throws IOException {
+        for (long n = first; n < first + count; n++) {
+            store.append(n, START.plusSeconds(n - first), ByteBuffer.wrap(contentsOf(n, size)));
+        }
+    }
+
+    private static byte[] contentsOf(final long blockNumber, final int size) {
+        final var bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (blockNumber * 31 + i);
+        }
+        return bytes;
+    }
+
+    private static byte[] bytesOf(final ByteBuffer buffer) {
+        final var bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.grpc.api;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The most recent blocks, shared by every subscription of the {@link BlockStreamService}; so however many
+ * subscribers are following the tail of the store, each new block is read from it only once. Block {@code n} is
+ * kept in slot {@code n % capacity} until block {@code n + capacity} replaces it.
+ */
+final class BlockFanOut {
+    private record CachedBlock(long blockNumber, @NonNull ByteBuffer contents) {}
+
+    private final AtomicReferenceArray<CachedBlock> slots;
+
+    BlockFanOut(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    void put(final long blockNumber, @NonNull final ByteBuffer contents) {
+        slots.set(slotOf(blockNumber), new CachedBlock(blockNumber, contents.asReadOnlyBuffer()));
+    }
+
+    /**
+     * Gets a block, if it is still cached.
+     *
+     * @return a buffer of the contents of the block, with its own position and limit, or null if it is not cached
+     */
+    @Nullable
+    ByteBuffer get(final long blockNumber) {
+        final var cached = slots.get(slotOf(blockNumber));
+        return cached != null && cached.blockNumber() == blockNumber ? cached.contents().duplicate() : null;
+    }
+
+    private int slotOf(final long blockNumber) {
+        return (int) Math.floorMod(blockNumber, (long) slots.length());
+    }
+}
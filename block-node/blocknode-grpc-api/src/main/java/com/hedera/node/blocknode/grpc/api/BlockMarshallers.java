@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.grpc.api;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor.Marshaller;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Marshals the messages of the {@link BlockStreamService}. A request is the number of the block to start from, as an
+ * 8-byte big-endian integer; a response is the raw contents of a block. Responses are streamed straight from their
+ * {@link ByteBuffer}s, which for blocks read from a local store are memory-mapped, without copying them first.
+ */
+final class BlockMarshallers {
+    static final Marshaller<Long> BLOCK_NUMBER = new Marshaller<>() {
+        @Override
+        public InputStream stream(@NonNull final Long blockNumber) {
+            return new ByteBufferStream(ByteBuffer.allocate(Long.BYTES).putLong(0, blockNumber));
+        }
+
+        @Override
+        public Long parse(@NonNull final InputStream stream) {
+            try {
+                final var bytes = stream.readAllBytes();
+                if (bytes.length != Long.BYTES) {
+                    throw new IllegalArgumentException("A block number must be " + Long.BYTES + " bytes");
+                }
+                return ByteBuffer.wrap(bytes).getLong();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    static final Marshaller<ByteBuffer> BLOCK = new Marshaller<>() {
+        @Override
+        public InputStream stream(@NonNull final ByteBuffer block) {
+            return new ByteBufferStream(block.duplicate());
+        }
+
+        @Override
+        public ByteBuffer parse(@NonNull final InputStream stream) {
+            try {
+                return ByteBuffer.wrap(stream.readAllBytes());
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private BlockMarshallers() {
+        throw new UnsupportedOperationException("Utility Class");
+    }
+
+    /** An {@link InputStream} of the remaining bytes of a buffer, whose length gRPC knows up front. */
+    private static final class ByteBufferStream extends InputStream implements KnownLength {
+        private final ByteBuffer buf;
+
+        ByteBufferStream(@NonNull final ByteBuffer buf) {
+            this.buf = requireNonNull(buf);
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@NonNull final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buf.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(buf.remaining(), len);
+            buf.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int skipped = (int) Math.max(0, Math.min(buf.remaining(), n));
+            buf.position(buf.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.grpc.api;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.blocknode.filesystem.api.BlockFileSystemApi;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * A server-streaming gRPC service through which mirror nodes and other indexers subscribe to the blocks of a
+ * {@link BlockFileSystemApi}, starting from any block still in it, and receive each new block as soon as it is
+ * written.
+ *
+ * <p>A single thread follows the tail of the store and reads each new block once, into a {@link BlockFanOut} shared
+ * by every subscription. Subscriptions that fell further behind than the fan-out holds catch up by reading blocks
+ * from the store themselves. Each subscription is sent blocks only as fast as its transport takes them; see
+ * {@link BlockSubscription}.
+ */
+public class BlockStreamService implements Closeable {
+    /** The name of the service */
+    public static final String SERVICE_NAME = "com.hedera.blocknode.BlockStreamService";
+
+    /**
+     * The method to subscribe to blocks. Its request is the number of the first block to send, as an 8-byte
+     * big-endian integer; each of its responses is the raw contents of a block, in order.
+     */
+    public static final MethodDescriptor<Long, ByteBuffer> SUBSCRIBE_METHOD =
+            MethodDescriptor.<Long, ByteBuffer>newBuilder()
+                    .setType(MethodType.SERVER_STREAMING)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "subscribe"))
+                    .setRequestMarshaller(BlockMarshallers.BLOCK_NUMBER)
+                    .setResponseMarshaller(BlockMarshallers.BLOCK)
+                    .build();
+
+    /** How long the tail thread waits for a block before checking whether the service was closed */
+    private static final Duration TAIL_WAIT = Duration.ofSeconds(1);
+
+    private final BlockFileSystemApi store;
+    private final Executor executor;
+    private final BlockFanOut fanOut;
+    private final Set<BlockSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Thread tail;
+
+    /** The latest block subscriptions may send; blocks appended after the service started are in the fan-out */
+    private volatile long latestBlock;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates the service, and starts following the tail of the given store.
+     *
+     * @param store the store of blocks
+     * @param fanOutCapacity the number of recent blocks shared by all subscriptions
+     * @param executor the executor on which blocks are sent to subscribers
+     */
+    public BlockStreamService(
+            @NonNull final BlockFileSystemApi store, final int fanOutCapacity, @NonNull final Executor executor) {
+        this.store = requireNonNull(store, "store must not be null");
+        this.executor = requireNonNull(executor, "executor must not be null");
+        this.fanOut = new BlockFanOut(fanOutCapacity);
+        this.latestBlock = store.latestBlockNumber();
+        this.tail = new Thread(this::followTail, "block-stream-tail");
+        this.tail.setDaemon(true);
+        this.tail.start();
+    }
+
+    /**
+     * Gets the definition of the service, to add to a gRPC server.
+     *
+     * @return the definition of the service
+     */
+    @NonNull
+    public ServerServiceDefinition definition() {
+        return ServerServiceDefinition.builder(SERVICE_NAME)
+                .addMethod(SUBSCRIBE_METHOD, ServerCalls.asyncServerStreamingCall(this::subscribe))
+                .build();
+    }
+
+    /**
+     * Gets the number of subscriptions still open.
+     *
+     * @return the number of subscriptions
+     */
+    public int subscriptionCount() {
+        return subscriptions.size();
+    }
+
+    private void subscribe(@NonNull final Long firstBlock, @NonNull final StreamObserver<ByteBuffer> responseObserver) {
+        final var observer = (ServerCallStreamObserver<ByteBuffer>) responseObserver;
+        if (closed) {
+            observer.onError(Status.UNAVAILABLE
+                    .withDescription("The block stream is shutting down")
+                    .asRuntimeException());
+            return;
+        }
+        final var storeFirstBlock = store.firstBlockNumber();
+        if (firstBlock < 0 || firstBlock < storeFirstBlock) {
+            observer.onError(Status.OUT_OF_RANGE
+                    .withDescription("Block " + firstBlock + " is not in the store")
+                    .asRuntimeException());
+            return;
+        }
+        final var subscription = new BlockSubscription(
+                firstBlock, observer, store, () -> latestBlock, this::blockFor, executor, subscriptions::remove);
+        subscriptions.add(subscription);
+        observer.setOnCancelHandler(subscription::cancel);
+        observer.setOnReadyHandler(subscription::schedule);
+        subscription.schedule();
+    }
+
+    @Nullable
+    private ByteBuffer blockFor(final long blockNumber) throws IOException {
+        final var block = fanOut.get(blockNumber);
+        // A subscription catching up reads from the store, without evicting the blocks others are following
+        return block != null ? block : store.read(blockNumber);
+    }
+
+    private void followTail() {
+        long next = latestBlock + 1;
+        while (!closed) {
+            try {
+                final var start = System.nanoTime();
+                if (!store.awaitBlock(next, TAIL_WAIT)) {
+                    if (System.nanoTime() - start < TAIL_WAIT.toNanos()) {
+                        // The store was closed, so no more blocks will come
+                        return;
+                    }
+                    continue;
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            next = Math.max(next, store.firstBlockNumber());
+            final var latest = store.latestBlockNumber();
+            for (; next <= latest; next++) {
+                try {
+                    final var block = store.read(next);
+                    if (block != null) {
+                        fanOut.put(next, block);
+                    }
+                } catch (final IOException e) {
+                    // Subscriptions will read the block from the store themselves, and report the failure
+                }
+            }
+            latestBlock = latest;
+            subscriptions.forEach(BlockSubscription::schedule);
+        }
+    }
+
+    /**
+     * Stops following the store, and ends every subscription with an error telling the subscriber the stream is
+     * shutting down. Does not close the store.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        tail.interrupt();
+        subscriptions.forEach(BlockSubscription::shutdown);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.grpc.api;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.blocknode.filesystem.api.BlockFileSystemApi;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A subscription to the {@link BlockStreamService}, sending blocks to one subscriber in order from the block it asked
+ * for. Blocks are sent only while the transport of the subscriber is ready for them; when it is not, the subscription
+ * simply stops, and is scheduled again once the transport is ready, or a new block is in the store. So a slow
+ * subscriber never holds up the others, nor buffers more than gRPC itself does.
+ *
+ * <p>A subscription is never run on more than one thread at once, since the observer it sends blocks to is not
+ * thread-safe.
+ */
+final class BlockSubscription implements Runnable {
+    /** Where a subscription gets its blocks from */
+    interface BlockSource {
+        @Nullable
+        ByteBuffer blockFor(long blockNumber) throws IOException;
+    }
+
+    private final ServerCallStreamObserver<ByteBuffer> observer;
+    private final BlockFileSystemApi store;
+    private final LongSupplier latestBlock;
+    private final BlockSource source;
+    private final Executor executor;
+    private final Consumer<BlockSubscription> onDone;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile boolean cancelled;
+    private volatile boolean shutdown;
+    /** The next block to send; only accessed while running */
+    private long nextBlock;
+    /** Whether the subscriber was sent an error; only accessed while running */
+    private boolean done;
+
+    BlockSubscription(
+            final long firstBlock,
+            @NonNull final ServerCallStreamObserver<ByteBuffer> observer,
+            @NonNull final BlockFileSystemApi store,
+            @NonNull final LongSupplier latestBlock,
+            @NonNull final BlockSource source,
+            @NonNull final Executor executor,
+            @NonNull final Consumer<BlockSubscription> onDone) {
+        this.nextBlock = firstBlock;
+        this.observer = requireNonNull(observer);
+        this.store = requireNonNull(store);
+        this.latestBlock = requireNonNull(latestBlock);
+        this.source = requireNonNull(source);
+        this.executor = requireNonNull(executor);
+        this.onDone = requireNonNull(onDone);
+    }
+
+    /** Schedules the subscription to send whatever blocks it can, unless it is already scheduled. */
+    void schedule() {
+        if (!cancelled && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+    }
+
+    /** Called when the subscriber cancels the call. */
+    void cancel() {
+        cancelled = true;
+        onDone.accept(this);
+    }
+
+    /** Ends the subscription with an error telling the subscriber the stream is shutting down. */
+    void shutdown() {
+        shutdown = true;
+        schedule();
+    }
+
+    @Override
+    public void run() {
+        try {
+            send();
+        } finally {
+            scheduled.set(false);
+        }
+        // A new block, or the transport getting ready, may have been missed while this was still scheduled
+        if (!done && !cancelled && (shutdown || observer.isReady() && nextBlock <= latestBlock.getAsLong())) {
+            schedule();
+        }
+    }
+
+    private void send() {
+        if (done || cancelled) {
+            return;
+        }
+        if (shutdown) {
+            fail(Status.UNAVAILABLE.withDescription("The block stream is shutting down"));
+            return;
+        }
+        try {
+            while (!cancelled && observer.isReady() && nextBlock <= latestBlock.getAsLong()) {
+                final var block = source.blockFor(nextBlock);
+                if (block == null) {
+                    if (nextBlock < store.firstBlockNumber()) {
+                        fail(Status.OUT_OF_RANGE.withDescription("Block " + nextBlock + " is not in the store"));
+                    }
+                    return;
+                }
+                observer.onNext(block);
+                nextBlock++;
+            }
+        } catch (final IOException e) {
+            fail(Status.INTERNAL.withDescription("Could not read block " + nextBlock).withCause(e));
+        }
+    }
+
+    private void fail(@NonNull final Status status) {
+        done = true;
+        onDone.accept(this);
+        observer.onError(status.asRuntimeException());
+    }
+}
@@ -1,4 +1,13 @@
 module com.hedera.storage.blocknode.grpc.api {
     // Export packages with public interfaces to the world as needed.
     exports com.hedera.node.blocknode.grpc.api;
+
+    // Require the modules needed for compilation.
+    requires grpc.stub;
+    requires static com.github.spotbugs.annotations;
+
+    // Require modules which are needed for compilation and should be available to all modules that depend on this
+    // module (including tests and other source sets).
+    requires transitive com.hedera.storage.blocknode.filesystem.api;
+    requires transitive io.grpc;
 }
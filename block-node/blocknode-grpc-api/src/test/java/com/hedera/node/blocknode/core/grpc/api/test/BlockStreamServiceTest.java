@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.blocknode.core.grpc.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hedera.node.blocknode.filesystem.api.BlockFileSystemApi;
+import com.hedera.node.blocknode.grpc.api.BlockStreamService;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCalls;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BlockStreamServiceTest {
+    private final InMemoryBlockStore store = new InMemoryBlockStore();
+    private final List<ClientCall<Long, ByteBuffer>> calls = new ArrayList<>();
+    private ExecutorService executor;
+    private BlockStreamService service;
+    private Server server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        calls.forEach(call -> call.cancel("Test is over", null));
+        channel.shutdownNow();
+        server.shutdownNow();
+        service.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void catchesUpFromStoreThenFollowsTail() throws IOException {
+        appendBlocks(0, 5);
+        start();
+
+        final var blocks = subscribe(2);
+        for (long n = 2; n < 5; n++) {
+            assertEquals(blockOf(n), blocks.next());
+        }
+        appendBlocks(5, 2);
+        assertEquals(blockOf(5), blocks.next());
+        assertEquals(blockOf(6), blocks.next());
+    }
+
+    @Test
+    void readsEachNewBlockOnceForAllSubscribers() throws IOException {
+        start();
+        final List<Iterator<ByteBuffer>> subscribers = List.of(subscribe(0), subscribe(0), subscribe(0));
+
+        appendBlocks(0, 5);
+
+        for (final var blocks : subscribers) {
+            for (long n = 0; n < 5; n++) {
+                assertEquals(blockOf(n), blocks.next());
+            }
+        }
+        assertEquals(5, store.reads.get());
+    }
+
+    @Test
+    void rejectsBlocksNoLongerInStore() throws IOException {
+        appendBlocks(10, 2);
+        start();
+
+        final var blocks = subscribe(3);
+
+        final var e = assertThrows(StatusRuntimeException.class, blocks::hasNext);
+        assertEquals(Status.Code.OUT_OF_RANGE, e.getStatus().getCode());
+    }
+
+    @Test
+    void endsSubscriptionsOnClose() throws IOException {
+        start();
+        final var blocks = subscribe(0);
+
+        service.close();
+
+        final var e = assertThrows(StatusRuntimeException.class, blocks::hasNext);
+        assertEquals(Status.Code.UNAVAILABLE, e.getStatus().getCode());
+    }
+
+    private void start() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        service = new BlockStreamService(store, 16, executor);
+        final var name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(service.definition())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    private Iterator<ByteBuffer> subscribe(final long firstBlock) {
+        final var call = channel.newCall(BlockStreamService.SUBSCRIBE_METHOD, CallOptions.DEFAULT);
+        calls.add(call);
+        return ClientCalls.blockingServerStreamingCall(call, firstBlock);
+    }
+
+    private void appendBlocks(final long first, final int count) throws IOException {
+        for (long n = first; n < first + count; n++) {
+            store.append(n, Instant.ofEpochSecond(n), blockOf(n));
+        }
+    }
+
+    private static ByteBuffer blockOf(final long blockNumber) {
+        return ByteBuffer.wrap(("block " + blockNumber).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** A store of blocks in memory, counting how many times blocks are read from it */
+    private static final class InMemoryBlockStore implements BlockFileSystemApi {
+        private final List<ByteBuffer> blocks = new ArrayList<>();
+        private final AtomicInteger reads = new AtomicInteger();
+        private long firstBlockNumber = -1;
+
+        @Override
+        public synchronized void append(
+                final long blockNumber, final Instant consensusTime, final ByteBuffer contents) {
+            if (firstBlockNumber < 0) {
+                firstBlockNumber = blockNumber;
+            }
+            blocks.add(contents.duplicate());
+            notifyAll();
+        }
+
+        @Override
+        public synchronized long firstBlockNumber() {
+            return firstBlockNumber;
+        }
+
+        @Override
+        public synchronized long latestBlockNumber() {
+            return firstBlockNumber < 0 ? -1 : firstBlockNumber + blocks.size() - 1;
+        }
+
+        @Override
+        public long blockNumberAt(final Instant consensusTime) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized ByteBuffer read(final long blockNumber) {
+            reads.incrementAndGet();
+            if (firstBlockNumber < 0 || blockNumber < firstBlockNumber || blockNumber > latestBlockNumber()) {
+                return null;
+            }
+            return blocks.get((int) (blockNumber - firstBlockNumber)).asReadOnlyBuffer();
+        }
+
+        @Override
+        public long transferTo(
+                final long firstBlockNumber, final long lastBlockNumber, final WritableByteChannel target) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized boolean awaitBlock(final long blockNumber, final Duration timeout)
+                throws InterruptedException {
+            final var deadline = System.nanoTime() + timeout.toNanos();
+            while (latestBlockNumber() < blockNumber) {
+                final var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(Math.max(1, remaining / 1_000_000));
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+}
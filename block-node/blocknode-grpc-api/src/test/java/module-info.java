@@ -5,5 +5,6 @@ module com.hedera.storage.blocknode.grpc.api.test {
 
     // Require other modules needed for the unit tests to compile.
     requires com.hedera.storage.blocknode.grpc.api;
+    requires grpc.stub;
     requires org.junit.jupiter.api;
 }
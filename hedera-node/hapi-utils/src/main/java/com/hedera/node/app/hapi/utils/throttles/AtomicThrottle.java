@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.hapi.utils.throttles;
+
+import static com.hedera.node.app.hapi.utils.CommonUtils.productWouldOverflow;
+import static com.swirlds.base.units.UnitConstants.SECONDS_TO_NANOSECONDS;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe, lock-free counterpart of a {@link DeterministicThrottle} or {@link GasLimitDeterministicThrottle}.
+ *
+ * <p>Instead of a used capacity and the time of the last decision, which would have to be updated together, the
+ * whole state of the bucket is a single {@link AtomicLong}: the time (in nanos since the epoch) at which the bucket
+ * will be empty again if nothing else is claimed. Claiming capacity moves this time forward by the time it takes the
+ * bucket to leak the claimed units, and is allowed as long as the bucket would not be empty later than one
+ * <i>burst period</i> from now. A claim is a single compare-and-set, so threads claiming capacity from the same
+ * bucket never block each other, and threads claiming from different buckets never touch the same memory.
+ *
+ * <p>With the same capacity and leak rate, this allows the same usage as the deterministic throttle it was created
+ * from. Decision times do not need to be monotonic; a decision made with an earlier time is just more conservative.
+ */
+public final class AtomicThrottle implements CongestibleThrottle {
+    private static final String GAS_THROTTLE_NAME = "Gas";
+    private static final int FULL_CAPACITY_PERCENT = 100;
+
+    private final String name;
+    private final long mtps;
+    private final long capacity;
+    /** The bucket leaks {@code unitsPerPeriod} capacity units every {@code periodNanos} nanoseconds */
+    private final long unitsPerPeriod;
+
+    private final long periodNanos;
+    /** The time it takes to leak the full capacity of the bucket */
+    private final long burstNanos;
+
+    private final AtomicLong emptyAt = new AtomicLong();
+    private volatile long lastDecisionNanos;
+
+    private AtomicThrottle(
+            final String name,
+            final long mtps,
+            final long capacity,
+            final long unitsPerPeriod,
+            final long periodNanos) {
+        this.name = name;
+        this.mtps = mtps;
+        this.capacity = capacity;
+        this.unitsPerPeriod = unitsPerPeriod;
+        this.periodNanos = periodNanos;
+        this.burstNanos = nanosToLeak(capacity);
+    }
+
+    /**
+     * Creates an empty bucket with the same name, capacity and leak rate as the given throttle.
+     *
+     * @param throttle the throttle to mirror
+     * @return the lock-free throttle
+     */
+    public static AtomicThrottle mirroring(@NonNull final DeterministicThrottle throttle) {
+        Objects.requireNonNull(throttle);
+        // A BucketThrottle leaks mtps capacity units per nanosecond
+        return new AtomicThrottle(throttle.name(), throttle.mtps(), throttle.capacity(), throttle.mtps(), 1L);
+    }
+
+    /**
+     * Creates an empty gas bucket that allows the given amount of gas per second.
+     *
+     * @param gasPerSec the gas allowed per second
+     * @return the lock-free gas throttle
+     */
+    public static AtomicThrottle forGas(final long gasPerSec) {
+        return new AtomicThrottle(GAS_THROTTLE_NAME, gasPerSec * 1_000, gasPerSec, gasPerSec, SECONDS_TO_NANOSECONDS);
+    }
+
+    /**
+     * Converts the given instant to the nanos-since-epoch used as decision times by this class.
+     *
+     * @param instant the instant to convert
+     * @return the nanos since the epoch
+     */
+    public static long nanosOf(@NonNull final Instant instant) {
+        return instant.getEpochSecond() * SECONDS_TO_NANOSECONDS + instant.getNano();
+    }
+
+    /**
+     * Tries to claim the given number of capacity units at the given time.
+     *
+     * @param units the capacity units to claim
+     * @param nowNanos the decision time, in nanos since the epoch
+     * @return whether the units were claimed
+     */
+    public boolean tryClaim(final long units, final long nowNanos) {
+        return tryClaim(units, nowNanos, FULL_CAPACITY_PERCENT);
+    }
+
+    /**
+     * Tries to claim the given number of capacity units at the given time, treating the bucket as if only the given
+     * percent of its capacity existed.
+     *
+     * @param units the capacity units to claim
+     * @param nowNanos the decision time, in nanos since the epoch
+     * @param capacityPercent the percent of the capacity that may be used, between 1 and 100
+     * @return whether the units were claimed
+     */
+    public boolean tryClaim(final long units, final long nowNanos, final int capacityPercent) {
+        if (units < 0) {
+            return false;
+        }
+        final var cost = nanosToLeak(units);
+        final var limit = capacityPercent >= FULL_CAPACITY_PERCENT
+                ? burstNanos
+                : burstNanos / FULL_CAPACITY_PERCENT * Math.max(1, capacityPercent);
+        if (cost > limit) {
+            return false;
+        }
+        lastDecisionNanos = nowNanos;
+        while (true) {
+            final var current = emptyAt.get();
+            final var next = Math.max(current, nowNanos) + cost;
+            if (next - nowNanos > limit) {
+                return false;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns capacity units to the bucket, either to undo a claim or because the work they were claimed for was
+     * not done in the end.
+     *
+     * @param units the capacity units to return
+     */
+    public void release(final long units) {
+        if (units <= 0) {
+            return;
+        }
+        final var leaked = nanosToLeak(units);
+        emptyAt.accumulateAndGet(leaked, (current, nanos) -> Math.max(0, current - nanos));
+    }
+
+    /**
+     * Returns the percent of the capacity that is used at the given time.
+     *
+     * @param nowNanos the time, in nanos since the epoch
+     * @return the percent of the bucket that is used
+     */
+    public double percentUsed(final long nowNanos) {
+        if (burstNanos == 0) {
+            return 0.0;
+        }
+        final var backlog = Math.max(0, emptyAt.get() - nowNanos);
+        return 100.0 * Math.min(backlog, burstNanos) / burstNanos;
+    }
+
+    /**
+     * Empties the bucket.
+     */
+    public void resetUsage() {
+        emptyAt.set(0);
+    }
+
+    @Override
+    public long used() {
+        final var backlog = Math.min(Math.max(0, emptyAt.get() - lastDecisionNanos), burstNanos);
+        return productWouldOverflow(backlog, unitsPerPeriod) ? capacity : backlog * unitsPerPeriod / periodNanos;
+    }
+
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    @Override
+    public long mtps() {
+        return mtps;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public double instantaneousPercentUsed() {
+        return percentUsed(lastDecisionNanos);
+    }
+
+    private long nanosToLeak(final long units) {
+        if (units == 0) {
+            return 0;
+        }
+        if (unitsPerPeriod <= 0 || productWouldOverflow(units, periodNanos)) {
+            return Long.MAX_VALUE;
+        }
+        final var product = units * periodNanos;
+        return product / unitsPerPeriod + (product % unitsPerPeriod == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.hapi.utils.throttles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AtomicThrottleTest {
+    private static final long ONE_TXN = DeterministicThrottle.capacityRequiredFor(1);
+    private static final Instant NOW = Instant.ofEpochSecond(1_234_567L, 890);
+    private static final long NOW_NANOS = AtomicThrottle.nanosOf(NOW);
+
+    @Test
+    void mirrorsDeterministicThrottle() {
+        final var throttle = DeterministicThrottle.withTpsAndBurstPeriodNamed(10, 2, "A");
+        final var subject = AtomicThrottle.mirroring(throttle);
+
+        assertEquals("A", subject.name());
+        assertEquals(throttle.mtps(), subject.mtps());
+        assertEquals(throttle.capacity(), subject.capacity());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(throttle.allow(1, NOW), subject.tryClaim(ONE_TXN, NOW_NANOS));
+        }
+        assertFalse(subject.tryClaim(ONE_TXN, NOW_NANOS));
+        assertEquals(100.0, subject.instantaneousPercentUsed());
+        assertEquals(throttle.used(), subject.used());
+
+        // After 1/10th of a second, one transaction has leaked out of both
+        final var later = NOW.plusMillis(100);
+        assertTrue(throttle.allow(1, later));
+        assertTrue(subject.tryClaim(ONE_TXN, AtomicThrottle.nanosOf(later)));
+        assertFalse(throttle.allow(1, later));
+        assertFalse(subject.tryClaim(ONE_TXN, AtomicThrottle.nanosOf(later)));
+    }
+
+    @Test
+    void releasedCapacityCanBeClaimedAgain() {
+        final var subject = AtomicThrottle.mirroring(DeterministicThrottle.withTps(2));
+
+        assertTrue(subject.tryClaim(2 * ONE_TXN, NOW_NANOS));
+        assertFalse(subject.tryClaim(ONE_TXN, NOW_NANOS));
+        subject.release(ONE_TXN);
+        assertEquals(50.0, subject.percentUsed(NOW_NANOS));
+        assertTrue(subject.tryClaim(ONE_TXN, NOW_NANOS));
+
+        subject.resetUsage();
+        assertEquals(0.0, subject.percentUsed(NOW_NANOS));
+    }
+
+    @Test
+    void reducedCapacityPercentIsRespected() {
+        final var subject = AtomicThrottle.mirroring(DeterministicThrottle.withTps(10));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(subject.tryClaim(ONE_TXN, NOW_NANOS, 50));
+        }
+        assertFalse(subject.tryClaim(ONE_TXN, NOW_NANOS, 50));
+        assertTrue(subject.tryClaim(ONE_TXN, NOW_NANOS));
+    }
+
+    @Test
+    void earlierDecisionTimesAreMoreConservative() {
+        final var subject = AtomicThrottle.mirroring(DeterministicThrottle.withTps(1));
+
+        assertTrue(subject.tryClaim(ONE_TXN, NOW_NANOS));
+        assertFalse(subject.tryClaim(ONE_TXN, NOW_NANOS - 1));
+        assertTrue(subject.tryClaim(ONE_TXN, NOW_NANOS + 1_000_000_000L));
+    }
+
+    @Test
+    void gasThrottleEmptiesInOneSecond() {
+        final var subject = AtomicThrottle.forGas(1_000_000);
+
+        assertEquals("Gas", subject.name());
+        assertEquals(1_000_000_000L, subject.mtps());
+        assertTrue(subject.tryClaim(600_000, NOW_NANOS));
+        assertFalse(subject.tryClaim(600_000, NOW_NANOS));
+        assertEquals(60.0, subject.percentUsed(NOW_NANOS));
+        assertEquals(10.0, subject.percentUsed(NOW_NANOS + 500_000_000L));
+        assertTrue(subject.tryClaim(600_000, NOW_NANOS + 500_000_000L));
+    }
+
+    @Test
+    void zeroGasThrottleOnlyAllowsZeroGas() {
+        final var subject = AtomicThrottle.forGas(0);
+
+        assertFalse(subject.tryClaim(1, NOW_NANOS));
+        assertTrue(subject.tryClaim(0, NOW_NANOS));
+        assertEquals(0.0, subject.percentUsed(NOW_NANOS));
+    }
+
+    @Test
+    void concurrentClaimsNeverExceedCapacity() throws InterruptedException {
+        final var subject = AtomicThrottle.mirroring(DeterministicThrottle.withTpsAndBurstPeriod(1_000, 1));
+        final var allowed = new AtomicInteger();
+        final var threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.startVirtualThread(() -> {
+                for (int j = 0; j < 1_000; j++) {
+                    if (subject.tryClaim(ONE_TXN, NOW_NANOS)) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1_000, allowed.get());
+        assertEquals(100.0, subject.percentUsed(NOW_NANOS));
+    }
+}
@@ -30,6 +30,18 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
     /** A map of all modified values buffered in this mutable state */
     private final Map<K, V> modifications = new LinkedHashMap<>();
 
+    /**
+     * While accesses are tracked, the value returned for each key the first time it was read (if not yet
+     * written); null while accesses are not tracked.
+     */
+    private Map<K, V> readSet;
+
+    /** While accesses are tracked, the keys put or removed, in the order first written; null otherwise */
+    private Set<K> writeSet;
+
+    /** Whether, while accesses were tracked, this state was read in a way not captured by the read set */
+    private boolean hasUntrackedReads;
+
     /**
      * Create a new StateBase.
      *
@@ -67,6 +79,67 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
     public final void reset() {
         super.reset();
         modifications.clear();
+        readSet = null;
+        writeSet = null;
+        hasUntrackedReads = false;
+    }
+
+    /**
+     * Starts tracking the keys read and written through this state, so that a computation done on this state
+     * can later be validated against, and its writes replayed onto, another version of the same state. The read
+     * set captures the value returned for each key the first time it was read, whether from the modifications
+     * of this state or from the underlying data source; but not reads of a key after it was written. Tracking
+     * stops when this state is {@link #reset()}.
+     */
+    public final void trackAccesses() {
+        readSet = new LinkedHashMap<>();
+        writeSet = new LinkedHashSet<>();
+        hasUntrackedReads = false;
+    }
+
+    /**
+     * Returns whether this state is tracking the keys read and written through it.
+     *
+     * @return whether accesses are being tracked
+     */
+    public final boolean isTrackingAccesses() {
+        return readSet != null;
+    }
+
+    /**
+     * Returns the tracked read set; that is, each key read before being written since {@link #trackAccesses()},
+     * mapped to the value (possibly null) that was read.
+     *
+     * @return the read set
+     * @throws IllegalStateException if accesses are not being tracked
+     */
+    @NonNull
+    public final Map<K, V> readSet() {
+        throwIfNotTracking();
+        return Collections.unmodifiableMap(readSet);
+    }
+
+    /**
+     * Returns the tracked write set; that is, the keys put or removed since {@link #trackAccesses()}, in the
+     * order they were first written. The value now buffered for each such key is given by {@link #get(Object)}.
+     *
+     * @return the write set
+     * @throws IllegalStateException if accesses are not being tracked
+     */
+    @NonNull
+    public final Set<K> writeSet() {
+        throwIfNotTracking();
+        return Collections.unmodifiableSet(writeSet);
+    }
+
+    /**
+     * Returns whether, since {@link #trackAccesses()}, this state was read in a way that depends on more than
+     * the keys in the read set; for example, by iterating its keys or getting its size.
+     *
+     * @return whether there were untracked reads
+     */
+    public final boolean hasUntrackedReads() {
+        return hasUntrackedReads;
     }
 
     /** {@inheritDoc} */
@@ -75,17 +148,23 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
     public final V get(@NonNull K key) {
         // If there is a modification, then we've already done a "put" or "remove"
         // and should return based on the modification
+        final V value;
         if (modifications.containsKey(key)) {
-            return modifications.get(key);
+            value = modifications.get(key);
         } else {
-            return super.get(key);
+            value = super.get(key);
         }
+        trackRead(key, value);
+        return value;
     }
 
     /** {@inheritDoc} */
     @Nullable
     @Override
     public V getOriginalValue(@NonNull K key) {
+        if (readSet != null) {
+            hasUntrackedReads = true;
+        }
         return super.get(key);
     }
 
@@ -97,20 +176,25 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
         // If there is a modification, then we've already done a "put" or "remove"
         // and should return based on the modification
         if (modifications.containsKey(key)) {
-            return modifications.get(key);
+            final var value = modifications.get(key);
+            trackRead(key, value);
+            return value;
         }
 
         // If the modifications map does not contain an answer, but the read cache of the
         // super class does, then it means we've looked this up before but never modified it.
         // So we can just delegate to the super class.
         if (hasBeenRead(key)) {
-            return super.get(key);
+            final var value = super.get(key);
+            trackRead(key, value);
+            return value;
         }
 
         // We have not queried this key before, so let's look it up and store that we have
         // read this key. And then return the value.
         final var val = getForModifyFromDataSource(key);
         markRead(key, val);
+        trackRead(key, val);
         return val;
     }
 
@@ -120,6 +204,7 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
         Objects.requireNonNull(key);
         Objects.requireNonNull(value);
         modifications.put(key, value);
+        trackWrite(key);
     }
 
     /** {@inheritDoc} */
@@ -127,6 +212,7 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
     public final void remove(@NonNull final K key) {
         Objects.requireNonNull(key);
         modifications.put(key, null);
+        trackWrite(key);
     }
 
     /**
@@ -141,6 +227,9 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
     @NonNull
     @Override
     public Iterator<K> keys() {
+        if (readSet != null) {
+            hasUntrackedReads = true;
+        }
         // Capture the set of keys that have been removed, and the set of keys that have been added.
         final var removedKeys = new HashSet<K>();
         final var maybeAddedKeys = new HashSet<K>();
@@ -186,6 +275,9 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
      */
     @NonNull
     public long size() {
+        if (readSet != null) {
+            hasUntrackedReads = true;
+        }
         final var sizeOfBackingMap = sizeOfDataSource();
         int numAdditions = 0;
         int numRemovals = 0;
@@ -203,6 +295,24 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
         return sizeOfBackingMap + numAdditions - numRemovals;
     }
 
+    private void trackRead(@NonNull final K key, @Nullable final V value) {
+        if (readSet != null && !writeSet.contains(key) && !readSet.containsKey(key)) {
+            readSet.put(key, value);
+        }
+    }
+
+    private void trackWrite(@NonNull final K key) {
+        if (writeSet != null) {
+            writeSet.add(key);
+        }
+    }
+
+    private void throwIfNotTracking() {
+        if (readSet == null) {
+            throw new IllegalStateException("Accesses to " + getStateKey() + " are not being tracked");
+        }
+    }
+
     /**
      * Reads from the underlying data source in such a way as to cause any fast-copyable data
      * structures underneath to make a fast copy.
@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 
 import com.hedera.node.app.spi.fixtures.state.MapWritableKVState;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -772,6 +773,77 @@ class WritableKVStateBaseTest extends ReadableKVStateBaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("access tracking")
+    final class AccessTrackingTest {
+        @Test
+        @DisplayName("Accesses are not tracked by default")
+        void notTrackedByDefault() {
+            state.get(A_KEY);
+            assertThat(state.isTrackingAccesses()).isFalse();
+            assertThatThrownBy(() -> state.readSet()).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> state.writeSet()).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Reads before writes are tracked with the first value read")
+        void tracksFirstReadsBeforeWrites() {
+            state.trackAccesses();
+
+            assertThat(state.get(A_KEY)).isEqualTo(APPLE);
+            assertThat(state.getForModify(UNKNOWN_KEY)).isNull();
+            state.put(A_KEY, ACAI);
+            state.get(A_KEY);
+            state.remove(B_KEY);
+            state.get(B_KEY);
+
+            assertThat(state.readSet()).containsExactly(Map.entry(A_KEY, APPLE), new SimpleEntry<>(UNKNOWN_KEY, null));
+            assertThat(state.writeSet()).containsExactly(A_KEY, B_KEY);
+            assertThat(state.hasUntrackedReads()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Writes are tracked in the order keys were first written")
+        void tracksWritesInFirstWriteOrder() {
+            state.trackAccesses();
+
+            state.put(C_KEY, CHERRY);
+            state.put(A_KEY, ACAI);
+            state.put(C_KEY, CHERRY);
+
+            assertThat(state.writeSet()).containsExactly(C_KEY, A_KEY);
+            assertThat(state.readSet()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Iterating keys, getting the size, or reading original values are untracked reads")
+        void keysSizeAndOriginalValuesAreUntracked() {
+            state.trackAccesses();
+            state.size();
+            assertThat(state.hasUntrackedReads()).isTrue();
+
+            state.trackAccesses();
+            state.keys();
+            assertThat(state.hasUntrackedReads()).isTrue();
+
+            state.trackAccesses();
+            state.getOriginalValue(A_KEY);
+            assertThat(state.hasUntrackedReads()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Reset stops tracking")
+        void resetStopsTracking() {
+            state.trackAccesses();
+            state.get(A_KEY);
+
+            state.reset();
+
+            assertThat(state.isTrackingAccesses()).isFalse();
+            assertThat(state.hasUntrackedReads()).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("iterator")
     final class IteratorTest {
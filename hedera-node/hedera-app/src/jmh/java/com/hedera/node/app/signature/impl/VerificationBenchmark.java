@@ -22,7 +22,18 @@ import com.hedera.node.app.fixtures.AppTestBase;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.spi.fixtures.Scenarios;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.crypto.Cryptography;
+import com.swirlds.common.crypto.CryptographyHolder;
+import com.swirlds.common.crypto.SignatureType;
+import com.swirlds.common.crypto.TransactionSignature;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -37,7 +48,11 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 
-/** Measures the amount of time to prepare expanded signatures and call the crypto engine */
+/**
+ * Measures the amount of time to prepare expanded signatures and call the crypto engine, and the amount of time for
+ * the real crypto engine to verify the signatures of a transaction one by one or as a single list, where repeated
+ * signatures are only verified once.
+ */
 @State(Scope.Benchmark)
 @Fork(value = 1, warmups = 1)
 @BenchmarkMode(Mode.AverageTime)
@@ -46,9 +61,21 @@ public class VerificationBenchmark extends AppTestBase implements Scenarios {
     @Param({"1", "2", "5", "10"})
     public int numSigPairs;
 
+    /** The share of the signatures that repeat an earlier signature of the list, in percent */
+    @Param({"0", "50"})
+    public int repeatedPercent;
+
     private Set<ExpandedSignaturePair> sigPairs;
     private Bytes fakeSignedBytes;
     private SignatureVerifierImpl subject;
+    private Cryptography cryptography;
+    private List<TransactionSignature> platformSigs;
+
+    @Setup(Level.Trial)
+    public void setUpSignatures() throws GeneralSecurityException {
+        cryptography = CryptographyHolder.get();
+        platformSigs = createPlatformSigs(numSigPairs);
+    }
 
     @Setup(Level.Invocation)
     public void setUp() {
@@ -63,6 +90,73 @@ public class VerificationBenchmark extends AppTestBase implements Scenarios {
         blackhole.consume(subject.verify(fakeSignedBytes, sigPairs));
     }
 
+    @Benchmark
+    public void verifyEachBench(Blackhole blackhole) {
+        for (final var sig : platformSigs) {
+            blackhole.consume(cryptography.verifySync(sig));
+        }
+    }
+
+    @Benchmark
+    public void verifyBatchBench(Blackhole blackhole) {
+        blackhole.consume(cryptography.verifySync(platformSigs));
+    }
+
+    /**
+     * Creates signatures the way they show up in a round: each signer signs several messages, and a share of the
+     * signatures repeats an earlier one, as when the same key is required for several roles of a transaction.
+     */
+    private List<TransactionSignature> createPlatformSigs(int numSigs) throws GeneralSecurityException {
+        final var generator = KeyPairGenerator.getInstance("Ed25519");
+        final var signers = new ArrayList<KeyPair>();
+        for (int i = 0, n = Math.max(1, numSigs / 2); i < n; i++) {
+            signers.add(generator.generateKeyPair());
+        }
+        final var numRepeated = numSigs * repeatedPercent / 100;
+        final var sigs = new ArrayList<TransactionSignature>();
+        for (int i = 0; i < numSigs - numRepeated; i++) {
+            sigs.add(ed25519Sig(signers.get(i % signers.size()), randomBytes(1024).toByteArray()));
+        }
+        for (int i = 0; i < numRepeated; i++) {
+            // a copy of the contents, as every occurrence in a transaction is expanded into its own array
+            final var original = sigs.get(i % (numSigs - numRepeated));
+            sigs.add(new TransactionSignature(
+                    original.getContents(),
+                    original.getSignatureOffset(),
+                    original.getSignatureLength(),
+                    original.getPublicKeyOffset(),
+                    original.getPublicKeyLength(),
+                    original.getMessageOffset(),
+                    original.getMessageLength(),
+                    SignatureType.ED25519));
+        }
+        return sigs;
+    }
+
+    private TransactionSignature ed25519Sig(final KeyPair pair, final byte[] message) throws GeneralSecurityException {
+        final var signer = Signature.getInstance("Ed25519");
+        signer.initSign(pair.getPrivate());
+        signer.update(message);
+        final var signature = signer.sign();
+        // The raw public key is the last 32 bytes of the X.509 encoding
+        final var encoded = pair.getPublic().getEncoded();
+        final var publicKey = Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length);
+
+        final var contents = new byte[message.length + signature.length + publicKey.length];
+        System.arraycopy(message, 0, contents, 0, message.length);
+        System.arraycopy(signature, 0, contents, message.length, signature.length);
+        System.arraycopy(publicKey, 0, contents, message.length + signature.length, publicKey.length);
+        return new TransactionSignature(
+                contents,
+                message.length,
+                signature.length,
+                message.length + signature.length,
+                publicKey.length,
+                0,
+                message.length,
+                SignatureType.ED25519);
+    }
+
     private Set<ExpandedSignaturePair> createSigPairs(int numSigPairs) {
         final var pairs = new HashSet<ExpandedSignaturePair>();
         for (int i = 0; i < numSigPairs; i++) {
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.throttle;
+
+import com.hedera.node.app.hapi.utils.throttles.AtomicThrottle;
+import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of ingest throttle decisions made by many concurrent submitters, either with a single lock
+ * around all deterministic buckets (as the {@link SynchronizedThrottleAccumulator} does by default), or with
+ * lock-free {@link AtomicThrottle} buckets.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngestThrottleBenchmark {
+    private static final long ONE_TXN = DeterministicThrottle.capacityRequiredFor(1);
+
+    /** The number of independent buckets the submitters spread their transactions over */
+    @Param({"1", "8"})
+    public int buckets;
+
+    private DeterministicThrottle[] deterministicThrottles;
+    private AtomicThrottle[] atomicThrottles;
+
+    @Setup
+    public void setUp() {
+        deterministicThrottles = new DeterministicThrottle[buckets];
+        atomicThrottles = new AtomicThrottle[buckets];
+        for (int i = 0; i < buckets; i++) {
+            deterministicThrottles[i] = DeterministicThrottle.withTpsNamed(10_000, "bucket" + i);
+            atomicThrottles[i] = AtomicThrottle.mirroring(deterministicThrottles[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean synchronizedBuckets() {
+        final var throttle = deterministicThrottles[ThreadLocalRandom.current().nextInt(buckets)];
+        synchronized (this) {
+            // The deterministic throttles require monotonic decision times
+            return throttle.allow(1, Instant.now());
+        }
+    }
+
+    @Benchmark
+    public boolean atomicBuckets() {
+        final var throttle = atomicThrottles[ThreadLocalRandom.current().nextInt(buckets)];
+        return throttle.tryClaim(ONE_TXN, AtomicThrottle.nanosOf(Instant.now()));
+    }
+}
@@ -97,6 +97,7 @@ import com.hedera.node.app.spi.workflows.record.GenesisRecordsBuilder;
 import com.hedera.node.app.state.HederaLifecyclesImpl;
 import com.hedera.node.app.state.HederaState;
 import com.hedera.node.app.state.merkle.MerkleHederaState;
+import com.hedera.node.app.state.merkle.disk.RoundReadCacheFactory;
 import com.hedera.node.app.state.recordcache.RecordCacheService;
 import com.hedera.node.app.throttle.CongestionThrottleService;
 import com.hedera.node.app.version.HederaSoftwareVersion;
@@ -206,6 +207,11 @@ public final class Hedera implements SwirldMain {
      * Indicates whether the platform is active
      */
     private PlatformStatus platformStatus = PlatformStatus.STARTING_UP;
+    /**
+     * Creates the read cache of each round. Set during the first state initialization and kept across reconnects,
+     * since the metrics it reports can only be registered once.
+     */
+    private RoundReadCacheFactory readCacheFactory;
 
     private final SyntheticRecordsGenerator recordsGenerator;
 
@@ -868,6 +874,9 @@ public final class Hedera implements SwirldMain {
 
             logger.debug("Shutting down the block manager");
             daggerApp.blockRecordManager().close();
+
+            logger.debug("Shutting down the pre-handle scheduler");
+            daggerApp.preHandleScheduler().close();
         }
 
         platform = null;
@@ -890,7 +899,9 @@ public final class Hedera implements SwirldMain {
 
         final var transactions = new ArrayList<Transaction>(1000);
         event.forEachTransaction(transactions::add);
-        daggerApp.preHandleWorkflow().preHandle(readableStoreFactory, creator.accountId(), transactions.stream());
+        daggerApp
+                .preHandleWorkflow()
+                .preHandle(readableStoreFactory, creator.accountId(), transactions.stream(), event.getTimeCreated());
     }
 
     public void onNewRecoveredState(@NonNull final MerkleHederaState recoveredState) {
@@ -1049,6 +1060,10 @@ public final class Hedera implements SwirldMain {
         final var nodeAddress = platform.getAddressBook().getAddress(selfId);
         // Fully qualified so as to not confuse javadoc
         // DaggerApp should be constructed every time we reach this point, even if exists. This is needed for reconnect
+        if (daggerApp != null) {
+            // Stop the workers of the previous instance, its pre-handle calls still finish on their own threads
+            daggerApp.preHandleScheduler().close();
+        }
         daggerApp = com.hedera.node.app.DaggerHederaInjectionComponent.builder()
                 .initTrigger(trigger)
                 .configProvider(configProvider)
@@ -1064,6 +1079,14 @@ public final class Hedera implements SwirldMain {
                 .genesisRecordsConsensusHook((GenesisRecordsConsensusHook) genesisRecordsBuilder)
                 .build();
 
+        if (readCacheFactory == null) {
+            final var hederaConfig = configProvider.getConfiguration().getConfigData(HederaConfig.class);
+            readCacheFactory = new RoundReadCacheFactory(
+                    hederaConfig.workflowRoundReadCacheMaxEntries(),
+                    platform.getContext().getMetrics());
+        }
+        state.setReadCacheFactory(readCacheFactory);
+
         daggerApp.workingStateAccessor().setHederaState(state);
         daggerApp.platformStateAccessor().setPlatformState(platformState);
     }
@@ -50,6 +50,7 @@ import com.hedera.node.app.workflows.WorkflowsInjectionModule;
 import com.hedera.node.app.workflows.handle.HandleWorkflow;
 import com.hedera.node.app.workflows.handle.PlatformStateUpdateFacility;
 import com.hedera.node.app.workflows.handle.record.GenesisRecordsConsensusHook;
+import com.hedera.node.app.workflows.prehandle.PreHandleScheduler;
 import com.hedera.node.app.workflows.prehandle.PreHandleWorkflow;
 import com.hedera.node.config.ConfigProvider;
 import com.swirlds.common.crypto.Cryptography;
@@ -111,6 +112,8 @@ public interface HederaInjectionComponent {
 
     PreHandleWorkflow preHandleWorkflow();
 
+    PreHandleScheduler preHandleScheduler();
+
     HandleWorkflow handleWorkflow();
 
     BlockRecordManager blockRecordManager();
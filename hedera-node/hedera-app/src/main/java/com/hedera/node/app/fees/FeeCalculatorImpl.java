@@ -43,7 +43,6 @@ import com.hedera.node.app.workflows.dispatcher.ReadableStoreFactory;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.function.Function;
 
@@ -70,6 +69,10 @@ public class FeeCalculatorImpl implements FeeCalculator {
 
     private final TransactionInfo txInfo;
 
+    /** The cache of computed fees, or null if this calculator computes every fee */
+    @Nullable
+    private final FeeResultCache feeResultCache;
+
     /**
      * Create a new instance. One is created per transaction.
      *
@@ -98,11 +101,41 @@ public class FeeCalculatorImpl implements FeeCalculator {
             final boolean isInternalDispatch,
             final CongestionMultipliers congestionMultipliers,
             final ReadableStoreFactory storeFactory) {
-        //  Perform basic validations, and convert the PBJ objects to Google protobuf objects for `hapi-fees`.
+        // Convert the PBJ objects to Google protobuf objects for `hapi-fees`
+        this(
+                txBody,
+                payerKey,
+                numVerifications,
+                signatureMapSize,
+                fromPbj(feeData),
+                fromPbj(currentRate),
+                isInternalDispatch,
+                congestionMultipliers,
+                storeFactory,
+                null);
+    }
+
+    /**
+     * Create a new instance from fee data and an exchange rate that were already converted to Google protobuf
+     * objects, as cached by the {@link FeeManager}. One is created per transaction. If given a cache, the fees of
+     * the transaction types it covers are looked up there before they are computed.
+     */
+    FeeCalculatorImpl(
+            @NonNull TransactionBody txBody,
+            @NonNull Key payerKey,
+            final int numVerifications,
+            final int signatureMapSize,
+            @NonNull final com.hederahashgraph.api.proto.java.FeeData feeData,
+            @NonNull final com.hederahashgraph.api.proto.java.ExchangeRate currentRate,
+            final boolean isInternalDispatch,
+            final CongestionMultipliers congestionMultipliers,
+            final ReadableStoreFactory storeFactory,
+            @Nullable final FeeResultCache feeResultCache) {
+        //  Perform basic validations
         requireNonNull(txBody);
         requireNonNull(payerKey);
-        this.feeData = fromPbj(feeData);
-        this.currentRate = fromPbj(currentRate);
+        this.feeData = requireNonNull(feeData);
+        this.currentRate = requireNonNull(currentRate);
         if (numVerifications < 0) {
             throw new IllegalArgumentException("numVerifications must be >= 0");
         }
@@ -116,9 +149,7 @@ public class FeeCalculatorImpl implements FeeCalculator {
         // with a simpler model, for now, we'll go ahead and check the transaction body type here.
         final var baseMeta = new BaseTransactionMeta(
                 // For some reason in mono-service while auto-creating we don't consider memo bytes for fees
-                isInternalDispatch
-                        ? 0
-                        : txBody.memo().getBytes(StandardCharsets.UTF_8).length, // Has to be a faster way...
+                isInternalDispatch ? 0 : utf8LengthOf(txBody.memo()),
                 txBody.data().kind() == TransactionBody.DataOneOfType.CRYPTO_TRANSFER
                         ? ((CryptoTransferTransactionBody) txBody.data().as())
                                 .transfersOrElse(TransferList.DEFAULT)
@@ -139,6 +170,7 @@ public class FeeCalculatorImpl implements FeeCalculator {
         } catch (UnknownHederaFunctionality e) {
             throw new IllegalStateException("Invalid transaction body " + txBody, e);
         }
+        this.feeResultCache = feeResultCache;
     }
 
     public FeeCalculatorImpl(
@@ -147,21 +179,36 @@ public class FeeCalculatorImpl implements FeeCalculator {
             final CongestionMultipliers congestionMultipliers,
             final ReadableStoreFactory storeFactory,
             final HederaFunctionality functionality) {
+        this(
+                feeData == null ? null : fromPbj(feeData),
+                fromPbj(currentRate),
+                congestionMultipliers,
+                storeFactory,
+                functionality);
+    }
+
+    FeeCalculatorImpl(
+            @Nullable final com.hederahashgraph.api.proto.java.FeeData feeData,
+            @NonNull final com.hederahashgraph.api.proto.java.ExchangeRate currentRate,
+            final CongestionMultipliers congestionMultipliers,
+            final ReadableStoreFactory storeFactory,
+            final HederaFunctionality functionality) {
         if (feeData == null) {
             this.feeData = null;
             this.usage = null;
         } else {
-            this.feeData = fromPbj(feeData);
+            this.feeData = feeData;
             this.usage = UsageAccumulator.fromGrpc(this.feeData);
             usage.reset();
             usage.addBpt(BASIC_QUERY_HEADER + BASIC_TX_ID_SIZE);
             usage.addBpr(BASIC_QUERY_RES_HEADER);
         }
-        this.currentRate = fromPbj(currentRate);
+        this.currentRate = requireNonNull(currentRate);
         this.sigUsage = new SigUsage(0, 0, 0);
 
         this.congestionMultipliers = congestionMultipliers;
         this.storeFactory = storeFactory;
+        this.feeResultCache = null;
 
         // used only for access query functionality (in congestionMultipliers)
         this.txInfo = new TransactionInfo(
@@ -241,11 +288,18 @@ public class FeeCalculatorImpl implements FeeCalculator {
     @NonNull
     public Fees calculate() {
         failIfLegacyOnly();
+        final var multiplier = congestionMultipliers.maxCurrentMultiplier(txInfo, storeFactory);
+        if (feeResultCache != null && FeeResultCache.isCached(txInfo.functionality())) {
+            return feeResultCache.getOrCompute(usage, feeData, currentRate, multiplier, () -> feesAt(multiplier));
+        }
+        return feesAt(multiplier);
+    }
+
+    private Fees feesAt(final long multiplier) {
         // Use the "hapi-fees" module to calculate the fees, and convert to one of our "Fees" objects.
         final var overflowCalc = new OverflowCheckingCalc();
 
-        final var feeObject = overflowCalc.fees(
-                usage, feeData, currentRate, congestionMultipliers.maxCurrentMultiplier(txInfo, storeFactory));
+        final var feeObject = overflowCalc.fees(usage, feeData, currentRate, multiplier);
         return new Fees(feeObject.nodeFee(), feeObject.networkFee(), feeObject.serviceFee());
     }
 
@@ -253,6 +307,34 @@ public class FeeCalculatorImpl implements FeeCalculator {
         return congestionMultipliers.maxCurrentMultiplier(txInfo, storeFactory);
     }
 
+    /**
+     * Returns the number of bytes in the UTF-8 encoding of the given string, without encoding it.
+     *
+     * @param s the string
+     * @return the number of bytes in its UTF-8 encoding
+     */
+    static int utf8LengthOf(@NonNull final String s) {
+        final int n = s.length();
+        int length = n;
+        for (int i = 0; i < n; i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                length++;
+            } else if (!Character.isSurrogate(c)) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                // A surrogate pair encodes as four bytes for its two chars
+                length += 2;
+                i++;
+            }
+            // An unpaired surrogate encodes as a single '?' byte
+        }
+        return length;
+    }
+
     private void failIfLegacyOnly() {
         if (usage == null) {
             throw new UnsupportedOperationException("Only legacy calculation supported");
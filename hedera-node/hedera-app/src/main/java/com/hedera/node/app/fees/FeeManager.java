@@ -17,6 +17,7 @@
 package com.hedera.node.app.fees;
 
 import static com.hedera.hapi.node.base.ResponseCodeEnum.SUCCESS;
+import static com.hedera.node.app.service.mono.pbj.PbjConverter.fromPbj;
 import static java.util.Objects.requireNonNull;
 
 import com.hedera.hapi.node.base.CurrentAndNextFeeSchedule;
@@ -28,8 +29,10 @@ import com.hedera.hapi.node.base.Key;
 import com.hedera.hapi.node.base.ResponseCodeEnum;
 import com.hedera.hapi.node.base.SubType;
 import com.hedera.hapi.node.base.TransactionFeeSchedule;
+import com.hedera.hapi.node.transaction.ExchangeRate;
 import com.hedera.hapi.node.transaction.TransactionBody;
 import com.hedera.node.app.fees.congestion.CongestionMultipliers;
+import com.hedera.node.app.service.mono.pbj.PbjConverter;
 import com.hedera.node.app.spi.fees.FeeCalculator;
 import com.hedera.node.app.workflows.dispatcher.ReadableStoreFactory;
 import com.hedera.pbj.runtime.ParseException;
@@ -40,6 +43,7 @@ import java.nio.BufferUnderflowException;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
@@ -59,6 +63,8 @@ public final class FeeManager {
 
     private record Entry(HederaFunctionality function, SubType subType) {}
 
+    private record ConvertedRate(ExchangeRate rate, com.hederahashgraph.api.proto.java.ExchangeRate grpcRate) {}
+
     private static final long DEFAULT_FEE = 100_000L;
 
     private static final FeeComponents DEFAULT_FEE_COMPONENTS =
@@ -73,6 +79,13 @@ public final class FeeManager {
     private Map<Entry, FeeData> currentFeeDataMap = Collections.emptyMap();
     /** The next fee schedule, cached for speed. */
     private Map<Entry, FeeData> nextFeeDataMap = Collections.emptyMap();
+    /**
+     * The Google Protobuf form of every fee data in the current and next schedules, needed by "hapi-fees". The fee
+     * data only changes with the fee schedule, so it is converted once per update instead of once per transaction.
+     */
+    private Map<FeeData, com.hederahashgraph.api.proto.java.FeeData> grpcFeeDataMap = Collections.emptyMap();
+    /** The most recently converted exchange rate, reused until the active rate changes. */
+    private volatile ConvertedRate lastConvertedRate;
     /** The expiration time of the "current" fee schedule, in consensus seconds since the epoch, cached for speed. */
     private long currentScheduleExpirationSeconds;
     /** The exchange rate manager to use for the current rate */
@@ -80,6 +93,9 @@ public final class FeeManager {
 
     private final CongestionMultipliers congestionMultipliers;
 
+    /** The fees computed for the most common transaction types, valid until the fee schedule changes */
+    private final FeeResultCache feeResultCache = new FeeResultCache();
+
     @Inject
     public FeeManager(
             @NonNull final ExchangeRateManager exchangeRateManager,
@@ -153,6 +169,14 @@ public final class FeeManager {
             }
         }
 
+        // Convert each fee data of both schedules just once; they are looked up by identity
+        final Map<FeeData, com.hederahashgraph.api.proto.java.FeeData> grpcFeeData = new IdentityHashMap<>();
+        grpcFeeData.put(DEFAULT_FEE_DATA, fromPbj(DEFAULT_FEE_DATA));
+        currentFeeDataMap.values().forEach(feeData -> grpcFeeData.computeIfAbsent(feeData, PbjConverter::fromPbj));
+        nextFeeDataMap.values().forEach(feeData -> grpcFeeData.computeIfAbsent(feeData, PbjConverter::fromPbj));
+        this.grpcFeeDataMap = grpcFeeData;
+        feeResultCache.clear();
+
         return SUCCESS;
     }
 
@@ -186,11 +210,12 @@ public final class FeeManager {
                 payerKey,
                 numVerifications,
                 signatureMapSize,
-                feeData,
-                exchangeRateManager.activeRate(consensusTime),
+                grpcFeeDataOf(feeData),
+                grpcRateOf(exchangeRateManager.activeRate(consensusTime)),
                 isInternalDispatch,
                 congestionMultipliers,
-                storeFactory);
+                storeFactory,
+                feeResultCache);
     }
 
     public long congestionMultiplierFor(
@@ -211,8 +236,8 @@ public final class FeeManager {
 
         // Create the fee calculator
         return new FeeCalculatorImpl(
-                feeData,
-                exchangeRateManager.activeRate(consensusTime),
+                grpcFeeDataOf(feeData),
+                grpcRateOf(exchangeRateManager.activeRate(consensusTime)),
                 congestionMultipliers,
                 storeFactory,
                 functionality);
@@ -236,6 +261,31 @@ public final class FeeManager {
         return result;
     }
 
+    /**
+     * Returns the Google Protobuf form of the given fee data, converted during the last {@link #update(Bytes)}.
+     */
+    @NonNull
+    private com.hederahashgraph.api.proto.java.FeeData grpcFeeDataOf(@NonNull final FeeData feeData) {
+        final var grpcFeeData = grpcFeeDataMap.get(feeData);
+        return grpcFeeData != null ? grpcFeeData : fromPbj(feeData);
+    }
+
+    /**
+     * Returns the Google Protobuf form of the given exchange rate, reusing the last conversion if the rate is the
+     * same. This method may be called concurrently from ingest and handle, so the cached conversion is replaced as a
+     * whole.
+     */
+    @NonNull
+    private com.hederahashgraph.api.proto.java.ExchangeRate grpcRateOf(@NonNull final ExchangeRate rate) {
+        final var lastConverted = lastConvertedRate;
+        if (lastConverted != null && lastConverted.rate().equals(rate)) {
+            return lastConverted.grpcRate();
+        }
+        final var converted = new ConvertedRate(rate, fromPbj(rate));
+        lastConvertedRate = converted;
+        return converted.grpcRate();
+    }
+
     /**
      * Used during {@link #update(Bytes)} to populate the fee data map based on the configuration.
      * @param feeDataMap The map to populate.
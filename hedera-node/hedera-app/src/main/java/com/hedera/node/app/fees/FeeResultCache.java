@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.fees;
+
+import static com.hedera.hapi.node.base.HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE;
+import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_TRANSFER;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.node.app.hapi.fees.usage.state.UsageAccumulator;
+import com.hedera.node.app.spi.fees.Fees;
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.FeeData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the fees computed for the most common transaction types. Most of these transactions have one of a few
+ * usage shapes (a two-party transfer, a short message), so the same fees are computed over and over again between
+ * changes of the fee schedule, exchange rate or congestion multiplier.
+ *
+ * <p>The fees are a function of the prices, the exchange rate, the congestion multiplier and the usage in the units
+ * that are priced, so those are the key. The cache may be used concurrently from ingest and handle.
+ */
+final class FeeResultCache {
+    /** The transaction types whose fees are cached */
+    private static final Set<HederaFunctionality> CACHED_FUNCTIONS =
+            EnumSet.of(CRYPTO_TRANSFER, CONSENSUS_SUBMIT_MESSAGE);
+
+    /** Once this many fees are cached, the cache starts over, so stale exchange rates and multipliers do not pile up */
+    static final int MAX_ENTRIES = 4096;
+
+    private record Key(
+            @NonNull FeeData prices,
+            @NonNull ExchangeRate rate,
+            long multiplier,
+            long bpt,
+            long networkVpt,
+            long networkRbh,
+            long nodeBpr,
+            long nodeSbpr,
+            long nodeVpt,
+            long serviceRbh,
+            long serviceSbh) {}
+
+    private final Map<Key, Fees> fees = new ConcurrentHashMap<>();
+
+    /**
+     * Returns whether the fees of the given transaction type are cached.
+     *
+     * @param functionality the transaction type
+     * @return whether its fees are cached
+     */
+    static boolean isCached(@NonNull final HederaFunctionality functionality) {
+        return CACHED_FUNCTIONS.contains(functionality);
+    }
+
+    /**
+     * Returns the fees for the given usage, prices, rate and multiplier, computing them only if they are not cached.
+     *
+     * @param usage the usage of the transaction
+     * @param prices the prices of the resources used
+     * @param rate the exchange rate
+     * @param multiplier the congestion multiplier
+     * @param computation computes the fees if they are not cached
+     * @return the fees
+     */
+    @NonNull
+    Fees getOrCompute(
+            @NonNull final UsageAccumulator usage,
+            @NonNull final FeeData prices,
+            @NonNull final ExchangeRate rate,
+            final long multiplier,
+            @NonNull final Supplier<Fees> computation) {
+        final var key = new Key(
+                requireNonNull(prices),
+                requireNonNull(rate),
+                multiplier,
+                usage.getUniversalBpt(),
+                usage.getNetworkVpt(),
+                usage.getNetworkRbh(),
+                usage.getNodeBpr(),
+                usage.getNodeSbpr(),
+                usage.getNodeVpt(),
+                usage.getServiceRbh(),
+                usage.getServiceSbh());
+        final var cached = fees.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final var computed = computation.get();
+        if (fees.size() >= MAX_ENTRIES) {
+            fees.clear();
+        }
+        fees.put(key, computed);
+        return computed;
+    }
+
+    /**
+     * Forgets all cached fees. Called when the fee schedule changes.
+     */
+    void clear() {
+        fees.clear();
+    }
+
+    /**
+     * Returns the number of cached fees.
+     *
+     * @return the number of cached fees
+     */
+    int size() {
+        return fees.size();
+    }
+}
@@ -27,12 +27,21 @@ import com.hedera.node.app.annotations.CommonExecutor;
 import com.hedera.node.app.records.impl.BlockRecordStreamProducer;
 import com.hedera.node.app.spi.info.SelfNodeInfo;
 import com.hedera.node.app.state.SingleTransactionRecord;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.BlockRecordStreamConfig;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
@@ -46,8 +55,23 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>Threading model: is really important here, This class depends on the fact that public methods are all called on
  * the handle transaction thread, so they are single threaded and executed in the correct order. The information
- * provided by calls to the public methods are then processed into files by the background threads. All async task are
- * done with {@link CompletableFuture}s.
+ * provided by calls to the public methods are then processed into files by a pipeline of three stages:
+ * <ol>
+ *     <li><b>Serializing</b> runs on the shared executor service, with every item of a batch serialized separately,
+ *     so that many items (of one or more batches) are serialized at once.</li>
+ *     <li><b>Hashing</b> runs on its own thread, updating the running hash with one batch at a time, in order.</li>
+ *     <li><b>Writing</b> runs on its own thread too, writing (and compressing) one batch at a time, in order, and
+ *     closing and creating the files of each block.</li>
+ * </ol>
+ * All async tasks are done with {@link CompletableFuture}s. Each hashing or writing task depends on the previous task
+ * of the same stage, which keeps that stage in order; while giving hashing and writing their own threads keeps them
+ * from waiting behind serializing tasks, or each other.
+ *
+ * <p>{@link #writeRecordStreamItems(Stream)} never waits for the pipeline, so the handle thread is not blocked by a
+ * slow disk. Records cannot be dropped either, so {@link BlockRecordStreamConfig#queueCapacity()} is an alarm
+ * threshold rather than a bound: once the pipeline holds more batches than that, a warning is logged and every
+ * further batch is counted. The number of batches in the pipeline, and waiting on each stage, is reported as a
+ * metric.
  */
 @Singleton
 public final class StreamFileProducerConcurrent implements BlockRecordStreamProducer {
@@ -62,8 +86,24 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
     private final SemanticVersion hapiVersion;
     /** The {@link BlockRecordFormat} used to serialize items for output. */
     private final BlockRecordFormat format;
-    /** The executor service to use for background tasks */
+    /** The executor service to use for serializing items */
     private final ExecutorService executorService;
+    /** The single-threaded executor service of the hashing stage */
+    private final ExecutorService hashingStage = newStageExecutor();
+    /** The single-threaded executor service of the writing stage */
+    private final ExecutorService writingStage = newStageExecutor();
+    /** The number of batches the pipeline is expected to hold at most, above which an alarm is raised */
+    private final int queueCapacity;
+    /** The number of batches in the pipeline, which have not been both hashed and written yet */
+    private final AtomicInteger pipelineDepth = new AtomicInteger();
+    /** Counts the batches added while the pipeline held more than {@link #queueCapacity} batches */
+    private final Counter overCapacityBatches;
+    /** The number of batches not yet serialized */
+    private final AtomicInteger serializingQueueDepth = new AtomicInteger();
+    /** The number of batches not yet hashed */
+    private final AtomicInteger hashingQueueDepth = new AtomicInteger();
+    /** The number of batches not yet written */
+    private final AtomicInteger writingQueueDepth = new AtomicInteger();
     /** The lock to protect the following state */
     private final Lock lock = new ReentrantLock();
     /** Future for running hash results of last running hash updates task */
@@ -88,18 +128,30 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
      * @param nodeInfo the current node information
      * @param format The format to use for the record stream
      * @param writerFactory the factory used to create new {@link BlockRecordWriter} instances
-     * @param executorService The executor service to use for background threads
+     * @param executorService The executor service to use for serializing items
+     * @param configProvider the {@link ConfigProvider} to read the capacity of the pipeline from
+     * @param metrics the {@link Metrics} to register the depths of the pipeline and its stages with
      */
     @Inject
     public StreamFileProducerConcurrent(
             @NonNull final SelfNodeInfo nodeInfo,
             @NonNull final BlockRecordFormat format,
             @NonNull final BlockRecordWriterFactory writerFactory,
-            @CommonExecutor @NonNull final ExecutorService executorService) {
+            @CommonExecutor @NonNull final ExecutorService executorService,
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final Metrics metrics) {
         this.writerFactory = requireNonNull(writerFactory);
         this.format = requireNonNull(format);
         hapiVersion = nodeInfo.hapiVersion();
         this.executorService = requireNonNull(executorService);
+        final var config = configProvider.getConfiguration().getConfigData(BlockRecordStreamConfig.class);
+        queueCapacity = config.queueCapacity();
+        registerQueueDepth(metrics, "recordStreamPipelineDepth", "hashed and written", pipelineDepth);
+        overCapacityBatches = metrics.getOrCreate(new Counter.Config("app", "recordStreamPipelineOverCapacity")
+                .withDescription("number of record stream batches added while the pipeline was over capacity"));
+        registerQueueDepth(metrics, "recordStreamSerializingQueueDepth", "serialized", serializingQueueDepth);
+        registerQueueDepth(metrics, "recordStreamHashingQueueDepth", "hashed", hashingQueueDepth);
+        registerQueueDepth(metrics, "recordStreamWritingQueueDepth", "written", writingQueueDepth);
     }
 
     // =================================================================================================================
@@ -167,8 +219,10 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
             if (currentRecordFileWriter == null) {
                 // We are at the start of a new block and there is no old one to close or wait for. So just create a new
                 // one which creates a new file and writes initializes it in the background
-                currentRecordFileWriter = lastRecordHashingResult.thenApply(lastRunningHash -> createBlockRecordWriter(
-                        lastRunningHash, newBlockFirstTransactionConsensusTime, newBlockNumber));
+                currentRecordFileWriter = lastRecordHashingResult.thenApplyAsync(
+                        lastRunningHash -> createBlockRecordWriter(
+                                lastRunningHash, newBlockFirstTransactionConsensusTime, newBlockNumber),
+                        writingStage);
             } else {
                 // wait for all background threads to finish, then in new background task finish the current block
                 currentRecordFileWriter = currentRecordFileWriter
@@ -181,7 +235,7 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
                                     return createBlockRecordWriter(
                                             lastRunningHash, newBlockFirstTransactionConsensusTime, newBlockNumber);
                                 },
-                                executorService);
+                                writingStage);
             }
         } finally {
             lock.unlock(); // Always unlock.
@@ -192,6 +246,9 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
      * Write record items to stream files. They must be in exact consensus time order! This must only be called after the user
      * transaction has been committed to state and is 100% done.
      *
+     * <p>Never blocks, but raises an alarm if the pipeline holds more than
+     * {@link BlockRecordStreamConfig#queueCapacity()} batches.
+     *
      * @param recordStreamItems the record stream items to write
      */
     @Override
@@ -203,12 +260,10 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
             // the same way, there can be NPE's
             requireNonNull(recordStreamItems);
 
-            // serialize all the record stream items in background thread into SerializedSingleTransaction objects
-            final var futureSerializedRecords = CompletableFuture.supplyAsync(
-                    () -> recordStreamItems
-                            .map(item -> format.serialize(item, currentBlockNumber, hapiVersion))
-                            .toList(),
-                    executorService);
+            // the batch leaves the pipeline once it is both hashed and written
+            enterPipeline();
+            // serialize all the record stream items in background threads into SerializedSingleTransaction objects
+            final var futureSerializedRecords = serialize(recordStreamItems.toList(), currentBlockNumber);
             // when serialization is done and previous running hash is computed, we can compute new running hash and
             // write serialized items to record file in parallel update running hash in a background thread
             // Even though we don't update the currentRecordFileWriter until the end, we still need to update the
@@ -217,11 +272,10 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
             lastRecordHashingResultNMinus3 = lastRecordHashingResultNMinus2;
             lastRecordHashingResultNMinus2 = lastRecordHashingResultNMinus1;
             lastRecordHashingResultNMinus1 = lastRecordHashingResult;
+            hashingQueueDepth.incrementAndGet();
             lastRecordHashingResult = lastRecordHashingResult
-                    .thenCombine(futureSerializedRecords, TwoResults::new)
-                    .thenApplyAsync(
-                            twoResults -> format.computeNewRunningHash(twoResults.a(), twoResults.b()),
-                            executorService);
+                    .thenCombineAsync(futureSerializedRecords, format::computeNewRunningHash, hashingStage)
+                    .whenComplete((runningHash, error) -> hashingQueueDepth.decrementAndGet());
             // When the currentRecordFileWriter is null, it means that the node is starting from genesis or restarting
             // at an upgrade boundary. In either case, there is no previous record file to write to. So we just ignore
             // the serialized items.
@@ -232,15 +286,15 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
                 // or notice more than two seconds have passed since the last block was created before the
                 // upgrade. However, a node that is restarted in the middle of a block will follow this
                 // pattern; nor will a node going through event stream recovery.
+                lastRecordHashingResult.whenComplete((runningHash, error) -> pipelineDepth.decrementAndGet());
                 return;
             }
             // write serialized items to record file in a background thread
+            writingQueueDepth.incrementAndGet();
             currentRecordFileWriter = currentRecordFileWriter
-                    .thenCombine(futureSerializedRecords, TwoResults::new)
-                    .thenApplyAsync(
-                            twoResults -> {
-                                final var writer = twoResults.a();
-                                final var serializedItems = twoResults.b();
+                    .thenCombineAsync(
+                            futureSerializedRecords,
+                            (writer, serializedItems) -> {
                                 serializedItems.forEach(item -> {
                                     try {
                                         writer.writeItem(item);
@@ -250,7 +304,10 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
                                 });
                                 return writer;
                             },
-                            executorService);
+                            writingStage)
+                    .whenComplete((writer, error) -> writingQueueDepth.decrementAndGet());
+            CompletableFuture.allOf(lastRecordHashingResult, currentRecordFileWriter)
+                    .whenComplete((ignore, error) -> pipelineDepth.decrementAndGet());
         } finally {
             lock.unlock(); // Always unlock.
         }
@@ -259,7 +316,8 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
     /**
      * Closes this StreamFileProducerBase wait for any background thread, close all files etc. This method is
      * synchronous, so waits for all background threads to finish and files to be closed. This method is thread-safe and
-     * can be called outside the context of the handle thread.
+     * can be called outside the context of the handle thread. The threads of the hashing and writing stages are shut
+     * down, so no more records can be written afterward.
      */
     @Override
     public void close() {
@@ -280,7 +338,11 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
                 lastRecordHashingResultNMinus2 = null;
                 lastRecordHashingResultNMinus3 = null;
                 currentRecordFileWriter = null;
+            } else if (lastRecordHashingResult != null) {
+                lastRecordHashingResult.join();
             }
+            hashingStage.shutdown();
+            writingStage.shutdown();
         } finally {
             lock.unlock(); // Always unlock.
         }
@@ -289,6 +351,31 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
     // =================================================================================================================
     // private implementation
 
+    private void enterPipeline() {
+        final var depth = pipelineDepth.incrementAndGet();
+        if (depth > queueCapacity) {
+            overCapacityBatches.increment();
+            if (depth == queueCapacity + 1) {
+                logger.warn(
+                        "Record stream pipeline holds {} batches, more than its capacity of {}", depth, queueCapacity);
+            }
+        }
+    }
+
+    private CompletableFuture<List<SerializedSingleTransactionRecord>> serialize(
+            @NonNull final List<SingleTransactionRecord> items, final long blockNumber) {
+        serializingQueueDepth.incrementAndGet();
+        // serialize each item in its own task, so the items of a large batch are serialized at once too
+        final List<CompletableFuture<SerializedSingleTransactionRecord>> futureItems = new ArrayList<>(items.size());
+        for (final var item : items) {
+            futureItems.add(CompletableFuture.supplyAsync(
+                    () -> format.serialize(item, blockNumber, hapiVersion), executorService));
+        }
+        return CompletableFuture.allOf(futureItems.toArray(CompletableFuture[]::new))
+                .thenApply(ignore -> futureItems.stream().map(CompletableFuture::join).toList())
+                .whenComplete((serializedItems, error) -> serializingQueueDepth.decrementAndGet());
+    }
+
     private BlockRecordWriter createBlockRecordWriter(
             @NonNull Bytes lastRunningHash, @NonNull final Instant startConsensusTime, final long blockNumber) {
         try {
@@ -316,4 +403,20 @@ public final class StreamFileProducerConcurrent implements BlockRecordStreamProd
     private HashObject asHashObject(@NonNull final Bytes hash) {
         return new HashObject(HashAlgorithm.SHA_384, (int) hash.length(), hash);
     }
+
+    private static void registerQueueDepth(
+            @NonNull final Metrics metrics,
+            @NonNull final String name,
+            @NonNull final String stage,
+            @NonNull final AtomicInteger queueDepth) {
+        requireNonNull(metrics).getOrCreate(new FunctionGauge.Config<>("app", name, Integer.class, queueDepth::get)
+                .withDescription("number of record stream batches waiting to be " + stage)
+                .withFormat("%d"));
+    }
+
+    private static ExecutorService newStageExecutor() {
+        // a single thread, so the stage never runs more than one task at a time; idle threads are retired
+        return new ForkJoinPool(
+                1, ForkJoinPool.defaultForkJoinWorkerThreadFactory, Thread.getDefaultUncaughtExceptionHandler(), true);
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.records.impl.producers.formats;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.config.data.BlockRecordStreamConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An {@link OutputStream} that compresses everything written to it into a standard gzip stream, written to another
+ * stream, using the {@link com.hedera.node.config.types.RecordFileCompression} configured for record and sidecar
+ * files. Whatever the configuration, the result can be read by any gzip reader, so files are compatible with existing
+ * readers.
+ *
+ * <p>Each stream keeps track of the number of bytes written to it, the number of compressed bytes it wrote, and the
+ * CPU time spent compressing them; and reports them when it is closed.
+ */
+public abstract class CompressingOutputStream extends OutputStream {
+    private static final Logger logger = LogManager.getLogger(CompressingOutputStream.class);
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /** The name of the file being compressed, for reporting */
+    private final String name;
+    /** Counts the compressed bytes written to the underlying stream */
+    private final CountingOutputStream out;
+
+    /**
+     * Creates a new stream writing compressed bytes to the given stream.
+     *
+     * @param out the stream to write compressed bytes to
+     * @param name the name of the file being compressed, for reporting
+     */
+    protected CompressingOutputStream(@NonNull final OutputStream out, @NonNull final String name) {
+        this.out = new CountingOutputStream(requireNonNull(out));
+        this.name = requireNonNull(name);
+    }
+
+    /**
+     * Creates a new stream compressing everything written to it into the given stream, as configured.
+     *
+     * @param out the stream to write compressed bytes to
+     * @param config the record stream configuration
+     * @param name the name of the file being compressed, for reporting
+     * @return the new stream
+     * @throws IOException if the gzip header could not be written
+     */
+    @NonNull
+    public static CompressingOutputStream open(
+            @NonNull final OutputStream out, @NonNull final BlockRecordStreamConfig config, @NonNull final String name)
+            throws IOException {
+        return switch (config.compression()) {
+            case GZIP -> new GzipOutputStream(out, name, config.compressionLevel());
+            case PARALLEL_GZIP -> new ParallelGzipOutputStream(
+                    out,
+                    name,
+                    config.compressionLevel(),
+                    config.compressionBlockSizeKb() * 1024,
+                    config.compressionParallelism(),
+                    ForkJoinPool.commonPool());
+        };
+    }
+
+    /**
+     * Gets the number of bytes written to this stream so far.
+     *
+     * @return the number of uncompressed bytes
+     */
+    public abstract long uncompressedBytes();
+
+    /**
+     * Gets the CPU time spent compressing the bytes written to this stream so far, on any thread.
+     *
+     * @return the CPU time in nanoseconds
+     */
+    public abstract long compressionNanos();
+
+    /**
+     * Gets the number of compressed bytes written to the underlying stream so far.
+     *
+     * @return the number of compressed bytes
+     */
+    public long compressedBytes() {
+        return out.count;
+    }
+
+    /**
+     * Writes any compressed bytes not yet written, and the gzip trailer.
+     *
+     * @throws IOException if the bytes could not be written
+     */
+    protected abstract void finish() throws IOException;
+
+    /**
+     * Finishes the gzip stream, closes the underlying stream, and reports the compression of the file.
+     *
+     * @throws IOException if the stream could not be finished or closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+        if (logger.isDebugEnabled()) {
+            final long uncompressedBytes = uncompressedBytes();
+            final long compressedBytes = compressedBytes();
+            logger.debug(
+                    "Compressed {} from {} to {} bytes (ratio {}) in {} us of CPU time",
+                    name,
+                    uncompressedBytes,
+                    compressedBytes,
+                    String.format("%.2f", compressedBytes == 0 ? 0.0 : (double) uncompressedBytes / compressedBytes),
+                    compressionNanos() / 1_000);
+        }
+    }
+
+    /**
+     * Gets the stream that compressed bytes must be written to.
+     *
+     * @return the underlying stream
+     */
+    @NonNull
+    protected OutputStream out() {
+        return out;
+    }
+
+    /**
+     * Gets the CPU time used by the current thread so far, if the JVM can measure it; or else the elapsed time.
+     *
+     * @return a time in nanoseconds, only meaningful relative to another call on the same thread
+     */
+    protected static long currentThreadCpuNanos() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+                ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+                : System.nanoTime();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(@NonNull final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(@NonNull final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.records.impl.producers.formats;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A {@link CompressingOutputStream} for {@link com.hedera.node.config.types.RecordFileCompression#GZIP}, which
+ * compresses everything on the thread writing to it, as a {@link GZIPOutputStream} with the configured level.
+ */
+final class GzipOutputStream extends CompressingOutputStream {
+    /** The size of the buffer compressed bytes are written from, much larger than the default of 512 bytes */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GZIPOutputStream gzip;
+    private long uncompressedBytes;
+    private long compressionNanos;
+
+    GzipOutputStream(@NonNull final OutputStream out, @NonNull final String name, final int level)
+            throws IOException {
+        super(out, name);
+        gzip = new GZIPOutputStream(out(), BUFFER_SIZE) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(@NonNull final byte[] b, final int off, final int len) throws IOException {
+        final long start = currentThreadCpuNanos();
+        gzip.write(b, off, len);
+        compressionNanos += currentThreadCpuNanos() - start;
+        uncompressedBytes += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        gzip.flush();
+    }
+
+    @Override
+    public long uncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    @Override
+    public long compressionNanos() {
+        return compressionNanos;
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        final long start = currentThreadCpuNanos();
+        // Closing rather than just finishing also releases the native memory of the deflater
+        gzip.close();
+        compressionNanos += currentThreadCpuNanos() - start;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.records.impl.producers.formats;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A {@link CompressingOutputStream} for {@link com.hedera.node.config.types.RecordFileCompression#PARALLEL_GZIP},
+ * which compresses a file the way {@code pigz} does.
+ *
+ * <p>The bytes written are split into fixed-size blocks, and each block is compressed into a raw deflate stream by a
+ * task of its own, so that many blocks are compressed at once. Every block but the last ends with a sync flush, which
+ * byte-aligns it and leaves the stream open; so the compressed blocks, written in order between a gzip header and
+ * trailer, form a single valid deflate stream. Each block is primed with the last 32KB of the block before it, so
+ * matches can still reach back into the previous block, and the ratio stays close to that of a single deflater.
+ *
+ * <p>The CRC of the uncompressed bytes, needed for the trailer, is computed on the writing thread, which is cheap
+ * compared to compressing them.
+ */
+final class ParallelGzipOutputStream extends CompressingOutputStream {
+    /** The gzip header: magic number, deflate method, no flags, no modification time, no extra flags, unknown OS */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    /** The size of the window of a deflate stream, and so of the most useful dictionary */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    /** The raw deflaters of the threads compressing blocks, reused from one block to the next */
+    private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater(9, true));
+
+    private final int level;
+    private final int blockSize;
+    private final int maxBlocksInFlight;
+    private final Executor executor;
+    private final CRC32 crc = new CRC32();
+    /** The blocks being compressed, in order, with the oldest at the head */
+    private final Deque<CompletableFuture<byte[]>> blocksInFlight = new ArrayDeque<>();
+    /** The CPU time spent compressing blocks, accumulated from all threads */
+    private final AtomicLong compressionNanos = new AtomicLong();
+    /** The block being filled */
+    private byte[] block;
+    /** The number of bytes in the block being filled */
+    private int blockLength;
+    /** The end of the last block handed off for compression, or null if there was none */
+    private byte[] dictionary;
+    private long uncompressedBytes;
+    private boolean finished;
+
+    /**
+     * Creates a new stream, and writes the gzip header.
+     *
+     * @param out the stream to write compressed bytes to
+     * @param name the name of the file being compressed, for reporting
+     * @param level the deflate level
+     * @param blockSize the number of bytes in each block, but the last
+     * @param maxBlocksInFlight the maximum number of blocks being compressed at once, before writing waits
+     * @param executor the executor to compress blocks on
+     * @throws IOException if the header could not be written
+     */
+    ParallelGzipOutputStream(
+            @NonNull final OutputStream out,
+            @NonNull final String name,
+            final int level,
+            final int blockSize,
+            final int maxBlocksInFlight,
+            @NonNull final Executor executor)
+            throws IOException {
+        super(out, name);
+        if (blockSize <= 0 || maxBlocksInFlight <= 0) {
+            throw new IllegalArgumentException("Block size and blocks in flight must be positive");
+        }
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxBlocksInFlight = maxBlocksInFlight;
+        this.executor = requireNonNull(executor);
+        this.block = new byte[blockSize];
+        out().write(HEADER);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(@NonNull final byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Stream already finished");
+        }
+        crc.update(b, off, len);
+        uncompressedBytes += len;
+        while (len > 0) {
+            final int n = Math.min(len, blockSize - blockLength);
+            System.arraycopy(b, off, block, blockLength, n);
+            blockLength += n;
+            off += n;
+            len -= n;
+            if (blockLength == blockSize) {
+                compressBlock(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the blocks already compressed, without waiting for any other block. Bytes still being compressed, or
+     * not yet in a full block, are not flushed; since ending a block early would only make compression worse.
+     *
+     * @throws IOException if the compressed blocks could not be written
+     */
+    @Override
+    public void flush() throws IOException {
+        while (!blocksInFlight.isEmpty() && blocksInFlight.peekFirst().isDone()) {
+            writeOldestBlock();
+        }
+        out().flush();
+    }
+
+    @Override
+    public long uncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    @Override
+    public long compressionNanos() {
+        return compressionNanos.get();
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        compressBlock(true);
+        while (!blocksInFlight.isEmpty()) {
+            writeOldestBlock();
+        }
+        final var out = out();
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, (int) uncompressedBytes);
+    }
+
+    private void compressBlock(final boolean last) throws IOException {
+        final byte[] data = block;
+        final int length = blockLength;
+        final byte[] blockDictionary = dictionary;
+        if (!last) {
+            // The next block is primed with the end of this one, or all of it if it is shorter than a window
+            dictionary = Arrays.copyOfRange(data, Math.max(0, length - DICTIONARY_SIZE), length);
+            block = new byte[blockSize];
+            blockLength = 0;
+        }
+        blocksInFlight.addLast(
+                CompletableFuture.supplyAsync(() -> deflate(data, length, blockDictionary, last), executor));
+        // Write what is done, and wait for the oldest blocks if too many are in flight
+        while (!blocksInFlight.isEmpty()
+                && (blocksInFlight.size() > maxBlocksInFlight
+                        || blocksInFlight.peekFirst().isDone())) {
+            writeOldestBlock();
+        }
+    }
+
+    private void writeOldestBlock() throws IOException {
+        try {
+            out().write(blocksInFlight.removeFirst().join());
+        } catch (final CompletionException e) {
+            throw new IOException("Could not compress a block", e.getCause());
+        }
+    }
+
+    @NonNull
+    private byte[] deflate(
+            @NonNull final byte[] data, final int length, @Nullable final byte[] blockDictionary, final boolean last) {
+        final long start = currentThreadCpuNanos();
+        final var deflater = DEFLATERS.get();
+        try {
+            deflater.reset();
+            deflater.setLevel(level);
+            if (blockDictionary != null) {
+                deflater.setDictionary(blockDictionary);
+            }
+            deflater.setInput(data, 0, length);
+            final var compressed = new ByteArrayOutputStream(length / 2 + 64);
+            final var buffer = new byte[Math.max(length / 4, 4096)];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                // As in DeflaterOutputStream, first consume all the input (a call may only apply a new level), and
+                // then sync flush until the buffer is no longer filled
+                while (!deflater.needsInput()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+            return compressed.toByteArray();
+        } finally {
+            compressionNanos.addAndGet(currentThreadCpuNanos() - start);
+        }
+    }
+
+    private static void writeIntLE(@NonNull final OutputStream out, final int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+}
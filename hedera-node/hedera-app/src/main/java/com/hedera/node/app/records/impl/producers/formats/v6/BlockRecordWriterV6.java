@@ -38,6 +38,7 @@ import com.hedera.hapi.streams.RecordStreamItem;
 import com.hedera.hapi.streams.SidecarMetadata;
 import com.hedera.node.app.records.impl.producers.BlockRecordWriter;
 import com.hedera.node.app.records.impl.producers.SerializedSingleTransactionRecord;
+import com.hedera.node.app.records.impl.producers.formats.CompressingOutputStream;
 import com.hedera.node.app.spi.info.NodeInfo;
 import com.hedera.node.config.data.BlockRecordStreamConfig;
 import com.hedera.pbj.runtime.ProtoWriterTools;
@@ -60,7 +61,6 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.zip.GZIPOutputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -84,6 +84,8 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
         CLOSED
     }
 
+    /** The configuration, which also says how to compress the record file and sidecar files */
+    private final BlockRecordStreamConfig config;
     /** The {@link Signer} used to sign the hashed bytes of the record file to write as the signature file */
     private final Signer signer;
     /** The maximum size of a sidecar file in bytes. */
@@ -133,9 +135,12 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
     private Path recordFilePath;
     /** The file output stream we are writing to, which writes to {@link #recordFilePath} */
     private OutputStream fileOutputStream;
-    /** The gzip output stream we are writing to, wraps {@link #fileOutputStream} */
-    private GZIPOutputStream gzipOutputStream = null;
-    /** HashingOutputStream for hashing the file contents, wraps {@link #gzipOutputStream} or {@link #fileOutputStream} */
+    /** The compressing output stream we are writing to, wraps {@link #fileOutputStream} */
+    private CompressingOutputStream compressingOutputStream = null;
+    /**
+     * HashingOutputStream for hashing the file contents, wraps {@link #compressingOutputStream} or
+     * {@link #fileOutputStream}
+     */
     private HashingOutputStream hashingOutputStream;
     /** The buffered output stream we are writing to, wraps {@link #hashingOutputStream} */
     private BufferedOutputStream bufferedOutputStream;
@@ -175,6 +180,7 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
         }
 
         this.state = State.UNINITIALIZED;
+        this.config = config;
         this.signer = requireNonNull(signer);
         this.compressFiles = config.compressFilesOnCreation();
         this.maxSideCarSizeInBytes = config.sidecarMaxSizeMb() * 1024 * 1024;
@@ -223,8 +229,9 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
         try {
             fileOutputStream = Files.newOutputStream(recordFilePath);
             if (compressFiles) {
-                gzipOutputStream = new GZIPOutputStream(fileOutputStream);
-                hashingOutputStream = new HashingOutputStream(createWholeFileMessageDigest(), gzipOutputStream);
+                compressingOutputStream = CompressingOutputStream.open(
+                        fileOutputStream, config, recordFilePath.getFileName().toString());
+                hashingOutputStream = new HashingOutputStream(createWholeFileMessageDigest(), compressingOutputStream);
             } else {
                 hashingOutputStream = new HashingOutputStream(createWholeFileMessageDigest(), fileOutputStream);
             }
@@ -270,7 +277,7 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
             // There are a lot of flushes and closes here, but unfortunately it is not guaranteed that a OutputStream
             // will propagate though a chain of streams. So we have to flush and close each one individually.
             bufferedOutputStream.flush();
-            if (gzipOutputStream != null) gzipOutputStream.flush();
+            if (compressingOutputStream != null) compressingOutputStream.flush();
             fileOutputStream.flush();
 
             closeSidecarFileWriter();
@@ -278,7 +285,7 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
 
             outputStream.close();
             bufferedOutputStream.close();
-            if (gzipOutputStream != null) gzipOutputStream.close();
+            if (compressingOutputStream != null) compressingOutputStream.close();
             fileOutputStream.close();
 
             // write signature file, this tells the uploader that this record file set is complete
@@ -402,7 +409,7 @@ public final class BlockRecordWriterV6 implements BlockRecordWriter {
 
     @NonNull
     private SidecarWriterV6 createSidecarFileWriter(final int id) throws IOException {
-        return new SidecarWriterV6(getSidecarFilePath(id), compressFiles, maxSideCarSizeInBytes, id);
+        return new SidecarWriterV6(getSidecarFilePath(id), compressFiles ? config : null, maxSideCarSizeInBytes, id);
     }
 
     private void closeSidecarFileWriter() {
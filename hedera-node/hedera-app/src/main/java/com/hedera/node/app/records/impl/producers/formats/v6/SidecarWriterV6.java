@@ -22,10 +22,13 @@ import static com.hedera.node.app.records.impl.producers.BlockRecordFormat.WIRE_
 
 import com.hedera.hapi.streams.SidecarType;
 import com.hedera.hapi.streams.TransactionSidecarRecord;
+import com.hedera.node.app.records.impl.producers.formats.CompressingOutputStream;
+import com.hedera.node.config.data.BlockRecordStreamConfig;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import com.swirlds.common.crypto.HashingOutputStream;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -35,7 +38,6 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * An incremental sidecar file writer that writes a single {@link TransactionSidecarRecord} at a time. It also maintains
@@ -65,11 +67,15 @@ final class SidecarWriterV6 implements AutoCloseable {
      * Creates a new incremental sidecar file writer on a new file.
      *
      * @param file path to the file to write
-     * @param compressFile true if the file should be gzip compressed
+     * @param compressionConfig the configuration to compress the file with, or null if it should not be compressed
      * @param maxSideCarSizeInBytes the maximum size of a sidecar file in bytes before compression
      * @throws IOException If there was a problem creating the file
      */
-    SidecarWriterV6(@NonNull final Path file, final boolean compressFile, final int maxSideCarSizeInBytes, final int id)
+    SidecarWriterV6(
+            @NonNull final Path file,
+            @Nullable final BlockRecordStreamConfig compressionConfig,
+            final int maxSideCarSizeInBytes,
+            final int id)
             throws IOException {
         this.id = id;
         this.maxSideCarSizeInBytes = maxSideCarSizeInBytes;
@@ -84,8 +90,9 @@ final class SidecarWriterV6 implements AutoCloseable {
         }
         // create streams
         final var fout = Files.newOutputStream(file);
-        if (compressFile) {
-            GZIPOutputStream gout = new GZIPOutputStream(fout);
+        if (compressionConfig != null) {
+            final var gout = CompressingOutputStream.open(
+                    fout, compressionConfig, file.getFileName().toString());
             hashingDelegateStream = gout;
             hashingOutputStream = new HashingOutputStream(wholeFileDigest, gout);
             BufferedOutputStream bout = new BufferedOutputStream(hashingOutputStream);
@@ -51,6 +51,10 @@ public final class SignatureVerificationFutureImpl implements SignatureVerificat
      * signature check is complete,
      */
     private final TransactionSignature txSig;
+    /**
+     * Optional: called when the signature was found to be valid, used to remember the successful verification.
+     */
+    private final Runnable onValid;
     /**
      * Whether *this* future has been canceled. Used for properly implementing {@link Future} semantics.
      */
@@ -66,9 +70,27 @@ public final class SignatureVerificationFutureImpl implements SignatureVerificat
      */
     public SignatureVerificationFutureImpl(
             @NonNull final Key key, @Nullable final Bytes evmAlias, @NonNull final TransactionSignature txSig) {
+        this(key, evmAlias, txSig, null);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param key The key associated with this sig check. Cannot be null.
+     * @param evmAlias The evm address alias, if any (always set if the key is an ECDSA_SECP256K1 key)
+     * @param txSig The {@link TransactionSignature}s, from which the pass/fail status of the
+     * {@link SignatureVerification} is derived.
+     * @param onValid Called when the {@link SignatureVerification} is obtained and passed, may be null
+     */
+    public SignatureVerificationFutureImpl(
+            @NonNull final Key key,
+            @Nullable final Bytes evmAlias,
+            @NonNull final TransactionSignature txSig,
+            @Nullable final Runnable onValid) {
         this.key = requireNonNull(key);
         this.evmAlias = evmAlias;
         this.txSig = requireNonNull(txSig);
+        this.onValid = onValid;
     }
 
     /** {@inheritDoc} */
@@ -155,7 +177,7 @@ public final class SignatureVerificationFutureImpl implements SignatureVerificat
     @Override
     public SignatureVerification get() throws InterruptedException, ExecutionException {
         txSig.waitForFuture().get(); // Wait for the future to be assigned and completed
-        return new SignatureVerificationImpl(key, evmAlias, txSig.getSignatureStatus() == VALID);
+        return verification();
     }
 
     /**
@@ -185,6 +207,15 @@ public final class SignatureVerificationFutureImpl implements SignatureVerificat
 
         // Wait for the future to complete
         txSig.getFuture().get(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
-        return new SignatureVerificationImpl(key, evmAlias, txSig.getSignatureStatus() == VALID);
+        return verification();
+    }
+
+    @NonNull
+    private SignatureVerification verification() {
+        final var passed = txSig.getSignatureStatus() == VALID;
+        if (passed && onValid != null) {
+            onValid.run();
+        }
+        return new SignatureVerificationImpl(key, evmAlias, passed);
     }
 }
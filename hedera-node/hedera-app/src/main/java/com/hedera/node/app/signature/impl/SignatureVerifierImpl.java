@@ -18,6 +18,7 @@ package com.hedera.node.app.signature.impl;
 
 import static com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType.ECDSA_SECP256K1;
 import static com.hedera.hapi.node.base.SignaturePair.SignatureOneOfType.ED25519;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
 import static java.util.Objects.requireNonNull;
 
 import com.hedera.hapi.node.base.Key;
@@ -34,23 +35,39 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
  * A concrete implementation of {@link SignatureVerifier} that uses the {@link Cryptography} engine to verify the
- * signatures.
+ * signatures. Signatures that are found in the {@link VerifiedSignatureCache} are not sent to the engine again.
  */
 @Singleton
 public final class SignatureVerifierImpl implements SignatureVerifier {
 
+    /** The future assigned to signatures that were taken from the cache. */
+    private static final Future<Void> COMPLETED = CompletableFuture.completedFuture(null);
+
     /** The {@link Cryptography} engine to use for signature verification. */
     private final Cryptography cryptoEngine;
 
-    /** Create a new instance with the given {@link Cryptography} engine. */
-    @Inject
+    /** The cache of successfully verified signatures, or {@code null} if nothing is cached. */
+    private final VerifiedSignatureCache verifiedSignatureCache;
+
+    /** Create a new instance with the given {@link Cryptography} engine that does not cache verifications. */
     public SignatureVerifierImpl(@NonNull final Cryptography cryptoEngine) {
         this.cryptoEngine = requireNonNull(cryptoEngine);
+        this.verifiedSignatureCache = null;
+    }
+
+    /** Create a new instance with the given {@link Cryptography} engine and {@link VerifiedSignatureCache}. */
+    @Inject
+    public SignatureVerifierImpl(
+            @NonNull final Cryptography cryptoEngine, @NonNull final VerifiedSignatureCache verifiedSignatureCache) {
+        this.cryptoEngine = requireNonNull(cryptoEngine);
+        this.verifiedSignatureCache = requireNonNull(verifiedSignatureCache);
     }
 
     @NonNull
@@ -74,6 +91,9 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
             ecPreparer = createPreparerForEC(signedBytes);
         }
 
+        // The hash of the signed bytes is shared by all signatures of the transaction
+        final var signedBytesHash = verifiedSignatureCache == null ? null : verifiedSignatureCache.hashOf(signedBytes);
+
         // Gather each TransactionSignature to send to the platform and the resulting SignatureVerificationFutures
         final var platformSigs = new ArrayList<TransactionSignature>(sigs.size());
         final var futures = new HashMap<Key, SignatureVerificationFuture>(sigs.size());
@@ -93,13 +113,35 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
             preparer.addSignature(sigPair.signature());
             preparer.addKey(sigPair.keyBytes());
             final var txSig = preparer.prepareTransactionSignature();
-            platformSigs.add(txSig);
-            futures.put(sigPair.key(), new SignatureVerificationFutureImpl(sigPair.key(), sigPair.evmAlias(), txSig));
+            if (signedBytesHash == null) {
+                platformSigs.add(txSig);
+                futures.put(
+                        sigPair.key(), new SignatureVerificationFutureImpl(sigPair.key(), sigPair.evmAlias(), txSig));
+                continue;
+            }
+
+            final var digest = verifiedSignatureCache.digestOf(
+                    kind.ordinal(), sigPair.keyBytes(), signedBytesHash, sigPair.signature());
+            if (verifiedSignatureCache.contains(digest)) {
+                // This exact signature was verified before, there is no need to send it to the crypto engine
+                txSig.setSignatureStatus(VALID);
+                txSig.setFuture(COMPLETED);
+                futures.put(
+                        sigPair.key(), new SignatureVerificationFutureImpl(sigPair.key(), sigPair.evmAlias(), txSig));
+            } else {
+                platformSigs.add(txSig);
+                futures.put(
+                        sigPair.key(),
+                        new SignatureVerificationFutureImpl(
+                                sigPair.key(), sigPair.evmAlias(), txSig, () -> verifiedSignatureCache.add(digest)));
+            }
         }
 
         // Submit to the crypto engine. We do it as a single list of objects to try to cut down on temporary object
         // creation. If you call the platform for a single TransactionSignature at a time, it wraps each in a List.
-        cryptoEngine.verifyAsync(platformSigs);
+        if (!platformSigs.isEmpty()) {
+            cryptoEngine.verifyAsync(platformSigs);
+        }
         return futures;
     }
 
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.signature.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.SigsConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A bounded cache of signatures that were successfully verified.
+ *
+ * <p>The same transaction is verified on several paths: at ingest on the node it was submitted to, in pre-handle, and
+ * again in handle if the pre-handle result cannot be used. A signature is identified by a SHA-256 digest of its type,
+ * the public key, a SHA-256 hash of the signed bytes, and the signature itself. Only signatures that were found to be
+ * valid are added, so a cache hit can safely skip the cryptographic check.
+ *
+ * <p>Every entry has the same, small size, so capping the number of entries caps the memory used by the cache.
+ */
+@Singleton
+public class VerifiedSignatureCache {
+    private static final String SHA_256 = "SHA-256";
+
+    /** One SHA-256 instance per thread, digests are computed on many pre-handle threads at once */
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Cache<Digest, Boolean> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Creates a new {@link VerifiedSignatureCache}.
+     *
+     * @param metrics the {@link Metrics} to register the hit and miss counters with
+     * @param configProvider the {@link ConfigProvider} to read the maximum number of entries from
+     */
+    @Inject
+    public VerifiedSignatureCache(@NonNull final Metrics metrics, @NonNull final ConfigProvider configProvider) {
+        this(
+                metrics,
+                requireNonNull(configProvider, "configProvider must not be null")
+                        .getConfiguration()
+                        .getConfigData(SigsConfig.class)
+                        .verifiedCacheMaxEntries());
+    }
+
+    /**
+     * Creates a new {@link VerifiedSignatureCache} with the given maximum number of entries.
+     *
+     * @param metrics the {@link Metrics} to register the hit and miss counters with
+     * @param maxEntries the maximum number of entries
+     */
+    @VisibleForTesting
+    VerifiedSignatureCache(@NonNull final Metrics metrics, final int maxEntries) {
+        requireNonNull(metrics, "metrics must not be null");
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        // Evictions are cheap, so they are done right away by the thread that adds an entry
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .executor(Runnable::run)
+                .build();
+        this.hits = metrics.getOrCreate(new Counter.Config("app", "verifiedSigCacheHits")
+                .withDescription("number of signatures that were found in the verified signature cache"));
+        this.misses = metrics.getOrCreate(new Counter.Config("app", "verifiedSigCacheMisses")
+                .withDescription("number of signatures that were not found in the verified signature cache"));
+        metrics.getOrCreate(new FunctionGauge.Config<>("app", "verifiedSigCacheSize", Long.class, this::size)
+                .withDescription("number of signatures in the verified signature cache")
+                .withFormat("%d"));
+    }
+
+    /**
+     * Computes the hash of the signed bytes. It only needs to be computed once for all signatures of a transaction.
+     *
+     * @param signedBytes the signed bytes
+     * @return the SHA-256 hash of the signed bytes
+     */
+    @NonNull
+    public byte[] hashOf(@NonNull final Bytes signedBytes) {
+        requireNonNull(signedBytes, "signedBytes must not be null");
+        final var digest = DIGESTS.get();
+        signedBytes.writeTo(digest);
+        return digest.digest();
+    }
+
+    /**
+     * Computes the {@link Digest} identifying a single signature.
+     *
+     * @param type a number identifying the type of the signature
+     * @param keyBytes the public key
+     * @param signedBytesHash the hash of the signed bytes, as computed by {@link #hashOf(Bytes)}
+     * @param signature the signature
+     * @return the digest of the signature
+     */
+    @NonNull
+    public Digest digestOf(
+            final int type,
+            @NonNull final Bytes keyBytes,
+            @NonNull final byte[] signedBytesHash,
+            @NonNull final Bytes signature) {
+        requireNonNull(keyBytes, "keyBytes must not be null");
+        requireNonNull(signedBytesHash, "signedBytesHash must not be null");
+        requireNonNull(signature, "signature must not be null");
+        final var digest = DIGESTS.get();
+        digest.update((byte) type);
+        // The lengths are included, so the boundaries between the parts are unambiguous
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt((int) keyBytes.length()).array());
+        keyBytes.writeTo(digest);
+        digest.update(signedBytesHash);
+        signature.writeTo(digest);
+        final var buffer = ByteBuffer.wrap(digest.digest());
+        return new Digest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Checks whether the signature with the given digest was verified successfully before.
+     *
+     * @param digest the digest of the signature
+     * @return {@code true} if the signature is known to be valid
+     */
+    public boolean contains(@NonNull final Digest digest) {
+        requireNonNull(digest, "digest must not be null");
+        if (cache.getIfPresent(digest) != null) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Records that the signature with the given digest was verified successfully.
+     *
+     * @param digest the digest of the signature
+     */
+    public void add(@NonNull final Digest digest) {
+        requireNonNull(digest, "digest must not be null");
+        cache.put(digest, Boolean.TRUE);
+    }
+
+    /**
+     * Gets the (approximate) number of entries in the cache.
+     *
+     * @return the number of entries
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * The SHA-256 digest of a signature, kept as four longs to keep the entries of the cache compact.
+     */
+    public record Digest(long first, long second, long third, long fourth) {}
+}
@@ -21,6 +21,7 @@ import static java.util.Objects.requireNonNull;
 import com.hedera.node.app.spi.state.ReadableStates;
 import com.hedera.node.app.spi.state.WritableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,6 +33,7 @@ public class WrappedHederaState implements HederaState {
 
     private final HederaState delegate;
     private final Map<String, WrappedWritableStates> writableStatesMap = new HashMap<>();
+    private boolean trackingAccesses;
 
     /**
      * Constructs a {@link WrappedHederaState} that wraps the given {@link HederaState}.
@@ -82,8 +84,51 @@ public class WrappedHederaState implements HederaState {
     @Override
     @NonNull
     public WritableStates getWritableStates(@NonNull String serviceName) {
-        return writableStatesMap.computeIfAbsent(
-                serviceName, s -> new WrappedWritableStates(delegate.getWritableStates(s)));
+        return writableStatesMap.computeIfAbsent(serviceName, s -> {
+            final var writableStates = new WrappedWritableStates(delegate.getWritableStates(s));
+            if (trackingAccesses) {
+                writableStates.trackAccesses();
+            }
+            return writableStates;
+        });
+    }
+
+    /**
+     * Starts tracking the keys read and written through the {@link WritableStates} of every service, including
+     * those not yet accessed.
+     *
+     * @see WrappedWritableStates#trackAccesses()
+     */
+    public void trackAccesses() {
+        trackingAccesses = true;
+        for (final var writableStates : writableStatesMap.values()) {
+            writableStates.trackAccesses();
+        }
+    }
+
+    /**
+     * Returns whether, since {@link #trackAccesses()}, any state was accessed in a way not captured by the tracked
+     * read and write sets.
+     *
+     * @return whether there were untracked accesses
+     */
+    public boolean hasUntrackedAccesses() {
+        for (final var writableStates : writableStatesMap.values()) {
+            if (writableStates.hasUntrackedAccesses()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the {@link WrappedWritableStates} accessed so far, by service name.
+     *
+     * @return the {@link WrappedWritableStates} of this {@link WrappedHederaState}
+     */
+    @NonNull
+    public Map<String, WrappedWritableStates> writableStates() {
+        return Collections.unmodifiableMap(writableStatesMap);
     }
 
     /**
@@ -27,6 +27,7 @@ import com.hedera.node.app.spi.state.WritableQueueState;
 import com.hedera.node.app.spi.state.WritableSingletonState;
 import com.hedera.node.app.spi.state.WritableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -41,6 +42,8 @@ public class WrappedWritableStates implements WritableStates {
     private final Map<String, WrappedWritableKVState<?, ?>> writableKVStateMap = new HashMap<>();
     private final Map<String, WrappedWritableSingletonState<?>> writableSingletonStateMap = new HashMap<>();
     private final Map<String, WrappedWritableQueueState<?>> writableQueueStateMap = new HashMap<>();
+    private boolean trackingAccesses;
+    private boolean hasUntrackedAccesses;
 
     /**
      * Constructs a {@link WrappedWritableStates} that wraps the given {@link WritableStates}.
@@ -67,14 +70,20 @@ public class WrappedWritableStates implements WritableStates {
     @Override
     @NonNull
     public <K, V> WritableKVState<K, V> get(@NonNull String stateKey) {
-        return (WritableKVState<K, V>)
-                writableKVStateMap.computeIfAbsent(stateKey, s -> new WrappedWritableKVState<>(delegate.get(stateKey)));
+        return (WritableKVState<K, V>) writableKVStateMap.computeIfAbsent(stateKey, s -> {
+            final var kvState = new WrappedWritableKVState<>(delegate.get(stateKey));
+            if (trackingAccesses) {
+                kvState.trackAccesses();
+            }
+            return kvState;
+        });
     }
 
     @SuppressWarnings("unchecked")
     @Override
     @NonNull
     public <T> WritableSingletonState<T> getSingleton(@NonNull String stateKey) {
+        hasUntrackedAccesses |= trackingAccesses;
         return (WritableSingletonState<T>) writableSingletonStateMap.computeIfAbsent(
                 stateKey, s -> new WrappedWritableSingletonState<>(delegate.getSingleton(stateKey)));
     }
@@ -83,6 +92,7 @@ public class WrappedWritableStates implements WritableStates {
     @Override
     @NonNull
     public <E> WritableQueueState<E> getQueue(@NonNull String stateKey) {
+        hasUntrackedAccesses |= trackingAccesses;
         return (WritableQueueState<E>) writableQueueStateMap.computeIfAbsent(
                 stateKey, s -> new WrappedWritableQueueState<>(delegate.getQueue(stateKey)));
     }
@@ -111,6 +121,49 @@ public class WrappedWritableStates implements WritableStates {
         return false;
     }
 
+    /**
+     * Starts tracking the keys read and written through every {@link WritableKVState} of this
+     * {@link WrappedWritableStates}, including those not yet created. Singleton and queue states are not tracked;
+     * any access to them from now on is reported by {@link #hasUntrackedAccesses()}.
+     *
+     * @see WrappedWritableKVState#trackAccesses()
+     */
+    public void trackAccesses() {
+        trackingAccesses = true;
+        hasUntrackedAccesses = false;
+        for (final var kvState : writableKVStateMap.values()) {
+            kvState.trackAccesses();
+        }
+    }
+
+    /**
+     * Returns whether, since {@link #trackAccesses()}, any state was accessed in a way not captured by the read
+     * and write sets of its {@link WritableKVState}s.
+     *
+     * @return whether there were untracked accesses
+     */
+    public boolean hasUntrackedAccesses() {
+        if (hasUntrackedAccesses) {
+            return true;
+        }
+        for (final var kvState : writableKVStateMap.values()) {
+            if (kvState.hasUntrackedReads()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the {@link WrappedWritableKVState}s created so far, by state key.
+     *
+     * @return the {@link WrappedWritableKVState}s of this {@link WrappedWritableStates}
+     */
+    @NonNull
+    public Map<String, WrappedWritableKVState<?, ?>> kvStates() {
+        return Collections.unmodifiableMap(writableKVStateMap);
+    }
+
     /**
      * Writes all modifications to the underlying {@link WritableStates}.
      */
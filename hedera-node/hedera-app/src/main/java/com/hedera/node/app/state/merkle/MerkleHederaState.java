@@ -36,6 +36,8 @@ import com.hedera.node.app.spi.state.WritableStates;
 import com.hedera.node.app.state.HederaState;
 import com.hedera.node.app.state.merkle.disk.OnDiskReadableKVState;
 import com.hedera.node.app.state.merkle.disk.OnDiskWritableKVState;
+import com.hedera.node.app.state.merkle.disk.RoundReadCache;
+import com.hedera.node.app.state.merkle.disk.RoundReadCacheFactory;
 import com.hedera.node.app.state.merkle.memory.InMemoryReadableKVState;
 import com.hedera.node.app.state.merkle.memory.InMemoryWritableKVState;
 import com.hedera.node.app.state.merkle.queue.QueueNode;
@@ -144,6 +146,19 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
      */
     private final Map<String, MerkleWritableStates> writableStatesMap = new HashMap<>();
 
+    /**
+     * Creates the {@link RoundReadCache} of every round. It is passed on to all copies of this instance.
+     */
+    private volatile RoundReadCacheFactory readCacheFactory =
+            new RoundReadCacheFactory(RoundReadCache.DEFAULT_MAX_ENTRIES);
+
+    /**
+     * The binding of the on-disk states of this instance to the {@link RoundReadCache} that is shared by all readers
+     * of the round. While this instance is mutable, it is the successor of the cache created when it was copied from
+     * its predecessor. Once this instance is copied, it gets a new cache for which it is the immutable snapshot.
+     */
+    private volatile RoundReadCache.Binding readCacheBinding = readCacheFactory.create().successorBinding();
+
     /**
      * Create a new instance. This constructor must be used for all creations of this class.
      *
@@ -219,6 +234,10 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         this.classId = from.classId;
         this.lifecycles = from.lifecycles;
 
+        // Share the cache of the immutable original, we are an exact copy of it
+        this.readCacheFactory = from.readCacheFactory;
+        this.readCacheBinding = requireNonNull(from.readCacheBinding.cache()).successorBinding();
+
         // Copy over the metadata
         for (final var entry : from.services.entrySet()) {
             this.services.put(entry.getKey(), new HashMap<>(entry.getValue()));
@@ -302,6 +321,9 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
     public MerkleHederaState copy() {
         throwIfImmutable();
         throwIfDestroyed();
+        // Values cached so far may have been read from this instance while it was still mutable, so the immutable
+        // original and the new copy start with a new cache
+        readCacheBinding = readCacheFactory.create().snapshotBinding();
         setImmutable(true);
         return new MerkleHederaState(this);
     }
@@ -360,6 +382,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         // it isn't stale or incomplete (e.g. in a genesis case)
         readableStatesMap.put(serviceName, new MerkleReadableStates(stateMetadata));
         writableStatesMap.put(serviceName, new MerkleWritableStates(serviceName, stateMetadata));
+        resetReadCache();
 
         // Look for a node, and if we don't find it, then insert the one we were given
         // If there is not a node there, then set it. I don't want to overwrite the existing node,
@@ -420,6 +443,38 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         if (index != -1) {
             setChild(index, null);
         }
+        resetReadCache();
+    }
+
+    /**
+     * Starts over with an empty {@link RoundReadCache} after the structure of this mutable state was changed. The
+     * cached values of the predecessor are no longer guaranteed to match our data sources.
+     */
+    private void resetReadCache() {
+        readCacheBinding = readCacheFactory.create().successorBinding();
+    }
+
+    /**
+     * Sets the factory of the {@link RoundReadCache} of every round. It is passed on to all copies of this instance,
+     * and if this instance is still mutable, it starts over with an empty cache created by it.
+     *
+     * @param readCacheFactory the factory to use from now on
+     */
+    public void setReadCacheFactory(@NonNull final RoundReadCacheFactory readCacheFactory) {
+        this.readCacheFactory = requireNonNull(readCacheFactory);
+        if (!isImmutable()) {
+            resetReadCache();
+        }
+    }
+
+    /**
+     * Gets the current binding of the on-disk states of this instance to the shared {@link RoundReadCache}.
+     *
+     * @return the current binding
+     */
+    @NonNull
+    RoundReadCache.Binding readCacheBinding() {
+        return readCacheBinding;
     }
 
     /**
@@ -620,7 +675,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         @NonNull
         protected ReadableKVState<?, ?> createReadableKVState(
                 @NonNull final StateMetadata md, @NonNull final VirtualMap v) {
-            return new OnDiskReadableKVState<>(md, v);
+            return new OnDiskReadableKVState<>(md, v, MerkleHederaState.this::readCacheBinding);
         }
 
         @Override
@@ -699,7 +754,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         @NonNull
         protected WritableKVState<?, ?> createReadableKVState(
                 @NonNull final StateMetadata md, @NonNull final VirtualMap v) {
-            return new OnDiskWritableKVState<>(md, v);
+            return new OnDiskWritableKVState<>(md, v, MerkleHederaState.this::readCacheBinding);
         }
 
         @Override
@@ -24,6 +24,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.hedera.node.app.spi.state.ReadableKVState;
 import com.hedera.node.app.spi.state.ReadableKVStateBase;
 import com.hedera.node.app.state.merkle.StateMetadata;
+import com.hedera.node.app.state.merkle.StateUtils;
 import com.swirlds.virtualmap.VirtualMap;
 import com.swirlds.virtualmap.internal.merkle.VirtualLeafNode;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -31,6 +32,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * An implementation of {@link ReadableKVState} backed by a {@link VirtualMap}, resulting in a state
@@ -50,6 +52,12 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
 
     private final Consumer<Runnable> runner;
 
+    /** The label of the state, used as the namespace in the {@link RoundReadCache} */
+    private final String label;
+
+    /** Provides the current binding to the {@link RoundReadCache} shared with other states of the round */
+    private final Supplier<RoundReadCache.Binding> readCacheBinding;
+
     /**
      * Create a new instance
      *
@@ -58,7 +66,21 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
      */
     public OnDiskReadableKVState(
             @NonNull final StateMetadata<K, V> md, @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap) {
-        this(md, virtualMap, DEFAULT_RUNNER);
+        this(md, virtualMap, () -> RoundReadCache.NO_CACHE);
+    }
+
+    /**
+     * Create a new instance that shares the values it reads with other states of the same round
+     *
+     * @param md the state metadata
+     * @param virtualMap the backing merkle structure to use
+     * @param readCacheBinding provides the current binding to the shared {@link RoundReadCache}
+     */
+    public OnDiskReadableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @NonNull final Supplier<RoundReadCache.Binding> readCacheBinding) {
+        this(md, virtualMap, DEFAULT_RUNNER, readCacheBinding);
     }
 
     @VisibleForTesting
@@ -66,15 +88,29 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
             @NonNull final StateMetadata<K, V> md,
             @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
             @NonNull final Consumer<Runnable> runner) {
+        this(md, virtualMap, runner, () -> RoundReadCache.NO_CACHE);
+    }
+
+    private OnDiskReadableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @NonNull final Consumer<Runnable> runner,
+            @NonNull final Supplier<RoundReadCache.Binding> readCacheBinding) {
         super(md.stateDefinition().stateKey());
         this.md = md;
         this.virtualMap = Objects.requireNonNull(virtualMap);
         this.runner = runner;
+        this.label = StateUtils.computeLabel(md.serviceName(), md.stateDefinition().stateKey());
+        this.readCacheBinding = Objects.requireNonNull(readCacheBinding);
     }
 
     /** {@inheritDoc} */
     @Override
     protected V readFromDataSource(@NonNull K key) {
+        return readCacheBinding.get().read(label, key, this::readFromVirtualMap);
+    }
+
+    private V readFromVirtualMap(@NonNull K key) {
         final var k = new OnDiskKey<>(md, key);
         final var v = virtualMap.get(k);
         final var value = v == null ? null : v.getValue();
@@ -134,7 +170,13 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
 
     @Override
     public void warm(@NonNull final K key) {
-        final var k = new OnDiskKey<>(md, key);
-        runner.accept(() -> virtualMap.warm(k));
+        final var binding = readCacheBinding.get();
+        if (binding.isCaching()) {
+            // Reading the value puts it into the cache shared with pre-handle and handle
+            runner.accept(() -> binding.read(label, key, this::readFromVirtualMap));
+        } else {
+            final var k = new OnDiskKey<>(md, key);
+            runner.accept(() -> virtualMap.warm(k));
+        }
     }
 }
@@ -21,10 +21,12 @@ import static com.hedera.node.app.state.logging.TransactionStateLogger.*;
 import com.hedera.node.app.spi.state.WritableKVState;
 import com.hedera.node.app.spi.state.WritableKVStateBase;
 import com.hedera.node.app.state.merkle.StateMetadata;
+import com.hedera.node.app.state.merkle.StateUtils;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * An implementation of {@link WritableKVState} backed by a {@link VirtualMap}, resulting in a state
@@ -39,6 +41,12 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
 
     private final StateMetadata<K, V> md;
 
+    /** The label of the state, used as the namespace in the {@link RoundReadCache} */
+    private final String label;
+
+    /** Provides the current binding to the {@link RoundReadCache} shared with other states of the round */
+    private final Supplier<RoundReadCache.Binding> readCacheBinding;
+
     /**
      * Create a new instance
      *
@@ -47,14 +55,34 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
      */
     public OnDiskWritableKVState(
             @NonNull final StateMetadata<K, V> md, @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap) {
+        this(md, virtualMap, () -> RoundReadCache.NO_CACHE);
+    }
+
+    /**
+     * Create a new instance that uses the values read by other states of the same round
+     *
+     * @param md the state metadata
+     * @param virtualMap the backing merkle data structure to use
+     * @param readCacheBinding provides the current binding to the shared {@link RoundReadCache}
+     */
+    public OnDiskWritableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @NonNull final Supplier<RoundReadCache.Binding> readCacheBinding) {
         super(md.stateDefinition().stateKey());
         this.md = md;
         this.virtualMap = Objects.requireNonNull(virtualMap);
+        this.label = StateUtils.computeLabel(md.serviceName(), md.stateDefinition().stateKey());
+        this.readCacheBinding = Objects.requireNonNull(readCacheBinding);
     }
 
     /** {@inheritDoc} */
     @Override
     protected V readFromDataSource(@NonNull K key) {
+        return readCacheBinding.get().read(label, key, this::readFromVirtualMap);
+    }
+
+    private V readFromVirtualMap(@NonNull K key) {
         final var k = new OnDiskKey<>(md, key);
         final var v = virtualMap.get(k);
         final var value = v == null ? null : v.getValue();
@@ -84,6 +112,7 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
     /** {@inheritDoc} */
     @Override
     protected void putIntoDataSource(@NonNull K key, @NonNull V value) {
+        readCacheBinding.get().markModified(label, key);
         final var k = new OnDiskKey<>(md, key);
         final var existing = virtualMap.getForModify(k);
         if (existing != null) {
@@ -98,6 +127,7 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
     /** {@inheritDoc} */
     @Override
     protected void removeFromDataSource(@NonNull K key) {
+        readCacheBinding.get().markModified(label, key);
         final var k = new OnDiskKey<>(md, key);
         final var removed = virtualMap.remove(k);
         // Log to transaction state log, what was removed
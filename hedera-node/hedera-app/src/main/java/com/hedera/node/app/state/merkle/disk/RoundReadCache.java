@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.app.state.merkle.MerkleHederaState;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A concurrent read cache for on-disk k/v states that is shared by everything reading the same immutable
+ * {@link MerkleHederaState} during a round, and by the mutable state that was copied from it.
+ *
+ * <p>Pre-handle, the {@code CacheWarmer} and handle all look up the same payer accounts and token relations, but
+ * each of them goes through different {@link OnDiskReadableKVState} or {@link OnDiskWritableKVState} instances, and
+ * so each of them reads from the virtual map again. A new {@code RoundReadCache} is created every time the state is
+ * copied. The now-immutable state uses it through a <b>snapshot</b> {@link Binding}, and the new mutable state uses
+ * it through a <b>successor</b> {@link Binding}.
+ *
+ * <p>Every value in the cache is the value of the key in the immutable snapshot. Since the mutable state starts out
+ * as an exact copy of the snapshot, the successor may use any entry for a key that it has not modified since the
+ * copy. For this reason, the mutable state must call {@link Binding#markModified(String, Object)} <b>before</b> it
+ * writes a key to its virtual map. Once a key was modified, the successor always reads it from the data source, and
+ * never adds it to the cache again.
+ *
+ * <p>The number of cached values is capped by {@code hedera.workflow.roundReadCache.maxEntries}. Once the cap is
+ * reached, values are no longer added, but the entries already in the cache can still be used. The whole cache is
+ * dropped with the next copy of the state. Each cache counts its hits and misses, which the
+ * {@link RoundReadCacheFactory} reports together with the size of the cache of the current round.
+ */
+public final class RoundReadCache {
+    /** The maximum number of values that are cached per round, until the configured maximum is known */
+    public static final int DEFAULT_MAX_ENTRIES = 200_000;
+
+    /** A binding that does not cache anything, used by states that are not part of a {@link MerkleHederaState} */
+    public static final Binding NO_CACHE = new Binding(null, true);
+
+    /** Used to cache the fact that a key was NOT FOUND in the data source */
+    private static final Object NULL_VALUE = new Object();
+
+    /** The maximum number of values in this cache */
+    private final int maxEntries;
+
+    /** The (approximate) number of values in this cache */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** The number of reads that were answered from this cache */
+    private final LongAdder hits = new LongAdder();
+
+    /** The number of reads that went to the data source */
+    private final LongAdder misses = new LongAdder();
+
+    /** The cached values per state label */
+    private final Map<String, Map<Object, Object>> values = new ConcurrentHashMap<>();
+
+    /** The keys per state label that were modified by the successor since the copy */
+    private final Map<String, Set<Object>> modifiedKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new instance with the {@link #DEFAULT_MAX_ENTRIES default} capacity.
+     */
+    public RoundReadCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param maxEntries the maximum number of values to cache
+     * @throws IllegalArgumentException if {@code maxEntries} is negative
+     */
+    public RoundReadCache(final int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the {@link Binding} to be used by the immutable state this cache was created for.
+     *
+     * @return the snapshot binding
+     */
+    @NonNull
+    public Binding snapshotBinding() {
+        return new Binding(this, true);
+    }
+
+    /**
+     * Returns the {@link Binding} to be used by the mutable state that was copied from the snapshot.
+     *
+     * @return the successor binding
+     */
+    @NonNull
+    public Binding successorBinding() {
+        return new Binding(this, false);
+    }
+
+    /**
+     * Gets the (approximate) number of values in this cache.
+     *
+     * @return the number of cached values
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the percentage of reads through this cache that were answered without going to the data source.
+     *
+     * @return the hit percentage, or {@code 0} if nothing was read yet
+     */
+    public double hitPercent() {
+        final var hitCount = hits.sum();
+        final var total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : 100.0 * hitCount / total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> V read(
+            @NonNull final String label,
+            @NonNull final K key,
+            final boolean snapshot,
+            @NonNull final Function<K, V> dataSource) {
+        if (!snapshot && isModified(label, key)) {
+            misses.increment();
+            return dataSource.apply(key);
+        }
+
+        final var stateValues = values.computeIfAbsent(label, k -> new ConcurrentHashMap<>());
+        final var cached = stateValues.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached == NULL_VALUE ? null : (V) cached;
+        }
+
+        misses.increment();
+        final var value = dataSource.apply(key);
+        // A successor must check again, the key may have been modified while we were reading it
+        if ((snapshot || !isModified(label, key))
+                && size.get() < maxEntries
+                && stateValues.putIfAbsent(key, value == null ? NULL_VALUE : value) == null) {
+            size.incrementAndGet();
+        }
+        return value;
+    }
+
+    private boolean isModified(@NonNull final String label, @NonNull final Object key) {
+        final var keys = modifiedKeys.get(label);
+        return keys != null && keys.contains(key);
+    }
+
+    private void markModified(@NonNull final String label, @NonNull final Object key) {
+        modifiedKeys.computeIfAbsent(label, k -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    /**
+     * The view of a state on a {@link RoundReadCache}.
+     *
+     * @param cache the cache, or {@code null} if nothing should be cached
+     * @param snapshot {@code true} if the state is the immutable snapshot, {@code false} if it is the mutable successor
+     */
+    public record Binding(@Nullable RoundReadCache cache, boolean snapshot) {
+
+        /**
+         * Reads the value of the given key, either from the cache or from the data source.
+         *
+         * @param label the label of the state
+         * @param key the key to read
+         * @param dataSource used to read the value if it cannot be taken from the cache
+         * @param <K> the type of the key
+         * @param <V> the type of the value
+         * @return the value, or {@code null} if the key was not found
+         */
+        @Nullable
+        public <K, V> V read(
+                @NonNull final String label, @NonNull final K key, @NonNull final Function<K, V> dataSource) {
+            requireNonNull(label);
+            requireNonNull(key);
+            requireNonNull(dataSource);
+            return cache == null ? dataSource.apply(key) : cache.read(label, key, snapshot, dataSource);
+        }
+
+        /**
+         * Records that the given key is about to be modified by the mutable state. Must be called before the
+         * virtual map is changed.
+         *
+         * @param label the label of the state
+         * @param key the key that is modified
+         */
+        public void markModified(@NonNull final String label, @NonNull final Object key) {
+            requireNonNull(label);
+            requireNonNull(key);
+            if (cache != null && !snapshot) {
+                cache.markModified(label, key);
+            }
+        }
+
+        /**
+         * Whether values are cached at all with this binding.
+         *
+         * @return {@code true} if a cache is used
+         */
+        public boolean isCaching() {
+            return cache != null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import static java.util.Objects.requireNonNull;
+
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Creates the {@link RoundReadCache} of every round with the configured capacity. One instance is shared by a state
+ * and all copies made from it. If created with {@link Metrics}, it reports the size and the hit percentage of the
+ * most recently created cache, that is, of the cache of the round currently being handled.
+ */
+public final class RoundReadCacheFactory {
+    private final int maxEntries;
+    private volatile RoundReadCache latest;
+
+    /**
+     * Creates a factory of caches with the given capacity, without metrics.
+     *
+     * @param maxEntries the maximum number of values to cache per round
+     * @throws IllegalArgumentException if {@code maxEntries} is negative
+     */
+    public RoundReadCacheFactory(final int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Creates a factory of caches with the given capacity, and registers the metrics of the current cache.
+     *
+     * @param maxEntries the maximum number of values to cache per round
+     * @param metrics the {@link Metrics} to register the size and hit percentage with
+     * @throws IllegalArgumentException if {@code maxEntries} is negative
+     */
+    public RoundReadCacheFactory(final int maxEntries, @NonNull final Metrics metrics) {
+        this(maxEntries);
+        requireNonNull(metrics, "metrics must not be null");
+        metrics.getOrCreate(new FunctionGauge.Config<>("app", "roundReadCacheSize", Integer.class, this::currentSize)
+                .withDescription("number of values in the read cache of the current round")
+                .withFormat("%d"));
+        metrics.getOrCreate(
+                new FunctionGauge.Config<>("app", "roundReadCacheHitPercent", Double.class, this::currentHitPercent)
+                        .withDescription("percentage of reads in the current round answered from the read cache")
+                        .withFormat("%,13.2f"));
+    }
+
+    /**
+     * Creates the cache of a new round.
+     *
+     * @return the new cache
+     */
+    @NonNull
+    public RoundReadCache create() {
+        final var cache = new RoundReadCache(maxEntries);
+        latest = cache;
+        return cache;
+    }
+
+    /**
+     * Gets the number of values in the most recently created cache.
+     *
+     * @return the size of the current cache, or {@code 0} if no cache was created yet
+     */
+    public int currentSize() {
+        final var cache = latest;
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * Gets the hit percentage of the most recently created cache.
+     *
+     * @return the hit percentage of the current cache, or {@code 0} if no cache was created yet
+     */
+    public double currentHitPercent() {
+        final var cache = latest;
+        return cache == null ? 0.0 : cache.hitPercent();
+    }
+}
@@ -41,14 +41,16 @@ import com.hedera.node.app.state.WorkingStateAccessor;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.data.HederaConfig;
 import com.hedera.node.config.data.LedgerConfig;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.logging.log4j.LogManager;
@@ -77,6 +79,13 @@ import org.apache.logging.log4j.Logger;
  * given transaction ID, or for a given payer, while preceding trnasactions are treated as their own top level
  * transactions.
  *
+ * <p>Entries are numbered in the order they are added to the queue, so the entries still in the queue are always
+ * those numbered from {@link #headSequence} up to {@link #nextSequence}. This lets the secondary index by payer hold
+ * just the sequence numbers of the records it points to, and lets an expired record drop out of that index simply by
+ * advancing {@link #headSequence}, without touching the index at all. Payers left with no records are swept out of
+ * the index in batches, so memory is bounded by the records in the queue, and at most
+ * {@link LedgerConfig#recordsMaxQueryableByAccount()} records are indexed for any payer.
+ *
  * <p>Mutation methods must be called during startup, reconnect, or on the "handle" thread. Getters may be called from
  * any thread.
  */
@@ -108,12 +117,22 @@ public class RecordCacheImpl implements HederaRecordCache {
      */
     private final Map<TransactionID, History> histories;
     /**
-     * A secondary index that maps from the AccountID of the payer account to a set of transaction IDs that were
-     * submitted by this payer. This is only needed for answering queries. Ideally such queries would exist on the
-     * mirror node instead. The answer to this query will include child records that were created as a consequence
-     * of the original user transaction, but not any preceding records triggered by it.
+     * A secondary index that maps from the AccountID of the payer account to the most recent records paid for by this
+     * payer that are still in the queue. This is only needed for answering queries. Ideally such queries would exist
+     * on the mirror node instead. The answer to this query will include child and preceding records that were created
+     * as a consequence of the user transactions of the payer.
      */
-    private final Map<AccountID, Set<TransactionID>> payerToTransactionIndex = new ConcurrentHashMap<>();
+    private final Map<AccountID, PayerRecords> payerRecords = new ConcurrentHashMap<>();
+    /** The sequence number of the next entry to be added to the queue */
+    private volatile long nextSequence;
+    /** The sequence number of the entry at the head of the queue; every entry numbered before it has expired */
+    private volatile long headSequence;
+    /** The number of entries expired since payers with no records left were last swept out of the index */
+    private long expiredSinceSweep;
+    /** The number of history lookups that found a history */
+    private final LongAdder historyHits = new LongAdder();
+    /** The number of history lookups that found no history */
+    private final LongAdder historyMisses = new LongAdder();
 
     /**
      * Called once during startup to create this singleton. Rebuilds the in-memory data structures based on the current
@@ -126,18 +145,32 @@ public class RecordCacheImpl implements HederaRecordCache {
      * @param workingStateAccessor Gives access to the current working state, needed at startup, but also any time
      *                             records must be saved in state or read from state.
      * @param configProvider       Used for looking up the max valid duration window for a transaction dynamically
+     * @param metrics              Used to report the size of the cache and how often lookups find a history
      */
     @Inject
     public RecordCacheImpl(
             @NonNull final DeduplicationCache deduplicationCache,
             @NonNull final WorkingStateAccessor workingStateAccessor,
-            @NonNull final ConfigProvider configProvider) {
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final Metrics metrics) {
         this.deduplicationCache = requireNonNull(deduplicationCache);
         this.workingStateAccessor = requireNonNull(workingStateAccessor);
         this.configProvider = requireNonNull(configProvider);
         this.histories = new ConcurrentHashMap<>();
+        requireNonNull(metrics);
 
         rebuild();
+
+        registerGauge(metrics, "recordCacheEntries", "number of records in the record cache", () -> nextSequence
+                - headSequence);
+        registerGauge(metrics, "recordCacheHistories", "number of transaction histories in the record cache", () ->
+                (long) histories.size());
+        registerGauge(metrics, "recordCachePayers", "number of payers indexed by the record cache", () ->
+                (long) payerRecords.size());
+        registerGauge(metrics, "recordCacheHistoryHits", "number of record cache lookups that found a history",
+                historyHits::sum);
+        registerGauge(metrics, "recordCacheHistoryMisses", "number of record cache lookups that found no history",
+                historyMisses::sum);
     }
 
     /**
@@ -147,16 +180,24 @@ public class RecordCacheImpl implements HederaRecordCache {
      */
     public void rebuild() {
         histories.clear();
-        payerToTransactionIndex.clear();
+        payerRecords.clear();
+        nextSequence = 0;
+        headSequence = 0;
+        expiredSinceSweep = 0;
         // FUTURE: It doesn't hurt to clear the dedupe cache here, but is also probably not the best place to do it. The
         // system should clear the dedupe cache directly and not indirectly through this call.
         deduplicationCache.clear();
 
+        final var maxRecordsPerPayer = maxRecordsPerPayer();
         final var queue = getReadableQueue();
         final var itr = queue.iterator();
         while (itr.hasNext()) {
             final var entry = itr.next();
-            addToInMemoryCache(entry.nodeId(), entry.payerAccountIdOrThrow(), entry.transactionRecordOrThrow());
+            addToInMemoryCache(
+                    entry.nodeId(),
+                    entry.payerAccountIdOrThrow(),
+                    entry.transactionRecordOrThrow(),
+                    maxRecordsPerPayer);
             deduplicationCache.add(entry.transactionRecordOrThrow().transactionIDOrThrow());
         }
     }
@@ -188,9 +229,10 @@ public class RecordCacheImpl implements HederaRecordCache {
         removeExpiredTransactions(queue, firstRecord.transactionRecord().consensusTimestampOrElse(Timestamp.DEFAULT));
 
         // For each transaction, in order, add to the queue and to the in-memory data structures.
+        final var maxRecordsPerPayer = maxRecordsPerPayer();
         for (final var singleTransactionRecord : transactionRecords) {
             final var rec = singleTransactionRecord.transactionRecord();
-            addToInMemoryCache(nodeId, payerAccountId, rec);
+            addToInMemoryCache(nodeId, payerAccountId, rec, maxRecordsPerPayer);
             queue.add(new TransactionRecordEntry(nodeId, payerAccountId, rec));
         }
 
@@ -219,11 +261,13 @@ public class RecordCacheImpl implements HederaRecordCache {
      * @param payerAccountId The {@link AccountID} of the payer of the transaction, so we can look up transactions by
      *                      payer later, if needed.
      * @param transactionRecord The record to add.
+     * @param maxRecordsPerPayer The maximum number of records to index for any payer.
      */
     private void addToInMemoryCache(
             final long nodeId,
             @NonNull final AccountID payerAccountId,
-            @NonNull final TransactionRecord transactionRecord) {
+            @NonNull final TransactionRecord transactionRecord,
+            final int maxRecordsPerPayer) {
         // The transaction may be a preceding transaction, user transaction, or child transaction. The user transaction,
         // alone, has a nonce of 0 in the transaction ID. Preceding transactions have no parent consensus timestamp,
         // while child transactions have a parent consensus timestamp (the consensus timestamp of the user transaction).
@@ -258,9 +302,11 @@ public class RecordCacheImpl implements HederaRecordCache {
         final var listToAddTo = (isChildTx && !txId.scheduled()) ? history.childRecords() : history.records();
         listToAddTo.add(transactionRecord);
 
-        // Add to the payer-to-transaction index
-        final var transactionIDs = payerToTransactionIndex.computeIfAbsent(payerAccountId, ignored -> new HashSet<>());
-        transactionIDs.add(txId);
+        // Add to the payer index, under the sequence number this record has in the queue
+        payerRecords
+                .computeIfAbsent(payerAccountId, ignored -> new PayerRecords())
+                .add(nextSequence, transactionRecord, headSequence, maxRecordsPerPayer);
+        nextSequence++;
     }
 
     /**
@@ -288,14 +334,9 @@ public class RecordCacheImpl implements HederaRecordCache {
                     // remove from queue as well.  The queue only permits removing the current "HEAD",
                     // but that should always be correct here.
                     queue.removeIf(TruePredicate.INSTANCE);
-                    // Remove from the payer to transaction index
-                    final var payerAccountId = txId.accountIDOrThrow(); // NOTE: Not accurate if the payer was the node
-                    final var transactionIDs =
-                            payerToTransactionIndex.computeIfAbsent(payerAccountId, ignored -> new HashSet<>());
-                    transactionIDs.remove(txId);
-                    if (transactionIDs.isEmpty()) {
-                        payerToTransactionIndex.remove(payerAccountId);
-                    }
+                    // Which also removes it from the payer index, since records numbered before the head are ignored
+                    headSequence++;
+                    expiredSinceSweep++;
                 } else {
                     break;
                 }
@@ -303,6 +344,12 @@ public class RecordCacheImpl implements HederaRecordCache {
                 break;
             }
         } while (true);
+        // Sweeping costs one check per payer, so sweeping only once as many entries expired keeps it O(1) per entry
+        if (expiredSinceSweep > 0 && expiredSinceSweep >= payerRecords.size()) {
+            final var head = headSequence;
+            payerRecords.values().removeIf(records -> records.isEmpty(head));
+            expiredSinceSweep = 0;
+        }
     }
     // ---------------------------------------------------------------------------------------------------------------
     // Implementation methods of RecordCache
@@ -312,35 +359,26 @@ public class RecordCacheImpl implements HederaRecordCache {
     @Override
     public History getHistory(@NonNull TransactionID transactionID) {
         final var history = histories.get(transactionID);
-        return history != null ? history : (deduplicationCache.contains(transactionID) ? EMPTY_HISTORY : null);
+        if (history != null) {
+            historyHits.increment();
+            return history;
+        }
+        historyMisses.increment();
+        return deduplicationCache.contains(transactionID) ? EMPTY_HISTORY : null;
     }
 
     @NonNull
     @Override
     public List<TransactionRecord> getRecords(@NonNull final AccountID accountID) {
-        final var transactionIDs = payerToTransactionIndex.get(accountID);
-        if (transactionIDs == null) {
+        final var recordsOfPayer = payerRecords.get(accountID);
+        if (recordsOfPayer == null) {
             return emptyList();
         }
 
         // Note that at **most** LedgerConfig#recordsMaxQueryableByAccount() records will be available, even if the
-        // given account has paid for more than this number of transactions in the last 180 seconds.
-        var maxRemaining = configProvider
-                .getConfiguration()
-                .getConfigData(LedgerConfig.class)
-                .recordsMaxQueryableByAccount();
-
-        // While we still need to gather more records, collect them from the different histories.
-        final var records = new ArrayList<TransactionRecord>(maxRemaining);
-        for (final var transactionID : transactionIDs) {
-            final var history = histories.get(transactionID);
-            if (history != null) {
-                final var recs = history.orderedRecords();
-                records.addAll(recs.size() > maxRemaining ? recs.subList(0, maxRemaining) : recs);
-                maxRemaining -= recs.size();
-                if (maxRemaining <= 0) break;
-            }
-        }
+        // given account has paid for more than this number of transactions in the last 180 seconds. These are the
+        // most recent ones.
+        final var records = recordsOfPayer.mostRecent(headSequence, maxRecordsPerPayer());
 
         records.sort((a, b) -> TIMESTAMP_COMPARATOR.compare(
                 a.consensusTimestampOrElse(Timestamp.DEFAULT), b.consensusTimestampOrElse(Timestamp.DEFAULT)));
@@ -348,6 +386,23 @@ public class RecordCacheImpl implements HederaRecordCache {
         return records;
     }
 
+    private int maxRecordsPerPayer() {
+        return configProvider
+                .getConfiguration()
+                .getConfigData(LedgerConfig.class)
+                .recordsMaxQueryableByAccount();
+    }
+
+    private static void registerGauge(
+            @NonNull final Metrics metrics,
+            @NonNull final String name,
+            @NonNull final String description,
+            @NonNull final Supplier<Long> value) {
+        metrics.getOrCreate(new FunctionGauge.Config<>("app", name, Long.class, value)
+                .withDescription(description)
+                .withFormat("%d"));
+    }
+
     /** Utility method that get the writable queue from the working state */
     private WritableStates getWritableState() {
         final var hederaState = workingStateAccessor.getHederaState();
@@ -362,4 +417,87 @@ public class RecordCacheImpl implements HederaRecordCache {
         final var states = requireNonNull(workingStateAccessor.getHederaState()).getReadableStates(NAME);
         return states.getQueue(TXN_RECORD_QUEUE);
     }
+
+    /**
+     * The most recent records of one payer, with the sequence numbers of their entries in the queue, oldest first.
+     * Both are held in ring buffers, the sequence numbers as primitives. The records are the same instances held by
+     * the queue, so indexing them costs no more than the references.
+     */
+    private static final class PayerRecords {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private long[] sequences = new long[INITIAL_CAPACITY];
+        private TransactionRecord[] records = new TransactionRecord[INITIAL_CAPACITY];
+        /** The index of the oldest record */
+        private int start;
+        /** The number of records */
+        private int size;
+
+        /**
+         * Adds the record of the entry with the given sequence number, dropping expired records, and then the oldest
+         * records if there are too many.
+         */
+        synchronized void add(
+                final long sequence,
+                @NonNull final TransactionRecord transactionRecord,
+                final long headSequence,
+                final int maxRecords) {
+            dropExpired(headSequence);
+            while (size > 0 && size >= maxRecords) {
+                dropOldest();
+            }
+            if (maxRecords <= 0) {
+                return;
+            }
+            if (size == sequences.length) {
+                grow(Math.min(sequences.length * 2, maxRecords));
+            }
+            final int i = (start + size) % sequences.length;
+            sequences[i] = sequence;
+            records[i] = transactionRecord;
+            size++;
+        }
+
+        /** Gets whether this payer has no records left that have not expired. */
+        synchronized boolean isEmpty(final long headSequence) {
+            dropExpired(headSequence);
+            return size == 0;
+        }
+
+        /** Gets up to the given number of the most recent records that have not expired, oldest first. */
+        @NonNull
+        synchronized List<TransactionRecord> mostRecent(final long headSequence, final int maxRecords) {
+            dropExpired(headSequence);
+            final int n = Math.max(0, Math.min(size, maxRecords));
+            final var result = new ArrayList<TransactionRecord>(n);
+            for (int i = size - n; i < size; i++) {
+                result.add(records[(start + i) % records.length]);
+            }
+            return result;
+        }
+
+        private void dropExpired(final long headSequence) {
+            while (size > 0 && sequences[start] < headSequence) {
+                dropOldest();
+            }
+        }
+
+        private void dropOldest() {
+            records[start] = null;
+            start = (start + 1) % records.length;
+            size--;
+        }
+
+        private void grow(final int capacity) {
+            final var newSequences = new long[Math.max(capacity, size + 1)];
+            final var newRecords = new TransactionRecord[newSequences.length];
+            for (int i = 0; i < size; i++) {
+                newSequences[i] = sequences[(start + i) % sequences.length];
+                newRecords[i] = records[(start + i) % records.length];
+            }
+            sequences = newSequences;
+            records = newRecords;
+            start = 0;
+        }
+    }
 }
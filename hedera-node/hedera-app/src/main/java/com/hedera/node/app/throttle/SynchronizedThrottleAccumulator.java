@@ -16,16 +16,24 @@
 
 package com.hedera.node.app.throttle;
 
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static com.swirlds.metrics.api.Metrics.PLATFORM_CATEGORY;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.transaction.Query;
 import com.hedera.node.app.state.HederaState;
 import com.hedera.node.app.throttle.annotations.IngestThrottle;
 import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Duration;
 import java.time.Instant;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -34,18 +42,63 @@ import javax.inject.Singleton;
  * Keeps track of the amount of usage of different TPS throttle categories and gas, and returns whether a given
  * transaction or query should be throttled based on that.
  * Meant to be used in multithreaded context
+ *
+ * <p>If the frontend throttle is {@link ThrottleAccumulator#isLockFree() lock-free}, decisions are not synchronized,
+ * so ingest threads only contend when they claim capacity from the same bucket. Only in this mode, the throttle can
+ * also be <i>adaptive</i>: once per round, the number of transactions waiting in the platform's transaction pool and
+ * the lag of handle behind the wall clock are checked, and if either is above its threshold, only a part of the
+ * capacity of each bucket is used until the congestion is gone.
  */
 @Singleton
 public class SynchronizedThrottleAccumulator {
+    /** The name of the platform metric with the number of transactions waiting in the transaction pool */
+    private static final String BUFFERED_TRANSACTIONS_METRIC = "bufferedTransactions";
+
+    private static final int FULL_CAPACITY_PERCENT = 100;
 
     private final ThrottleAccumulator frontendThrottle;
 
+    @Nullable
+    private final ConfigProvider configProvider;
+
+    @Nullable
+    private final Metrics metrics;
+
     @NonNull
     private Instant lastDecisionTime = Instant.EPOCH;
 
-    @Inject
+    private volatile int capacityPercent = FULL_CAPACITY_PERCENT;
+
+    /**
+     * Creates a new {@link SynchronizedThrottleAccumulator} that is never adaptive.
+     *
+     * @param frontendThrottle the frontend throttle
+     */
     public SynchronizedThrottleAccumulator(@NonNull @IngestThrottle final ThrottleAccumulator frontendThrottle) {
         this.frontendThrottle = requireNonNull(frontendThrottle, "frontendThrottle must not be null");
+        this.configProvider = null;
+        this.metrics = null;
+    }
+
+    /**
+     * Creates a new {@link SynchronizedThrottleAccumulator}.
+     *
+     * @param frontendThrottle the frontend throttle
+     * @param configProvider the {@link ConfigProvider} with the settings of the adaptive mode
+     * @param metrics the {@link Metrics} to read the depth of the transaction pool from
+     */
+    @Inject
+    public SynchronizedThrottleAccumulator(
+            @NonNull @IngestThrottle final ThrottleAccumulator frontendThrottle,
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final Metrics metrics) {
+        this.frontendThrottle = requireNonNull(frontendThrottle, "frontendThrottle must not be null");
+        this.configProvider = requireNonNull(configProvider, "configProvider must not be null");
+        this.metrics = requireNonNull(metrics, "metrics must not be null");
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        "app", "ingestThrottleCapacityPercent", Integer.class, this::capacityPercent)
+                .withDescription("percent of the frontend throttle capacity that is currently used")
+                .withFormat("%d"));
     }
 
     /**
@@ -56,9 +109,14 @@ public class SynchronizedThrottleAccumulator {
      * @param state the current state of the node
      * @return whether the transaction should be throttled
      */
-    public synchronized boolean shouldThrottle(@NonNull TransactionInfo txnInfo, HederaState state) {
-        setDecisionTime(Instant.now());
-        return frontendThrottle.shouldThrottle(txnInfo, lastDecisionTime, state);
+    public boolean shouldThrottle(@NonNull TransactionInfo txnInfo, HederaState state) {
+        if (frontendThrottle.isLockFree()) {
+            return frontendThrottle.shouldThrottleLockFree(txnInfo, Instant.now(), state, capacityPercent);
+        }
+        synchronized (this) {
+            setDecisionTime(Instant.now());
+            return frontendThrottle.shouldThrottle(txnInfo, lastDecisionTime, state);
+        }
     }
 
     /**
@@ -70,20 +128,92 @@ public class SynchronizedThrottleAccumulator {
      * @param queryPayerId the payer id of the query
      * @return whether the query should be throttled
      */
-    public synchronized boolean shouldThrottle(
+    public boolean shouldThrottle(
             @NonNull final HederaFunctionality queryFunction,
             @NonNull final Query query,
             @Nullable AccountID queryPayerId) {
         requireNonNull(query);
         requireNonNull(queryFunction);
-        setDecisionTime(Instant.now());
-        return frontendThrottle.shouldThrottle(queryFunction, lastDecisionTime, query, queryPayerId);
+        if (frontendThrottle.isLockFree()) {
+            return frontendThrottle.shouldThrottleLockFree(
+                    queryFunction, Instant.now(), query, queryPayerId, capacityPercent);
+        }
+        synchronized (this) {
+            setDecisionTime(Instant.now());
+            return frontendThrottle.shouldThrottle(queryFunction, lastDecisionTime, query, queryPayerId);
+        }
     }
 
     public void leakUnusedThrottlePreviouslyReserved(int n, HederaFunctionality function) {
         frontendThrottle.leakCapacityForNOfUnscaled(n, function);
     }
 
+    /**
+     * Re-evaluates the congestion of the node after a round was handled, and adapts the capacity used by the frontend
+     * throttle if it is adaptive. Called by the handle thread once per round.
+     *
+     * @param roundConsensusTime the consensus time of the round that was handled
+     */
+    public void updateCongestion(@NonNull final Instant roundConsensusTime) {
+        requireNonNull(roundConsensusTime);
+        if (configProvider == null || !frontendThrottle.isLockFree()) {
+            return;
+        }
+        final var config = configProvider.getConfiguration().getConfigData(HederaConfig.class);
+        if (!config.ingestThrottleAdaptiveEnabled()) {
+            capacityPercent = FULL_CAPACITY_PERCENT;
+            return;
+        }
+        final var handleLagMs =
+                Math.max(0, Duration.between(roundConsensusTime, Instant.now()).toMillis());
+        capacityPercent = adaptiveCapacityPercent(
+                bufferedTransactions(),
+                handleLagMs,
+                config.ingestThrottleAdaptivePoolDepthThreshold(),
+                config.ingestThrottleAdaptiveHandleLagThresholdMs(),
+                config.ingestThrottleAdaptiveMinCapacityPercent());
+    }
+
+    /**
+     * Gets the percent of the capacity of each bucket that the frontend throttle currently uses.
+     *
+     * @return the capacity percent
+     */
+    public int capacityPercent() {
+        return capacityPercent;
+    }
+
+    /**
+     * Computes the percent of the capacity to use. Below both thresholds, the full capacity is used. Above them, the
+     * capacity shrinks in proportion to the signal that is furthest above its threshold, down to the minimum.
+     *
+     * @param poolDepth the number of transactions waiting in the transaction pool
+     * @param handleLagMs the lag of handle behind the wall clock
+     * @param poolDepthThreshold the pool depth at which the capacity starts to shrink
+     * @param handleLagThresholdMs the handle lag at which the capacity starts to shrink
+     * @param minCapacityPercent the minimum percent of the capacity to use
+     * @return the percent of the capacity to use
+     */
+    @VisibleForTesting
+    static int adaptiveCapacityPercent(
+            final long poolDepth,
+            final long handleLagMs,
+            final long poolDepthThreshold,
+            final long handleLagThresholdMs,
+            final int minCapacityPercent) {
+        final var pressure =
+                Math.max((double) poolDepth / poolDepthThreshold, (double) handleLagMs / handleLagThresholdMs);
+        if (pressure <= 1.0) {
+            return FULL_CAPACITY_PERCENT;
+        }
+        return Math.max(minCapacityPercent, (int) (FULL_CAPACITY_PERCENT / pressure));
+    }
+
+    private long bufferedTransactions() {
+        final var metric = requireNonNull(metrics).getMetric(PLATFORM_CATEGORY, BUFFERED_TRANSACTIONS_METRIC);
+        return metric != null && metric.get(VALUE) instanceof Number depth ? depth.longValue() : 0L;
+    }
+
     private void setDecisionTime(@NonNull final Instant time) {
         lastDecisionTime = time.isBefore(lastDecisionTime) ? lastDecisionTime : time;
     }
@@ -22,6 +22,9 @@ import static com.hedera.hapi.node.base.HederaFunctionality.CONTRACT_CREATE;
 import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_CREATE;
 import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_TRANSFER;
 import static com.hedera.hapi.node.base.HederaFunctionality.ETHEREUM_TRANSACTION;
+import static com.hedera.hapi.node.base.HederaFunctionality.SCHEDULE_CREATE;
+import static com.hedera.hapi.node.base.HederaFunctionality.SCHEDULE_SIGN;
+import static com.hedera.hapi.node.base.HederaFunctionality.TOKEN_MINT;
 import static com.hedera.node.app.hapi.utils.ethereum.EthTxData.populateEthTxData;
 import static com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ScaleFactor.ONE_TO_ONE;
 import static com.hedera.node.app.service.evm.accounts.HederaEvmContractAliases.isMirror;
@@ -50,8 +53,10 @@ import com.hedera.hapi.node.transaction.Query;
 import com.hedera.hapi.node.transaction.ThrottleDefinitions;
 import com.hedera.hapi.node.transaction.TransactionBody;
 import com.hedera.node.app.hapi.utils.ethereum.EthTxData;
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ScaleFactor;
 import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleBucket;
 import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleGroup;
+import com.hedera.node.app.hapi.utils.throttles.AtomicThrottle;
 import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
 import com.hedera.node.app.hapi.utils.throttles.GasLimitDeterministicThrottle;
 import com.hedera.node.app.service.mono.throttling.ThrottleReqsManager;
@@ -79,6 +84,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -92,6 +98,9 @@ import org.apache.logging.log4j.Logger;
  * Keeps track of the amount of usage of different TPS throttle categories and gas, and returns whether a given
  * transaction or query should be throttled based on that.
  * Meant to be used in single-threaded context only as part of the {@link com.hedera.node.app.workflows.handle.HandleWorkflow}.
+ *
+ * <p>A frontend throttle can also be created in <i>lock-free</i> mode. It then keeps an {@link AtomicThrottle} mirror
+ * of each bucket, and its {@code shouldThrottleLockFree} methods may be called by many threads at once.
  */
 public class ThrottleAccumulator {
 
@@ -105,20 +114,51 @@ public class ThrottleAccumulator {
     private GasLimitDeterministicThrottle gasThrottle;
     private List<DeterministicThrottle> activeThrottles = emptyList();
     private final ThrottleMetrics throttleMetrics;
+    private final ThrottleClaims sequentialClaims = new SequentialClaims();
+
+    // The lock-free mirrors of the buckets, only used in lock-free mode
+    private volatile EnumMap<HederaFunctionality, List<Pair<AtomicThrottle, Integer>>> atomicReqs =
+            new EnumMap<>(HederaFunctionality.class);
+    private volatile AtomicThrottle atomicGasThrottle = AtomicThrottle.forGas(0);
+    private List<AtomicThrottle> atomicThrottles = emptyList();
 
     private final ConfigProvider configProvider;
     private final IntSupplier capacitySplitSource;
     private final ThrottleType throttleType;
+    private final boolean lockFree;
 
     public ThrottleAccumulator(
             @NonNull final IntSupplier capacitySplitSource,
             @NonNull final ConfigProvider configProvider,
             @NonNull final ThrottleType throttleType,
             @NonNull final ThrottleMetrics throttleMetrics) {
+        this(capacitySplitSource, configProvider, throttleType, throttleMetrics, false);
+    }
+
+    /**
+     * Creates a new {@link ThrottleAccumulator}, which can be in lock-free mode if it is a frontend throttle.
+     *
+     * @param capacitySplitSource the number of ways the capacity of the network is split
+     * @param configProvider the {@link ConfigProvider} to use
+     * @param throttleType the type of the throttle
+     * @param throttleMetrics the {@link ThrottleMetrics} of the throttle
+     * @param lockFree whether throttling decisions are made with lock-free mirrors of the buckets
+     * @throws IllegalArgumentException if a backend throttle is to be lock-free
+     */
+    public ThrottleAccumulator(
+            @NonNull final IntSupplier capacitySplitSource,
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final ThrottleType throttleType,
+            @NonNull final ThrottleMetrics throttleMetrics,
+            final boolean lockFree) {
         this.configProvider = requireNonNull(configProvider, "configProvider must not be null");
         this.capacitySplitSource = requireNonNull(capacitySplitSource, "capacitySplitSource must not be null");
         this.throttleType = requireNonNull(throttleType, "throttleType must not be null");
         this.throttleMetrics = requireNonNull(throttleMetrics, "throttleMetrics must not be null");
+        if (lockFree && throttleType != FRONTEND_THROTTLE) {
+            throw new IllegalArgumentException("Only the frontend throttle can be lock-free");
+        }
+        this.lockFree = lockFree;
     }
 
     // For testing purposes, in practice the gas throttle is
@@ -134,6 +174,7 @@ public class ThrottleAccumulator {
         this.capacitySplitSource = requireNonNull(capacitySplitSource, "capacitySplitSource must not be null");
         this.throttleType = requireNonNull(throttleType, "throttleType must not be null");
         this.gasThrottle = requireNonNull(gasThrottle, "gasThrottle must not be null");
+        this.lockFree = false;
 
         this.throttleMetrics = throttleMetrics;
         this.throttleMetrics.setupGasThrottleMetric(gasThrottle, configProvider.getConfiguration());
@@ -151,7 +192,7 @@ public class ThrottleAccumulator {
             @NonNull final TransactionInfo txnInfo, @NonNull final Instant now, @NonNull final HederaState state) {
         resetLastAllowedUse();
         lastTxnWasGasThrottled = false;
-        if (shouldThrottleTxn(false, txnInfo, now, state)) {
+        if (shouldThrottleTxn(false, txnInfo, now, state, sequentialClaims)) {
             reclaimLastAllowedUse();
             return true;
         }
@@ -159,6 +200,30 @@ public class ThrottleAccumulator {
         return false;
     }
 
+    /**
+     * Like {@link #shouldThrottle(TransactionInfo, Instant, HederaState)}, but claims capacity from the lock-free
+     * mirrors of the buckets. May be called by many threads at once.
+     *
+     * @param txnInfo the transaction to update the throttle requirements for
+     * @param now the instant of time the transaction throttling should be checked for
+     * @param state the current state of the node
+     * @param capacityPercent the percent of the capacity of each bucket that may be used
+     * @return whether the transaction should be throttled
+     * @throws IllegalStateException if this throttle is not in lock-free mode
+     */
+    public boolean shouldThrottleLockFree(
+            @NonNull final TransactionInfo txnInfo,
+            @NonNull final Instant now,
+            @NonNull final HederaState state,
+            final int capacityPercent) {
+        final var claims = new AtomicClaims(now, capacityPercent);
+        if (shouldThrottleTxn(false, txnInfo, now, state, claims)) {
+            claims.rollback();
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Updates the throttle requirements for the given query and returns whether the query should be throttled.
      *
@@ -173,26 +238,35 @@ public class ThrottleAccumulator {
             @NonNull final Instant now,
             @NonNull final Query query,
             @Nullable final AccountID queryPayerId) {
-        final var configuration = configProvider.getConfiguration();
-        if (throttleExempt(queryPayerId, configuration)) {
-            return false;
-        }
-        if (isGasThrottled(queryFunction)) {
-            final var enforceGasThrottle =
-                    configuration.getConfigData(ContractsConfig.class).throttleThrottleByGas();
-            return enforceGasThrottle
-                    && !gasThrottle.allow(
-                            now,
-                            query.contractCallLocalOrElse(ContractCallLocalQuery.DEFAULT)
-                                    .gas());
-        }
         resetLastAllowedUse();
-        final var manager = functionReqs.get(queryFunction);
-        if (manager == null) {
+        if (shouldThrottleQuery(queryFunction, now, query, queryPayerId, sequentialClaims)) {
+            reclaimLastAllowedUse();
             return true;
         }
-        if (!manager.allReqsMetAt(now)) {
-            reclaimLastAllowedUse();
+        return false;
+    }
+
+    /**
+     * Like {@link #shouldThrottle(HederaFunctionality, Instant, Query, AccountID)}, but claims capacity from the
+     * lock-free mirrors of the buckets. May be called by many threads at once.
+     *
+     * @param queryFunction the functionality of the query
+     * @param now the time at which the query is being processed
+     * @param query the query to update the throttle requirements for
+     * @param queryPayerId the payer id of the query
+     * @param capacityPercent the percent of the capacity of each bucket that may be used
+     * @return whether the query should be throttled
+     * @throws IllegalStateException if this throttle is not in lock-free mode
+     */
+    public boolean shouldThrottleLockFree(
+            @NonNull final HederaFunctionality queryFunction,
+            @NonNull final Instant now,
+            @NonNull final Query query,
+            @Nullable final AccountID queryPayerId,
+            final int capacityPercent) {
+        final var claims = new AtomicClaims(now, capacityPercent);
+        if (shouldThrottleQuery(queryFunction, now, query, queryPayerId, claims)) {
+            claims.rollback();
             return true;
         }
         return false;
@@ -228,6 +302,12 @@ public class ThrottleAccumulator {
      * @param function the functionality type of the transactions
      */
     public void leakCapacityForNOfUnscaled(final int n, @NonNull final HederaFunctionality function) {
+        if (lockFree) {
+            for (final var req : Objects.requireNonNull(atomicReqs.get(function))) {
+                req.getLeft().release(n * req.getRight() * DeterministicThrottle.capacityRequiredFor(1));
+            }
+            return;
+        }
         final var manager = Objects.requireNonNull(functionReqs.get(function));
         manager.undoClaimedReqsFor(n);
     }
@@ -274,6 +354,15 @@ public class ThrottleAccumulator {
         }
     }
 
+    /**
+     * Indicates whether this throttle makes its decisions with lock-free mirrors of the buckets.
+     *
+     * @return whether this throttle is in lock-free mode
+     */
+    public boolean isLockFree() {
+        return lockFree;
+    }
+
     /**
      * Indicates whether the last transaction was throttled by gas.
      *
@@ -318,11 +407,37 @@ public class ThrottleAccumulator {
         throttleMetrics.updateAllMetrics();
     }
 
+    private boolean shouldThrottleQuery(
+            @NonNull final HederaFunctionality queryFunction,
+            @NonNull final Instant now,
+            @NonNull final Query query,
+            @Nullable final AccountID queryPayerId,
+            @NonNull final ThrottleClaims claims) {
+        final var configuration = configProvider.getConfiguration();
+        if (throttleExempt(queryPayerId, configuration)) {
+            return false;
+        }
+        if (isGasThrottled(queryFunction)) {
+            final var enforceGasThrottle =
+                    configuration.getConfigData(ContractsConfig.class).throttleThrottleByGas();
+            return enforceGasThrottle
+                    && !claims.claimGas(
+                            now,
+                            query.contractCallLocalOrElse(ContractCallLocalQuery.DEFAULT)
+                                    .gas());
+        }
+        if (!claims.hasReqsFor(queryFunction)) {
+            return true;
+        }
+        return !claims.claim(queryFunction, now);
+    }
+
     private boolean shouldThrottleTxn(
             final boolean isScheduled,
             @NonNull final TransactionInfo txnInfo,
             @NonNull final Instant now,
-            @NonNull final HederaState state) {
+            @NonNull final HederaState state,
+            @NonNull final ThrottleClaims claims) {
         final var function = txnInfo.functionality();
         final var configuration = configProvider.getConfiguration();
 
@@ -338,13 +453,14 @@ public class ThrottleAccumulator {
             return false;
         }
 
-        if (isGasExhausted(txnInfo, now, configuration)) {
-            lastTxnWasGasThrottled = true;
+        if (isGasExhausted(txnInfo, now, configuration, claims)) {
+            if (claims == sequentialClaims) {
+                lastTxnWasGasThrottled = true;
+            }
             return true;
         }
 
-        final var manager = functionReqs.get(function);
-        if (manager == null) {
+        if (!claims.hasReqsFor(function)) {
             return true;
         }
 
@@ -354,35 +470,40 @@ public class ThrottleAccumulator {
                     throw new IllegalStateException("ScheduleCreate cannot be a child!");
                 }
 
-                yield shouldThrottleScheduleCreate(manager, txnInfo, now, state);
+                yield shouldThrottleScheduleCreate(txnInfo, now, state, claims);
             }
             case SCHEDULE_SIGN -> {
                 if (isScheduled) {
                     throw new IllegalStateException("ScheduleSign cannot be a child!");
                 }
 
-                yield shouldThrottleScheduleSign(manager, txnInfo, now, state);
+                yield shouldThrottleScheduleSign(txnInfo, now, state, claims);
             }
-            case TOKEN_MINT -> shouldThrottleMint(manager, txnInfo.txBody().tokenMint(), now, configuration);
+            case TOKEN_MINT -> shouldThrottleMint(txnInfo.txBody().tokenMint(), now, configuration, claims);
             case CRYPTO_TRANSFER -> {
                 final var accountStore = new ReadableStoreFactory(state).getStore(ReadableAccountStore.class);
                 yield shouldThrottleCryptoTransfer(
-                        manager, now, configuration, getImplicitCreationsCount(txnInfo.txBody(), accountStore));
+                        CRYPTO_TRANSFER,
+                        now,
+                        configuration,
+                        getImplicitCreationsCount(txnInfo.txBody(), accountStore),
+                        claims);
             }
             case ETHEREUM_TRANSACTION -> {
                 final var accountStore = new ReadableStoreFactory(state).getStore(ReadableAccountStore.class);
                 yield shouldThrottleEthTxn(
-                        manager, now, configuration, getImplicitCreationsCount(txnInfo.txBody(), accountStore));
+                        ETHEREUM_TRANSACTION,
+                        now,
+                        configuration,
+                        getImplicitCreationsCount(txnInfo.txBody(), accountStore),
+                        claims);
             }
-            default -> !manager.allReqsMetAt(now);
+            default -> !claims.claim(function, now);
         };
     }
 
     private boolean shouldThrottleScheduleCreate(
-            final ThrottleReqsManager manager,
-            final TransactionInfo txnInfo,
-            final Instant now,
-            final HederaState state) {
+            final TransactionInfo txnInfo, final Instant now, final HederaState state, final ThrottleClaims claims) {
         final var txnBody = txnInfo.txBody();
         final var scheduleCreate = txnBody.scheduleCreateOrThrow();
         final var scheduled = scheduleCreate.scheduledTransactionBodyOrThrow();
@@ -423,14 +544,14 @@ public class ThrottleAccumulator {
                             .build();
                     final int implicitCreationsCount = getImplicitCreationsCount(transferTxnBody, accountStore);
                     if (implicitCreationsCount > 0) {
-                        return shouldThrottleImplicitCreations(implicitCreationsCount, now);
+                        return shouldThrottleImplicitCreations(implicitCreationsCount, now, claims);
                     }
                 }
             }
-            return !manager.allReqsMetAt(now);
+            return !claims.claim(SCHEDULE_CREATE, now);
         } else {
             log.warn("Long term scheduling is enabled, but throttling of long term schedules is not yet implemented.");
-            if (!manager.allReqsMetAt(now)) {
+            if (!claims.claim(SCHEDULE_CREATE, now)) {
                 return true;
             }
 
@@ -449,7 +570,7 @@ public class ThrottleAccumulator {
                         Bytes.EMPTY,
                         scheduledFunction);
 
-                return shouldThrottleTxn(true, innerTxnInfo, now, state);
+                return shouldThrottleTxn(true, innerTxnInfo, now, state, claims);
             }
 
             return false;
@@ -457,9 +578,9 @@ public class ThrottleAccumulator {
     }
 
     private boolean shouldThrottleScheduleSign(
-            ThrottleReqsManager manager, TransactionInfo txnInfo, Instant now, HederaState state) {
+            TransactionInfo txnInfo, Instant now, HederaState state, ThrottleClaims claims) {
         final var txnBody = txnInfo.txBody();
-        if (!manager.allReqsMetAt(now)) {
+        if (!claims.claim(SCHEDULE_SIGN, now)) {
             return true;
         }
 
@@ -512,7 +633,7 @@ public class ThrottleAccumulator {
                     Bytes.EMPTY,
                     scheduledFunction);
 
-            return shouldThrottleTxn(true, innerTxnInfo, now, state);
+            return shouldThrottleTxn(true, innerTxnInfo, now, state, claims);
         }
     }
 
@@ -554,58 +675,61 @@ public class ThrottleAccumulator {
     private boolean isGasExhausted(
             @NonNull final TransactionInfo txnInfo,
             @NonNull final Instant now,
-            @NonNull final Configuration configuration) {
+            @NonNull final Configuration configuration,
+            @NonNull final ThrottleClaims claims) {
         final boolean shouldThrottleByGas =
                 configuration.getConfigData(ContractsConfig.class).throttleThrottleByGas();
         return shouldThrottleByGas
                 && isGasThrottled(txnInfo.functionality())
-                && !gasThrottle.allow(now, getGasLimitForContractTx(txnInfo.txBody(), txnInfo.functionality()));
+                && !claims.claimGas(now, getGasLimitForContractTx(txnInfo.txBody(), txnInfo.functionality()));
     }
 
     private boolean shouldThrottleMint(
-            @NonNull final ThrottleReqsManager manager,
             @NonNull final TokenMintTransactionBody op,
             @NonNull final Instant now,
-            @NonNull final Configuration configuration) {
+            @NonNull final Configuration configuration,
+            @NonNull final ThrottleClaims claims) {
         final int numNfts = op.metadata().size();
         if (numNfts == 0) {
-            return !manager.allReqsMetAt(now);
+            return !claims.claim(TOKEN_MINT, now);
         } else {
             final var nftsMintThrottleScaleFactor =
                     configuration.getConfigData(TokensConfig.class).nftsMintThrottleScaleFactor();
-            return !manager.allReqsMetAt(now, numNfts, nftsMintThrottleScaleFactor);
+            return !claims.claim(TOKEN_MINT, now, numNfts, nftsMintThrottleScaleFactor);
         }
     }
 
     private boolean shouldThrottleCryptoTransfer(
-            @NonNull final ThrottleReqsManager manager,
+            @NonNull final HederaFunctionality function,
             @NonNull final Instant now,
             @NonNull final Configuration configuration,
-            final int implicitCreationsCount) {
+            final int implicitCreationsCount,
+            @NonNull final ThrottleClaims claims) {
         final boolean isAutoCreationEnabled =
                 configuration.getConfigData(AutoCreationConfig.class).enabled();
         final boolean isLazyCreationEnabled =
                 configuration.getConfigData(LazyCreationConfig.class).enabled();
         if (isAutoCreationEnabled || isLazyCreationEnabled) {
-            return shouldThrottleBasedOnImplicitCreations(manager, implicitCreationsCount, now);
+            return shouldThrottleBasedOnImplicitCreations(function, implicitCreationsCount, now, claims);
         } else {
-            return !manager.allReqsMetAt(now);
+            return !claims.claim(function, now);
         }
     }
 
     private boolean shouldThrottleEthTxn(
-            @NonNull final ThrottleReqsManager manager,
+            @NonNull final HederaFunctionality function,
             @NonNull final Instant now,
             @NonNull final Configuration configuration,
-            final int implicitCreationsCount) {
+            final int implicitCreationsCount,
+            @NonNull final ThrottleClaims claims) {
         final boolean isAutoCreationEnabled =
                 configuration.getConfigData(AutoCreationConfig.class).enabled();
         final boolean isLazyCreationEnabled =
                 configuration.getConfigData(LazyCreationConfig.class).enabled();
         if (isAutoCreationEnabled && isLazyCreationEnabled) {
-            return shouldThrottleBasedOnImplicitCreations(manager, implicitCreationsCount, now);
+            return shouldThrottleBasedOnImplicitCreations(function, implicitCreationsCount, now, claims);
         } else {
-            return !manager.allReqsMetAt(now);
+            return !claims.claim(function, now);
         }
     }
 
@@ -744,15 +868,18 @@ public class ThrottleAccumulator {
     }
 
     private boolean shouldThrottleBasedOnImplicitCreations(
-            @NonNull final ThrottleReqsManager manager, final int implicitCreationsCount, @NonNull final Instant now) {
+            @NonNull final HederaFunctionality function,
+            final int implicitCreationsCount,
+            @NonNull final Instant now,
+            @NonNull final ThrottleClaims claims) {
         return (implicitCreationsCount == 0)
-                ? !manager.allReqsMetAt(now)
-                : shouldThrottleImplicitCreations(implicitCreationsCount, now);
+                ? !claims.claim(function, now)
+                : shouldThrottleImplicitCreations(implicitCreationsCount, now, claims);
     }
 
-    private boolean shouldThrottleImplicitCreations(final int n, @NonNull final Instant now) {
-        final var manager = functionReqs.get(CRYPTO_CREATE);
-        return manager == null || !manager.allReqsMetAt(now, n, ONE_TO_ONE);
+    private boolean shouldThrottleImplicitCreations(
+            final int n, @NonNull final Instant now, @NonNull final ThrottleClaims claims) {
+        return !claims.hasReqsFor(CRYPTO_CREATE) || !claims.claim(CRYPTO_CREATE, now, n, ONE_TO_ONE);
     }
 
     /**
@@ -790,9 +917,12 @@ public class ThrottleAccumulator {
 
         functionReqs = newFunctionReqs;
         activeThrottles = newActiveThrottles;
+        if (lockFree) {
+            rebuildAtomicReqs(reqLists);
+        }
 
         final var configuration = configProvider.getConfiguration();
-        throttleMetrics.setupThrottleMetrics(activeThrottles, configuration);
+        throttleMetrics.setupThrottleMetrics(lockFree ? atomicThrottles : activeThrottles, configuration);
 
         logResolvedDefinitions(capacitySplitSource.getAsInt());
     }
@@ -807,7 +937,10 @@ public class ThrottleAccumulator {
             log.warn("{} gas throttling enabled, but limited to 0 gas/sec", throttleType.name());
         }
         gasThrottle = new GasLimitDeterministicThrottle(contractsConfig.maxGasPerSec());
-        throttleMetrics.setupGasThrottleMetric(gasThrottle, configuration);
+        if (lockFree) {
+            atomicGasThrottle = AtomicThrottle.forGas(contractsConfig.maxGasPerSec());
+        }
+        throttleMetrics.setupGasThrottleMetric(lockFree ? atomicGasThrottle : gasThrottle, configuration);
         log.info(
                 "Resolved {} gas throttle -\n {} gas/sec (throttling {})",
                 throttleType.name(),
@@ -815,6 +948,24 @@ public class ThrottleAccumulator {
                 (contractsConfig.throttleThrottleByGas() ? "ON" : "OFF"));
     }
 
+    private void rebuildAtomicReqs(
+            @NonNull final EnumMap<HederaFunctionality, List<Pair<DeterministicThrottle, Integer>>> reqLists) {
+        // Buckets shared by several functions must be mirrored by a single atomic bucket
+        final var mirrors = new IdentityHashMap<DeterministicThrottle, AtomicThrottle>();
+        final var newAtomicReqs = new EnumMap<HederaFunctionality, List<Pair<AtomicThrottle, Integer>>>(
+                HederaFunctionality.class);
+        reqLists.forEach((function, reqs) -> newAtomicReqs.put(
+                function,
+                reqs.stream()
+                        .map(req -> Pair.of(
+                                mirrors.computeIfAbsent(req.getLeft(), AtomicThrottle::mirroring), req.getRight()))
+                        .toList()));
+        atomicThrottles = activeThrottles.stream()
+                .map(throttle -> mirrors.computeIfAbsent(throttle, AtomicThrottle::mirroring))
+                .toList();
+        atomicReqs = newAtomicReqs;
+    }
+
     @NonNull
     private ThrottleGroup<HederaFunctionality> hapiGroupFromPbj(
             @NonNull final com.hedera.hapi.node.transaction.ThrottleGroup pbjThrottleGroup) {
@@ -853,4 +1004,126 @@ public class ThrottleAccumulator {
         FRONTEND_THROTTLE,
         BACKEND_THROTTLE
     }
+
+    /**
+     * The capacity claimed from the buckets while deciding whether a single transaction or query is throttled.
+     * If the decision is to throttle, all claims are undone.
+     */
+    private interface ThrottleClaims {
+        boolean hasReqsFor(@NonNull HederaFunctionality function);
+
+        default boolean claim(@NonNull final HederaFunctionality function, @NonNull final Instant now) {
+            return claim(function, now, 0, null);
+        }
+
+        boolean claim(
+                @NonNull HederaFunctionality function,
+                @NonNull Instant now,
+                int nTransactions,
+                @Nullable ScaleFactor scaleFactor);
+
+        boolean claimGas(@NonNull Instant now, long gas);
+    }
+
+    /**
+     * Claims capacity from the deterministic buckets; these claims are undone by {@link #reclaimLastAllowedUse()}.
+     */
+    private class SequentialClaims implements ThrottleClaims {
+        @Override
+        public boolean hasReqsFor(@NonNull final HederaFunctionality function) {
+            return functionReqs.containsKey(function);
+        }
+
+        @Override
+        public boolean claim(
+                @NonNull final HederaFunctionality function,
+                @NonNull final Instant now,
+                final int nTransactions,
+                @Nullable final ScaleFactor scaleFactor) {
+            final var manager = functionReqs.get(function);
+            if (manager == null) {
+                return false;
+            }
+            return scaleFactor == null
+                    ? manager.allReqsMetAt(now)
+                    : manager.allReqsMetAt(now, nTransactions, scaleFactor);
+        }
+
+        @Override
+        public boolean claimGas(@NonNull final Instant now, final long gas) {
+            return gasThrottle.allow(now, gas);
+        }
+    }
+
+    /**
+     * Claims capacity from the lock-free mirrors of the buckets, and remembers each claim so that it can be undone.
+     * Used by a single thread for a single decision.
+     */
+    private class AtomicClaims implements ThrottleClaims {
+        private final long nowNanos;
+        private final int capacityPercent;
+        private final EnumMap<HederaFunctionality, List<Pair<AtomicThrottle, Integer>>> reqs;
+        private final AtomicThrottle gasBucket;
+        private final List<AtomicThrottle> claimedBuckets = new ArrayList<>();
+        private final List<Long> claimedUnits = new ArrayList<>();
+
+        private AtomicClaims(@NonNull final Instant now, final int capacityPercent) {
+            if (!lockFree) {
+                throw new IllegalStateException("The " + throttleType + " is not lock-free");
+            }
+            this.nowNanos = AtomicThrottle.nanosOf(now);
+            this.capacityPercent = capacityPercent;
+            // Use the same buckets for the whole decision, even if they are rebuilt concurrently
+            this.reqs = atomicReqs;
+            this.gasBucket = atomicGasThrottle;
+        }
+
+        @Override
+        public boolean hasReqsFor(@NonNull final HederaFunctionality function) {
+            return reqs.containsKey(function);
+        }
+
+        @Override
+        public boolean claim(
+                @NonNull final HederaFunctionality function,
+                @NonNull final Instant now,
+                final int nTransactions,
+                @Nullable final ScaleFactor scaleFactor) {
+            final var bucketReqs = reqs.get(function);
+            if (bucketReqs == null) {
+                return false;
+            }
+            for (final var req : bucketReqs) {
+                final int opsRequired =
+                        scaleFactor == null ? req.getRight() : scaleFactor.scaling(nTransactions * req.getRight());
+                final long units = DeterministicThrottle.capacityRequiredFor(opsRequired);
+                if (!tryClaim(req.getLeft(), units)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean claimGas(@NonNull final Instant now, final long gas) {
+            return tryClaim(gasBucket, gas);
+        }
+
+        private boolean tryClaim(@NonNull final AtomicThrottle bucket, final long units) {
+            if (!bucket.tryClaim(units, nowNanos, capacityPercent)) {
+                return false;
+            }
+            claimedBuckets.add(bucket);
+            claimedUnits.add(units);
+            return true;
+        }
+
+        private void rollback() {
+            for (int i = 0, n = claimedBuckets.size(); i < n; i++) {
+                claimedBuckets.get(i).release(claimedUnits.get(i));
+            }
+            claimedBuckets.clear();
+            claimedUnits.clear();
+        }
+    }
 }
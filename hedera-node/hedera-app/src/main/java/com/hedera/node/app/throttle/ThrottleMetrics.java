@@ -19,8 +19,6 @@ package com.hedera.node.app.throttle;
 import static java.util.Objects.requireNonNull;
 
 import com.hedera.node.app.hapi.utils.throttles.CongestibleThrottle;
-import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
-import com.hedera.node.app.hapi.utils.throttles.GasLimitDeterministicThrottle;
 import com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType;
 import com.hedera.node.config.data.StatsConfig;
 import com.swirlds.config.api.Configuration;
@@ -73,7 +71,7 @@ public class ThrottleMetrics {
      * @param configuration the configuration that specifies which throttles should be monitored
      */
     public void setupThrottleMetrics(
-            @NonNull final List<DeterministicThrottle> throttles, @NonNull final Configuration configuration) {
+            @NonNull final List<? extends CongestibleThrottle> throttles, @NonNull final Configuration configuration) {
         final var statsConfig = configuration.getConfigData(StatsConfig.class);
         final var throttlesToSample = throttlesToSampleSupplier.apply(statsConfig);
 
@@ -83,7 +81,7 @@ public class ThrottleMetrics {
                 .toList();
 
         final var throttleNames =
-                throttles.stream().map(DeterministicThrottle::name).collect(Collectors.toSet());
+                throttles.stream().map(CongestibleThrottle::name).collect(Collectors.toSet());
         throttlesToSample.stream()
                 .filter(name -> !throttleNames.contains(name) && !GAS_THROTTLE_ID.equals(name))
                 .forEach(this::setupInertMetric);
@@ -96,7 +94,7 @@ public class ThrottleMetrics {
      * @param configuration the configuration that specifies which throttles should be monitored
      */
     public void setupGasThrottleMetric(
-            @NonNull final GasLimitDeterministicThrottle gasThrottle, @NonNull final Configuration configuration) {
+            @NonNull final CongestibleThrottle gasThrottle, @NonNull final Configuration configuration) {
         final var statsConfig = configuration.getConfigData(StatsConfig.class);
         final var throttlesToSample = throttlesToSampleSupplier.apply(statsConfig);
 
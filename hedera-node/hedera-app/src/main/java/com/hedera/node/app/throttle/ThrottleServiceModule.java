@@ -27,6 +27,7 @@ import com.hedera.node.app.throttle.annotations.GasThrottleMultiplier;
 import com.hedera.node.app.throttle.annotations.IngestThrottle;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.data.FeesConfig;
+import com.hedera.node.config.data.HederaConfig;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.platform.system.Platform;
 import dagger.Binds;
@@ -59,8 +60,16 @@ public interface ThrottleServiceModule {
     static ThrottleAccumulator provideIngestThrottleAccumulator(
             Platform platform, ConfigProvider configProvider, Metrics metrics) {
         final var throttleMetrics = new ThrottleMetrics(metrics, FRONTEND_THROTTLE);
+        final var lockFree = configProvider
+                .getConfiguration()
+                .getConfigData(HederaConfig.class)
+                .ingestThrottleLockFree();
         return new ThrottleAccumulator(
-                () -> platform.getAddressBook().getSize(), configProvider, FRONTEND_THROTTLE, throttleMetrics);
+                () -> platform.getAddressBook().getSize(),
+                configProvider,
+                FRONTEND_THROTTLE,
+                throttleMetrics,
+                lockFree);
     }
 
     @Provides
@@ -30,6 +30,7 @@ import static com.hedera.hapi.node.base.ResponseCodeEnum.OK;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.SUCCESS;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.UNAUTHORIZED;
 import static com.hedera.node.app.service.contract.impl.ContractServiceImpl.CONTRACT_SERVICE;
+import static com.hedera.node.app.service.contract.impl.state.StorageAccessHistory.NO_ACCESSES;
 import static com.hedera.node.app.spi.HapiUtils.isHollow;
 import static com.hedera.node.app.spi.key.KeyUtils.IMMUTABILITY_SENTINEL_KEY;
 import static com.hedera.node.app.state.HederaRecordCache.DuplicateCheckResult.NO_DUPLICATE;
@@ -44,7 +45,10 @@ import static com.hedera.node.app.workflows.prehandle.PreHandleResult.Status.NOD
 import static com.hedera.node.app.workflows.prehandle.PreHandleResult.Status.PAYER_UNWILLING_OR_UNABLE_TO_PAY_SERVICE_FEE;
 import static com.hedera.node.app.workflows.prehandle.PreHandleResult.Status.PRE_HANDLE_FAILURE;
 import static com.hedera.node.app.workflows.prehandle.PreHandleResult.Status.SO_FAR_SO_GOOD;
+import static com.hedera.node.app.workflows.prehandle.PreHandleResult.Status.UNKNOWN_FAILURE;
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Objects.requireNonNull;
 
@@ -103,6 +107,9 @@ import com.hedera.node.app.workflows.dispatcher.ServiceApiFactory;
 import com.hedera.node.app.workflows.dispatcher.TransactionDispatcher;
 import com.hedera.node.app.workflows.dispatcher.WritableStoreFactory;
 import com.hedera.node.app.workflows.handle.metric.HandleWorkflowMetrics;
+import com.hedera.node.app.workflows.handle.optimistic.SpeculativeDispatch;
+import com.hedera.node.app.workflows.handle.optimistic.SpeculativeHandleContext;
+import com.hedera.node.app.workflows.handle.optimistic.SpeculativeStateView;
 import com.hedera.node.app.workflows.handle.record.GenesisRecordsConsensusHook;
 import com.hedera.node.app.workflows.handle.record.RecordListBuilder;
 import com.hedera.node.app.workflows.handle.record.SingleTransactionRecordBuilderImpl;
@@ -123,9 +130,15 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
 import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -165,6 +178,8 @@ public class HandleWorkflow {
     private final CacheWarmer cacheWarmer;
     private final HandleWorkflowMetrics handleWorkflowMetrics;
     private final ThrottleServiceManager throttleServiceManager;
+    /** Runs the speculative dispatches, created once optimistic execution is first enabled */
+    private ExecutorService speculationExecutor;
 
     @Inject
     public HandleWorkflow(
@@ -240,6 +255,9 @@ public class HandleWorkflow {
         // warm the cache
         cacheWarmer.warm(state, round);
 
+        // if enabled, start dispatching the eligible transactions of the round speculatively, in parallel
+        final var speculations = speculate(state, platformState, round);
+
         // handle each event in the round
         for (final ConsensusEvent event : round) {
             final var creator = networkInfo.nodeInfo(event.getCreatorId().id());
@@ -250,6 +268,7 @@ public class HandleWorkflow {
                 // address book must have an account ID, since you cannot delete an account belonging to a node, and
                 // you cannot change the address book non-deterministically.
                 logger.warn("Received event from node {} which is not in the address book", event.getCreatorId());
+                cancelSpeculations(speculations);
                 return;
             }
 
@@ -263,7 +282,7 @@ public class HandleWorkflow {
                     // skip system transactions
                     if (!platformTxn.isSystem()) {
                         userTransactionsHandled.set(true);
-                        handlePlatformTransaction(state, platformState, event, creator, platformTxn);
+                        handlePlatformTransaction(state, platformState, event, creator, platformTxn, speculations);
                     }
                 } catch (final Exception e) {
                     logger.fatal(
@@ -274,8 +293,18 @@ public class HandleWorkflow {
             }
         }
 
+        // Speculative dispatches of transactions that were not dispatched are no longer needed
+        cancelSpeculations(speculations);
+
         // Update all throttle metrics once per round
         throttleServiceManager.updateAllMetrics();
+        // And the contract storage prefetch metric, if any contract storage was accessed this round
+        final var storagePrefetchHitPercent = CONTRACT_SERVICE.storageAccessHistory().drainHitPercent();
+        if (storagePrefetchHitPercent != NO_ACCESSES) {
+            handleWorkflowMetrics.updateContractStoragePrefetchHitPercent(storagePrefetchHitPercent);
+        }
+        // Let the frontend throttle adapt to the current congestion
+        synchronizedThrottleAccumulator.updateCongestion(round.getConsensusTimestamp());
 
         // Inform the BlockRecordManager that the round is complete, so it can update running-hashes in state
         // that have been being computed in background threads. The running hash has to be included in
@@ -291,13 +320,14 @@ public class HandleWorkflow {
             @NonNull final PlatformState platformState,
             @NonNull final ConsensusEvent platformEvent,
             @NonNull final NodeInfo creator,
-            @NonNull final ConsensusTransaction platformTxn) {
+            @NonNull final ConsensusTransaction platformTxn,
+            @NonNull final Map<ConsensusTransaction, CompletableFuture<SpeculativeDispatch>> speculations) {
         // Get the consensus timestamp. FUTURE We want this to exactly match the consensus timestamp from the hashgraph,
         // but for compatibility with the current implementation, we adjust it as follows.
         final Instant consensusNow = platformTxn.getConsensusTimestamp().minusNanos(1000 - 3L);
 
         // handle user transaction
-        handleUserTransaction(consensusNow, state, platformState, platformEvent, creator, platformTxn);
+        handleUserTransaction(consensusNow, state, platformState, platformEvent, creator, platformTxn, speculations);
     }
 
     private void handleUserTransaction(
@@ -306,7 +336,8 @@ public class HandleWorkflow {
             @NonNull final PlatformState platformState,
             @NonNull final ConsensusEvent platformEvent,
             @NonNull final NodeInfo creator,
-            @NonNull final ConsensusTransaction platformTxn) {
+            @NonNull final ConsensusTransaction platformTxn,
+            @NonNull final Map<ConsensusTransaction, CompletableFuture<SpeculativeDispatch>> speculations) {
         // Determine if this is the first transaction after startup. This needs to be determined BEFORE starting the
         // user transaction
         final var consTimeOfLastHandledTxn = blockRecordManager.consTimeOfLastHandledTxn();
@@ -433,7 +464,9 @@ public class HandleWorkflow {
                     platformState);
 
             // Calculate the fee
+            final long feeCalculationStart = System.nanoTime();
             fees = dispatcher.dispatchComputeFees(context);
+            handleWorkflowMetrics.updateFeeCalculationDuration(System.nanoTime() - feeCalculationStart);
 
             // Run all pre-checks
             final var validationResult = validate(
@@ -527,8 +560,13 @@ public class HandleWorkflow {
                         throw new HandleException(CONSENSUS_GAS_EXHAUSTED);
                     }
 
-                    // Dispatch the transaction to the handler
-                    dispatcher.dispatchHandle(context);
+                    // Dispatch the transaction to the handler; unless it was already dispatched speculatively, and
+                    // every value it read then is unchanged, so its speculative writes can just be replayed
+                    final var speculation = completedSpeculation(speculations.remove(platformTxn));
+                    if (speculation == null
+                            || !speculation.tryApply(preHandleResult, configuration, stack, recordBuilder)) {
+                        dispatcher.dispatchHandle(context);
+                    }
                     // Possibly charge assessed fees for preceding child transactions; but
                     // only if not a contract operation, since these dispatches were already
                     // charged using gas. [FUTURE - stop setting transactionFee in recordBuilder
@@ -759,6 +797,158 @@ public class HandleWorkflow {
         }
     }
 
+    /**
+     * If optimistic execution is enabled, starts dispatching every eligible transaction of the round speculatively,
+     * in consensus order, on the threads of the speculation executor; each against its own read-only view of the
+     * state of the round. The transactions are handled meanwhile, and never wait for their speculative dispatch.
+     *
+     * <p>A transaction is dispatched speculatively only after the fees it would be charged are charged to its
+     * own overlay of the state; so the dispatch sees the same balances it would see if handled next. Every
+     * transaction charges fees to the same few accounts, so the fee charging is never validated, only the dispatch
+     * is. When the transaction is handled, the speculative dispatch is applied if it is done and nothing it read has
+     * changed; and otherwise the transaction is dispatched again.
+     *
+     * @param state the state of the round
+     * @param platformState the platform state
+     * @param round the round
+     * @return the speculative dispatches, by transaction
+     */
+    @NonNull
+    private Map<ConsensusTransaction, CompletableFuture<SpeculativeDispatch>> speculate(
+            @NonNull final HederaState state, @NonNull final PlatformState platformState, @NonNull final Round round) {
+        final var configuration = configProvider.getConfiguration();
+        final var hederaConfig = configuration.getConfigData(HederaConfig.class);
+        if (!hederaConfig.workflowOptimisticExecutionEnabled()) {
+            return emptyMap();
+        }
+        if (speculationExecutor == null) {
+            final var threads = hederaConfig.workflowOptimisticExecutionThreads();
+            speculationExecutor = Executors.newFixedThreadPool(
+                    threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                    getStaticThreadManager().createThreadFactory("handle", "speculation"));
+        }
+        final Map<ConsensusTransaction, CompletableFuture<SpeculativeDispatch>> speculations = new IdentityHashMap<>();
+        for (final ConsensusEvent event : round) {
+            final var creator = networkInfo.nodeInfo(event.getCreatorId().id());
+            if (creator == null) {
+                continue;
+            }
+            for (final var it = event.consensusTransactionIterator(); it.hasNext(); ) {
+                final var platformTxn = it.next();
+                if (!platformTxn.isSystem()
+                        && platformTxn.getMetadata() instanceof PreHandleResult preHandleResult
+                        && isSpeculativelyDispatchable(preHandleResult)) {
+                    speculations.put(
+                            platformTxn,
+                            CompletableFuture.supplyAsync(
+                                    () -> speculate(
+                                            state, platformState, configuration, creator, platformTxn, preHandleResult),
+                                    speculationExecutor));
+                }
+            }
+        }
+        return speculations;
+    }
+
+    /**
+     * Returns the outcome of a speculative dispatch if it is already done; and otherwise cancels it, since the
+     * transaction is dispatched normally instead of waiting for it.
+     *
+     * @param speculation the speculative dispatch of the transaction, if any
+     * @return the successful speculative dispatch, or null if there is none
+     */
+    @Nullable
+    private static SpeculativeDispatch completedSpeculation(
+            @Nullable final CompletableFuture<SpeculativeDispatch> speculation) {
+        if (speculation == null || speculation.cancel(false) || speculation.isCompletedExceptionally()) {
+            return null;
+        }
+        return speculation.join();
+    }
+
+    private static void cancelSpeculations(
+            @NonNull final Map<ConsensusTransaction, CompletableFuture<SpeculativeDispatch>> speculations) {
+        speculations.values().forEach(speculation -> speculation.cancel(false));
+        speculations.clear();
+    }
+
+    private static boolean isSpeculativelyDispatchable(@NonNull final PreHandleResult preHandleResult) {
+        final var txInfo = preHandleResult.txInfo();
+        return preHandleResult.status() == SO_FAR_SO_GOOD
+                && txInfo != null
+                && preHandleResult.verificationResults() != null
+                && preHandleResult.getHollowAccounts().isEmpty()
+                && SpeculativeHandleContext.canDispatch(txInfo.functionality(), txInfo.txBody());
+    }
+
+    @Nullable
+    private SpeculativeDispatch speculate(
+            @NonNull final HederaState state,
+            @NonNull final PlatformState platformState,
+            @NonNull final Configuration configuration,
+            @NonNull final NodeInfo creator,
+            @NonNull final ConsensusTransaction platformTxn,
+            @NonNull final PreHandleResult preHandleResult) {
+        try {
+            final var transactionInfo = requireNonNull(preHandleResult.txInfo());
+            final var txBody = transactionInfo.txBody();
+            final var payer = transactionInfo.payerID();
+            final Instant consensusNow = platformTxn.getConsensusTimestamp().minusNanos(1000 - 3L);
+            final var recordListBuilder = new RecordListBuilder(consensusNow);
+            final var recordBuilder = recordListBuilder.userTransactionRecordBuilder();
+            final var stack = new SavepointStackImpl(new SpeculativeStateView(state));
+            final var verifier = new DefaultKeyVerifier(
+                    transactionInfo.signatureMap().sigPairOrElse(emptyList()).size(),
+                    configuration.getConfigData(HederaConfig.class),
+                    preHandleResult.getVerificationResults());
+            final var context = new HandleContextImpl(
+                    txBody,
+                    transactionInfo.functionality(),
+                    SignatureMap.PROTOBUF.measureRecord(transactionInfo.signatureMap()),
+                    payer,
+                    preHandleResult.getPayerKey(),
+                    networkInfo,
+                    TransactionCategory.USER,
+                    recordBuilder,
+                    stack,
+                    configuration,
+                    verifier,
+                    recordListBuilder,
+                    checker,
+                    dispatcher,
+                    serviceScopeLookup,
+                    blockRecordManager,
+                    recordCache,
+                    feeManager,
+                    exchangeRateManager,
+                    consensusNow,
+                    authorizer,
+                    solvencyPreCheck,
+                    childRecordFinalizer,
+                    transactionFinalizer,
+                    networkUtilizationManager,
+                    synchronizedThrottleAccumulator,
+                    platformState);
+            final var fees = dispatcher.dispatchComputeFees(context);
+            if (!authorizer.hasWaivedFees(payer, transactionInfo.functionality(), txBody)) {
+                createFeeAccumulator(stack, configuration, recordBuilder).chargeFees(payer, creator.accountId(), fees);
+            }
+
+            final var savepoint = stack.peek();
+            savepoint.trackAccesses();
+            final var speculativeContext = new SpeculativeHandleContext(context, recordBuilder);
+            dispatcher.dispatchHandle(speculativeContext);
+            if (!speculativeContext.isSpeculable() || stack.depth() != 1) {
+                return null;
+            }
+            return SpeculativeDispatch.capture(
+                    preHandleResult, configuration, savepoint, speculativeContext.speculativeRecordBuilder());
+        } catch (final Exception ignore) {
+            // The transaction failed, which it may not do when handled; it will just be dispatched again then
+            return null;
+        }
+    }
+
     @NonNull
     private FeeAccumulator createFeeAccumulator(
             @NonNull final SavepointStackImpl stack,
@@ -943,7 +1133,9 @@ public class HandleWorkflow {
         final PreHandleResult previousResult;
         if (metadata instanceof PreHandleResult result) {
             previousResult = result;
+            handleWorkflowMetrics.updatePreHandleResultReady(isReadyForHandle(result));
         } else {
+            handleWorkflowMetrics.updatePreHandleResultReady(false);
             // This should be impossible since the Platform contract guarantees that SwirldState.preHandle()
             // is always called before SwirldState.handleTransaction(); and our preHandle() implementation
             // always sets the metadata to a PreHandleResult
@@ -962,4 +1154,17 @@ public class HandleWorkflow {
                 platformTxn,
                 previousResult);
     }
+
+    /**
+     * Checks whether a pre-handle result can be used as it is by handle, without being recomputed and without waiting
+     * for signature verifications that are still running.
+     *
+     * @param result the result of pre-handle
+     * @return {@code true} if the result is ready, {@code false} otherwise
+     */
+    private boolean isReadyForHandle(@NonNull final PreHandleResult result) {
+        return result.status() != UNKNOWN_FAILURE
+                && result.configVersion() == configProvider.getConfiguration().getVersion()
+                && result.getVerificationResults().values().stream().allMatch(Future::isDone);
+    }
 }
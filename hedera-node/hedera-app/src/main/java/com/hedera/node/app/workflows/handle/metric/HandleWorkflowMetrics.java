@@ -45,11 +45,25 @@ public class HandleWorkflowMetrics {
             .withDescription("average EVM gas used per second of consensus time")
             .withFormat("%,13.6f");
 
+    private static final Config PRE_HANDLE_READY_CONFIG = new Config("app", "preHandleReadyPercent")
+            .withDescription("percentage of transactions handled without waiting for or recomputing pre-handle")
+            .withFormat("%,13.2f");
+
+    private static final Config STORAGE_PREFETCH_HIT_CONFIG = new Config("app", "contractStoragePrefetchHitPercent")
+            .withDescription("percentage of contract storage slots accessed in handle that had been prefetched")
+            .withFormat("%,13.2f");
+
     private final Map<HederaFunctionality, TransactionMetric> transactionMetrics =
             new EnumMap<>(HederaFunctionality.class);
 
+    private final IntegerPairAccumulator<Integer> feeCalculationDurationAvg;
+
     private final RunningAverageMetric gasPerConsSec;
 
+    private final RunningAverageMetric preHandleReadyPercent;
+
+    private final RunningAverageMetric storagePrefetchHitPercent;
+
     private long gasUsedThisConsensusSecond = 0L;
 
     /**
@@ -80,8 +94,18 @@ public class HandleWorkflowMetrics {
             transactionMetrics.put(functionality, new TransactionMetric(maxMetric, avgMetric));
         }
 
+        final var feeCalculationConfig = new IntegerPairAccumulator.Config<>(
+                        "app", "feeCalculationDurationAvg", Integer.class, AVERAGE)
+                .withDescription("The average duration of calculating the fees of a transaction in nanoseconds")
+                .withUnit("ns");
+        feeCalculationDurationAvg = metrics.getOrCreate(feeCalculationConfig);
+
         final StatsConfig statsConfig = configProvider.getConfiguration().getConfigData(StatsConfig.class);
         gasPerConsSec = metrics.getOrCreate(GAS_PER_CONS_SEC_CONFIG.withHalfLife(statsConfig.runningAvgHalfLifeSecs()));
+        preHandleReadyPercent =
+                metrics.getOrCreate(PRE_HANDLE_READY_CONFIG.withHalfLife(statsConfig.runningAvgHalfLifeSecs()));
+        storagePrefetchHitPercent =
+                metrics.getOrCreate(STORAGE_PREFETCH_HIT_CONFIG.withHalfLife(statsConfig.runningAvgHalfLifeSecs()));
     }
 
     /**
@@ -102,6 +126,35 @@ public class HandleWorkflowMetrics {
         }
     }
 
+    /**
+     * Update the metric for the time taken to calculate the fees of a transaction
+     *
+     * @param duration the duration of the fee calculation in {@code ns}, recorded as {@link Integer#MAX_VALUE} if it
+     * is longer than that
+     */
+    public void updateFeeCalculationDuration(final long duration) {
+        feeCalculationDurationAvg.update((int) Math.min(duration, Integer.MAX_VALUE), 1);
+    }
+
+    /**
+     * Update the metric of transactions whose pre-handle result was ready by the time they were handled
+     *
+     * @param ready {@code true} if the pre-handle result was complete when handle started, {@code false} if handle
+     * had to wait for signature verifications or to recompute the result
+     */
+    public void updatePreHandleResultReady(final boolean ready) {
+        preHandleReadyPercent.update(ready ? 100 : 0);
+    }
+
+    /**
+     * Update the metric of contract storage slots accessed in handle that had been prefetched
+     *
+     * @param hitPercent the percent of slots accessed in a round that had been prefetched
+     */
+    public void updateContractStoragePrefetchHitPercent(final double hitPercent) {
+        storagePrefetchHitPercent.update(hitPercent);
+    }
+
     public void switchConsensusSecond() {
         gasPerConsSec.update(gasUsedThisConsensusSecond);
         gasUsedThisConsensusSecond = 0L;
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.optimistic;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.app.spi.state.WrappedWritableKVState;
+import com.hedera.node.app.spi.state.WritableKVState;
+import com.hedera.node.app.spi.state.WritableStates;
+import com.hedera.node.app.state.HederaState;
+import com.hedera.node.app.state.WrappedHederaState;
+import com.hedera.node.app.workflows.handle.record.SingleTransactionRecordBuilderImpl;
+import com.hedera.node.app.workflows.prehandle.PreHandleResult;
+import com.swirlds.config.api.Configuration;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The outcome of dispatching a transaction speculatively, before the transactions preceding it in the round were
+ * handled: the values of every key the dispatch read, and of every key it wrote, plus what it added to the record.
+ *
+ * <p>When the transaction is actually handled, {@link #tryApply(PreHandleResult, Configuration, HederaState,
+ * SingleTransactionRecordBuilderImpl)} checks that each key read by the speculative dispatch still has the same
+ * value; if so, the dispatch would read exactly the same values now and, being deterministic, do exactly the same
+ * thing. So the speculative writes are replayed instead of dispatching the transaction again. Writes are replayed
+ * in the order each key was first written, so every modified state ends up with the same modifications, in the
+ * same order, as if the transaction had been dispatched again. Every change the dispatch made to its record is
+ * replayed as well, through its {@link SpeculativeRecordBuilder}.
+ */
+public class SpeculativeDispatch {
+    private final PreHandleResult preHandleResult;
+    private final Configuration configuration;
+    private final List<KVAccesses> accesses;
+    private final SpeculativeRecordBuilder recordChanges;
+
+    private record Write(@NonNull Object key, @Nullable Object value) {}
+
+    private record KVAccesses(
+            @NonNull String serviceName,
+            @NonNull String stateKey,
+            @NonNull Map<?, ?> reads,
+            @NonNull List<Write> writes) {}
+
+    private SpeculativeDispatch(
+            @NonNull final PreHandleResult preHandleResult,
+            @NonNull final Configuration configuration,
+            @NonNull final List<KVAccesses> accesses,
+            @NonNull final SpeculativeRecordBuilder recordChanges) {
+        this.preHandleResult = preHandleResult;
+        this.configuration = configuration;
+        this.accesses = accesses;
+        this.recordChanges = recordChanges;
+    }
+
+    /**
+     * Captures the outcome of a speculative dispatch from the savepoint whose accesses were tracked during the
+     * dispatch; unless the dispatch accessed state in a way that was not tracked, in which case its outcome
+     * cannot be validated later.
+     *
+     * @param preHandleResult the pre-handle result the dispatch used
+     * @param configuration the configuration the dispatch used
+     * @param savepoint the savepoint whose accesses were tracked
+     * @param recordChanges the record builder given to the handler, with every change it made to the record
+     * @return the outcome of the dispatch, or null if it cannot be validated
+     */
+    @Nullable
+    public static SpeculativeDispatch capture(
+            @NonNull final PreHandleResult preHandleResult,
+            @NonNull final Configuration configuration,
+            @NonNull final WrappedHederaState savepoint,
+            @NonNull final SpeculativeRecordBuilder recordChanges) {
+        requireNonNull(preHandleResult);
+        requireNonNull(configuration);
+        requireNonNull(recordChanges);
+        if (savepoint.hasUntrackedAccesses()) {
+            return null;
+        }
+        final List<KVAccesses> accesses = new ArrayList<>();
+        savepoint.writableStates().forEach((serviceName, writableStates) -> writableStates
+                .kvStates()
+                .forEach((stateKey, kvState) -> {
+                    if (!kvState.readSet().isEmpty() || !kvState.writeSet().isEmpty()) {
+                        accesses.add(accessesOf(serviceName, stateKey, kvState));
+                    }
+                }));
+        return new SpeculativeDispatch(preHandleResult, configuration, accesses, recordChanges);
+    }
+
+    /**
+     * If the given inputs are the same as those of the speculative dispatch, and every key it read has the same
+     * value in the given state, replays its writes to the given state and its additions to the given record
+     * builder, and returns true. Otherwise, changes nothing and returns false; so the caller must dispatch the
+     * transaction itself.
+     *
+     * @param preHandleResult the current pre-handle result of the transaction
+     * @param configuration the current configuration
+     * @param state the state the transaction would be dispatched against
+     * @param recordBuilder the record builder of the transaction
+     * @return whether the speculative dispatch was applied
+     */
+    public boolean tryApply(
+            @NonNull final PreHandleResult preHandleResult,
+            @NonNull final Configuration configuration,
+            @NonNull final HederaState state,
+            @NonNull final SingleTransactionRecordBuilderImpl recordBuilder) {
+        requireNonNull(state);
+        requireNonNull(recordBuilder);
+        if (!hasSameInputs(requireNonNull(preHandleResult), requireNonNull(configuration))) {
+            return false;
+        }
+        // The values the speculative dispatch read from its own overlay are read again here, on the handle thread
+        for (final var access : accesses) {
+            final WritableKVState<Object, Object> kvState = kvStateIn(state, access);
+            for (final var read : access.reads().entrySet()) {
+                if (!Objects.equals(kvState.get(read.getKey()), read.getValue())) {
+                    return false;
+                }
+            }
+        }
+        for (final var access : accesses) {
+            final WritableKVState<Object, Object> kvState = kvStateIn(state, access);
+            for (final var write : access.writes()) {
+                if (write.value() == null) {
+                    kvState.remove(write.key());
+                } else {
+                    kvState.put(write.key(), write.value());
+                }
+            }
+        }
+        recordChanges.replayOn(recordBuilder);
+        return true;
+    }
+
+    private boolean hasSameInputs(
+            @NonNull final PreHandleResult preHandleResult, @NonNull final Configuration configuration) {
+        // Pre-handle reuses its verification results unless the keys needed by the transaction changed
+        return configuration == this.configuration
+                && preHandleResult.verificationResults() == this.preHandleResult.verificationResults()
+                && Objects.equals(preHandleResult.payer(), this.preHandleResult.payer())
+                && Objects.equals(preHandleResult.payerKey(), this.preHandleResult.payerKey());
+    }
+
+    private static <K, V> KVAccesses accessesOf(
+            @NonNull final String serviceName,
+            @NonNull final String stateKey,
+            @NonNull final WrappedWritableKVState<K, V> kvState) {
+        final List<Write> writes = new ArrayList<>(kvState.writeSet().size());
+        for (final var key : kvState.writeSet()) {
+            writes.add(new Write(key, kvState.get(key)));
+        }
+        // Values read may be null, so Map.copyOf() won't do
+        return new KVAccesses(serviceName, stateKey, new LinkedHashMap<>(kvState.readSet()), writes);
+    }
+
+    private static WritableKVState<Object, Object> kvStateIn(
+            @NonNull final HederaState state, @NonNull final KVAccesses access) {
+        final WritableStates writableStates = state.getWritableStates(access.serviceName());
+        return writableStates.get(access.stateKey());
+    }
+}
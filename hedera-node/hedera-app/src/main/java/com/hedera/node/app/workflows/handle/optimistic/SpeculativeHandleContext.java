@@ -0,0 +1,475 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.optimistic;
+
+import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_TRANSFER;
+import static com.hedera.node.app.service.token.AliasUtils.isAlias;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.hapi.node.base.Key;
+import com.hedera.hapi.node.base.SubType;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
+import com.hedera.node.app.spi.authorization.SystemPrivilege;
+import com.hedera.node.app.spi.fees.ExchangeRateInfo;
+import com.hedera.node.app.spi.fees.FeeAccumulator;
+import com.hedera.node.app.spi.fees.FeeCalculator;
+import com.hedera.node.app.spi.fees.Fees;
+import com.hedera.node.app.spi.info.NetworkInfo;
+import com.hedera.node.app.spi.records.BlockRecordInfo;
+import com.hedera.node.app.spi.records.RecordCache;
+import com.hedera.node.app.spi.signatures.SignatureVerification;
+import com.hedera.node.app.spi.signatures.VerificationAssistant;
+import com.hedera.node.app.spi.validation.AttributeValidator;
+import com.hedera.node.app.spi.validation.ExpiryValidator;
+import com.hedera.node.app.spi.workflows.ComputeDispatchFeesAsTopLevel;
+import com.hedera.node.app.spi.workflows.FunctionalityResourcePrices;
+import com.hedera.node.app.spi.workflows.HandleContext;
+import com.hedera.node.app.spi.workflows.TransactionKeys;
+import com.hedera.node.app.spi.workflows.record.ExternalizedRecordCustomizer;
+import com.hedera.node.app.spi.workflows.record.RecordListCheckPoint;
+import com.hedera.node.app.workflows.handle.record.SingleTransactionRecordBuilderImpl;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.config.api.Configuration;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A {@link HandleContext} for dispatching a transaction speculatively. It forwards to the real context of the
+ * transaction the methods whose results depend on nothing but the transaction itself, the configuration, and state
+ * read through the tracked savepoint stack; and gives the handler a {@link SpeculativeRecordBuilder}, so that every
+ * change to the record can be replayed.
+ *
+ * <p>Only transactions that pass {@link #canDispatch(HederaFunctionality, TransactionBody)} are dispatched
+ * speculatively, and their handlers need no other method of the context. Any other method still behaves as safely
+ * as it can: methods that only touch the context and stack of the speculative dispatch are forwarded, child
+ * dispatches return a record builder that is not part of any record, and throttles are neither used nor changed,
+ * as if they had no capacity. But each of them makes the dispatch <i>not speculable</i>, so its outcome is
+ * discarded and the transaction is dispatched again when it is handled.
+ */
+public class SpeculativeHandleContext implements HandleContext {
+    /** The transactions that may be dispatched speculatively */
+    private static final Set<HederaFunctionality> SPECULATIVE_FUNCTIONALITIES = EnumSet.of(CRYPTO_TRANSFER);
+
+    private final HandleContext delegate;
+    private final SpeculativeRecordBuilder recordBuilder;
+    private boolean speculable = true;
+
+    /**
+     * Constructs a {@link SpeculativeHandleContext} forwarding to the given context.
+     *
+     * @param delegate the real context of the transaction
+     * @param recordBuilder the record builder of the transaction
+     */
+    public SpeculativeHandleContext(
+            @NonNull final HandleContext delegate, @NonNull final SingleTransactionRecordBuilderImpl recordBuilder) {
+        this.delegate = requireNonNull(delegate, "delegate must not be null");
+        requireNonNull(recordBuilder, "recordBuilder must not be null");
+        this.recordBuilder = new SpeculativeRecordBuilder(recordBuilder);
+    }
+
+    /**
+     * Returns whether a transaction can be dispatched speculatively, that is, whether its handler needs nothing but
+     * the methods this context forwards. Only crypto transfers are supported, and only if every account is named by
+     * its number; since sending value to an alias may create an account, which dispatches a preceding child
+     * transaction, computes its fees and reclaims throttle capacity.
+     *
+     * @param functionality the functionality of the transaction
+     * @param body the body of the transaction
+     * @return whether the transaction can be dispatched speculatively
+     */
+    public static boolean canDispatch(
+            @NonNull final HederaFunctionality functionality, @NonNull final TransactionBody body) {
+        requireNonNull(functionality);
+        requireNonNull(body);
+        if (!SPECULATIVE_FUNCTIONALITIES.contains(functionality)) {
+            return false;
+        }
+        final var op = body.cryptoTransferOrElse(CryptoTransferTransactionBody.DEFAULT);
+        for (final var adjustment : op.transfersOrElse(TransferList.DEFAULT).accountAmountsOrElse(emptyList())) {
+            if (isAliased(adjustment.accountID())) {
+                return false;
+            }
+        }
+        for (final var tokenTransfers : op.tokenTransfersOrElse(emptyList())) {
+            for (final var adjustment : tokenTransfers.transfersOrElse(emptyList())) {
+                if (isAliased(adjustment.accountID())) {
+                    return false;
+                }
+            }
+            for (final var nftTransfer : tokenTransfers.nftTransfersOrElse(emptyList())) {
+                if (isAliased(nftTransfer.senderAccountID()) || isAliased(nftTransfer.receiverAccountID())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAliased(@Nullable final AccountID accountID) {
+        return accountID != null && isAlias(accountID);
+    }
+
+    /**
+     * Returns whether the speculative dispatch only used methods of this context it supports, so that its outcome
+     * may be applied.
+     *
+     * @return whether the dispatch is speculable
+     */
+    public boolean isSpeculable() {
+        return speculable;
+    }
+
+    /**
+     * Returns the record builder given to the handler, which remembers every change made to the record.
+     *
+     * @return the record builder of the speculative dispatch
+     */
+    @NonNull
+    public SpeculativeRecordBuilder speculativeRecordBuilder() {
+        return recordBuilder;
+    }
+
+    @NonNull
+    @Override
+    public Instant consensusNow() {
+        return delegate.consensusNow();
+    }
+
+    @NonNull
+    @Override
+    public TransactionBody body() {
+        return delegate.body();
+    }
+
+    @NonNull
+    @Override
+    public AccountID payer() {
+        return delegate.payer();
+    }
+
+    @NonNull
+    @Override
+    public Configuration configuration() {
+        return delegate.configuration();
+    }
+
+    @NonNull
+    @Override
+    public BlockRecordInfo blockRecordInfo() {
+        notSpeculable();
+        return delegate.blockRecordInfo();
+    }
+
+    @Nullable
+    @Override
+    public Key payerKey() {
+        return delegate.payerKey();
+    }
+
+    @NonNull
+    @Override
+    public FunctionalityResourcePrices resourcePricesFor(
+            @NonNull final HederaFunctionality functionality, @NonNull final SubType subType) {
+        notSpeculable();
+        return delegate.resourcePricesFor(functionality, subType);
+    }
+
+    @NonNull
+    @Override
+    public FeeCalculator feeCalculator(@NonNull final SubType subType) {
+        notSpeculable();
+        return delegate.feeCalculator(subType);
+    }
+
+    @NonNull
+    @Override
+    public FeeAccumulator feeAccumulator() {
+        notSpeculable();
+        return delegate.feeAccumulator();
+    }
+
+    @NonNull
+    @Override
+    public ExchangeRateInfo exchangeRateInfo() {
+        notSpeculable();
+        return delegate.exchangeRateInfo();
+    }
+
+    @Override
+    public long newEntityNum() {
+        notSpeculable();
+        return delegate.newEntityNum();
+    }
+
+    @Override
+    public long peekAtNewEntityNum() {
+        notSpeculable();
+        return delegate.peekAtNewEntityNum();
+    }
+
+    @NonNull
+    @Override
+    public AttributeValidator attributeValidator() {
+        return delegate.attributeValidator();
+    }
+
+    @NonNull
+    @Override
+    public ExpiryValidator expiryValidator() {
+        return delegate.expiryValidator();
+    }
+
+    @NonNull
+    @Override
+    public TransactionKeys allKeysForTransaction(
+            @NonNull final TransactionBody nestedTxn, @NonNull final AccountID payerForNested) {
+        notSpeculable();
+        return delegate.allKeysForTransaction(nestedTxn, payerForNested);
+    }
+
+    @NonNull
+    @Override
+    public SignatureVerification verificationFor(@NonNull final Key key) {
+        return delegate.verificationFor(key);
+    }
+
+    @NonNull
+    @Override
+    public SignatureVerification verificationFor(
+            @NonNull final Key key, @NonNull final VerificationAssistant callback) {
+        return delegate.verificationFor(key, callback);
+    }
+
+    @NonNull
+    @Override
+    public SignatureVerification verificationFor(@NonNull final Bytes evmAlias) {
+        return delegate.verificationFor(evmAlias);
+    }
+
+    @Override
+    public boolean isSuperUser() {
+        return delegate.isSuperUser();
+    }
+
+    @Override
+    public SystemPrivilege hasPrivilegedAuthorization() {
+        return delegate.hasPrivilegedAuthorization();
+    }
+
+    @NonNull
+    @Override
+    public RecordCache recordCache() {
+        notSpeculable();
+        return delegate.recordCache();
+    }
+
+    @NonNull
+    @Override
+    public <T> T readableStore(@NonNull final Class<T> storeInterface) {
+        return delegate.readableStore(storeInterface);
+    }
+
+    @NonNull
+    @Override
+    public <T> T writableStore(@NonNull final Class<T> storeInterface) {
+        return delegate.writableStore(storeInterface);
+    }
+
+    @NonNull
+    @Override
+    public <T> T serviceApi(@NonNull final Class<T> apiInterface) {
+        return delegate.serviceApi(apiInterface);
+    }
+
+    @NonNull
+    @Override
+    public NetworkInfo networkInfo() {
+        return delegate.networkInfo();
+    }
+
+    @NonNull
+    @Override
+    public <T> T recordBuilder(@NonNull final Class<T> recordBuilderClass) {
+        if (recordBuilderClass.isInstance(recordBuilder)) {
+            return recordBuilderClass.cast(recordBuilder);
+        }
+        notSpeculable();
+        return delegate.recordBuilder(recordBuilderClass);
+    }
+
+    @Override
+    public Fees dispatchComputeFees(
+            @NonNull final TransactionBody txBody,
+            @NonNull final AccountID syntheticPayerId,
+            @NonNull final ComputeDispatchFeesAsTopLevel computeDispatchFeesAsTopLevel) {
+        notSpeculable();
+        return delegate.dispatchComputeFees(txBody, syntheticPayerId, computeDispatchFeesAsTopLevel);
+    }
+
+    @NonNull
+    @Override
+    public <T> T dispatchPrecedingTransaction(
+            @NonNull final TransactionBody txBody,
+            @NonNull final Class<T> recordBuilderClass,
+            @Nullable final Predicate<Key> verifier,
+            final AccountID syntheticPayer) {
+        return detachedRecordBuilder(recordBuilderClass);
+    }
+
+    @NonNull
+    @Override
+    public <T> T dispatchReversiblePrecedingTransaction(
+            @NonNull final TransactionBody txBody,
+            @NonNull final Class<T> recordBuilderClass,
+            @NonNull final Predicate<Key> verifier,
+            final AccountID syntheticPayer) {
+        return detachedRecordBuilder(recordBuilderClass);
+    }
+
+    @NonNull
+    @Override
+    public <T> T dispatchRemovablePrecedingTransaction(
+            @NonNull final TransactionBody txBody,
+            @NonNull final Class<T> recordBuilderClass,
+            @Nullable final Predicate<Key> verifier,
+            final AccountID syntheticPayer) {
+        return detachedRecordBuilder(recordBuilderClass);
+    }
+
+    @NonNull
+    @Override
+    public <T> T dispatchChildTransaction(
+            @NonNull final TransactionBody txBody,
+            @NonNull final Class<T> recordBuilderClass,
+            @Nullable final Predicate<Key> callback,
+            @NonNull final AccountID syntheticPayerId,
+            @NonNull final TransactionCategory childCategory) {
+        return detachedRecordBuilder(recordBuilderClass);
+    }
+
+    @NonNull
+    @Override
+    public <T> T dispatchRemovableChildTransaction(
+            @NonNull final TransactionBody txBody,
+            @NonNull final Class<T> recordBuilderClass,
+            @Nullable final Predicate<Key> callback,
+            @NonNull final AccountID syntheticPayerId,
+            @NonNull final ExternalizedRecordCustomizer customizer) {
+        return detachedRecordBuilder(recordBuilderClass);
+    }
+
+    @NonNull
+    @Override
+    public <T> T addChildRecordBuilder(@NonNull final Class<T> recordBuilderClass) {
+        notSpeculable();
+        return delegate.addChildRecordBuilder(recordBuilderClass);
+    }
+
+    @NonNull
+    @Override
+    public <T> T addPrecedingChildRecordBuilder(@NonNull final Class<T> recordBuilderClass) {
+        notSpeculable();
+        return delegate.addPrecedingChildRecordBuilder(recordBuilderClass);
+    }
+
+    @NonNull
+    @Override
+    public <T> T addRemovableChildRecordBuilder(@NonNull final Class<T> recordBuilderClass) {
+        notSpeculable();
+        return delegate.addRemovableChildRecordBuilder(recordBuilderClass);
+    }
+
+    @NonNull
+    @Override
+    public SavepointStack savepointStack() {
+        return delegate.savepointStack();
+    }
+
+    @Override
+    public void revertRecordsFrom(@NonNull final RecordListCheckPoint recordListCheckPoint) {
+        notSpeculable();
+        delegate.revertRecordsFrom(recordListCheckPoint);
+    }
+
+    @Override
+    public void reclaimPreviouslyReservedThrottle(final int n, final HederaFunctionality function) {
+        notSpeculable();
+    }
+
+    @Override
+    public boolean shouldThrottleNOfUnscaled(final int n, final HederaFunctionality function) {
+        notSpeculable();
+        return true;
+    }
+
+    @Override
+    public boolean hasThrottleCapacityForChildTransactions() {
+        notSpeculable();
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public RecordListCheckPoint createRecordListCheckPoint() {
+        notSpeculable();
+        return delegate.createRecordListCheckPoint();
+    }
+
+    @Override
+    public List<DeterministicThrottle.UsageSnapshot> getUsageSnapshots() {
+        notSpeculable();
+        return List.of();
+    }
+
+    @Override
+    public void resetUsageThrottlesTo(final List<DeterministicThrottle.UsageSnapshot> snapshots) {
+        notSpeculable();
+    }
+
+    @Override
+    public boolean isSelfSubmitted() {
+        return delegate.isSelfSubmitted();
+    }
+
+    @Nullable
+    @Override
+    public Instant freezeTime() {
+        notSpeculable();
+        return delegate.freezeTime();
+    }
+
+    private void notSpeculable() {
+        speculable = false;
+    }
+
+    private <T> T detachedRecordBuilder(@NonNull final Class<T> recordBuilderClass) {
+        // A child dispatch may use throttles, so it is not run at all
+        notSpeculable();
+        return recordBuilderClass.cast(new SingleTransactionRecordBuilderImpl(delegate.consensusNow()));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.optimistic;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.ResponseCodeEnum;
+import com.hedera.hapi.node.base.TokenAssociation;
+import com.hedera.hapi.node.base.TokenTransferList;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.contract.ContractFunctionResult;
+import com.hedera.hapi.node.transaction.AssessedCustomFee;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.service.token.records.CryptoTransferRecordBuilder;
+import com.hedera.node.app.workflows.handle.record.SingleTransactionRecordBuilderImpl;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The record builder given to a handler dispatched speculatively. It forwards every call to the record builder of
+ * the speculative dispatch, and remembers every change made through it; so that all of them can be replayed, in the
+ * same order and with the same values, on the record builder of the transaction when the speculative dispatch is
+ * applied. The record of an applied speculative dispatch is then exactly the record of dispatching it again.
+ */
+public class SpeculativeRecordBuilder implements CryptoTransferRecordBuilder {
+    private final SingleTransactionRecordBuilderImpl delegate;
+    private final List<Consumer<SingleTransactionRecordBuilderImpl>> changes = new ArrayList<>();
+
+    /**
+     * Constructs a {@link SpeculativeRecordBuilder} forwarding to the given record builder.
+     *
+     * @param delegate the record builder of the speculative dispatch
+     */
+    public SpeculativeRecordBuilder(@NonNull final SingleTransactionRecordBuilderImpl delegate) {
+        this.delegate = requireNonNull(delegate, "delegate must not be null");
+    }
+
+    /**
+     * Makes the same changes to the given record builder, in the same order, as were made through this builder.
+     * Lists are copied, since a record builder may add to a list it was given.
+     *
+     * @param recordBuilder the record builder of the transaction
+     */
+    public void replayOn(@NonNull final SingleTransactionRecordBuilderImpl recordBuilder) {
+        requireNonNull(recordBuilder, "recordBuilder must not be null");
+        changes.forEach(change -> change.accept(recordBuilder));
+    }
+
+    @NonNull
+    @Override
+    public ResponseCodeEnum status() {
+        return delegate.status();
+    }
+
+    @NonNull
+    @Override
+    public TransactionBody transactionBody() {
+        return delegate.transactionBody();
+    }
+
+    @Override
+    public long transactionFee() {
+        return delegate.transactionFee();
+    }
+
+    @NonNull
+    @Override
+    public SpeculativeRecordBuilder status(@NonNull final ResponseCodeEnum status) {
+        delegate.status(status);
+        changes.add(recordBuilder -> recordBuilder.status(status));
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public SpeculativeRecordBuilder transferList(@NonNull final TransferList hbarTransfers) {
+        delegate.transferList(hbarTransfers);
+        changes.add(recordBuilder -> recordBuilder.transferList(hbarTransfers));
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public SpeculativeRecordBuilder tokenTransferLists(@NonNull final List<TokenTransferList> tokenTransferLists) {
+        delegate.tokenTransferLists(tokenTransferLists);
+        changes.add(recordBuilder -> recordBuilder.tokenTransferLists(new ArrayList<>(tokenTransferLists)));
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public SpeculativeRecordBuilder assessedCustomFees(@NonNull final List<AssessedCustomFee> assessedCustomFees) {
+        delegate.assessedCustomFees(assessedCustomFees);
+        changes.add(recordBuilder -> recordBuilder.assessedCustomFees(new ArrayList<>(assessedCustomFees)));
+        return this;
+    }
+
+    @Override
+    public SpeculativeRecordBuilder paidStakingRewards(@NonNull final List<AccountAmount> paidStakingRewards) {
+        delegate.paidStakingRewards(paidStakingRewards);
+        changes.add(recordBuilder -> recordBuilder.paidStakingRewards(new ArrayList<>(paidStakingRewards)));
+        return this;
+    }
+
+    @Override
+    public SpeculativeRecordBuilder addAutomaticTokenAssociation(@NonNull final TokenAssociation tokenAssociation) {
+        delegate.addAutomaticTokenAssociation(tokenAssociation);
+        changes.add(recordBuilder -> recordBuilder.addAutomaticTokenAssociation(tokenAssociation));
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public SpeculativeRecordBuilder contractCallResult(@Nullable final ContractFunctionResult result) {
+        delegate.contractCallResult(result);
+        changes.add(recordBuilder -> recordBuilder.contractCallResult(result));
+        return this;
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.optimistic;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.app.spi.state.ReadableKVState;
+import com.hedera.node.app.spi.state.ReadableQueueState;
+import com.hedera.node.app.spi.state.ReadableSingletonState;
+import com.hedera.node.app.spi.state.ReadableStates;
+import com.hedera.node.app.spi.state.WritableKVState;
+import com.hedera.node.app.spi.state.WritableQueueState;
+import com.hedera.node.app.spi.state.WritableSingletonState;
+import com.hedera.node.app.spi.state.WritableStates;
+import com.hedera.node.app.state.HederaState;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A read-only view of the state of a round, used as the root of the
+ * {@link com.hedera.node.app.workflows.handle.stack.SavepointStackImpl} of a single transaction dispatched
+ * speculatively, while the transactions of the round are handled.
+ *
+ * <p>Each speculative dispatch has its own view. The view reads the {@link ReadableStates} of the round, never the
+ * {@link WritableStates} the handle thread works with, and keeps every value it read in its own overlay; so the
+ * dispatch sees one consistent value per key, and never touches the read cache of the handle thread. Values read
+ * here may already be outdated when the transaction is handled. That is fine, since the speculative dispatch is
+ * only applied if the handle thread reads the same values again; which is also what brings these values into the
+ * read cache of the handle thread.
+ *
+ * <p>Singleton and queue states can be read through this view too, but the savepoint of the speculative dispatch
+ * reports them as untracked accesses, so such a dispatch is never applied. The view itself is never written, since
+ * the savepoint buffers all writes and is never committed.
+ *
+ * <p>The views of a round resolve the states of the round while holding the lock of the round state, since its
+ * states are created and cached lazily.
+ */
+public class SpeculativeStateView implements HederaState {
+    private final HederaState state;
+    private final Map<String, ReadOnlyWritableStates> statesMap = new HashMap<>();
+
+    /**
+     * Constructs a {@link SpeculativeStateView} of the given state.
+     *
+     * @param state the state of the round
+     */
+    public SpeculativeStateView(@NonNull final HederaState state) {
+        this.state = requireNonNull(state, "state must not be null");
+    }
+
+    @NonNull
+    @Override
+    public ReadableStates getReadableStates(@NonNull final String serviceName) {
+        return getWritableStates(serviceName);
+    }
+
+    @NonNull
+    @Override
+    public WritableStates getWritableStates(@NonNull final String serviceName) {
+        return statesMap.computeIfAbsent(serviceName, s -> {
+            synchronized (state) {
+                return new ReadOnlyWritableStates(state.getReadableStates(s));
+            }
+        });
+    }
+
+    private static IllegalStateException writeAttempt() {
+        return new IllegalStateException("A speculative view is never written, its savepoint buffers all writes");
+    }
+
+    private class ReadOnlyWritableStates implements WritableStates {
+        private final ReadableStates delegate;
+        private final Map<String, ReadOnlyKVState<?, ?>> kvStates = new HashMap<>();
+
+        ReadOnlyWritableStates(@NonNull final ReadableStates delegate) {
+            this.delegate = delegate;
+        }
+
+        @SuppressWarnings("unchecked")
+        @NonNull
+        @Override
+        public <K, V> WritableKVState<K, V> get(@NonNull final String stateKey) {
+            return (WritableKVState<K, V>) kvStates.computeIfAbsent(stateKey, s -> {
+                synchronized (state) {
+                    return new ReadOnlyKVState<>(delegate.get(s));
+                }
+            });
+        }
+
+        @NonNull
+        @Override
+        public <T> WritableSingletonState<T> getSingleton(@NonNull final String stateKey) {
+            synchronized (state) {
+                return new ReadOnlySingletonState<>(delegate.getSingleton(stateKey));
+            }
+        }
+
+        @NonNull
+        @Override
+        public <E> WritableQueueState<E> getQueue(@NonNull final String stateKey) {
+            synchronized (state) {
+                return new ReadOnlyQueueState<>(delegate.getQueue(stateKey));
+            }
+        }
+
+        @Override
+        public boolean contains(@NonNull final String stateKey) {
+            return delegate.contains(stateKey);
+        }
+
+        @NonNull
+        @Override
+        public Set<String> stateKeys() {
+            return delegate.stateKeys();
+        }
+    }
+
+    private static class ReadOnlyKVState<K, V> implements WritableKVState<K, V> {
+        /** Used to remember that a key was read, but not found */
+        private static final Object NOT_FOUND = new Object();
+
+        private final ReadableKVState<K, V> delegate;
+        private final Map<K, Object> overlay = new HashMap<>();
+
+        ReadOnlyKVState(@NonNull final ReadableKVState<K, V> delegate) {
+            this.delegate = delegate;
+        }
+
+        @NonNull
+        @Override
+        public String getStateKey() {
+            return delegate.getStateKey();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nullable
+        @Override
+        public V get(@NonNull final K key) {
+            final var value = overlay.computeIfAbsent(key, k -> {
+                final var v = delegate.get(k);
+                return v == null ? NOT_FOUND : v;
+            });
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        @Nullable
+        @Override
+        public V getForModify(@NonNull final K key) {
+            // The wrapping state buffers any modification, so the value just needs to be read here
+            return get(key);
+        }
+
+        @Nullable
+        @Override
+        public V getOriginalValue(@NonNull final K key) {
+            return get(key);
+        }
+
+        @Override
+        public void put(@NonNull final K key, @NonNull final V value) {
+            throw writeAttempt();
+        }
+
+        @Override
+        public void remove(@NonNull final K key) {
+            throw writeAttempt();
+        }
+
+        @NonNull
+        @Override
+        public Iterator<K> keys() {
+            return delegate.keys();
+        }
+
+        @NonNull
+        @Override
+        public Set<K> readKeys() {
+            return Collections.unmodifiableSet(overlay.keySet());
+        }
+
+        @NonNull
+        @Override
+        public Set<K> modifiedKeys() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public long size() {
+            return delegate.size();
+        }
+    }
+
+    private static class ReadOnlySingletonState<T> implements WritableSingletonState<T> {
+        private final ReadableSingletonState<T> delegate;
+
+        ReadOnlySingletonState(@NonNull final ReadableSingletonState<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @NonNull
+        @Override
+        public String getStateKey() {
+            return delegate.getStateKey();
+        }
+
+        @Nullable
+        @Override
+        public T get() {
+            return delegate.get();
+        }
+
+        @Override
+        public boolean isRead() {
+            return delegate.isRead();
+        }
+
+        @Override
+        public void put(@Nullable final T value) {
+            throw writeAttempt();
+        }
+
+        @Override
+        public boolean isModified() {
+            return false;
+        }
+    }
+
+    private static class ReadOnlyQueueState<E> implements WritableQueueState<E> {
+        private final ReadableQueueState<E> delegate;
+
+        ReadOnlyQueueState(@NonNull final ReadableQueueState<E> delegate) {
+            this.delegate = delegate;
+        }
+
+        @NonNull
+        @Override
+        public String getStateKey() {
+            return delegate.getStateKey();
+        }
+
+        @Nullable
+        @Override
+        public E peek() {
+            return delegate.peek();
+        }
+
+        @NonNull
+        @Override
+        public Iterator<E> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public void add(@NonNull final E element) {
+            throw writeAttempt();
+        }
+
+        @Nullable
+        @Override
+        public E removeIf(@NonNull final Predicate<E> predicate) {
+            throw writeAttempt();
+        }
+    }
+}
@@ -675,6 +675,16 @@ public class SingleTransactionRecordBuilderImpl
         return this;
     }
 
+    /**
+     * Gets the automaticTokenAssociations added so far.
+     *
+     * @return the automaticTokenAssociations
+     */
+    @NonNull
+    public List<TokenAssociation> getAutomaticTokenAssociations() {
+        return automaticTokenAssociations;
+    }
+
     /**
      * Sets the alias.
      *
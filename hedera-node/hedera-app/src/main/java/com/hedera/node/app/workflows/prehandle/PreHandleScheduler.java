@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.prehandle;
+
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A dedicated scheduler for pre-handling transactions across events.
+ *
+ * <p>The platform calls pre-handle for many events concurrently, and each call must be finished before it returns,
+ * because the state used for pre-handle is only reserved for the duration of the call. All transactions of all
+ * events currently in pre-handle are put into a single priority queue, which is drained by a fixed set of worker
+ * threads. Transactions of events that were created earlier are closer to reaching consensus and are taken first.
+ *
+ * <p>The thread submitting an event does not sit idle while it waits. It works on the transactions of its own event,
+ * in order, taking each one that was not yet taken by a worker. This guarantees progress even if all workers are busy
+ * with other events, and small events do not have to wait behind large ones.
+ *
+ * <p>The workers are stopped with {@link #close()}. Transactions submitted afterward are pre-handled by the
+ * submitting thread alone.
+ */
+@Singleton
+public class PreHandleScheduler implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(PreHandleScheduler.class);
+
+    /** The transactions waiting for a worker, ordered by priority */
+    private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>();
+
+    /** Used to keep the order of transactions with the same priority */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** The number of submitted transactions that were not yet started */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /** The executor running the workers, or {@code null} if there are none */
+    private final ExecutorService workers;
+
+    /**
+     * Creates a new {@link PreHandleScheduler}.
+     *
+     * @param metrics the {@link Metrics} to register the queue depth with
+     * @param configProvider the {@link ConfigProvider} to read the number of worker threads from
+     */
+    @Inject
+    public PreHandleScheduler(@NonNull final Metrics metrics, @NonNull final ConfigProvider configProvider) {
+        this(configuredThreads(configProvider));
+        requireNonNull(metrics, "metrics must not be null");
+        metrics.getOrCreate(new FunctionGauge.Config<>("app", "preHandleQueueDepth", Integer.class, this::queueDepth)
+                .withDescription("number of transactions waiting to be pre-handled")
+                .withFormat("%d"));
+    }
+
+    /**
+     * Creates a new {@link PreHandleScheduler} with the given number of worker threads. With zero workers, all
+     * transactions are pre-handled by the submitting thread.
+     *
+     * @param workerCount the number of worker threads
+     */
+    @VisibleForTesting
+    PreHandleScheduler(final int workerCount) {
+        if (workerCount < 0) {
+            throw new IllegalArgumentException("workerCount must not be negative");
+        }
+        if (workerCount > 0) {
+            workers = Executors.newFixedThreadPool(
+                    workerCount, getStaticThreadManager().createThreadFactory("pre-handle", "worker"));
+            for (int i = 0; i < workerCount; i++) {
+                workers.execute(this::runWorker);
+            }
+        } else {
+            workers = null;
+        }
+    }
+
+    private static int configuredThreads(@NonNull final ConfigProvider configProvider) {
+        requireNonNull(configProvider, "configProvider must not be null");
+        final var threads = configProvider
+                .getConfiguration()
+                .getConfigData(HederaConfig.class)
+                .preHandleThreadPoolSize();
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Runs the given work items and returns once all of them are done. Work items of different calls are scheduled
+     * by priority, and the calling thread helps with its own items.
+     *
+     * @param priority the creation time of the event, items of earlier events are run first
+     * @param work the work items, one per transaction
+     */
+    public void execute(@NonNull final Instant priority, @NonNull final List<Runnable> work) {
+        requireNonNull(priority, "priority must not be null");
+        requireNonNull(work, "work must not be null");
+        if (work.isEmpty()) {
+            return;
+        }
+
+        final var latch = new CountDownLatch(work.size());
+        final var tasks = new ArrayList<Task>(work.size());
+        for (final var runnable : work) {
+            tasks.add(new Task(priority, sequence.getAndIncrement(), requireNonNull(runnable), latch));
+        }
+        pending.addAndGet(tasks.size());
+        if (workers != null && !workers.isShutdown()) {
+            queue.addAll(tasks);
+        }
+
+        // Work on our own transactions until all of them were taken, by us or by a worker
+        for (final var task : tasks) {
+            task.tryRun();
+        }
+
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            // Transactions without a result are pre-handled again in handle
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of transactions that were submitted, but not yet started.
+     *
+     * @return the queue depth
+     */
+    public int queueDepth() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the worker threads. Transactions that were already queued are still run by the threads that submitted
+     * them, so no call of {@link #execute(Instant, List)} is left waiting.
+     */
+    @Override
+    public void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+            queue.clear();
+        }
+    }
+
+    private void runWorker() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                queue.take().tryRun();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final RuntimeException e) {
+                logger.error("Unexpected exception while pre-handling a transaction", e);
+            }
+        }
+    }
+
+    private final class Task implements Comparable<Task> {
+        private final Instant priority;
+        private final long sequenceNumber;
+        private final Runnable runnable;
+        private final CountDownLatch latch;
+        private final AtomicBoolean taken = new AtomicBoolean();
+
+        private Task(
+                @NonNull final Instant priority,
+                final long sequenceNumber,
+                @NonNull final Runnable runnable,
+                @NonNull final CountDownLatch latch) {
+            this.priority = priority;
+            this.sequenceNumber = sequenceNumber;
+            this.runnable = runnable;
+            this.latch = latch;
+        }
+
+        private void tryRun() {
+            if (taken.compareAndSet(false, true)) {
+                pending.decrementAndGet();
+                try {
+                    runnable.run();
+                } finally {
+                    latch.countDown();
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(@NonNull final Task other) {
+            final var result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+}
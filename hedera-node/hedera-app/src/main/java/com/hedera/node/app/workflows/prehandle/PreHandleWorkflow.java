@@ -23,6 +23,7 @@ import com.swirlds.platform.system.events.Event;
 import com.swirlds.platform.system.transaction.Transaction;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
 import java.util.stream.Stream;
 
 /** A workflow to pre-handle transactions. */
@@ -36,10 +37,28 @@ public interface PreHandleWorkflow {
      * @param transactions An {@link Stream} over all transactions to pre-handle
      * @throws NullPointerException if one of the arguments is {@code null}
      */
+    default void preHandle(
+            @NonNull final ReadableStoreFactory readableStoreFactory,
+            @NonNull final AccountID creator,
+            @NonNull final Stream<Transaction> transactions) {
+        preHandle(readableStoreFactory, creator, transactions, Instant.MAX);
+    }
+
+    /**
+     * Starts the pre-handle transaction workflow of the {@link Event}. Transactions of events that were created
+     * earlier are closer to reaching consensus, and are pre-handled first.
+     *
+     * @param readableStoreFactory the {@link ReadableStoreFactory} that is used for looking up stores
+     * @param creator The {@link AccountID} of the node that created these transactions
+     * @param transactions An {@link Stream} over all transactions to pre-handle
+     * @param eventTimeCreated The time the {@link Event} was created
+     * @throws NullPointerException if one of the arguments is {@code null}
+     */
     void preHandle(
             @NonNull final ReadableStoreFactory readableStoreFactory,
             @NonNull final AccountID creator,
-            @NonNull final Stream<Transaction> transactions);
+            @NonNull final Stream<Transaction> transactions,
+            @NonNull final Instant eventTimeCreated);
 
     /**
      * A convenience method to start the pre-handle transaction workflow for a single
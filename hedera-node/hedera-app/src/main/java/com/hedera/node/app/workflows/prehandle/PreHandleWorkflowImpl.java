@@ -53,7 +53,9 @@ import com.swirlds.platform.system.events.Event;
 import com.swirlds.platform.system.transaction.Transaction;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -97,6 +99,10 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
      * Used for registering notice of transactionIDs seen by this node
      */
     private final DeduplicationCache deduplicationCache;
+    /**
+     * Runs pre-handle for the transactions of all events on a dedicated set of threads
+     */
+    private final PreHandleScheduler scheduler;
 
     /**
      * Creates a new instance of {@code PreHandleWorkflowImpl}.
@@ -105,6 +111,7 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
      * transaction.
      * @param transactionChecker the {@link TransactionChecker} for parsing and verifying the transaction
      * @param signatureVerifier the {@link SignatureVerifier} to verify signatures
+     * @param scheduler the {@link PreHandleScheduler} that runs pre-handle for the transactions of all events
      * @throws NullPointerException if any of the parameters is {@code null}
      */
     @Inject
@@ -114,13 +121,15 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
             @NonNull final SignatureVerifier signatureVerifier,
             @NonNull final SignatureExpander signatureExpander,
             @NonNull final ConfigProvider configProvider,
-            @NonNull final DeduplicationCache deduplicationCache) {
+            @NonNull final DeduplicationCache deduplicationCache,
+            @NonNull final PreHandleScheduler scheduler) {
         this.dispatcher = requireNonNull(dispatcher);
         this.transactionChecker = requireNonNull(transactionChecker);
         this.signatureVerifier = requireNonNull(signatureVerifier);
         this.signatureExpander = requireNonNull(signatureExpander);
         this.configProvider = requireNonNull(configProvider);
         this.deduplicationCache = requireNonNull(deduplicationCache);
+        this.scheduler = requireNonNull(scheduler);
     }
 
     /**
@@ -130,29 +139,36 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
     public void preHandle(
             @NonNull final ReadableStoreFactory readableStoreFactory,
             @NonNull final AccountID creator,
-            @NonNull final Stream<Transaction> transactions) {
+            @NonNull final Stream<Transaction> transactions,
+            @NonNull final Instant eventTimeCreated) {
 
         requireNonNull(readableStoreFactory);
         requireNonNull(creator);
         requireNonNull(transactions);
+        requireNonNull(eventTimeCreated);
 
         // Used for looking up payer account information.
         final var accountStore = readableStoreFactory.getStore(ReadableAccountStore.class);
 
-        // In parallel, we will pre-handle each transaction.
-        transactions.parallel().forEach(tx -> {
-            if (tx.isSystem()) return;
-            try {
-                tx.setMetadata(preHandleTransaction(creator, readableStoreFactory, accountStore, tx));
-            } catch (final Exception unexpectedException) {
-                // If some random exception happened, then we should not charge the node for it. Instead,
-                // we will just record the exception and try again during handle. Then if we fail again
-                // at handle, then we will throw away the transaction (hopefully, deterministically!)
-                logger.error(
-                        "Possibly CATASTROPHIC failure while running the pre-handle workflow", unexpectedException);
-                tx.setMetadata(unknownFailure());
-            }
-        });
+        // In parallel, we will pre-handle each transaction. The scheduler interleaves them with the transactions
+        // of all other events that are currently pre-handled, and returns once all of ours are done.
+        final List<Runnable> work = transactions
+                .filter(tx -> !tx.isSystem())
+                .<Runnable>map(tx -> () -> {
+                    try {
+                        tx.setMetadata(preHandleTransaction(creator, readableStoreFactory, accountStore, tx));
+                    } catch (final Exception unexpectedException) {
+                        // If some random exception happened, then we should not charge the node for it. Instead,
+                        // we will just record the exception and try again during handle. Then if we fail again
+                        // at handle, then we will throw away the transaction (hopefully, deterministically!)
+                        logger.error(
+                                "Possibly CATASTROPHIC failure while running the pre-handle workflow",
+                                unexpectedException);
+                        tx.setMetadata(unknownFailure());
+                    }
+                })
+                .toList();
+        scheduler.execute(eventTimeCreated, work);
     }
 
     // For each transaction, we will use a background thread to parse the transaction, validate it, lookup the
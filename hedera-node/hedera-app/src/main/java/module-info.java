@@ -27,6 +27,7 @@ module com.hedera.node.app {
     requires transitive dagger;
     requires transitive grpc.stub;
     requires transitive javax.inject;
+    requires com.github.benmanes.caffeine;
     requires com.hedera.node.app.hapi.fees;
     requires com.hedera.node.app.service.consensus;
     requires com.hedera.node.app.service.contract;
@@ -16,14 +16,19 @@
 
 package com.hedera.node.app.fees;
 
+import static com.hedera.node.app.service.mono.pbj.PbjConverter.fromPbj;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.hapi.node.base.*;
+import com.hedera.hapi.node.token.CryptoCreateTransactionBody;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
 import com.hedera.hapi.node.transaction.ExchangeRate;
 import com.hedera.hapi.node.transaction.TransactionBody;
 import com.hedera.node.app.fees.congestion.CongestionMultipliers;
@@ -31,6 +36,8 @@ import com.hedera.node.app.fixtures.state.FakeHederaState;
 import com.hedera.node.app.workflows.TransactionInfo;
 import com.hedera.node.app.workflows.dispatcher.ReadableStoreFactory;
 import com.hedera.pbj.runtime.OneOf;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,6 +46,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 public class FeeCalculatorImplTest {
+    private static final long MAX_PRICE = 100_000_000_000L;
+
     @Mock
     private CongestionMultipliers congestionMultipliers;
 
@@ -112,4 +121,72 @@ public class FeeCalculatorImplTest {
         calculator.getCongestionMultiplier();
         verify(congestionMultipliers).maxCurrentMultiplier(any(TransactionInfo.class), eq(storeFactory));
     }
+
+    @Test
+    void cachesFeesOfCommonTransactionTypes() {
+        final var prices = fromPbj(new FeeData(
+                FeeComponents.newBuilder().constant(1_000_000_000L).bpt(10_000L).max(MAX_PRICE).build(),
+                FeeComponents.newBuilder().constant(2_000_000_000L).bpt(10_000L).max(MAX_PRICE).build(),
+                FeeComponents.newBuilder().constant(3_000_000_000L).max(MAX_PRICE).build(),
+                SubType.DEFAULT));
+        final var rate = fromPbj(new ExchangeRate(1, 12, null));
+        final var storeFactory = new ReadableStoreFactory(new FakeHederaState());
+        final var cache = new FeeResultCache();
+        final var transfer = TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder().accountID(AccountID.DEFAULT).build())
+                .cryptoTransfer(CryptoTransferTransactionBody.DEFAULT)
+                .build();
+        given(congestionMultipliers.maxCurrentMultiplier(any(TransactionInfo.class), eq(storeFactory)))
+                .willReturn(1L, 1L, 2L);
+
+        final var first = new FeeCalculatorImpl(
+                        transfer, Key.DEFAULT, 1, 64, prices, rate, false, congestionMultipliers, storeFactory, cache)
+                .calculate();
+        final var second = new FeeCalculatorImpl(
+                        transfer, Key.DEFAULT, 1, 64, prices, rate, false, congestionMultipliers, storeFactory, cache)
+                .calculate();
+        assertTrue(first.totalFee() > 0);
+        assertEquals(first, second);
+        assertEquals(1, cache.size());
+
+        final var congested = new FeeCalculatorImpl(
+                        transfer, Key.DEFAULT, 1, 64, prices, rate, false, congestionMultipliers, storeFactory, cache)
+                .calculate();
+        assertEquals(2 * first.totalFee(), congested.totalFee());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void doesNotCacheFeesOfOtherTransactionTypes() {
+        final var storeFactory = new ReadableStoreFactory(new FakeHederaState());
+        final var cache = new FeeResultCache();
+        final var create = TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder().accountID(AccountID.DEFAULT).build())
+                .cryptoCreateAccount(CryptoCreateTransactionBody.DEFAULT)
+                .build();
+        given(congestionMultipliers.maxCurrentMultiplier(any(TransactionInfo.class), eq(storeFactory)))
+                .willReturn(1L);
+
+        new FeeCalculatorImpl(
+                        create,
+                        Key.DEFAULT,
+                        1,
+                        64,
+                        fromPbj(feeData),
+                        fromPbj(new ExchangeRate(1, 12, null)),
+                        false,
+                        congestionMultipliers,
+                        storeFactory,
+                        cache)
+                .calculate();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void countsUtf8BytesWithoutEncoding() {
+        final var memos = List.of("", "Test", "caf\u00e9", "\u20ac100", "\ud83d\ude00!", "bad\ud800", "\udc00\ud800x");
+        for (final var memo : memos) {
+            assertEquals(memo.getBytes(StandardCharsets.UTF_8).length, FeeCalculatorImpl.utf8LengthOf(memo));
+        }
+    }
 }
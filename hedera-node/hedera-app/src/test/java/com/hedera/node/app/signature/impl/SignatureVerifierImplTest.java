@@ -19,6 +19,7 @@ package com.hedera.node.app.signature.impl;
 import static com.hedera.node.app.fixtures.signature.ExpandedSignaturePairFactory.ecdsaPair;
 import static com.hedera.node.app.fixtures.signature.ExpandedSignaturePairFactory.ed25519Pair;
 import static com.hedera.node.app.fixtures.signature.ExpandedSignaturePairFactory.hollowPair;
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
 import static java.util.Collections.emptySet;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +33,7 @@ import com.hedera.node.app.service.mono.sigs.utils.MiscCryptoUtils;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.signature.SignatureVerifier;
 import com.hedera.node.app.spi.fixtures.Scenarios;
+import com.hedera.node.app.utils.TestUtils;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.TransactionSignature;
@@ -180,4 +182,66 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
                     .isTrue();
         }
     }
+
+    @Test
+    @DisplayName("Signatures that were verified before are not sent to the crypto engine again")
+    void verifiedSignaturesAreCached() throws Exception {
+        final var metrics = TestUtils.metrics();
+        final var cache = new VerifiedSignatureCache(metrics, 100);
+        final var cachingVerifier = new SignatureVerifierImpl(cryptoEngine, cache);
+        final var alice = ecdsaPair(ALICE.keyInfo().publicKey());
+        final var bob = ed25519Pair(BOB.keyInfo().publicKey());
+        //noinspection unchecked
+        doAnswer((Answer<Void>) invocation -> {
+                    final List<TransactionSignature> signatures = invocation.getArgument(0);
+                    for (TransactionSignature signature : signatures) {
+                        signature.setSignatureStatus(VerificationStatus.VALID);
+                        signature.setFuture(completedFuture(null));
+                    }
+                    return null;
+                })
+                .when(cryptoEngine)
+                .verifyAsync(sigsCaptor.capture());
+
+        // Only the verification of Alice's signature is completed the first time
+        cachingVerifier
+                .verify(signedBytes, Set.of(alice))
+                .get(ALICE.keyInfo().publicKey())
+                .get();
+        final var result = cachingVerifier.verify(signedBytes, Set.of(alice, bob));
+
+        assertThat(sigsCaptor.getAllValues()).hasSize(2);
+        assertThat(sigsCaptor.getAllValues().get(1)).hasSize(1);
+        assertThat(result.get(ALICE.keyInfo().publicKey()).get().passed()).isTrue();
+        assertThat(result.get(BOB.keyInfo().publicKey()).get().passed()).isTrue();
+        assertThat(metrics.getMetric("app", "verifiedSigCacheHits").get(VALUE)).isEqualTo(1L);
+        assertThat(metrics.getMetric("app", "verifiedSigCacheMisses").get(VALUE)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Signatures of different signed bytes are not taken from the cache")
+    void cacheIsSpecificToSignedBytes() throws Exception {
+        final var cache = new VerifiedSignatureCache(TestUtils.metrics(), 100);
+        final var cachingVerifier = new SignatureVerifierImpl(cryptoEngine, cache);
+        final var alice = ecdsaPair(ALICE.keyInfo().publicKey());
+        //noinspection unchecked
+        doAnswer((Answer<Void>) invocation -> {
+                    final List<TransactionSignature> signatures = invocation.getArgument(0);
+                    for (TransactionSignature signature : signatures) {
+                        signature.setSignatureStatus(VerificationStatus.VALID);
+                        signature.setFuture(completedFuture(null));
+                    }
+                    return null;
+                })
+                .when(cryptoEngine)
+                .verifyAsync(sigsCaptor.capture());
+
+        cachingVerifier
+                .verify(signedBytes, Set.of(alice))
+                .get(ALICE.keyInfo().publicKey())
+                .get();
+        cachingVerifier.verify(randomBytes(123), Set.of(alice));
+
+        assertThat(sigsCaptor.getAllValues()).hasSize(2);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.signature.impl;
+
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.node.app.utils.TestUtils;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.metrics.api.Metrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class VerifiedSignatureCacheTest {
+    private static final Bytes KEY = Bytes.wrap(new byte[] {1, 2, 3});
+    private static final Bytes SIGNATURE = Bytes.wrap(new byte[] {4, 5, 6});
+
+    private Metrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = TestUtils.metrics();
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void invalidArgumentsThrow() {
+        assertThatThrownBy(() -> new VerifiedSignatureCache(null, 1)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new VerifiedSignatureCache(metrics, -1)).isInstanceOf(IllegalArgumentException.class);
+        final var subject = new VerifiedSignatureCache(metrics, 1);
+        assertThatThrownBy(() -> subject.hashOf(null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> subject.contains(null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> subject.add(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("Added digests are found and counted as hits")
+    void addedDigestsAreFound() {
+        final var subject = new VerifiedSignatureCache(metrics, 10);
+        final var digest = subject.digestOf(0, KEY, subject.hashOf(Bytes.wrap("message")), SIGNATURE);
+
+        assertThat(subject.contains(digest)).isFalse();
+        subject.add(digest);
+        assertThat(subject.contains(digest)).isTrue();
+
+        assertThat(metrics.getMetric("app", "verifiedSigCacheHits").get(VALUE)).isEqualTo(1L);
+        assertThat(metrics.getMetric("app", "verifiedSigCacheMisses").get(VALUE)).isEqualTo(1L);
+        assertThat(metrics.getMetric("app", "verifiedSigCacheSize").get(VALUE)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Every part of a signature changes its digest")
+    void digestCoversAllParts() {
+        final var subject = new VerifiedSignatureCache(metrics, 10);
+        final var hash = subject.hashOf(Bytes.wrap("message"));
+        final var digest = subject.digestOf(0, KEY, hash, SIGNATURE);
+
+        assertThat(subject.digestOf(0, KEY, hash, SIGNATURE)).isEqualTo(digest);
+        assertThat(subject.digestOf(1, KEY, hash, SIGNATURE)).isNotEqualTo(digest);
+        assertThat(subject.digestOf(0, SIGNATURE, hash, SIGNATURE)).isNotEqualTo(digest);
+        assertThat(subject.digestOf(0, KEY, subject.hashOf(Bytes.wrap("other")), SIGNATURE))
+                .isNotEqualTo(digest);
+        assertThat(subject.digestOf(0, KEY, hash, KEY)).isNotEqualTo(digest);
+        // moving a byte from the key to the signature must not result in the same digest
+        assertThat(subject.digestOf(0, KEY.slice(0, 2), hash, Bytes.wrap(new byte[] {3, 4, 5, 6})))
+                .isNotEqualTo(digest);
+    }
+
+    @Test
+    @DisplayName("The number of entries is capped")
+    void sizeIsCapped() {
+        final var subject = new VerifiedSignatureCache(metrics, 0);
+        final var digest = subject.digestOf(0, KEY, subject.hashOf(Bytes.wrap("message")), SIGNATURE);
+        subject.add(digest);
+
+        assertThat(subject.contains(digest)).isFalse();
+    }
+
+    @Test
+    @DisplayName("The maximum number of entries is read from the configuration")
+    void maxEntriesFromConfig() {
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("sigs.verifiedCache.maxEntries", 0)
+                .getOrCreateConfig();
+        final var subject = new VerifiedSignatureCache(metrics, () -> new VersionedConfigImpl(config, 1));
+        final var digest = subject.digestOf(0, KEY, subject.hashOf(Bytes.wrap("message")), SIGNATURE);
+        subject.add(digest);
+
+        assertThat(subject.contains(digest)).isFalse();
+    }
+}
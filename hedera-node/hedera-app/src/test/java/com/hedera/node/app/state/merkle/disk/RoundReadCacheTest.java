@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+import com.hedera.node.app.utils.TestUtils;
+import com.swirlds.metrics.api.Metrics;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RoundReadCacheTest {
+    private static final String LABEL = "FirstService.FRUIT";
+    private static final String OTHER_LABEL = "FirstService.ANIMAL";
+
+    private final Map<String, String> dataSource = new HashMap<>();
+    private final AtomicInteger reads = new AtomicInteger();
+    private final Function<String, String> loader = key -> {
+        reads.incrementAndGet();
+        return dataSource.get(key);
+    };
+
+    @BeforeEach
+    void setUp() {
+        dataSource.put("A", "Apple");
+        dataSource.put("B", "Banana");
+    }
+
+    @Test
+    @DisplayName("A negative capacity is rejected")
+    void negativeCapacityThrows() {
+        assertThatThrownBy(() -> new RoundReadCache(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("NO_CACHE always reads from the data source")
+    void noCacheReadsThrough() {
+        assertThat(RoundReadCache.NO_CACHE.isCaching()).isFalse();
+        assertThat(RoundReadCache.NO_CACHE.read(LABEL, "A", loader)).isEqualTo("Apple");
+        assertThat(RoundReadCache.NO_CACHE.read(LABEL, "A", loader)).isEqualTo("Apple");
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Values read through the snapshot are used by the successor")
+    void successorUsesValuesOfSnapshot() {
+        final var cache = new RoundReadCache();
+        assertThat(cache.snapshotBinding().read(LABEL, "A", loader)).isEqualTo("Apple");
+        assertThat(cache.snapshotBinding().read(LABEL, "C", loader)).isNull();
+
+        assertThat(cache.successorBinding().read(LABEL, "A", loader)).isEqualTo("Apple");
+        assertThat(cache.successorBinding().read(LABEL, "C", loader)).isNull();
+        assertThat(reads).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Values are cached per state label")
+    void valuesAreCachedPerLabel() {
+        final var cache = new RoundReadCache();
+        cache.snapshotBinding().read(LABEL, "A", loader);
+        cache.snapshotBinding().read(OTHER_LABEL, "A", key -> "Aardvark");
+
+        assertThat(cache.successorBinding().read(LABEL, "A", loader)).isEqualTo("Apple");
+        assertThat(cache.successorBinding().read(OTHER_LABEL, "A", loader)).isEqualTo("Aardvark");
+    }
+
+    @Test
+    @DisplayName("The successor reads modified keys from its data source")
+    void successorBypassesModifiedKeys() {
+        final var cache = new RoundReadCache();
+        final var successor = cache.successorBinding();
+        cache.snapshotBinding().read(LABEL, "A", loader);
+
+        successor.markModified(LABEL, "A");
+        dataSource.put("A", "Apricot");
+
+        assertThat(successor.read(LABEL, "A", loader)).isEqualTo("Apricot");
+        assertThat(successor.read(LABEL, "A", loader)).isEqualTo("Apricot");
+        assertThat(reads).hasValue(3);
+        // The snapshot still sees its own value
+        assertThat(cache.snapshotBinding().read(LABEL, "A", loader)).isEqualTo("Apple");
+    }
+
+    @Test
+    @DisplayName("A key modified while it is read by the successor is not cached")
+    void keyModifiedDuringReadIsNotCached() {
+        final var cache = new RoundReadCache();
+        final var successor = cache.successorBinding();
+
+        final var value = successor.read(LABEL, "A", key -> {
+            successor.markModified(LABEL, key);
+            return "Apricot";
+        });
+
+        assertThat(value).isEqualTo("Apricot");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("The snapshot cannot mark keys as modified")
+    void snapshotIgnoresModifications() {
+        final var cache = new RoundReadCache();
+        cache.snapshotBinding().markModified(LABEL, "A");
+        cache.successorBinding().read(LABEL, "A", loader);
+        cache.successorBinding().read(LABEL, "A", loader);
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("No values are added once the capacity is reached")
+    void capacityIsRespected() {
+        final var cache = new RoundReadCache(1);
+        final var snapshot = cache.snapshotBinding();
+        snapshot.read(LABEL, "A", loader);
+        snapshot.read(LABEL, "B", loader);
+        snapshot.read(LABEL, "A", loader);
+        snapshot.read(LABEL, "B", loader);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(reads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Reads answered from the cache are counted as hits")
+    void hitPercentCountsCachedReads() {
+        final var cache = new RoundReadCache();
+        assertThat(cache.hitPercent()).isZero();
+
+        cache.snapshotBinding().read(LABEL, "A", loader);
+        cache.successorBinding().read(LABEL, "A", loader);
+        cache.successorBinding().read(LABEL, "A", loader);
+        cache.successorBinding().read(LABEL, "B", loader);
+
+        assertThat(cache.hitPercent()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("The factory rejects a negative capacity")
+    void factoryRejectsNegativeCapacity() {
+        assertThatThrownBy(() -> new RoundReadCacheFactory(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("The factory creates caches with the configured capacity")
+    void factoryUsesConfiguredCapacity() {
+        final var cache = new RoundReadCacheFactory(1).create();
+        cache.snapshotBinding().read(LABEL, "A", loader);
+        cache.snapshotBinding().read(LABEL, "B", loader);
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The factory reports the size and hit percentage of the latest cache")
+    void factoryReportsLatestCache() {
+        final Metrics metrics = TestUtils.metrics();
+        final var factory = new RoundReadCacheFactory(10, metrics);
+        assertThat(metrics.getMetric("app", "roundReadCacheSize").get(VALUE)).isEqualTo(0);
+        assertThat(metrics.getMetric("app", "roundReadCacheHitPercent").get(VALUE)).isEqualTo(0.0);
+
+        final var previous = factory.create();
+        previous.snapshotBinding().read(LABEL, "A", loader);
+        final var latest = factory.create();
+        latest.snapshotBinding().read(LABEL, "A", loader);
+        latest.successorBinding().read(LABEL, "A", loader);
+        latest.successorBinding().read(LABEL, "B", loader);
+        latest.successorBinding().read(LABEL, "B", loader);
+
+        assertThat(metrics.getMetric("app", "roundReadCacheSize").get(VALUE)).isEqualTo(2);
+        assertThat((double) metrics.getMetric("app", "roundReadCacheHitPercent").get(VALUE))
+                .isCloseTo(50.0, offset(1e-9));
+    }
+}
@@ -22,6 +22,7 @@ import static com.hedera.hapi.node.base.ResponseCodeEnum.INVALID_NODE_ACCOUNT;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.OK;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.SUCCESS;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.UNKNOWN;
+import static com.hedera.node.app.spi.HapiUtils.asTimestamp;
 import static com.hedera.node.app.state.HederaRecordCache.DuplicateCheckResult.NO_DUPLICATE;
 import static com.hedera.node.app.state.HederaRecordCache.DuplicateCheckResult.OTHER_NODE;
 import static com.hedera.node.app.state.HederaRecordCache.DuplicateCheckResult.SAME_NODE;
@@ -127,10 +128,14 @@ final class RecordCacheImplTest extends AppTestBase {
     @DisplayName("Null args to constructor throw NPE")
     @SuppressWarnings("DataFlowIssue")
     void nullArgsToConstructorThrowNPE() {
-        assertThatThrownBy(() -> new RecordCacheImpl(null, wsa, props)).isInstanceOf(NullPointerException.class);
-        assertThatThrownBy(() -> new RecordCacheImpl(dedupeCache, null, props))
+        assertThatThrownBy(() -> new RecordCacheImpl(null, wsa, props, metrics))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new RecordCacheImpl(dedupeCache, null, props, metrics))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new RecordCacheImpl(dedupeCache, wsa, null, metrics))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new RecordCacheImpl(dedupeCache, wsa, props, null))
                 .isInstanceOf(NullPointerException.class);
-        assertThatThrownBy(() -> new RecordCacheImpl(dedupeCache, wsa, null)).isInstanceOf(NullPointerException.class);
     }
 
     private TransactionRecord getRecord(RecordCache cache, TransactionID txId) {
@@ -198,7 +203,7 @@ final class RecordCacheImplTest extends AppTestBase {
             ((ListWritableQueueState<?>) queue).commit();
 
             // When we create the cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
 
             // Everything that was in state can be queried
             assertThat(getRecord(cache, txId1)).isEqualTo(entries.get(1).transactionRecord());
@@ -267,7 +272,7 @@ final class RecordCacheImplTest extends AppTestBase {
             queue.add(oldEntry);
             ((ListWritableQueueState<?>) queue).commit();
 
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
 
             // When we replace the data "behind the scenes" (emulating a reconnect) and call rebuild
             final var payer1 = accountId(1001);
@@ -371,7 +376,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for receipt for no such txn returns null")
         void queryForReceiptForNoSuchTxnReturnsNull() {
             // Given a transaction unknown to the record cache and de-duplication cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var missingTxId = transactionID();
 
             // When we look up the receipt, then we get null
@@ -382,7 +387,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for receipts for no such txn returns EMPTY LIST")
         void queryForReceiptsForNoSuchTxnReturnsNull() {
             // Given a transaction unknown to the record cache and de-duplication cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var missingTxId = transactionID();
 
             // When we look up the receipts, then we get an empty list
@@ -393,7 +398,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for receipts for an account ID with no receipts returns EMPTY LIST")
         void queryForReceiptsForAccountWithNoRecords() {
             // Given a transaction unknown to the record cache and de-duplication cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
 
             // When we look up the receipts, then we get an empty list
             assertThat(getReceipts(cache, PAYER_ACCOUNT_ID)).isEmpty();
@@ -403,7 +408,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for receipt for txn in UNKNOWN state returns UNKNOWN")
         void queryForReceiptForUnhandledTxnReturnsNull() {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var unhandledTxId = transactionID();
             dedupeCache.add(unhandledTxId);
 
@@ -415,7 +420,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for receipts by account ID for txn in UNKNOWN state returns EMPTY LIST")
         void queryForReceiptsForUnhandledTxnByAccountID() {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var unhandledTxId = transactionID();
             dedupeCache.add(unhandledTxId);
 
@@ -431,7 +436,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for receipt for a txn with a proper record")
         void queryForReceiptForTxnWithRecord(@NonNull final ResponseCodeEnum status) {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(status).build();
@@ -452,7 +457,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for receipts for a txn with a proper record")
         void queryForReceiptsForTxnWithRecord(@NonNull final ResponseCodeEnum status) {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(status).build();
@@ -473,7 +478,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for receipts for an account ID with a proper record")
         void queryForReceiptsForAccountIdWithRecord(@NonNull final ResponseCodeEnum status) {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(status).build();
@@ -495,7 +500,7 @@ final class RecordCacheImplTest extends AppTestBase {
                 "Only up to recordsMaxQueryableByAccount receipts are returned for an account ID with multiple records")
         void queryForManyReceiptsForAccountID(final int numRecords) {
             // Given a number of transactions with several records each, all for the same payer
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             // Normally consensus time is AFTER the transaction ID time by a couple of seconds
             var consensusTime = Instant.now().plusSeconds(2);
             for (int i = 0; i < numRecords; i++) {
@@ -537,7 +542,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @Test
         @DisplayName("Query for record for unknown txn returns null")
         void queryForRecordForUnknownTxnReturnsNull() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var missingTxId = transactionID();
 
             assertThat(getRecord(cache, missingTxId)).isNull();
@@ -546,7 +551,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @Test
         @DisplayName("Query for records for unknown txn returns EMPTY LIST")
         void queryForRecordsForUnknownTxnReturnsNull() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var missingTxId = transactionID();
 
             assertThat(getRecords(cache, missingTxId)).isEmpty();
@@ -555,7 +560,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @Test
         @DisplayName("Query for record for account ID with no receipts returns EMPTY LIST")
         void queryForRecordByAccountForUnknownTxn() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
 
             assertThat(cache.getRecords(PAYER_ACCOUNT_ID)).isEmpty();
         }
@@ -563,7 +568,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @Test
         @DisplayName("Query for record for tx with receipt in UNKNOWN state returns null")
         void queryForRecordForUnknownTxn() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             dedupeCache.add(txId);
 
@@ -573,7 +578,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @Test
         @DisplayName("Query for records for tx with receipt in UNKNOWN state returns EMPTY LIST")
         void queryForRecordsForUnknownTxn() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             dedupeCache.add(txId);
 
@@ -583,7 +588,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @Test
         @DisplayName("Query for records for tx by account ID with receipt in UNKNOWN state returns EMPTY LIST")
         void queryForRecordsByAccountForUnknownTxn() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             dedupeCache.add(txId);
 
@@ -595,7 +600,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for record for a txn with a proper record")
         void queryForRecordForTxnWithRecord(@NonNull final ResponseCodeEnum status) {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(status).build();
@@ -616,7 +621,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for records for a txn with a proper record")
         void queryForRecordsForTxnWithRecord(@NonNull final ResponseCodeEnum status) {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(status).build();
@@ -635,7 +640,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @Test
         void unclassifiableStatusIsNotPriority() {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var unclassifiableReceipt =
@@ -675,7 +680,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Query for records for an account ID with a proper record")
         void queryForRecordsForAccountIdWithRecord(@NonNull final ResponseCodeEnum status) {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(status).build();
@@ -691,6 +696,44 @@ final class RecordCacheImplTest extends AppTestBase {
             assertThat(cache.getRecords(PAYER_ACCOUNT_ID)).containsExactly(record);
         }
 
+        @Test
+        @DisplayName("Expired records are no longer returned for an account ID")
+        void queryForRecordsForAccountIdAfterExpiry() {
+            // Given a record for a transaction whose valid start is long before the next consensus time
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
+            final var now = Instant.now();
+            final var oldTxId = transactionID()
+                    .copyBuilder()
+                    .transactionValidStart(asTimestamp(now.minusSeconds(300)))
+                    .build();
+            final var oldRecord = TransactionRecord.newBuilder()
+                    .transactionID(oldTxId)
+                    .consensusTimestamp(asTimestamp(now.minusSeconds(299)))
+                    .receipt(TransactionReceipt.newBuilder().status(SUCCESS))
+                    .build();
+            cache.add(
+                    0,
+                    PAYER_ACCOUNT_ID,
+                    List.of(new SingleTransactionRecord(
+                            simpleCryptoTransfer(oldTxId), oldRecord, List.of(), SIMPLE_OUTPUT)));
+
+            // When a record for a newer transaction of the same payer is added
+            final var txId = transactionID();
+            final var record = TransactionRecord.newBuilder()
+                    .transactionID(txId)
+                    .consensusTimestamp(asTimestamp(now.plusSeconds(2)))
+                    .receipt(TransactionReceipt.newBuilder().status(SUCCESS))
+                    .build();
+            cache.add(
+                    0,
+                    PAYER_ACCOUNT_ID,
+                    List.of(new SingleTransactionRecord(simpleCryptoTransfer(txId), record, List.of(), SIMPLE_OUTPUT)));
+
+            // Then only the newer record is returned for the payer
+            assertThat(cache.getRecords(PAYER_ACCOUNT_ID)).containsExactly(record);
+            assertThat(cache.getHistory(oldTxId)).isNull();
+        }
+
         static Stream<Arguments> receiptStatusCodes() {
             final var allValues = new HashSet<>(Arrays.asList(ResponseCodeEnum.values()));
             allValues.remove(UNKNOWN);
@@ -706,14 +749,14 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Null args to hasDuplicate throw NPE")
         @SuppressWarnings("DataFlowIssue")
         void duplicateCheckWithIllegalParameters() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             assertThatThrownBy(() -> cache.hasDuplicate(null, 1L)).isInstanceOf(NullPointerException.class);
         }
 
         @Test
         @DisplayName("Check duplicate for unknown txn returns NO_DUPLICATE")
         void duplicateCheckForUnknownTxn() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var missingTxId = transactionID();
 
             assertThat(cache.hasDuplicate(missingTxId, 1L)).isEqualTo(NO_DUPLICATE);
@@ -722,7 +765,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @Test
         @DisplayName("Check duplicate for tx with receipt in UNKNOWN state returns NO_DUPLICATE")
         void duplicateCheckForUnknownState() {
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             dedupeCache.add(txId);
 
@@ -733,7 +776,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Check duplicate for txn with a proper record from other node")
         void duplicateCheckForTxnFromOtherNode() {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(OK).build();
@@ -753,7 +796,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Check duplicate for txn with a proper record from same node")
         void duplicateCheckForTxnFromSameNode() {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(OK).build();
@@ -773,7 +816,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Check duplicate for txn with a proper record from several other nodes")
         void duplicateCheckForTxnFromMultipleOtherNodes() {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(OK).build();
@@ -796,7 +839,7 @@ final class RecordCacheImplTest extends AppTestBase {
         @DisplayName("Check duplicate for txn with a proper record from several nodes including the current")
         void duplicateCheckForTxnFromMultipleNodesIncludingCurrent(final long currentNodeId) {
             // Given a transaction known to the de-duplication cache but not the record cache
-            final var cache = new RecordCacheImpl(dedupeCache, wsa, props);
+            final var cache = new RecordCacheImpl(dedupeCache, wsa, props, metrics);
             final var txId = transactionID();
             final var tx = simpleCryptoTransfer(txId);
             final var receipt = TransactionReceipt.newBuilder().status(OK).build();
@@ -16,9 +16,14 @@
 
 package com.hedera.node.app.throttle;
 
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -26,7 +31,11 @@ import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.transaction.Query;
 import com.hedera.node.app.state.HederaState;
+import com.hedera.node.app.utils.TestUtils;
 import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import java.time.Instant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -74,4 +83,61 @@ class SynchronizedThrottleAccumulatorTest {
         verify(throttleAccumulator, times(1))
                 .shouldThrottle(eq(HederaFunctionality.CONTRACT_CREATE), any(), eq(query), eq(accountID));
     }
+
+    @Test
+    void lockFreeThrottleIsCalledWithoutSynchronization() {
+        // given
+        final var state = mock(HederaState.class);
+        given(throttleAccumulator.isLockFree()).willReturn(true);
+
+        // when
+        subject.shouldThrottle(transactionInfo, state);
+
+        // then
+        verify(throttleAccumulator).shouldThrottleLockFree(eq(transactionInfo), any(), eq(state), eq(100));
+        verify(throttleAccumulator, never()).shouldThrottle(any(TransactionInfo.class), any(), any());
+    }
+
+    @Test
+    void adaptiveCapacityShrinksWithTheLargestPressure() {
+        assertThat(SynchronizedThrottleAccumulator.adaptiveCapacityPercent(0, 0, 100, 1000, 25))
+                .isEqualTo(100);
+        assertThat(SynchronizedThrottleAccumulator.adaptiveCapacityPercent(100, 1000, 100, 1000, 25))
+                .isEqualTo(100);
+        assertThat(SynchronizedThrottleAccumulator.adaptiveCapacityPercent(200, 1000, 100, 1000, 25))
+                .isEqualTo(50);
+        assertThat(SynchronizedThrottleAccumulator.adaptiveCapacityPercent(100, 2500, 100, 1000, 25))
+                .isEqualTo(40);
+        assertThat(SynchronizedThrottleAccumulator.adaptiveCapacityPercent(10_000, 0, 100, 1000, 25))
+                .isEqualTo(25);
+    }
+
+    @Test
+    void adaptiveThrottleUsesLessCapacityWhenHandleLags() {
+        // given
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("hedera.ingestThrottle.adaptive.enabled", true)
+                .getOrCreateConfig();
+        final var metrics = TestUtils.metrics();
+        given(throttleAccumulator.isLockFree()).willReturn(true);
+        subject = new SynchronizedThrottleAccumulator(
+                throttleAccumulator, () -> new VersionedConfigImpl(config, 1), metrics);
+
+        // when
+        subject.updateCongestion(Instant.now().minusSeconds(60));
+
+        // then
+        assertThat(subject.capacityPercent()).isEqualTo(25);
+        assertThat(metrics.getMetric("app", "ingestThrottleCapacityPercent").get(VALUE))
+                .isEqualTo(25);
+        subject.shouldThrottle(HederaFunctionality.CRYPTO_GET_INFO, mock(Query.class), null);
+        verify(throttleAccumulator)
+                .shouldThrottleLockFree(eq(HederaFunctionality.CRYPTO_GET_INFO), any(), any(), any(), anyInt());
+
+        // and when handle caught up
+        subject.updateCongestion(Instant.now());
+
+        // then
+        assertThat(subject.capacityPercent()).isEqualTo(100);
+    }
 }
@@ -29,12 +29,14 @@ import static com.hedera.hapi.node.base.HederaFunctionality.SCHEDULE_SIGN;
 import static com.hedera.hapi.node.base.HederaFunctionality.TOKEN_BURN;
 import static com.hedera.hapi.node.base.HederaFunctionality.TOKEN_MINT;
 import static com.hedera.node.app.service.schedule.impl.ScheduleServiceImpl.SCHEDULES_BY_ID_KEY;
+import static com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType.BACKEND_THROTTLE;
 import static com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType.FRONTEND_THROTTLE;
 import static com.hedera.pbj.runtime.ProtoTestTools.getThreadLocalDataBuffer;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
@@ -219,6 +221,74 @@ class ThrottleAccumulatorTest {
         assertTrue(subject.shouldThrottle(NETWORK_GET_EXECUTION_TIME, TIME_INSTANT, query, queryPayerId));
     }
 
+    @Test
+    void lockFreeQueriesAreThrottledLikeSequentialOnes() throws IOException, ParseException {
+        // given
+        subject = new ThrottleAccumulator(
+                () -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, throttleMetrics, true);
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        given(configuration.getConfigData(AccountsConfig.class)).willReturn(accountsConfig);
+        given(accountsConfig.lastThrottleExempt()).willReturn(100L);
+
+        final var defs = getThrottleDefs("bootstrap/throttles.json");
+        subject.rebuildFor(defs);
+
+        // when
+        final var queryPayerId = AccountID.newBuilder().accountNum(1_234L).build();
+        final var noAns =
+                subject.shouldThrottleLockFree(CRYPTO_GET_ACCOUNT_BALANCE, TIME_INSTANT, query, queryPayerId, 100);
+        subject.shouldThrottleLockFree(GET_VERSION_INFO, TIME_INSTANT.plusNanos(1), query, queryPayerId, 100);
+        final var yesAns = subject.shouldThrottleLockFree(
+                GET_VERSION_INFO, TIME_INSTANT.plusNanos(2), query, queryPayerId, 100);
+        final var unknownAns = subject.shouldThrottleLockFree(
+                NETWORK_GET_EXECUTION_TIME, TIME_INSTANT.plusNanos(3), query, queryPayerId, 100);
+
+        // then
+        assertTrue(subject.isLockFree());
+        assertFalse(noAns);
+        assertTrue(yesAns);
+        assertTrue(unknownAns);
+        // the deterministic buckets are not used in lock-free mode
+        assertEquals(0L, subject.activeThrottlesFor(CRYPTO_GET_ACCOUNT_BALANCE).get(0).used());
+    }
+
+    @Test
+    void lockFreeCapacityCanBeLeaked() throws IOException, ParseException {
+        // given
+        subject = new ThrottleAccumulator(
+                () -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, throttleMetrics, true);
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        given(configuration.getConfigData(AccountsConfig.class)).willReturn(accountsConfig);
+        given(accountsConfig.lastThrottleExempt()).willReturn(100L);
+        subject.rebuildFor(getThrottleDefs("bootstrap/throttles.json"));
+        final var queryPayerId = AccountID.newBuilder().accountNum(1_234L).build();
+        assertFalse(subject.shouldThrottleLockFree(GET_VERSION_INFO, TIME_INSTANT, query, queryPayerId, 100));
+        assertFalse(subject.shouldThrottleLockFree(GET_VERSION_INFO, TIME_INSTANT, query, queryPayerId, 100));
+        assertTrue(subject.shouldThrottleLockFree(GET_VERSION_INFO, TIME_INSTANT, query, queryPayerId, 100));
+        // with half of the capacity, the bucket is already full
+        subject.leakCapacityForNOfUnscaled(1, GET_VERSION_INFO);
+        assertTrue(subject.shouldThrottleLockFree(GET_VERSION_INFO, TIME_INSTANT, query, queryPayerId, 50));
+
+        // when
+        subject.leakCapacityForNOfUnscaled(1, GET_VERSION_INFO);
+
+        // then
+        assertFalse(subject.shouldThrottleLockFree(GET_VERSION_INFO, TIME_INSTANT, query, queryPayerId, 100));
+    }
+
+    @Test
+    void onlyFrontendThrottleCanBeLockFree() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ThrottleAccumulator(
+                        () -> CAPACITY_SPLIT, configProvider, BACKEND_THROTTLE, throttleMetrics, true));
+        subject = new ThrottleAccumulator(() -> CAPACITY_SPLIT, configProvider, FRONTEND_THROTTLE, throttleMetrics);
+        final var queryPayerId = AccountID.newBuilder().accountNum(1_234L).build();
+        assertThrows(
+                IllegalStateException.class,
+                () -> subject.shouldThrottleLockFree(GET_VERSION_INFO, TIME_INSTANT, query, queryPayerId, 100));
+    }
+
     @ParameterizedTest
     @EnumSource
     void shouldThrottleByGasAndTotalAllowedGasPerSecNotSetOrZero(ThrottleAccumulator.ThrottleType throttleType) {
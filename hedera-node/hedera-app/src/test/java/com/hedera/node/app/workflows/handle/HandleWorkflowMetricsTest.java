@@ -56,7 +56,7 @@ class HandleWorkflowMetricsTest {
 
         // then
         final int transactionMetricsCount = (HederaFunctionality.values().length - 1) * 2;
-        assertThat(metrics.findMetricsByCategory("app")).hasSize(transactionMetricsCount + 1);
+        assertThat(metrics.findMetricsByCategory("app")).hasSize(transactionMetricsCount + 4);
     }
 
     @Test
@@ -130,6 +130,33 @@ class HandleWorkflowMetricsTest {
                 .isEqualTo(7);
     }
 
+    @Test
+    void testUpdateFeeCalculationDuration() {
+        // given
+        final var handleWorkflowMetrics = new HandleWorkflowMetrics(metrics, configProvider);
+
+        // when
+        handleWorkflowMetrics.updateFeeCalculationDuration(10);
+        handleWorkflowMetrics.updateFeeCalculationDuration(20);
+
+        // then
+        assertThat(metrics.getMetric("app", "feeCalculationDurationAvg").get(VALUE))
+                .isEqualTo(15);
+    }
+
+    @Test
+    void testUpdateFeeCalculationDurationLongerThanIntRange() {
+        // given
+        final var handleWorkflowMetrics = new HandleWorkflowMetrics(metrics, configProvider);
+
+        // when
+        handleWorkflowMetrics.updateFeeCalculationDuration(3_000_000_000L);
+
+        // then
+        assertThat(metrics.getMetric("app", "feeCalculationDurationAvg").get(VALUE))
+                .isEqualTo(Integer.MAX_VALUE);
+    }
+
     @Test
     void testInitialStartConsensusRound() {
         // given
@@ -170,4 +197,17 @@ class HandleWorkflowMetricsTest {
         assertThat((Double) metrics.getMetric("app", "gasPerConsSec").get(VALUE))
                 .isGreaterThan(0.0);
     }
+
+    @Test
+    void testUpdatePreHandleResultReady() {
+        // given
+        final var handleWorkflowMetrics = new HandleWorkflowMetrics(metrics, configProvider);
+
+        // when
+        handleWorkflowMetrics.updatePreHandleResultReady(true);
+
+        // then
+        assertThat((Double) metrics.getMetric("app", "preHandleReadyPercent").get(VALUE))
+                .isGreaterThan(0.0);
+    }
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.optimistic;
+
+import static com.hedera.node.app.workflows.prehandle.PreHandleResult.Status.SO_FAR_SO_GOOD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.when;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Key;
+import com.hedera.hapi.node.base.ResponseCodeEnum;
+import com.hedera.hapi.node.base.TokenAssociation;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.base.TokenTransferList;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.transaction.AssessedCustomFee;
+import com.hedera.node.app.service.token.records.CryptoTransferRecordBuilder;
+import com.hedera.node.app.spi.fixtures.state.MapWritableKVState;
+import com.hedera.node.app.spi.fixtures.state.MapWritableStates;
+import com.hedera.node.app.spi.fixtures.state.StateTestBase;
+import com.hedera.node.app.spi.state.WritableKVState;
+import com.hedera.node.app.spi.state.WritableSingletonStateBase;
+import com.hedera.node.app.state.HederaState;
+import com.hedera.node.app.workflows.handle.record.SingleTransactionRecordBuilderImpl;
+import com.hedera.node.app.workflows.handle.stack.SavepointStackImpl;
+import com.hedera.node.app.workflows.prehandle.PreHandleResult;
+import com.swirlds.config.api.Configuration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SpeculativeDispatchTest extends StateTestBase {
+    private static final String FOOD_SERVICE = "FOOD_SERVICE";
+    private static final Instant NOW = Instant.ofEpochSecond(1_234_567L);
+    private static final AccountID PAYER = AccountID.newBuilder().accountNum(1001L).build();
+    private static final AccountID RECEIVER = AccountID.newBuilder().accountNum(1002L).build();
+    private static final TokenID TOKEN = TokenID.newBuilder().tokenNum(666L).build();
+    private static final TokenAssociation ASSOCIATION =
+            TokenAssociation.newBuilder().tokenId(TOKEN).accountId(PAYER).build();
+    private static final PreHandleResult PRE_HANDLE_RESULT = new PreHandleResult(
+            AccountID.newBuilder().accountNum(1001L).build(),
+            Key.DEFAULT,
+            SO_FAR_SO_GOOD,
+            ResponseCodeEnum.OK,
+            null,
+            null,
+            null,
+            null,
+            new HashMap<>(),
+            null,
+            1L);
+
+    @Mock(strictness = LENIENT)
+    private HederaState baseState;
+
+    @Mock
+    private Configuration configuration;
+
+    private SavepointStackImpl speculativeStack;
+
+    @BeforeEach
+    void setUp() {
+        final var baseKVState =
+                new MapWritableKVState<>(FRUIT_STATE_KEY, new HashMap<>(Map.of(A_KEY, APPLE, B_KEY, BANANA)));
+        final var writableStates = MapWritableStates.builder()
+                .state(baseKVState)
+                .state(new WritableSingletonStateBase<>(STEAM_STATE_KEY, () -> BLASTOFF, steam -> {}))
+                .build();
+        when(baseState.getWritableStates(FOOD_SERVICE)).thenReturn(writableStates);
+        when(baseState.getReadableStates(FOOD_SERVICE)).thenReturn(writableStates);
+        speculativeStack = new SavepointStackImpl(new SpeculativeStateView(baseState));
+    }
+
+    @Test
+    void replaysWritesInFirstWriteOrderIfNothingReadChanged() {
+        final var speculation = speculateEatingBanana();
+        final var stack = new SavepointStackImpl(baseState);
+        final var recordBuilder = newRecordBuilder();
+
+        assertThat(speculation.tryApply(PRE_HANDLE_RESULT, configuration, stack, recordBuilder))
+                .isTrue();
+
+        final WritableKVState<String, String> fruit = fruitIn(stack);
+        assertThat(fruit.modifiedKeys()).containsExactly(C_KEY, B_KEY);
+        assertThat(fruit.get(C_KEY)).isEqualTo(CHERRY);
+        assertThat(fruit.get(B_KEY)).isNull();
+        assertThat(recordBuilder.getAutomaticTokenAssociations()).containsExactly(ASSOCIATION);
+    }
+
+    @Test
+    void changesNothingIfAValueReadChanged() {
+        final var speculation = speculateEatingBanana();
+        final var stack = new SavepointStackImpl(baseState);
+        final WritableKVState<String, String> fruit = fruitIn(stack);
+        fruit.put(A_KEY, ACAI);
+        final var recordBuilder = newRecordBuilder();
+
+        assertThat(speculation.tryApply(PRE_HANDLE_RESULT, configuration, stack, recordBuilder))
+                .isFalse();
+
+        assertThat(fruit.modifiedKeys()).containsExactly(A_KEY);
+        assertThat(recordBuilder.getAutomaticTokenAssociations()).isEmpty();
+    }
+
+    @Test
+    void changesNothingIfAKeyReadAsMissingNowExists() {
+        final var speculation = speculateEatingBanana();
+        final var stack = new SavepointStackImpl(baseState);
+        fruitIn(stack).put(D_KEY, DATE);
+
+        assertThat(speculation.tryApply(
+                        PRE_HANDLE_RESULT, configuration, stack, newRecordBuilder()))
+                .isFalse();
+    }
+
+    @Test
+    void changesNothingIfVerificationResultsWereRecomputed() {
+        final var speculation = speculateEatingBanana();
+        final var recomputed = new PreHandleResult(
+                PRE_HANDLE_RESULT.payer(),
+                PRE_HANDLE_RESULT.payerKey(),
+                SO_FAR_SO_GOOD,
+                ResponseCodeEnum.OK,
+                null,
+                null,
+                null,
+                null,
+                new HashMap<>(),
+                null,
+                1L);
+
+        assertThat(speculation.tryApply(
+                        recomputed,
+                        configuration,
+                        new SavepointStackImpl(baseState),
+                        newRecordBuilder()))
+                .isFalse();
+    }
+
+    @Test
+    void replayedRecordIsTheDispatchedRecord() {
+        final var dispatchedRecordBuilder = newRecordBuilder();
+        transfer(dispatchedRecordBuilder);
+
+        final var savepoint = speculativeStack.peek();
+        savepoint.trackAccesses();
+        final var recordChanges = new SpeculativeRecordBuilder(newRecordBuilder());
+        transfer(recordChanges);
+        final var speculation = SpeculativeDispatch.capture(PRE_HANDLE_RESULT, configuration, savepoint, recordChanges);
+        assertThat(speculation).isNotNull();
+        final var replayedRecordBuilder = newRecordBuilder();
+
+        assertThat(speculation.tryApply(
+                        PRE_HANDLE_RESULT, configuration, new SavepointStackImpl(baseState), replayedRecordBuilder))
+                .isTrue();
+
+        assertThat(replayedRecordBuilder.build()).isEqualTo(dispatchedRecordBuilder.build());
+    }
+
+    @Test
+    void cannotCaptureUntrackedAccesses() {
+        final var savepoint = speculativeStack.peek();
+        savepoint.trackAccesses();
+        savepoint.getWritableStates(FOOD_SERVICE).getSingleton(STEAM_STATE_KEY).get();
+
+        assertThat(SpeculativeDispatch.capture(
+                        PRE_HANDLE_RESULT, configuration, savepoint, new SpeculativeRecordBuilder(newRecordBuilder())))
+                .isNull();
+    }
+
+    @Test
+    void viewKeepsTheValuesItReadButIsNeverWritten() {
+        final WritableKVState<String, String> fruit = fruitIn(speculativeStack);
+        assertThat(fruit.get(A_KEY)).isEqualTo(APPLE);
+        fruitIn(baseState).put(A_KEY, ACAI);
+
+        assertThat(fruit.get(A_KEY)).isEqualTo(APPLE);
+        assertThat(fruit.getOriginalValue(A_KEY)).isEqualTo(APPLE);
+        assertThat(speculativeStack
+                        .getWritableStates(FOOD_SERVICE)
+                        .getSingleton(STEAM_STATE_KEY)
+                        .get())
+                .isEqualTo(BLASTOFF);
+        fruit.put(C_KEY, CHERRY);
+        assertThatThrownBy(speculativeStack::commitFullStack).isInstanceOf(IllegalStateException.class);
+    }
+
+    private SpeculativeDispatch speculateEatingBanana() {
+        final var savepoint = speculativeStack.peek();
+        savepoint.trackAccesses();
+        final WritableKVState<String, String> fruit = fruitIn(speculativeStack);
+        assertThat(fruit.get(A_KEY)).isEqualTo(APPLE);
+        assertThat(fruit.get(D_KEY)).isNull();
+        fruit.put(C_KEY, CHERRY);
+        assertThat(fruit.getForModify(B_KEY)).isEqualTo(BANANA);
+        fruit.remove(B_KEY);
+        final var recordChanges = new SpeculativeRecordBuilder(newRecordBuilder());
+        recordChanges.addAutomaticTokenAssociation(ASSOCIATION);
+        final var speculation = SpeculativeDispatch.capture(PRE_HANDLE_RESULT, configuration, savepoint, recordChanges);
+        assertThat(speculation).isNotNull();
+        return speculation;
+    }
+
+    private static void transfer(final CryptoTransferRecordBuilder recordBuilder) {
+        final var assessedCustomFees = new ArrayList<AssessedCustomFee>();
+        recordBuilder
+                .transferList(TransferList.newBuilder()
+                        .accountAmounts(
+                                AccountAmount.newBuilder()
+                                        .accountID(PAYER)
+                                        .amount(-10L)
+                                        .build(),
+                                AccountAmount.newBuilder()
+                                        .accountID(RECEIVER)
+                                        .amount(10L)
+                                        .build())
+                        .build())
+                .tokenTransferLists(List.of(
+                        TokenTransferList.newBuilder().token(TOKEN).build()))
+                .assessedCustomFees(assessedCustomFees)
+                .paidStakingRewards(List.of(
+                        AccountAmount.newBuilder().accountID(RECEIVER).amount(1L).build()))
+                .addAutomaticTokenAssociation(ASSOCIATION);
+        // A handler may still add to a list it already gave the record builder
+        assessedCustomFees.add(AssessedCustomFee.newBuilder()
+                .tokenId(TOKEN)
+                .amount(2L)
+                .feeCollectorAccountId(RECEIVER)
+                .build());
+        recordBuilder.status(ResponseCodeEnum.SUCCESS);
+    }
+
+    private static SingleTransactionRecordBuilderImpl newRecordBuilder() {
+        return new SingleTransactionRecordBuilderImpl(NOW)
+                .transactionID(TransactionID.newBuilder().accountID(PAYER).build());
+    }
+
+    private static WritableKVState<String, String> fruitIn(final HederaState state) {
+        return state.getWritableStates(FOOD_SERVICE).get(FRUIT_STATE_KEY);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.handle.optimistic;
+
+import static com.hedera.hapi.node.base.HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE;
+import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_CREATE;
+import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_TRANSFER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.NftTransfer;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.base.TokenTransferList;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.service.token.ReadableAccountStore;
+import com.hedera.node.app.service.token.records.CryptoCreateRecordBuilder;
+import com.hedera.node.app.service.token.records.CryptoTransferRecordBuilder;
+import com.hedera.node.app.spi.workflows.HandleContext;
+import com.hedera.node.app.workflows.handle.record.SingleTransactionRecordBuilderImpl;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SpeculativeHandleContextTest {
+    private static final Instant NOW = Instant.ofEpochSecond(1_234_567L);
+    private static final AccountID SENDER = AccountID.newBuilder().accountNum(1001L).build();
+    private static final AccountID RECEIVER = AccountID.newBuilder().accountNum(1002L).build();
+    private static final AccountID ALIASED_RECEIVER =
+            AccountID.newBuilder().alias(Bytes.wrap(new byte[20])).build();
+    private static final TokenID NFT = TokenID.newBuilder().tokenNum(666L).build();
+
+    @Mock
+    private HandleContext delegate;
+
+    @Mock
+    private ReadableAccountStore accountStore;
+
+    private SpeculativeHandleContext subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = new SpeculativeHandleContext(delegate, new SingleTransactionRecordBuilderImpl(NOW));
+    }
+
+    @Test
+    void forwardsMethodsThatOnlyDependOnTrackedState() {
+        given(delegate.body()).willReturn(TransactionBody.DEFAULT);
+        given(delegate.readableStore(ReadableAccountStore.class)).willReturn(accountStore);
+
+        assertThat(subject.body()).isSameAs(TransactionBody.DEFAULT);
+        assertThat(subject.readableStore(ReadableAccountStore.class)).isSameAs(accountStore);
+        assertThat(subject.isSpeculable()).isTrue();
+    }
+
+    @Test
+    void givesHandlersTheSpeculativeRecordBuilder() {
+        assertThat(subject.recordBuilder(CryptoTransferRecordBuilder.class))
+                .isSameAs(subject.speculativeRecordBuilder());
+
+        assertThat(subject.isSpeculable()).isTrue();
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void otherMethodsMakeDispatchNotSpeculableWithoutThrowing() {
+        given(delegate.newEntityNum()).willReturn(1003L);
+        given(delegate.consensusNow()).willReturn(NOW);
+
+        assertThat(subject.newEntityNum()).isEqualTo(1003L);
+        assertThat(subject.dispatchRemovablePrecedingTransaction(
+                        TransactionBody.DEFAULT, CryptoCreateRecordBuilder.class, null, SENDER))
+                .isNotNull();
+        assertThat(subject.shouldThrottleNOfUnscaled(1, CRYPTO_CREATE)).isTrue();
+        assertThat(subject.hasThrottleCapacityForChildTransactions()).isFalse();
+
+        assertThat(subject.isSpeculable()).isFalse();
+        verify(delegate, never())
+                .dispatchRemovablePrecedingTransaction(
+                        TransactionBody.DEFAULT, CryptoCreateRecordBuilder.class, null, SENDER);
+        verify(delegate, never()).shouldThrottleNOfUnscaled(1, CRYPTO_CREATE);
+    }
+
+    @Test
+    void canDispatchOnlyCryptoTransfersBetweenNumberedAccounts() {
+        assertThat(SpeculativeHandleContext.canDispatch(CRYPTO_TRANSFER, hbarTransferTo(RECEIVER)))
+                .isTrue();
+        assertThat(SpeculativeHandleContext.canDispatch(CRYPTO_TRANSFER, nftTransferTo(RECEIVER)))
+                .isTrue();
+        assertThat(SpeculativeHandleContext.canDispatch(CONSENSUS_SUBMIT_MESSAGE, TransactionBody.DEFAULT))
+                .isFalse();
+        assertThat(SpeculativeHandleContext.canDispatch(CRYPTO_TRANSFER, hbarTransferTo(ALIASED_RECEIVER)))
+                .isFalse();
+        assertThat(SpeculativeHandleContext.canDispatch(CRYPTO_TRANSFER, nftTransferTo(ALIASED_RECEIVER)))
+                .isFalse();
+    }
+
+    private static TransactionBody hbarTransferTo(final AccountID receiver) {
+        return TransactionBody.newBuilder()
+                .cryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+                        .transfers(TransferList.newBuilder()
+                                .accountAmounts(
+                                        AccountAmount.newBuilder()
+                                                .accountID(SENDER)
+                                                .amount(-1L)
+                                                .build(),
+                                        AccountAmount.newBuilder()
+                                                .accountID(receiver)
+                                                .amount(1L)
+                                                .build())
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private static TransactionBody nftTransferTo(final AccountID receiver) {
+        return TransactionBody.newBuilder()
+                .cryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+                        .tokenTransfers(TokenTransferList.newBuilder()
+                                .token(NFT)
+                                .nftTransfers(NftTransfer.newBuilder()
+                                        .senderAccountID(SENDER)
+                                        .receiverAccountID(receiver)
+                                        .serialNumber(1L)
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+    }
+}
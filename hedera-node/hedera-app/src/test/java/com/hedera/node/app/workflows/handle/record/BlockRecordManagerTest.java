@@ -171,7 +171,9 @@ final class BlockRecordManagerTest extends AppTestBase {
                         app.networkInfo().selfNodeInfo(),
                         blockRecordFormat,
                         blockRecordWriterFactory,
-                        ForkJoinPool.commonPool())
+                        ForkJoinPool.commonPool(),
+                        app.configProvider(),
+                        metrics)
                 : new StreamFileProducerSingleThreaded(
                         app.networkInfo().selfNodeInfo(), blockRecordFormat, blockRecordWriterFactory);
         Bytes finalRunningHash;
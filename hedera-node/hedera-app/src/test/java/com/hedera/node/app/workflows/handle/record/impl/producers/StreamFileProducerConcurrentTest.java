@@ -16,15 +16,74 @@
 
 package com.hedera.node.app.records.impl.producers;
 
+import static com.hedera.node.app.records.RecordTestData.STARTING_RUNNING_HASH_OBJ;
+import static com.hedera.node.app.records.RecordTestData.TEST_BLOCKS;
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.hedera.hapi.node.state.blockrecords.RunningHashes;
 import com.hedera.node.app.records.impl.BlockRecordStreamProducer;
 import com.hedera.node.app.records.impl.producers.formats.v6.BlockRecordFormatV6;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 
 final class StreamFileProducerConcurrentTest extends StreamFileProducerTest {
     @Override
     BlockRecordStreamProducer createStreamProducer(@NonNull final BlockRecordWriterFactory factory) {
         return new StreamFileProducerConcurrent(
-                selfNodeInfo, BlockRecordFormatV6.INSTANCE, factory, ForkJoinPool.commonPool());
+                selfNodeInfo,
+                BlockRecordFormatV6.INSTANCE,
+                factory,
+                ForkJoinPool.commonPool(),
+                () -> new VersionedConfigImpl(HederaTestConfigBuilder.createConfig(), 1),
+                metrics);
+    }
+
+    @Test
+    @DisplayName("Writing does not block while the pipeline is over capacity")
+    void doesNotBlockWhilePipelineIsOverCapacity() throws InterruptedException {
+        final var writing = new CountDownLatch(1);
+        final var mayWrite = new CountDownLatch(1);
+        final var writer = mock(BlockRecordWriter.class);
+        willAnswer(invocation -> {
+                    writing.countDown();
+                    mayWrite.await();
+                    return null;
+                })
+                .given(writer)
+                .writeItem(any());
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("hedera.recordStream.queueCapacity", 1)
+                .getOrCreateConfig();
+        final var subject = new StreamFileProducerConcurrent(
+                selfNodeInfo,
+                BlockRecordFormatV6.INSTANCE,
+                () -> writer,
+                ForkJoinPool.commonPool(),
+                () -> new VersionedConfigImpl(config, 1),
+                metrics);
+        subject.initRunningHash(new RunningHashes(STARTING_RUNNING_HASH_OBJ.hash(), null, null, null));
+        subject.switchBlocks(0, 1, Instant.EPOCH);
+        final var records = TEST_BLOCKS.get(0);
+
+        subject.writeRecordStreamItems(records.stream());
+        assertThat(writing.await(5, SECONDS)).isTrue();
+        subject.writeRecordStreamItems(records.stream());
+
+        assertThat(metrics.getMetric("app", "recordStreamPipelineDepth").get(VALUE)).isEqualTo(2);
+        assertThat(metrics.getMetric("app", "recordStreamPipelineOverCapacity").get(VALUE)).isEqualTo(1L);
+
+        mayWrite.countDown();
+        subject.close();
     }
 }
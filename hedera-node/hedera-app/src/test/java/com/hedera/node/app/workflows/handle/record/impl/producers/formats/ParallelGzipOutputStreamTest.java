@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2023-2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.records.impl.producers.formats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class ParallelGzipOutputStreamTest {
+    private static final int BLOCK_SIZE = 32 * 1024;
+
+    @ParameterizedTest(name = "length={0}")
+    @ValueSource(ints = {0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, BLOCK_SIZE + 1, 10 * BLOCK_SIZE + 17})
+    void compressesToStandardGzip(final int length) throws IOException {
+        final var data = compressibleBytes(length);
+        final var compressed = new ByteArrayOutputStream();
+
+        final var subject = newSubject(compressed, 2);
+        // Write in odd-sized chunks so writes straddle block boundaries
+        for (int off = 0; off < length; off += 1000) {
+            subject.write(data, off, Math.min(1000, length - off));
+        }
+        subject.close();
+
+        assertThat(gunzip(compressed.toByteArray())).isEqualTo(data);
+        assertThat(subject.uncompressedBytes()).isEqualTo(length);
+        assertThat(subject.compressedBytes()).isEqualTo(compressed.size());
+    }
+
+    @Test
+    void ratioIsCloseToThatOfASingleDeflater() throws IOException {
+        final var data = compressibleBytes(20 * BLOCK_SIZE);
+        final var parallel = new ByteArrayOutputStream();
+        final var serial = new ByteArrayOutputStream();
+
+        try (final var out = newSubject(parallel, 4)) {
+            out.write(data);
+        }
+        try (final var out = new GzipOutputStream(serial, "serial", 6)) {
+            out.write(data);
+        }
+
+        assertThat(gunzip(parallel.toByteArray())).isEqualTo(data);
+        assertThat((double) parallel.size()).isLessThan(serial.size() * 1.05);
+    }
+
+    @Test
+    void cannotWriteOnceClosed() throws IOException {
+        final var subject = newSubject(new ByteArrayOutputStream(), 1);
+        subject.close();
+
+        assertThatThrownBy(() -> subject.write(1)).isInstanceOf(IOException.class);
+    }
+
+    private static ParallelGzipOutputStream newSubject(final ByteArrayOutputStream out, final int blocksInFlight)
+            throws IOException {
+        return new ParallelGzipOutputStream(out, "test", 6, BLOCK_SIZE, blocksInFlight, ForkJoinPool.commonPool());
+    }
+
+    private static byte[] compressibleBytes(final int length) {
+        // Random words from a small vocabulary, so there are matches both within and across blocks
+        final var random = new Random(length);
+        final var words = new String[] {"hedera ", "hashgraph ", "record ", "stream ", "sidecar ", "block "};
+        final var out = new ByteArrayOutputStream(length + 16);
+        while (out.size() < length) {
+            out.writeBytes(words[random.nextInt(words.length)].getBytes());
+        }
+        final var bytes = out.toByteArray();
+        final var data = new byte[length];
+        System.arraycopy(bytes, 0, data, 0, length);
+        return data;
+    }
+
+    private static byte[] gunzip(final byte[] compressed) throws IOException {
+        try (final var in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
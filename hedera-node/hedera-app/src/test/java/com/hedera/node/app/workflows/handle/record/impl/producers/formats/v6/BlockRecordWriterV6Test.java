@@ -418,6 +418,39 @@ final class BlockRecordWriterV6Test extends AppTestBase {
             assertThat(Files.size(sidecar2Path)).isLessThanOrEqualTo(1024 * 1024);
         }
 
+        @Test
+        @DisplayName("Files compressed in parallel are standard gzip files")
+        void parallelGzipFilesAreStandardGzipFiles() throws Exception {
+            appBuilder
+                    .withConfigValue("hedera.recordStream.compression", "PARALLEL_GZIP")
+                    .withConfigValue("hedera.recordStream.compressionBlockSizeKb", 32);
+            createApp(true);
+
+            final var singleTransactionRecords = TEST_BLOCKS.get(2);
+            writer.init(hapiVersion, STARTING_RUNNING_HASH_OBJ, consensusTime, blockNumber);
+            var previousHash = STARTING_RUNNING_HASH_OBJ.hash();
+            for (final var rec : singleTransactionRecords) {
+                final var serializedRec = BlockRecordFormatV6.INSTANCE.serialize(rec, blockNumber, hapiVersion);
+                previousHash = BlockRecordFormatV6.INSTANCE.computeNewRunningHash(previousHash, List.of(serializedRec));
+                writer.writeItem(serializedRec);
+            }
+            final var endRunningHash = new HashObject(HashAlgorithm.SHA_384, (int) previousHash.length(), previousHash);
+            writer.close(endRunningHash);
+
+            final var readRecordStreamFile =
+                    com.hedera.node.app.records.impl.producers.formats.v6.BlockRecordReaderV6.read(recordPath);
+            assertThat(readRecordStreamFile.recordStreamItems()).hasSize(singleTransactionRecords.size());
+            assertThat(readRecordStreamFile.endObjectRunningHash()).isEqualTo(endRunningHash);
+            com.hedera.node.app.records.impl.producers.formats.v6.BlockRecordReaderV6.validateHashes(
+                    readRecordStreamFile);
+            // The block has about 2MB of sidecar data, so spans many compressed blocks
+            final var sidecarPath =
+                    recordPath.getParent().resolve("sidecar/2018-08-24T16_25_42.000000890Z_01.rcd.gz");
+            try (final var in = new GZIPInputStream(Files.newInputStream(sidecarPath))) {
+                assertThat(in.readAllBytes().length).isGreaterThan(2_000_000);
+            }
+        }
+
         @Test
         @DisplayName("Cannot write to record file leads to major error")
         void cannotWriteToRecordFile() throws IOException {
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.workflows.prehandle;
+
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.node.app.utils.TestUtils;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PreHandleSchedulerTest {
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void invalidArgumentsThrow() {
+        assertThatThrownBy(() -> new PreHandleScheduler(-1)).isInstanceOf(IllegalArgumentException.class);
+        final var scheduler = new PreHandleScheduler(0);
+        assertThatThrownBy(() -> scheduler.execute(null, List.of())).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> scheduler.execute(Instant.EPOCH, null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("Without workers, all work is done in order by the calling thread")
+    void callerRunsAllWorkWithoutWorkers() {
+        final var scheduler = new PreHandleScheduler(0);
+        final var caller = Thread.currentThread();
+        final var order = new ArrayList<Integer>();
+        final List<Runnable> work = IntStream.range(0, 10)
+                .<Runnable>mapToObj(i -> () -> {
+                    assertThat(Thread.currentThread()).isSameAs(caller);
+                    order.add(i);
+                })
+                .toList();
+
+        scheduler.execute(Instant.EPOCH, work);
+
+        assertThat(order).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(scheduler.queueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("All work is done exactly once before execute returns")
+    void allWorkIsDoneBeforeReturn() throws InterruptedException {
+        try (final var scheduler = new PreHandleScheduler(4)) {
+            final var counter = new AtomicInteger();
+            final var submitters = new ArrayList<Thread>();
+            for (int event = 0; event < 8; event++) {
+                final var priority = Instant.EPOCH.plusSeconds(event);
+                submitters.add(Thread.startVirtualThread(() -> {
+                    final var done = new AtomicInteger();
+                    final List<Runnable> work = Collections.nCopies(500, () -> {
+                        counter.incrementAndGet();
+                        done.incrementAndGet();
+                    });
+                    scheduler.execute(priority, work);
+                    assertThat(done).hasValue(500);
+                }));
+            }
+            for (final var submitter : submitters) {
+                submitter.join();
+            }
+
+            assertThat(counter).hasValue(8 * 500);
+            assertThat(scheduler.queueDepth()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("The queue depth is registered as a metric")
+    void queueDepthMetric() {
+        final var metrics = TestUtils.metrics();
+        final ConfigProvider configProvider = () -> new VersionedConfigImpl(HederaTestConfigBuilder.createConfig(), 1);
+        try (final var ignored = new PreHandleScheduler(metrics, configProvider)) {
+            assertThat(metrics.getMetric("app", "preHandleQueueDepth").get(VALUE)).isEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("After closing, all work is done by the calling thread")
+    void callerRunsAllWorkAfterClose() {
+        final var scheduler = new PreHandleScheduler(2);
+        scheduler.close();
+        final var caller = Thread.currentThread();
+        final var order = new ArrayList<Integer>();
+        final List<Runnable> work = IntStream.range(0, 10)
+                .<Runnable>mapToObj(i -> () -> {
+                    assertThat(Thread.currentThread()).isSameAs(caller);
+                    order.add(i);
+                })
+                .toList();
+
+        scheduler.execute(Instant.EPOCH, work);
+
+        assertThat(order).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(scheduler.queueDepth()).isZero();
+    }
+}
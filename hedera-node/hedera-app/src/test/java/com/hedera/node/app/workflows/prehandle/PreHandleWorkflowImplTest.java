@@ -118,6 +118,9 @@ final class PreHandleWorkflowImplTest extends AppTestBase implements Scenarios {
     @Mock
     private DeduplicationCache deduplicationCache;
 
+    /** A scheduler without workers, so all transactions are pre-handled on the calling thread. */
+    private final PreHandleScheduler scheduler = new PreHandleScheduler(0);
+
     /** We use a real functional store factory with our standard test data set. Needed by the workflow. */
     private ReadableStoreFactory storeFactory;
 
@@ -153,7 +156,8 @@ final class PreHandleWorkflowImplTest extends AppTestBase implements Scenarios {
                 signatureVerifier,
                 signatureExpander,
                 configProvider,
-                deduplicationCache);
+                deduplicationCache,
+                scheduler);
     }
 
     /** Null arguments are not permitted to the constructor. */
@@ -167,22 +171,62 @@ final class PreHandleWorkflowImplTest extends AppTestBase implements Scenarios {
                         signatureVerifier,
                         signatureExpander,
                         configProvider,
-                        deduplicationCache))
+                        deduplicationCache,
+                        scheduler))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new PreHandleWorkflowImpl(
+                        dispatcher,
+                        null,
+                        signatureVerifier,
+                        signatureExpander,
+                        configProvider,
+                        deduplicationCache,
+                        scheduler))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new PreHandleWorkflowImpl(
-                        dispatcher, null, signatureVerifier, signatureExpander, configProvider, deduplicationCache))
+                        dispatcher,
+                        transactionChecker,
+                        null,
+                        signatureExpander,
+                        configProvider,
+                        deduplicationCache,
+                        scheduler))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new PreHandleWorkflowImpl(
-                        dispatcher, transactionChecker, null, signatureExpander, configProvider, deduplicationCache))
+                        dispatcher,
+                        transactionChecker,
+                        signatureVerifier,
+                        null,
+                        configProvider,
+                        deduplicationCache,
+                        scheduler))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new PreHandleWorkflowImpl(
-                        dispatcher, transactionChecker, signatureVerifier, null, configProvider, deduplicationCache))
+                        dispatcher,
+                        transactionChecker,
+                        signatureVerifier,
+                        signatureExpander,
+                        null,
+                        deduplicationCache,
+                        scheduler))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new PreHandleWorkflowImpl(
-                        dispatcher, transactionChecker, signatureVerifier, signatureExpander, null, deduplicationCache))
+                        dispatcher,
+                        transactionChecker,
+                        signatureVerifier,
+                        signatureExpander,
+                        configProvider,
+                        null,
+                        scheduler))
                 .isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> new PreHandleWorkflowImpl(
-                        dispatcher, transactionChecker, signatureVerifier, signatureExpander, configProvider, null))
+                        dispatcher,
+                        transactionChecker,
+                        signatureVerifier,
+                        signatureExpander,
+                        configProvider,
+                        deduplicationCache,
+                        null))
                 .isInstanceOf(NullPointerException.class);
     }
 
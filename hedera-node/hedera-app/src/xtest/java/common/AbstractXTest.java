@@ -420,7 +420,8 @@ public abstract class AbstractXTest {
                         TokenServiceImpl.TOKENS_KEY, initialTokens(),
                         TokenServiceImpl.TOKEN_RELS_KEY, initialTokenRelationships(),
                         TokenServiceImpl.ALIASES_KEY, initialAliases(),
-                        TokenServiceImpl.NFTS_KEY, initialNfts()));
+                        TokenServiceImpl.NFTS_KEY, initialNfts(),
+                        TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY, new HashMap<>()));
         fakeHederaState.addService(
                 FileServiceImpl.NAME, Map.of(FileServiceImpl.BLOBS_KEY, initialFilesWithExchangeRate()));
         fakeHederaState.addService(
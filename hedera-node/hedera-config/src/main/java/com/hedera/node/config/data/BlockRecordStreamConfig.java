@@ -18,6 +18,7 @@ package com.hedera.node.config.data;
 
 import com.hedera.node.config.NetworkProperty;
 import com.hedera.node.config.NodeProperty;
+import com.hedera.node.config.types.RecordFileCompression;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
 import com.swirlds.config.api.validation.annotation.Max;
@@ -30,11 +31,16 @@ import com.swirlds.config.api.validation.annotation.Min;
  * @param logDir directory for writing record files
  * @param sidecarDir directory for writing sidecar files, it is specified relative to logDir; blank==same dir
  * @param logPeriod the number of seconds in consensus time between writing record files
- * @param queueCapacity ?? the number of files to queue for writing before blocking
+ * @param queueCapacity the number of batches of records the concurrent producer queues for serializing, hashing
+ *                      and writing before raising an alarm
  * @param sidecarMaxSizeMb the maximum size of a sidecar file in MB before rolling over to a new file
  * @param recordFileVersion the format version number for record files
  * @param signatureFileVersion the format version number for signature files
  * @param compressFilesOnCreation when true record and sidecar files are compressed with GZip when created
+ * @param compression how record and sidecar files are compressed, when compressFilesOnCreation is true
+ * @param compressionLevel the deflate level used to compress record and sidecar files, from 1 (fastest) to 9 (smallest)
+ * @param compressionParallelism the number of blocks of a file compressed at once with PARALLEL_GZIP compression
+ * @param compressionBlockSizeKb the size in KB of the blocks a file is split into with PARALLEL_GZIP compression
  * @param numOfBlockHashesInState the number of block hashes to keep in state for block history
  * @param streamFileProducer the type of stream file producer to use. Currently only "concurrent" is supported
  */
@@ -50,6 +56,10 @@ public record BlockRecordStreamConfig(
         @ConfigProperty(defaultValue = "6") @Min(1) @NetworkProperty int signatureFileVersion,
         @ConfigProperty(defaultValue = "false") @NetworkProperty boolean logEveryTransaction,
         @ConfigProperty(defaultValue = "true") @NetworkProperty boolean compressFilesOnCreation, // NOT SURE
+        @ConfigProperty(defaultValue = "GZIP") @NodeProperty RecordFileCompression compression,
+        @ConfigProperty(defaultValue = "6") @Min(1) @Max(9) @NodeProperty int compressionLevel,
+        @ConfigProperty(defaultValue = "4") @Min(1) @NodeProperty int compressionParallelism,
+        @ConfigProperty(defaultValue = "128") @Min(32) @Max(8192) @NodeProperty int compressionBlockSizeKb,
         @ConfigProperty(defaultValue = "256") @Min(1) @Max(4096) @NetworkProperty int numOfBlockHashesInState,
         @ConfigProperty(defaultValue = "concurrent") @NetworkProperty
                 String streamFileProducer) {} // COULD BE NODE LOCAL PROPERTY OR NETWORK PROPERTY
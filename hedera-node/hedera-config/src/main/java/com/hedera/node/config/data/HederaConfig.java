@@ -21,6 +21,8 @@ import com.hedera.node.config.NodeProperty;
 import com.hedera.node.config.types.Profile;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.config.api.validation.annotation.Max;
+import com.swirlds.config.api.validation.annotation.Min;
 
 @ConfigData("hedera")
 public record HederaConfig(
@@ -53,8 +55,33 @@ public record HederaConfig(
         @ConfigProperty(value = "prefetch.threadPoolSize", defaultValue = "4") @NodeProperty int prefetchThreadPoolSize,
         @ConfigProperty(value = "prefetch.codeCacheTtlSecs", defaultValue = "600") @NodeProperty
                 int prefetchCodeCacheTtlSecs,
+        @ConfigProperty(value = "preHandle.threadPoolSize", defaultValue = "0") @NodeProperty
+                int preHandleThreadPoolSize,
+        @ConfigProperty(value = "ingestThrottle.lockFree", defaultValue = "false") @NodeProperty
+                boolean ingestThrottleLockFree,
+        @ConfigProperty(value = "ingestThrottle.adaptive.enabled", defaultValue = "false") @NodeProperty
+                boolean ingestThrottleAdaptiveEnabled,
+        @ConfigProperty(value = "ingestThrottle.adaptive.minCapacityPercent", defaultValue = "25")
+                @Min(1)
+                @Max(100)
+                @NodeProperty
+                int ingestThrottleAdaptiveMinCapacityPercent,
+        @ConfigProperty(value = "ingestThrottle.adaptive.poolDepthThreshold", defaultValue = "10000")
+                @Min(1)
+                @NodeProperty
+                int ingestThrottleAdaptivePoolDepthThreshold,
+        @ConfigProperty(value = "ingestThrottle.adaptive.handleLagThresholdMs", defaultValue = "5000")
+                @Min(1)
+                @NodeProperty
+                long ingestThrottleAdaptiveHandleLagThresholdMs,
         @ConfigProperty(value = "profiles.active", defaultValue = "PROD") @NodeProperty Profile activeProfile,
         @ConfigProperty(value = "workflow.verificationTimeoutMS", defaultValue = "20000") @NetworkProperty
                 long workflowVerificationTimeoutMS,
+        @ConfigProperty(value = "workflow.roundReadCache.maxEntries", defaultValue = "200000") @Min(0) @NodeProperty
+                int workflowRoundReadCacheMaxEntries,
+        @ConfigProperty(value = "workflow.optimisticExecution.enabled", defaultValue = "false") @NodeProperty
+                boolean workflowOptimisticExecutionEnabled,
+        @ConfigProperty(value = "workflow.optimisticExecution.threads", defaultValue = "0") @Min(0) @NodeProperty
+                int workflowOptimisticExecutionThreads,
         // FUTURE: Set<HederaFunctionality>.
         @ConfigProperty(value = "workflows.enabled", defaultValue = "true") @NetworkProperty String workflowsEnabled) {}
@@ -17,8 +17,12 @@
 package com.hedera.node.config.data;
 
 import com.hedera.node.config.NetworkProperty;
+import com.hedera.node.config.NodeProperty;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
 
 @ConfigData("sigs")
-public record SigsConfig(@ConfigProperty(defaultValue = "true") @NetworkProperty boolean expandFromImmutableState) {}
+public record SigsConfig(
+        @ConfigProperty(defaultValue = "true") @NetworkProperty boolean expandFromImmutableState,
+        @ConfigProperty(value = "verifiedCache.maxEntries", defaultValue = "100000") @NodeProperty
+                int verifiedCacheMaxEntries) {}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.config.types;
+
+/**
+ * Defines how record and sidecar files are compressed, when they are compressed at all. Both produce standard gzip
+ * files, readable by any gzip reader.
+ */
+public enum RecordFileCompression {
+    /** Compresses each file as a single deflate stream, on the thread writing the file. */
+    GZIP,
+    /**
+     * Splits each file into blocks and compresses many blocks at once, like {@code pigz}. Each block is primed with
+     * the end of the previous one, so the ratio is close to that of {@link #GZIP}.
+     */
+    PARALLEL_GZIP
+}
@@ -27,6 +27,7 @@ import static com.hedera.hapi.node.base.TokenKycStatus.GRANTED;
 import static com.hedera.hapi.node.base.TokenKycStatus.KYC_NOT_APPLICABLE;
 import static com.hedera.hapi.node.base.TokenKycStatus.REVOKED;
 import static com.hedera.node.app.spi.validation.Validations.mustExist;
+import static com.hedera.node.app.service.token.api.AccountSummariesApi.warmTokenRelationsOf;
 import static java.util.Objects.requireNonNull;
 
 import com.hedera.hapi.node.base.AccountID;
@@ -209,6 +210,7 @@ public class NetworkGetAccountDetailsHandler extends PaidQueryHandler {
         requireNonNull(tokenRelationStore);
         requireNonNull(readableTokenStore);
 
+        warmTokenRelationsOf(account, readableTokenStore, tokenRelationStore, maxRelsPerInfoQuery);
         final var ret = new ArrayList<TokenRelationship>();
         var tokenId = account.headTokenId();
         int count = 0;
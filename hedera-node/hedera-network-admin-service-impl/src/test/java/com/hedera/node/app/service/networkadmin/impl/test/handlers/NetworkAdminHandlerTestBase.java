@@ -46,6 +46,8 @@ import com.hedera.node.app.fixtures.state.FakeSchemaRegistry;
 import com.hedera.node.app.service.token.ReadableAccountStore;
 import com.hedera.node.app.service.token.ReadableTokenRelationStore;
 import com.hedera.node.app.service.token.ReadableTokenStore;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
 import com.hedera.node.app.service.token.impl.ReadableAccountStoreImpl;
 import com.hedera.node.app.service.token.impl.ReadableTokenRelationStoreImpl;
 import com.hedera.node.app.service.token.impl.ReadableTokenStoreImpl;
@@ -66,6 +68,7 @@ import com.hedera.node.config.data.HederaConfig;
 import com.hedera.node.config.data.LedgerConfig;
 import com.hedera.pbj.runtime.OneOf;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.common.metrics.noop.NoOpMetrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
@@ -78,6 +81,7 @@ public class NetworkAdminHandlerTestBase {
     public static final String ACCOUNTS = "ACCOUNTS";
     protected static final String TOKENS = "TOKENS";
     protected static final String TOKEN_RELS = "TOKEN_RELS";
+    protected static final String ACCOUNT_TOKEN_PAGES = "ACCOUNT_TOKEN_PAGES";
 
     private static final OneOf<Account.StakedIdOneOfType> UNSET_STAKED_ID =
             new OneOf<>(Account.StakedIdOneOfType.UNSET, null);
@@ -236,6 +240,9 @@ public class NetworkAdminHandlerTestBase {
                 .value(nonFungiblePair, nonFungibleTokenRelation)
                 .build();
         given(readableStates.<EntityIDPair, TokenRelation>get(TOKEN_RELS)).willReturn(readableTokenRelState);
+        given(readableStates.<AccountTokenPageId, AccountTokenPage>get(ACCOUNT_TOKEN_PAGES))
+                .willReturn(MapReadableKVState.<AccountTokenPageId, AccountTokenPage>builder(ACCOUNT_TOKEN_PAGES)
+                        .build());
         readableTokenRelStore = new ReadableTokenRelationStoreImpl(readableStates);
     }
 
@@ -319,7 +326,7 @@ public class NetworkAdminHandlerTestBase {
     @NonNull
     protected RecordCacheImpl emptyRecordCacheBuilder() {
         dedupeCache = new DeduplicationCacheImpl(props);
-        return new RecordCacheImpl(dedupeCache, wsa, props);
+        return new RecordCacheImpl(dedupeCache, wsa, props, new NoOpMetrics());
     }
 
     @NonNull
@@ -17,6 +17,7 @@
 package com.hedera.node.app.service.contract.impl;
 
 import com.hedera.node.app.service.contract.impl.handlers.ContractHandlers;
+import com.hedera.node.app.service.contract.impl.state.StorageAccessHistory;
 import dagger.Component;
 import javax.inject.Singleton;
 
@@ -29,4 +30,6 @@ public interface ContractServiceComponent {
     }
 
     ContractHandlers handlers();
+
+    StorageAccessHistory storageAccessHistory();
 }
@@ -20,6 +20,7 @@ import com.hedera.hapi.node.base.SemanticVersion;
 import com.hedera.node.app.service.contract.ContractService;
 import com.hedera.node.app.service.contract.impl.handlers.ContractHandlers;
 import com.hedera.node.app.service.contract.impl.state.InitialModServiceContractSchema;
+import com.hedera.node.app.service.contract.impl.state.StorageAccessHistory;
 import com.hedera.node.app.service.mono.state.adapters.VirtualMapLike;
 import com.hedera.node.app.service.mono.state.virtual.ContractKey;
 import com.hedera.node.app.service.mono.state.virtual.IterableContractValue;
@@ -63,4 +64,8 @@ public enum ContractServiceImpl implements ContractService {
     public ContractHandlers handlers() {
         return component.handlers();
     }
+
+    public StorageAccessHistory storageAccessHistory() {
+        return component.storageAccessHistory();
+    }
 }
@@ -26,6 +26,7 @@ import com.hedera.hapi.node.base.SubType;
 import com.hedera.node.app.hapi.utils.fee.SmartContractFeeBuilder;
 import com.hedera.node.app.service.contract.impl.exec.CallOutcome.ExternalizeAbortResult;
 import com.hedera.node.app.service.contract.impl.exec.TransactionComponent;
+import com.hedera.node.app.service.contract.impl.infra.StoragePrefetcher;
 import com.hedera.node.app.service.contract.impl.records.ContractCallRecordBuilder;
 import com.hedera.node.app.service.mono.fees.calculation.contract.txns.ContractCallResourceUsage;
 import com.hedera.node.app.spi.fees.FeeContext;
@@ -34,6 +35,7 @@ import com.hedera.node.app.spi.workflows.HandleContext;
 import com.hedera.node.app.spi.workflows.HandleException;
 import com.hedera.node.app.spi.workflows.PreHandleContext;
 import com.hedera.node.app.spi.workflows.TransactionHandler;
+import com.hedera.node.app.spi.workflows.WarmupContext;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -45,10 +47,23 @@ import javax.inject.Singleton;
 @Singleton
 public class ContractCallHandler implements TransactionHandler {
     private final Provider<TransactionComponent.Factory> provider;
+    private final StoragePrefetcher storagePrefetcher;
 
     @Inject
-    public ContractCallHandler(@NonNull final Provider<TransactionComponent.Factory> provider) {
+    public ContractCallHandler(
+            @NonNull final Provider<TransactionComponent.Factory> provider,
+            @NonNull final StoragePrefetcher storagePrefetcher) {
         this.provider = requireNonNull(provider);
+        this.storagePrefetcher = requireNonNull(storagePrefetcher);
+    }
+
+    @Override
+    public void warm(@NonNull final WarmupContext context) {
+        requireNonNull(context);
+        final var op = context.body().contractCallOrThrow();
+        if (op.hasContractID()) {
+            storagePrefetcher.prefetchForCall(context, op.contractIDOrThrow());
+        }
     }
 
     @Override
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.infra;
+
+import static com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations.MISSING_ENTITY_NUMBER;
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.isLongZeroAddress;
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.numberOfLongZero;
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.tuweniToPbjBytes;
+import static java.util.Objects.requireNonNull;
+
+import com.esaulpaugh.headlong.rlp.RLPDecoder;
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.hapi.node.state.contract.SlotKey;
+import com.hedera.node.app.hapi.utils.ethereum.EthTxData;
+import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
+import com.hedera.node.app.service.contract.impl.state.StorageAccessHistory;
+import com.hedera.node.app.service.token.ReadableAccountStore;
+import com.hedera.node.app.spi.workflows.WarmupContext;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Prefetches the contract storage slots a contract transaction will probably access, before it is handled.
+ *
+ * <p>The slots come from two places,
+ * <ol>
+ *     <li>The EIP-2930 access list of an Ethereum transaction, which declares slots it will access.</li>
+ *     <li>The {@link StorageAccessHistory} of the called contract, since calls to a popular contract tend
+ *     to access the same slots.</li>
+ * </ol>
+ * Each slot is warmed on its own, through the same {@code warm} path as the other prefetched state.
+ */
+@Singleton
+public class StoragePrefetcher {
+    private static final int ADDRESS_LENGTH = 20;
+    private static final int SLOT_KEY_LENGTH = 32;
+
+    private final StorageAccessHistory storageAccessHistory;
+
+    @Inject
+    public StoragePrefetcher(@NonNull final StorageAccessHistory storageAccessHistory) {
+        this.storageAccessHistory = requireNonNull(storageAccessHistory);
+    }
+
+    /**
+     * Prefetches the bytecode and probable storage slots of the contract called by a {@code ContractCall}.
+     *
+     * @param context the warmup context
+     * @param contractID the called contract
+     */
+    public void prefetchForCall(@NonNull final WarmupContext context, @NonNull final ContractID contractID) {
+        requireNonNull(context);
+        requireNonNull(contractID);
+        final var accountStore = context.createStore(ReadableAccountStore.class);
+        final long number;
+        if (contractID.hasContractNum()) {
+            number = contractID.contractNumOrThrow();
+        } else if (contractID.hasEvmAddress()) {
+            number = numberOf(contractID.evmAddressOrThrow().toByteArray(), accountStore);
+        } else {
+            number = MISSING_ENTITY_NUMBER;
+        }
+        if (number != MISSING_ENTITY_NUMBER) {
+            prefetch(context.createStore(ContractStateStore.class), Map.of(number, List.of()));
+        }
+    }
+
+    /**
+     * Prefetches the bytecode and probable storage slots of the contract called by an Ethereum transaction,
+     * and the storage slots declared in its access list.
+     *
+     * @param context the warmup context
+     * @param ethTxData the Ethereum transaction
+     */
+    public void prefetchForEthTx(@NonNull final WarmupContext context, @NonNull final EthTxData ethTxData) {
+        requireNonNull(context);
+        requireNonNull(ethTxData);
+        final var accountStore = context.createStore(ReadableAccountStore.class);
+        final Map<Long, List<UInt256>> declaredSlots = new LinkedHashMap<>();
+        if (ethTxData.hasToAddress()) {
+            final var number = numberOf(ethTxData.to(), accountStore);
+            if (number != MISSING_ENTITY_NUMBER) {
+                declaredSlots.put(number, new ArrayList<>());
+            }
+        }
+        try {
+            addAccessListSlots(ethTxData.accessList(), accountStore, declaredSlots);
+        } catch (RuntimeException ignore) {
+            // A malformed access list will fail the transaction anyway; just prefetch what we have
+        }
+        if (!declaredSlots.isEmpty()) {
+            prefetch(context.createStore(ContractStateStore.class), declaredSlots);
+        }
+    }
+
+    private void prefetch(
+            @NonNull final ContractStateStore contractStore, @NonNull final Map<Long, List<UInt256>> declaredSlots) {
+        final List<SlotKey> slotKeys = new ArrayList<>();
+        declaredSlots.forEach((number, keys) -> {
+            final var contractID = ContractID.newBuilder().contractNum(number).build();
+            contractStore.warmBytecode(contractID);
+            for (final var key : keys) {
+                addSlotKey(contractID, key, slotKeys);
+            }
+            for (final var key : storageAccessHistory.recentSlotsOf(number)) {
+                addSlotKey(contractID, key, slotKeys);
+            }
+        });
+        if (!slotKeys.isEmpty()) {
+            contractStore.warmSlots(slotKeys);
+        }
+    }
+
+    private void addSlotKey(
+            @NonNull final ContractID contractID, @NonNull final UInt256 key, @NonNull final List<SlotKey> slotKeys) {
+        storageAccessHistory.recordPrefetch(contractID.contractNumOrThrow(), key);
+        slotKeys.add(new SlotKey(contractID, tuweniToPbjBytes(key)));
+    }
+
+    private void addAccessListSlots(
+            @Nullable final byte[] accessList,
+            @NonNull final ReadableAccountStore accountStore,
+            @NonNull final Map<Long, List<UInt256>> declaredSlots) {
+        if (accessList == null || accessList.length == 0) {
+            return;
+        }
+        // The access list is a sequence of [address, [storageKey, ...]] entries
+        final var entries = RLPDecoder.RLP_STRICT.sequenceIterator(accessList);
+        while (entries.hasNext()) {
+            final var entry = entries.next().asRLPList().elements();
+            if (entry.size() != 2) {
+                continue;
+            }
+            final var address = entry.get(0).data();
+            if (address.length != ADDRESS_LENGTH) {
+                continue;
+            }
+            final var number = numberOf(address, accountStore);
+            if (number == MISSING_ENTITY_NUMBER) {
+                continue;
+            }
+            final var keys = declaredSlots.computeIfAbsent(number, ignore -> new ArrayList<>());
+            for (final var storageKey : entry.get(1).asRLPList().elements()) {
+                final var key = storageKey.data();
+                if (key.length == SLOT_KEY_LENGTH) {
+                    keys.add(UInt256.fromBytes(Bytes32.wrap(key)));
+                }
+            }
+        }
+    }
+
+    private long numberOf(@NonNull final byte[] address, @NonNull final ReadableAccountStore accountStore) {
+        if (address.length != ADDRESS_LENGTH) {
+            return MISSING_ENTITY_NUMBER;
+        }
+        if (isLongZeroAddress(address)) {
+            return numberOfLongZero(address);
+        }
+        final AccountID accountID = accountStore.getAccountIDByAlias(Bytes.wrap(address));
+        return accountID == null ? MISSING_ENTITY_NUMBER : accountID.accountNumOrElse(MISSING_ENTITY_NUMBER);
+    }
+}
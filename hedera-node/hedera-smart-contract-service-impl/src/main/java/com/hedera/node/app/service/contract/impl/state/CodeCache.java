@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.state;
+
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.pbjToTuweniBytes;
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.function.Function;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+
+/**
+ * A bounded cache of analyzed EVM {@link Code}, shared by all transactions and queries, so that
+ * the jump destination analysis and Keccak hash of a popular contract's bytecode are computed once,
+ * and not every time the contract is called or its code hash is requested.
+ *
+ * <p>Entries are keyed by contract id, and each entry remembers the bytecode it was analyzed from.
+ * An entry is only used if that bytecode is the same as the bytecode the caller just read from state,
+ * so a cached {@link Code} (and its code hash) is never returned for different bytecode; even when
+ * the cache is shared by frames looking at different versions of the state. The entry for a contract
+ * is also invalidated whenever new bytecode is set for it.
+ *
+ * <p>Token redirect code depends only on the token address, so it is cached by address.
+ */
+@Singleton
+public class CodeCache {
+    /** The analyzed code of an account without bytecode */
+    public static final Code EMPTY_CODE = CodeFactory.createCode(org.apache.tuweni.bytes.Bytes.EMPTY, 0, false);
+
+    private static final long MAX_CACHED_BYTECODE_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_CACHED_REDIRECTS = 10_000;
+
+    private final Cache<ContractID, AnalyzedCode> contractCodes = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_BYTECODE_BYTES)
+            .weigher((ContractID contractID, AnalyzedCode analyzed) ->
+                    (int) Math.min(Integer.MAX_VALUE, analyzed.bytecode().length()))
+            .executor(Runnable::run)
+            .build();
+    private final Cache<Address, Code> redirectCodes = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_REDIRECTS)
+            .executor(Runnable::run)
+            .build();
+
+    private record AnalyzedCode(@NonNull Bytes bytecode, @NonNull Code code) {}
+
+    @Inject
+    public CodeCache() {
+        // Dagger2
+    }
+
+    /**
+     * Returns the analyzed {@link Code} for the given bytecode of the given contract, reusing a cached
+     * analysis if it was done for the same bytecode.
+     *
+     * @param contractID the contract whose bytecode this is
+     * @param bytecode the bytecode just read from state for the contract
+     * @return the analyzed code
+     */
+    public @NonNull Code getOrAnalyze(@NonNull final ContractID contractID, @NonNull final Bytes bytecode) {
+        requireNonNull(contractID);
+        requireNonNull(bytecode);
+        final var cached = contractCodes.getIfPresent(contractID);
+        if (cached != null && (cached.bytecode() == bytecode || cached.bytecode().equals(bytecode))) {
+            return cached.code();
+        }
+        final var code = CodeFactory.createCode(pbjToTuweniBytes(bytecode), 0, false);
+        contractCodes.put(contractID, new AnalyzedCode(bytecode, code));
+        return code;
+    }
+
+    /**
+     * Returns the analyzed redirect {@link Code} for the token with the given long-zero address.
+     *
+     * @param address the token long-zero address
+     * @param redirectBytecode the function computing the redirect bytecode for an address
+     * @return the analyzed redirect code
+     */
+    public @NonNull Code getOrAnalyzeRedirect(
+            @NonNull final Address address,
+            @NonNull final Function<Address, org.apache.tuweni.bytes.Bytes> redirectBytecode) {
+        requireNonNull(redirectBytecode);
+        return redirectCodes.get(
+                requireNonNull(address), a -> CodeFactory.createCode(redirectBytecode.apply(a), 0, false));
+    }
+
+    /**
+     * Invalidates any cached code for the given contract, because its bytecode is being set.
+     *
+     * @param contractID the contract whose bytecode is changing
+     */
+    public void invalidate(@NonNull final ContractID contractID) {
+        contractCodes.invalidate(requireNonNull(contractID));
+    }
+
+    /**
+     * Returns the (approximate) number of contracts with cached code.
+     *
+     * @return the number of cached contract codes
+     */
+    public long size() {
+        return contractCodes.estimatedSize();
+    }
+}
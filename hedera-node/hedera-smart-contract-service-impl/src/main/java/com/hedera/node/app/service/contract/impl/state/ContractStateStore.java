@@ -22,6 +22,7 @@ import com.hedera.hapi.node.state.contract.SlotKey;
 import com.hedera.hapi.node.state.contract.SlotValue;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -113,4 +114,22 @@ public interface ContractStateStore {
      * @return the number of bytecodes
      */
     long getNumBytecodes();
+
+    /**
+     * Warms each of the given {@link SlotKey}s in turn, so that a later read of their values is fast.
+     *
+     * @param keys the {@link SlotKey}s to warm
+     */
+    default void warmSlots(@NonNull final List<SlotKey> keys) {
+        // Nothing to warm by default
+    }
+
+    /**
+     * Warms the {@link Bytecode} for the given contract, so that a later read of it is fast.
+     *
+     * @param contractID the contract id to warm the {@link Bytecode} for
+     */
+    default void warmBytecode(@NonNull final ContractID contractID) {
+        // Nothing to warm by default
+    }
 }
@@ -65,9 +65,9 @@ import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
-import org.hyperledger.besu.evm.code.CodeFactory;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
@@ -76,11 +76,13 @@ import org.hyperledger.besu.evm.frame.MessageFrame;
  * contract storage and bytecode, and a {@link HandleHederaNativeOperations} for additional influence over
  * the non-contract Hedera state in the current scope.
  *
- * <p>Almost every access requires a conversion from a PBJ type to a Besu type. At some
- * point it might be necessary to cache the converted values and invalidate them when
- * the state changes.
- * <p>
- * TODO - get a little further to clarify DI strategy, then bring back a code cache.
+ * <p>Almost every access requires a conversion from a PBJ type to a Besu type. The
+ * hottest accesses, to contract storage slots, are cached in Besu types in a
+ * {@link StorageSlotMap}; and writes to a writable store are only converted to PBJ
+ * types when flushed at the end of the frame, or before a child frame starts.
+ *
+ * <p>Analyzed bytecode is the exception, since analyzing and hashing it is expensive; so
+ * that is done through a {@link CodeCache} shared by all frames.
  */
 public class DispatchingEvmFrameState implements EvmFrameState {
     public static final Key HOLLOW_ACCOUNT_KEY =
@@ -93,12 +95,33 @@ public class DispatchingEvmFrameState implements EvmFrameState {
 
     private final HederaNativeOperations nativeOperations;
     private final ContractStateStore contractStateStore;
+    private final CodeCache codeCache;
+    /**
+     * The storage slots read and written in this frame, so repeated accesses skip the conversions to
+     * PBJ types and the lookups in the {@link ContractStateStore}.
+     */
+    private final StorageSlotMap slots = new StorageSlotMap();
+    /**
+     * Whether writes are buffered in {@link #slots} until {@link #flushStorage()}; only done for a
+     * writable store, so a read-only store still refuses a write as soon as it happens.
+     */
+    private final boolean buffersStorageWrites;
+
+    /**
+     * The slots accessed by the ongoing transaction, shared by all of its frames.
+     */
+    private final StorageAccessHistory.TransactionAccesses storageAccesses;
 
     public DispatchingEvmFrameState(
             @NonNull final HederaNativeOperations nativeOperations,
-            @NonNull final ContractStateStore contractStateStore) {
+            @NonNull final ContractStateStore contractStateStore,
+            @NonNull final CodeCache codeCache,
+            @NonNull final StorageAccessHistory.TransactionAccesses storageAccesses) {
         this.nativeOperations = requireNonNull(nativeOperations);
         this.contractStateStore = requireNonNull(contractStateStore);
+        this.codeCache = requireNonNull(codeCache);
+        this.storageAccesses = requireNonNull(storageAccesses);
+        this.buffersStorageWrites = contractStateStore instanceof WritableContractStateStore;
     }
 
     /**
@@ -107,17 +130,16 @@ public class DispatchingEvmFrameState implements EvmFrameState {
     @Override
     public void setStorageValue(
             @Nullable final ContractID contractID, @NonNull final UInt256 key, @NonNull final UInt256 value) {
-        final var slotKey = new SlotKey(contractID, tuweniToPbjBytes(requireNonNull(key)));
-        final var oldSlotValue = contractStateStore.getSlotValue(slotKey);
-        // Ensure we don't change any prev/next keys until the base commit
-        final var slotValue = new SlotValue(
-                tuweniToPbjBytes(requireNonNull(value)),
-                oldSlotValue == null ? com.hedera.pbj.runtime.io.buffer.Bytes.EMPTY : oldSlotValue.previousKey(),
-                oldSlotValue == null ? com.hedera.pbj.runtime.io.buffer.Bytes.EMPTY : oldSlotValue.nextKey());
-        // We don't call remove() here when the new value is zero, again because we
-        // want to preserve the prev/next key information until the base commit; only
-        // then will we remove the zeroed out slot from the K/V state
-        contractStateStore.putSlot(slotKey, slotValue);
+        requireNonNull(key);
+        requireNonNull(value);
+        if (!isNumbered(contractID)) {
+            writeSlot(contractID, key, value);
+        } else if (buffersStorageWrites) {
+            slots.putPendingWrite(contractID, key, value);
+        } else {
+            writeSlot(contractID, key, value);
+            slots.putReadValue(contractID, key, value);
+        }
     }
 
     /**
@@ -125,8 +147,17 @@ public class DispatchingEvmFrameState implements EvmFrameState {
      */
     @Override
     public @NonNull UInt256 getStorageValue(final ContractID contractID, @NonNull final UInt256 key) {
-        final var slotKey = new SlotKey(contractID, tuweniToPbjBytes(requireNonNull(key)));
-        return valueOrZero(contractStateStore.getSlotValue(slotKey));
+        requireNonNull(key);
+        if (!isNumbered(contractID)) {
+            return valueOrZero(contractStateStore.getSlotValue(new SlotKey(contractID, tuweniToPbjBytes(key))));
+        }
+        final var knownValue = slots.getValue(contractID.contractNumOrThrow(), key);
+        if (knownValue != null) {
+            return knownValue;
+        }
+        final var value = valueOrZero(contractStateStore.getSlotValue(new SlotKey(contractID, tuweniToPbjBytes(key))));
+        slots.putReadValue(contractID, key, value);
+        return value;
     }
 
     /**
@@ -134,8 +165,49 @@ public class DispatchingEvmFrameState implements EvmFrameState {
      */
     @Override
     public @NonNull UInt256 getOriginalStorageValue(final ContractID contractID, @NonNull final UInt256 key) {
-        final var slotKey = new SlotKey(contractID, tuweniToPbjBytes(requireNonNull(key)));
-        return valueOrZero(contractStateStore.getOriginalSlotValue(slotKey));
+        requireNonNull(key);
+        if (!isNumbered(contractID)) {
+            return valueOrZero(
+                    contractStateStore.getOriginalSlotValue(new SlotKey(contractID, tuweniToPbjBytes(key))));
+        }
+        final var knownValue = slots.getOriginalValue(contractID.contractNumOrThrow(), key);
+        if (knownValue != null) {
+            return knownValue;
+        }
+        final var value =
+                valueOrZero(contractStateStore.getOriginalSlotValue(new SlotKey(contractID, tuweniToPbjBytes(key))));
+        slots.putOriginalValue(contractID, key, value);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flushStorage() {
+        collectStorageAccesses();
+        if (slots.numPendingWrites() > 0) {
+            slots.drainPendingWrites(this::writeSlot);
+        } else {
+            slots.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void discardStorage() {
+        collectStorageAccesses();
+        slots.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordStorageAccesses() {
+        storageAccesses.record();
     }
 
     /**
@@ -143,6 +215,7 @@ public class DispatchingEvmFrameState implements EvmFrameState {
      */
     @Override
     public @NonNull List<StorageAccesses> getStorageChanges() {
+        flushStorage();
         final Map<ContractID, List<StorageAccess>> modifications = new TreeMap<>(HapiUtils.CONTRACT_ID_COMPARATOR);
         contractStateStore.getModifiedSlotKeys().forEach(slotKey -> modifications
                 .computeIfAbsent(slotKey.contractID(), k -> new ArrayList<>())
@@ -161,6 +234,7 @@ public class DispatchingEvmFrameState implements EvmFrameState {
      */
     @Override
     public long getKvStateSize() {
+        flushStorage();
         return contractStateStore.getNumSlots();
     }
 
@@ -196,11 +270,19 @@ public class DispatchingEvmFrameState implements EvmFrameState {
         if (numberedBytecode == null) {
             return Hash.EMPTY;
         } else {
-            return CodeFactory.createCode(pbjToTuweniBytes(numberedBytecode.code()), 0, false)
-                    .getCodeHash();
+            return getEvmCode(contractID, numberedBytecode).getCodeHash();
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Code getEvmCode(final ContractID contractID) {
+        final var numberedBytecode = contractStateStore.getBytecode(contractID);
+        return numberedBytecode == null ? CodeCache.EMPTY_CODE : getEvmCode(contractID, numberedBytecode);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -214,7 +296,15 @@ public class DispatchingEvmFrameState implements EvmFrameState {
      */
     @Override
     public @NonNull Hash getTokenRedirectCodeHash(@NonNull final Address address) {
-        return CodeFactory.createCode(proxyBytecodeFor(address), 0, false).getCodeHash();
+        return getTokenRedirectEvmCode(address).getCodeHash();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Code getTokenRedirectEvmCode(@NonNull final Address address) {
+        return codeCache.getOrAnalyzeRedirect(address, this::proxyBytecodeFor);
     }
 
     /**
@@ -260,6 +350,7 @@ public class DispatchingEvmFrameState implements EvmFrameState {
     @Override
     public void setCode(final ContractID contractID, @NonNull final Bytes code) {
         contractStateStore.putBytecode(contractID, new Bytecode(tuweniToPbjBytes(requireNonNull(code))));
+        codeCache.invalidate(contractID);
     }
 
     /**
@@ -498,6 +589,37 @@ public class DispatchingEvmFrameState implements EvmFrameState {
         return new ProxyEvmAccount(account.accountId(), this);
     }
 
+    private void collectStorageAccesses() {
+        // Only a transaction being handled has a writable store; and only its accesses are worth prefetching
+        if (buffersStorageWrites) {
+            slots.forEachSlot(storageAccesses::add);
+        }
+    }
+
+    private static boolean isNumbered(@Nullable final ContractID contractID) {
+        return contractID != null && contractID.hasContractNum();
+    }
+
+    private void writeSlot(
+            @Nullable final ContractID contractID, @NonNull final UInt256 key, @NonNull final UInt256 value) {
+        final var slotKey = new SlotKey(contractID, tuweniToPbjBytes(key));
+        final var oldSlotValue = contractStateStore.getSlotValue(slotKey);
+        // Ensure we don't change any prev/next keys until the base commit
+        final var slotValue = new SlotValue(
+                tuweniToPbjBytes(value),
+                oldSlotValue == null ? com.hedera.pbj.runtime.io.buffer.Bytes.EMPTY : oldSlotValue.previousKey(),
+                oldSlotValue == null ? com.hedera.pbj.runtime.io.buffer.Bytes.EMPTY : oldSlotValue.nextKey());
+        // We don't call remove() here when the new value is zero, again because we
+        // want to preserve the prev/next key information until the base commit; only
+        // then will we remove the zeroed out slot from the K/V state
+        contractStateStore.putSlot(slotKey, slotValue);
+    }
+
+    private Code getEvmCode(final ContractID contractID, @NonNull final Bytecode numberedBytecode) {
+        final var code = numberedBytecode.code();
+        return code == null ? CodeCache.EMPTY_CODE : codeCache.getOrAnalyze(contractID, code);
+    }
+
     private Bytes proxyBytecodeFor(final Address address) {
         return Bytes.fromHexString(
                 TOKEN_CALL_REDIRECT_CONTRACT_BINARY.replace(TOKEN_BYTECODE_PATTERN, address.toUnprefixedHexString()));
@@ -28,6 +28,7 @@ import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
@@ -200,6 +201,24 @@ public interface EvmFrameState {
     @NonNull
     Hash getCodeHash(ContractID contractID);
 
+    /**
+     * Returns the analyzed code for the account with the given contract id, or empty code if no such code exists.
+     *
+     * @param contractID the contract id
+     * @return the analyzed code for the account
+     */
+    @NonNull
+    Code getEvmCode(ContractID contractID);
+
+    /**
+     * Returns the analyzed redirect code for the token with the given address, which must be a long-zero address.
+     *
+     * @param address the token long-zero address
+     * @return the analyzed redirect code for the token
+     */
+    @NonNull
+    Code getTokenRedirectEvmCode(@NonNull Address address);
+
     /**
      * Returns the hash of the redirect bytecode for the token with the given address, which must be a
      * long-zero address.
@@ -307,6 +326,26 @@ public interface EvmFrameState {
      */
     long getIdNumber(@NonNull Address address);
 
+    /**
+     * Writes any storage values written in this frame, but not yet put in the underlying state, through
+     * to that state; and forgets all storage values read so far. Must be called before the underlying
+     * state is committed, or becomes visible to a child frame.
+     */
+    void flushStorage();
+
+    /**
+     * Forgets any storage values written in this frame, but not yet put in the underlying state, as well
+     * as all storage values read so far; called when the frame's changes are reverted.
+     */
+    void discardStorage();
+
+    /**
+     * Records the storage slots the ongoing transaction accessed, in all of its frames, in the history used to
+     * prefetch storage for later transactions. Called once the top-level frame is committed or reverted, so
+     * each slot is recorded once per transaction.
+     */
+    void recordStorageAccesses();
+
     /**
      * Returns the full list of account-scoped storage changes in the current scope.
      *
@@ -398,9 +398,10 @@ public class ProxyWorldUpdater implements HederaWorldUpdater {
      */
     @Override
     public void revert() {
-        // It might seem like we should have a call to evmFrameState.revert() here; but remember the
-        // EvmFrameState is just a convenience wrapper around the scope to let us use Besu types, and
-        // ultimately the HederaOperations is the one tracking and managing all changes
+        // The EvmFrameState is just a convenience wrapper around the scope to let us use Besu types, and
+        // ultimately the HederaOperations is the one tracking and managing all changes; but the frame
+        // state may still be holding storage writes that never reached the scope, which we now drop
+        evmFrameState.discardStorage();
         enhancement.operations().revert();
         enhancement.operations().revertRecordsFrom(recordListCheckPoint);
         // Because of the revert-then-commit pattern that Besu uses for force deletions in
@@ -434,10 +435,11 @@ public class ProxyWorldUpdater implements HederaWorldUpdater {
     @Override
     @SuppressWarnings("java:S125")
     public void commit() {
-        // It might seem like we should have a call to evmFrameState.commit() here; but remember the
-        // EvmFrameState is just a convenience wrapper around the scope to let us use Besu types, and
-        // ultimately the HederaOperations is the one tracking and managing all changes
+        // The EvmFrameState is just a convenience wrapper around the scope to let us use Besu types, and
+        // ultimately the HederaOperations is the one tracking and managing all changes; but first the
+        // frame state must put any storage writes it is still holding in the scope
         if (!reverted) {
+            evmFrameState.flushStorage();
             enhancement.operations().commit();
         }
     }
@@ -455,6 +457,9 @@ public class ProxyWorldUpdater implements HederaWorldUpdater {
      */
     @Override
     public @NonNull ProxyWorldUpdater updater() {
+        // The child frame must see our storage writes, and we must not trust our cached
+        // storage values after it is done
+        evmFrameState.flushStorage();
         enhancement.operations().begin();
         final var child = new ProxyWorldUpdater(enhancement, evmFrameStateFactory, this);
         // Hand off any pending creation to the child updater; this a bit of a hack, but
@@ -27,6 +27,7 @@ import com.hedera.node.app.spi.state.ReadableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -131,4 +132,20 @@ public class ReadableContractStateStore implements ContractStateStore {
     public long getNumBytecodes() {
         return bytecode.size();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmSlots(@NonNull final List<SlotKey> keys) {
+        requireNonNull(keys).forEach(storage::warm);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warmBytecode(@NonNull final ContractID contractID) {
+        bytecode.warm(requireNonNull(contractID));
+    }
 }
@@ -121,6 +121,18 @@ public class RootProxyWorldUpdater extends ProxyWorldUpdater {
         super.commit();
         // Be sure not to externalize contract ids or nonces without a successful commit
         committed = true;
+        // All child frames are done by now, so the storage accesses of the transaction are complete; if the
+        // commit fails instead, the transaction processor reverts this updater, which records them
+        evmFrameState.recordStorageAccesses();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void revert() {
+        super.revert();
+        evmFrameState.recordStorageAccesses();
     }
 
     /**
@@ -24,22 +24,29 @@ import javax.inject.Inject;
 
 /**
  * A factory for {@link EvmFrameState} instances that are scoped to the current state of the world in
- * the ongoing transaction.
+ * the ongoing transaction. All the frame states it creates collect their storage accesses together.
  */
 public class ScopedEvmFrameStateFactory implements EvmFrameStateFactory {
     private final HederaOperations hederaOperations;
     private final HederaNativeOperations hederaNativeOperations;
+    private final CodeCache codeCache;
+    private final StorageAccessHistory.TransactionAccesses storageAccesses;
 
     @Inject
     public ScopedEvmFrameStateFactory(
             @NonNull final HederaOperations hederaOperations,
-            @NonNull final HederaNativeOperations hederaNativeOperations) {
+            @NonNull final HederaNativeOperations hederaNativeOperations,
+            @NonNull final CodeCache codeCache,
+            @NonNull final StorageAccessHistory storageAccessHistory) {
         this.hederaOperations = Objects.requireNonNull(hederaOperations);
         this.hederaNativeOperations = Objects.requireNonNull(hederaNativeOperations);
+        this.codeCache = Objects.requireNonNull(codeCache);
+        this.storageAccesses = storageAccessHistory.newTransactionAccesses();
     }
 
     @Override
     public EvmFrameState get() {
-        return new DispatchingEvmFrameState(hederaNativeOperations, hederaOperations.getStore());
+        return new DispatchingEvmFrameState(
+                hederaNativeOperations, hederaOperations.getStore(), codeCache, storageAccesses);
     }
 }
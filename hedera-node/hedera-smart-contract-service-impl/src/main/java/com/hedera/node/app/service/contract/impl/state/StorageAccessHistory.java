@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.state;
+
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Remembers, for each recently called contract, the storage slots its transactions accessed most recently; so
+ * the slots a contract call will probably access can be prefetched before it is handled. Also tracks which slots
+ * were prefetched, to report what percent of the slots accessed while handling transactions had been prefetched.
+ *
+ * <p>A transaction being handled collects the slots it accesses in a {@link TransactionAccesses}, and records
+ * them here once it is done; so a slot counts once per transaction, however many of its frames accessed it.
+ */
+@Singleton
+public class StorageAccessHistory {
+    /** The value {@link #drainHitPercent()} returns if no slots were accessed since the last call */
+    public static final double NO_ACCESSES = -1.0;
+
+    static final int MAX_SLOTS_PER_CONTRACT = 64;
+    private static final int MAX_CONTRACTS = 10_000;
+    private static final int MAX_PREFETCHED_SLOTS = 250_000;
+    private static final Duration PREFETCH_TTL = Duration.ofSeconds(30);
+
+    private final Cache<Long, RecentSlots> recentSlots = Caffeine.newBuilder()
+            .maximumSize(MAX_CONTRACTS)
+            .executor(Runnable::run)
+            .build();
+    private final Cache<Slot, Boolean> prefetchedSlots = Caffeine.newBuilder()
+            .maximumSize(MAX_PREFETCHED_SLOTS)
+            .expireAfterWrite(PREFETCH_TTL)
+            .executor(Runnable::run)
+            .build();
+    private final AtomicLong accesses = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+
+    private record Slot(long contractNumber, @NonNull UInt256 key) {}
+
+    @Inject
+    public StorageAccessHistory() {
+        // Dagger2
+    }
+
+    /**
+     * Records that a transaction being handled accessed the given slot. A transaction should record each slot it
+     * accessed only once, as done by {@link TransactionAccesses#record()}.
+     *
+     * @param contractNumber the number of the contract owning the slot
+     * @param key the slot key
+     */
+    public void recordAccess(final long contractNumber, @NonNull final UInt256 key) {
+        requireNonNull(key);
+        recentSlots.get(contractNumber, ignore -> new RecentSlots()).add(key);
+        accesses.incrementAndGet();
+        if (prefetchedSlots.getIfPresent(new Slot(contractNumber, key)) != null) {
+            hits.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a new, empty collector of the slots accessed by one transaction being handled.
+     *
+     * @return the collector of the slots accessed by the transaction
+     */
+    public @NonNull TransactionAccesses newTransactionAccesses() {
+        return new TransactionAccesses();
+    }
+
+    /**
+     * Records that the given slot was prefetched.
+     *
+     * @param contractNumber the number of the contract owning the slot
+     * @param key the slot key
+     */
+    public void recordPrefetch(final long contractNumber, @NonNull final UInt256 key) {
+        prefetchedSlots.put(new Slot(contractNumber, requireNonNull(key)), Boolean.TRUE);
+    }
+
+    /**
+     * Returns the slots of the given contract accessed most recently, up to {@link #MAX_SLOTS_PER_CONTRACT}.
+     *
+     * @param contractNumber the number of the contract
+     * @return the recently accessed slot keys
+     */
+    public @NonNull List<UInt256> recentSlotsOf(final long contractNumber) {
+        final var slots = recentSlots.getIfPresent(contractNumber);
+        return slots == null ? Collections.emptyList() : slots.snapshot();
+    }
+
+    /**
+     * Returns the percent of slots accessed since the last call that had been prefetched, and starts counting
+     * again; or {@link #NO_ACCESSES} if no slots were accessed since the last call.
+     *
+     * @return the prefetch hit percent since the last call
+     */
+    public double drainHitPercent() {
+        final var numAccesses = accesses.getAndSet(0);
+        final var numHits = hits.getAndSet(0);
+        return numAccesses == 0 ? NO_ACCESSES : Math.min(100.0, 100.0 * numHits / numAccesses);
+    }
+
+    /**
+     * The distinct slots one transaction accessed so far, in all of its frames. Not thread-safe; a transaction
+     * is handled by a single thread.
+     */
+    public class TransactionAccesses {
+        private final Set<Slot> slots = new LinkedHashSet<>();
+
+        private TransactionAccesses() {
+            // Only created by StorageAccessHistory#newTransactionAccesses()
+        }
+
+        /**
+         * Adds the given slot to the accessed slots of the transaction, if not already there.
+         *
+         * @param contractNumber the number of the contract owning the slot
+         * @param key the slot key
+         */
+        public void add(final long contractNumber, @NonNull final UInt256 key) {
+            slots.add(new Slot(contractNumber, requireNonNull(key)));
+        }
+
+        /**
+         * Records the slots added so far in the history, and forgets them; so calling this again records only
+         * the slots added since.
+         */
+        public void record() {
+            slots.forEach(slot -> recordAccess(slot.contractNumber(), slot.key()));
+            slots.clear();
+        }
+    }
+
+    /**
+     * A small ring of the most recently accessed distinct slot keys of a contract.
+     */
+    private static class RecentSlots {
+        private final UInt256[] keys = new UInt256[MAX_SLOTS_PER_CONTRACT];
+        private int next;
+
+        synchronized void add(@NonNull final UInt256 key) {
+            for (final var known : keys) {
+                if (key.equals(known)) {
+                    return;
+                }
+            }
+            keys[next] = key;
+            next = (next + 1) % MAX_SLOTS_PER_CONTRACT;
+        }
+
+        synchronized List<UInt256> snapshot() {
+            final List<UInt256> snapshot = new ArrayList<>(MAX_SLOTS_PER_CONTRACT);
+            for (final var key : keys) {
+                if (key != null) {
+                    snapshot.add(key);
+                }
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.state;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.ContractID;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Arrays;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * An open-addressed map from {@code (contract number, 32-byte key)} storage slots to their Besu
+ * {@link UInt256} values, used by a {@link DispatchingEvmFrameState} so that repeated {@code SLOAD}s
+ * and {@code SSTORE}s of the same slot in a frame do not each build a PBJ
+ * {@link com.hedera.hapi.node.state.contract.SlotKey} and go through the modifications of the
+ * underlying {@link com.hedera.node.app.spi.state.WritableKVState}.
+ *
+ * <p>Each slot key is kept as four primitive {@code long} words (plus the contract number), so finding a
+ * slot needs no allocation and no conversion between Besu and PBJ types. For each slot the map may know,
+ *
+ * <ul>
+ *     <li>Its current value, either as read from state or as written in the frame, in which case the write
+ *     is <i>pending</i> until {@link #drainPendingWrites(PendingWriteConsumer)} hands it to the caller.</li>
+ *     <li>Its original value, as read from state.</li>
+ * </ul>
+ *
+ * <p>Pending writes are drained in the order the slots were <i>first</i> written; which is also the order
+ * their keys would have been added to the modifications of a {@link com.hedera.node.app.spi.state.WritableKVState}
+ * if each write had been put directly in state.
+ *
+ * <p>Not thread-safe; a map belongs to a single frame.
+ */
+public final class StorageSlotMap {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int WORDS_PER_KEY = 4;
+
+    /**
+     * Receives a pending storage write.
+     */
+    @FunctionalInterface
+    public interface PendingWriteConsumer {
+        /**
+         * Accepts a pending write of the given value to the given slot.
+         *
+         * @param contractID the contract owning the slot
+         * @param key the slot key
+         * @param value the value written
+         */
+        void accept(@NonNull ContractID contractID, @NonNull UInt256 key, @NonNull UInt256 value);
+    }
+
+    /**
+     * Visits a slot in the map.
+     */
+    @FunctionalInterface
+    public interface SlotVisitor {
+        /**
+         * Visits the slot with the given key of the given contract.
+         *
+         * @param contractNumber the number of the contract owning the slot
+         * @param key the slot key
+         */
+        void visit(long contractNumber, @NonNull UInt256 key);
+    }
+
+    private int mask;
+    private int size;
+    private int numPendingWrites;
+    /** The contract id of each occupied slot; a null entry marks a free slot */
+    private ContractID[] contractIds;
+
+    private long[] contractNumbers;
+    private long[] keyWords;
+    private UInt256[] keys;
+    private UInt256[] values;
+    private UInt256[] originalValues;
+    private boolean[] pending;
+    /** The indexes of slots with pending writes, in the order they were first written */
+    private int[] pendingOrder;
+
+    public StorageSlotMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the current value of the given slot, if known.
+     *
+     * @param contractNumber the number of the contract owning the slot
+     * @param key the slot key
+     * @return the current value, or null if not known
+     */
+    public @Nullable UInt256 getValue(final long contractNumber, @NonNull final UInt256 key) {
+        final var i = indexOf(contractNumber, key);
+        return i < 0 ? null : values[i];
+    }
+
+    /**
+     * Returns the original value of the given slot, if known.
+     *
+     * @param contractNumber the number of the contract owning the slot
+     * @param key the slot key
+     * @return the original value, or null if not known
+     */
+    public @Nullable UInt256 getOriginalValue(final long contractNumber, @NonNull final UInt256 key) {
+        final var i = indexOf(contractNumber, key);
+        return i < 0 ? null : originalValues[i];
+    }
+
+    /**
+     * Remembers the current value of the given slot, just read from state.
+     *
+     * @param contractID the contract owning the slot; must have a contract number
+     * @param key the slot key
+     * @param value the value read from state
+     */
+    public void putReadValue(
+            @NonNull final ContractID contractID, @NonNull final UInt256 key, @NonNull final UInt256 value) {
+        values[slotFor(contractID, key)] = requireNonNull(value);
+    }
+
+    /**
+     * Remembers the original value of the given slot, just read from state.
+     *
+     * @param contractID the contract owning the slot; must have a contract number
+     * @param key the slot key
+     * @param originalValue the original value read from state
+     */
+    public void putOriginalValue(
+            @NonNull final ContractID contractID, @NonNull final UInt256 key, @NonNull final UInt256 originalValue) {
+        originalValues[slotFor(contractID, key)] = requireNonNull(originalValue);
+    }
+
+    /**
+     * Records a pending write of the given value to the given slot.
+     *
+     * @param contractID the contract owning the slot; must have a contract number
+     * @param key the slot key
+     * @param value the value written
+     */
+    public void putPendingWrite(
+            @NonNull final ContractID contractID, @NonNull final UInt256 key, @NonNull final UInt256 value) {
+        final var i = slotFor(contractID, key);
+        values[i] = requireNonNull(value);
+        if (!pending[i]) {
+            pending[i] = true;
+            pendingOrder[numPendingWrites++] = i;
+        }
+    }
+
+    /**
+     * Returns the number of slots with pending writes.
+     *
+     * @return the number of pending writes
+     */
+    public int numPendingWrites() {
+        return numPendingWrites;
+    }
+
+    /**
+     * Returns the number of slots in the map.
+     *
+     * @return the number of slots
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Passes every slot in the map to the given visitor, in no particular order.
+     *
+     * @param visitor the visitor of the slots
+     */
+    public void forEachSlot(@NonNull final SlotVisitor visitor) {
+        requireNonNull(visitor);
+        if (size == 0) {
+            return;
+        }
+        for (int i = 0; i < contractIds.length; i++) {
+            if (contractIds[i] != null) {
+                visitor.visit(contractNumbers[i], keys[i]);
+            }
+        }
+    }
+
+    /**
+     * Passes every pending write to the given consumer, in the order the slots were first written; and
+     * then clears the map.
+     *
+     * @param consumer the consumer of the pending writes
+     */
+    public void drainPendingWrites(@NonNull final PendingWriteConsumer consumer) {
+        requireNonNull(consumer);
+        for (int j = 0; j < numPendingWrites; j++) {
+            final var i = pendingOrder[j];
+            consumer.accept(contractIds[i], keys[i], values[i]);
+        }
+        clear();
+    }
+
+    /**
+     * Forgets all slots, including any pending writes.
+     */
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        if (contractIds.length > INITIAL_CAPACITY * 4) {
+            // Don't keep a large table around just because one frame touched many slots
+            allocate(INITIAL_CAPACITY);
+        } else {
+            Arrays.fill(contractIds, null);
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+            Arrays.fill(originalValues, null);
+            Arrays.fill(pending, false);
+        }
+        size = 0;
+        numPendingWrites = 0;
+    }
+
+    private int indexOf(final long contractNumber, @NonNull final UInt256 key) {
+        final long w0 = key.getLong(0);
+        final long w1 = key.getLong(8);
+        final long w2 = key.getLong(16);
+        final long w3 = key.getLong(24);
+        var i = hash(contractNumber, w0, w1, w2, w3) & mask;
+        while (contractIds[i] != null) {
+            if (matches(i, contractNumber, w0, w1, w2, w3)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotFor(@NonNull final ContractID contractID, @NonNull final UInt256 key) {
+        final long contractNumber = contractID.contractNumOrThrow();
+        final long w0 = key.getLong(0);
+        final long w1 = key.getLong(8);
+        final long w2 = key.getLong(16);
+        final long w3 = key.getLong(24);
+        var i = hash(contractNumber, w0, w1, w2, w3) & mask;
+        while (contractIds[i] != null) {
+            if (matches(i, contractNumber, w0, w1, w2, w3)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        // Keep the load factor at or below 1/2, so probe sequences stay short
+        if (2 * (size + 1) > contractIds.length) {
+            grow();
+            return slotFor(contractID, key);
+        }
+        contractIds[i] = contractID;
+        contractNumbers[i] = contractNumber;
+        final var base = i * WORDS_PER_KEY;
+        keyWords[base] = w0;
+        keyWords[base + 1] = w1;
+        keyWords[base + 2] = w2;
+        keyWords[base + 3] = w3;
+        keys[i] = key;
+        size++;
+        return i;
+    }
+
+    private boolean matches(
+            final int i, final long contractNumber, final long w0, final long w1, final long w2, final long w3) {
+        final var base = i * WORDS_PER_KEY;
+        return contractNumbers[i] == contractNumber
+                && keyWords[base] == w0
+                && keyWords[base + 1] == w1
+                && keyWords[base + 2] == w2
+                && keyWords[base + 3] == w3;
+    }
+
+    private void grow() {
+        final var oldContractIds = contractIds;
+        final var oldContractNumbers = contractNumbers;
+        final var oldKeyWords = keyWords;
+        final var oldKeys = keys;
+        final var oldValues = values;
+        final var oldOriginalValues = originalValues;
+        final var oldPending = pending;
+        final var oldPendingOrder = pendingOrder;
+        final var oldNumPendingWrites = numPendingWrites;
+
+        allocate(oldContractIds.length * 2);
+        final var newIndexes = new int[oldContractIds.length];
+        for (int j = 0; j < oldContractIds.length; j++) {
+            if (oldContractIds[j] == null) {
+                continue;
+            }
+            final var base = j * WORDS_PER_KEY;
+            var i = hash(
+                            oldContractNumbers[j],
+                            oldKeyWords[base],
+                            oldKeyWords[base + 1],
+                            oldKeyWords[base + 2],
+                            oldKeyWords[base + 3])
+                    & mask;
+            while (contractIds[i] != null) {
+                i = (i + 1) & mask;
+            }
+            contractIds[i] = oldContractIds[j];
+            contractNumbers[i] = oldContractNumbers[j];
+            System.arraycopy(oldKeyWords, base, keyWords, i * WORDS_PER_KEY, WORDS_PER_KEY);
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+            originalValues[i] = oldOriginalValues[j];
+            pending[i] = oldPending[j];
+            newIndexes[j] = i;
+            size++;
+        }
+        for (int j = 0; j < oldNumPendingWrites; j++) {
+            pendingOrder[j] = newIndexes[oldPendingOrder[j]];
+        }
+        numPendingWrites = oldNumPendingWrites;
+    }
+
+    private void allocate(final int capacity) {
+        mask = capacity - 1;
+        size = 0;
+        numPendingWrites = 0;
+        contractIds = new ContractID[capacity];
+        contractNumbers = new long[capacity];
+        keyWords = new long[capacity * WORDS_PER_KEY];
+        keys = new UInt256[capacity];
+        values = new UInt256[capacity];
+        originalValues = new UInt256[capacity];
+        pending = new boolean[capacity];
+        pendingOrder = new int[capacity];
+    }
+
+    private static int hash(final long contractNumber, final long w0, final long w1, final long w2, final long w3) {
+        long h = contractNumber * 0x9E3779B97F4A7C15L;
+        h ^= w0;
+        h = Long.rotateLeft(h, 23) * 0xBF58476D1CE4E5B9L ^ w1;
+        h = Long.rotateLeft(h, 23) * 0xBF58476D1CE4E5B9L ^ w2;
+        h = Long.rotateLeft(h, 23) * 0xBF58476D1CE4E5B9L ^ w3;
+        h ^= h >>> 31;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 29;
+        return (int) h;
+    }
+}
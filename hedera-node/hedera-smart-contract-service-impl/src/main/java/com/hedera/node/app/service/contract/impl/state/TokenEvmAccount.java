@@ -30,7 +30,6 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
-import org.hyperledger.besu.evm.code.CodeFactory;
 
 /**
  * An {@link Account} whose code proxies all calls to the {@code 0x167} system contract, and thus can
@@ -77,7 +76,7 @@ public class TokenEvmAccount extends AbstractMutableEvmAccount {
 
     @Override
     public @NonNull Code getEvmCode() {
-        return CodeFactory.createCode(getCode(), 0, false);
+        return state.getTokenRedirectEvmCode(address);
     }
 
     @Override
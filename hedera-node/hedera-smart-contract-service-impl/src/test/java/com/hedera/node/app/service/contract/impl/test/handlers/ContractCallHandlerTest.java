@@ -24,6 +24,7 @@ import static com.hedera.node.app.service.contract.impl.test.TestHelpers.assertF
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.base.TransactionID;
@@ -33,11 +34,14 @@ import com.hedera.node.app.service.contract.impl.exec.CallOutcome;
 import com.hedera.node.app.service.contract.impl.exec.ContextTransactionProcessor;
 import com.hedera.node.app.service.contract.impl.exec.TransactionComponent;
 import com.hedera.node.app.service.contract.impl.handlers.ContractCallHandler;
+import com.hedera.node.app.service.contract.impl.infra.StoragePrefetcher;
 import com.hedera.node.app.service.contract.impl.records.ContractCallRecordBuilder;
 import com.hedera.node.app.service.contract.impl.state.RootProxyWorldUpdater;
 import com.hedera.node.app.spi.fixtures.workflows.FakePreHandleContext;
 import com.hedera.node.app.spi.workflows.HandleContext;
 import com.hedera.node.app.spi.workflows.PreCheckException;
+import com.hedera.node.app.spi.workflows.WarmupContext;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -64,7 +68,32 @@ class ContractCallHandlerTest extends ContractHandlerTestBase {
     @Mock
     private RootProxyWorldUpdater baseProxyWorldUpdater;
 
-    private final ContractCallHandler subject = new ContractCallHandler(() -> factory);
+    @Mock
+    private StoragePrefetcher storagePrefetcher;
+
+    @Mock
+    private WarmupContext warmupContext;
+
+    private ContractCallHandler subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = new ContractCallHandler(() -> factory, storagePrefetcher);
+    }
+
+    @Test
+    void warmPrefetchesForCalledContract() {
+        given(warmupContext.body())
+                .willReturn(TransactionBody.newBuilder()
+                        .contractCall(ContractCallTransactionBody.newBuilder()
+                                .contractID(CALLED_CONTRACT_ID)
+                                .build())
+                        .build());
+
+        subject.warm(warmupContext);
+
+        verify(storagePrefetcher).prefetchForCall(warmupContext, CALLED_CONTRACT_ID);
+    }
 
     @Test
     void delegatesToCreatedComponentAndExposesSuccess() {
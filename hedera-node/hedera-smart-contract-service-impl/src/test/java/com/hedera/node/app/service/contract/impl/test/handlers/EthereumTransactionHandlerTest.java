@@ -47,6 +47,7 @@ import com.hedera.node.app.service.contract.impl.hevm.HydratedEthTxData;
 import com.hedera.node.app.service.contract.impl.infra.EthTxSigsCache;
 import com.hedera.node.app.service.contract.impl.infra.EthereumCallDataHydration;
 import com.hedera.node.app.service.contract.impl.infra.HevmTransactionFactory;
+import com.hedera.node.app.service.contract.impl.infra.StoragePrefetcher;
 import com.hedera.node.app.service.contract.impl.records.ContractCallRecordBuilder;
 import com.hedera.node.app.service.contract.impl.records.ContractCreateRecordBuilder;
 import com.hedera.node.app.service.contract.impl.records.EthereumTransactionRecordBuilder;
@@ -57,6 +58,7 @@ import com.hedera.node.app.service.file.ReadableFileStore;
 import com.hedera.node.app.spi.workflows.HandleContext;
 import com.hedera.node.app.spi.workflows.PreCheckException;
 import com.hedera.node.app.spi.workflows.PreHandleContext;
+import com.hedera.node.app.spi.workflows.WarmupContext;
 import com.hedera.node.config.data.ContractsConfig;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import java.util.List;
@@ -121,6 +123,12 @@ class EthereumTransactionHandlerTest {
     @Mock
     CustomGasCharging customGasCharging;
 
+    @Mock
+    private StoragePrefetcher storagePrefetcher;
+
+    @Mock
+    private WarmupContext warmupContext;
+
     private EthereumTransactionHandler subject;
 
     @Mock
@@ -128,7 +136,36 @@ class EthereumTransactionHandlerTest {
 
     @BeforeEach
     void setUp() {
-        subject = new EthereumTransactionHandler(ethereumSignatures, callDataHydration, () -> factory);
+        subject = new EthereumTransactionHandler(
+                ethereumSignatures, callDataHydration, () -> factory, storagePrefetcher);
+    }
+
+    @Test
+    void warmPrefetchesForParseableEthTx() {
+        given(warmupContext.body())
+                .willReturn(TransactionBody.newBuilder()
+                        .ethereumTransaction(EthereumTransactionBody.newBuilder()
+                                .ethereumData(TestHelpers.ETH_WITH_TO_ADDRESS)
+                                .build())
+                        .build());
+
+        subject.warm(warmupContext);
+
+        verify(storagePrefetcher).prefetchForEthTx(warmupContext, ETH_DATA_WITH_TO_ADDRESS);
+    }
+
+    @Test
+    void warmIgnoresUnparseableEthTx() {
+        given(warmupContext.body())
+                .willReturn(TransactionBody.newBuilder()
+                        .ethereumTransaction(EthereumTransactionBody.newBuilder()
+                                .ethereumData(Bytes.EMPTY)
+                                .build())
+                        .build());
+
+        subject.warm(warmupContext);
+
+        verifyNoInteractions(storagePrefetcher);
     }
 
     void setUpTransactionProcessing() {
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.test.infra;
+
+import static com.hedera.node.app.service.contract.impl.test.TestHelpers.ETH_DATA_WITH_TO_ADDRESS;
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.tuweniToPbjBytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.hapi.node.state.contract.SlotKey;
+import com.hedera.node.app.hapi.utils.ethereum.EthTxData;
+import com.hedera.node.app.service.contract.impl.infra.StoragePrefetcher;
+import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
+import com.hedera.node.app.service.contract.impl.state.StorageAccessHistory;
+import com.hedera.node.app.service.token.ReadableAccountStore;
+import com.hedera.node.app.spi.workflows.WarmupContext;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StoragePrefetcherTest {
+    private static final long A_CONTRACT_NUMBER = 1234L;
+    private static final long B_CONTRACT_NUMBER = 5678L;
+    private static final ContractID A_CONTRACT_ID =
+            ContractID.newBuilder().contractNum(A_CONTRACT_NUMBER).build();
+    private static final ContractID B_CONTRACT_ID =
+            ContractID.newBuilder().contractNum(B_CONTRACT_NUMBER).build();
+    private static final byte[] B_ALIAS = ETH_DATA_WITH_TO_ADDRESS.to();
+    private static final UInt256 A_KEY = UInt256.ONE;
+    private static final UInt256 B_KEY = UInt256.MAX_VALUE;
+
+    @Mock
+    private WarmupContext context;
+
+    @Mock
+    private ReadableAccountStore accountStore;
+
+    @Mock
+    private ContractStateStore contractStore;
+
+    private StorageAccessHistory storageAccessHistory;
+
+    private StoragePrefetcher subject;
+
+    @BeforeEach
+    void setUp() {
+        storageAccessHistory = new StorageAccessHistory();
+        subject = new StoragePrefetcher(storageAccessHistory);
+        given(context.createStore(ReadableAccountStore.class)).willReturn(accountStore);
+    }
+
+    @Test
+    void prefetchesRecentlyAccessedSlotsOfCalledContract() {
+        given(context.createStore(ContractStateStore.class)).willReturn(contractStore);
+        storageAccessHistory.recordAccess(A_CONTRACT_NUMBER, A_KEY);
+
+        subject.prefetchForCall(context, A_CONTRACT_ID);
+
+        verify(contractStore).warmBytecode(A_CONTRACT_ID);
+        verify(contractStore).warmSlots(List.of(slotKey(A_CONTRACT_ID, A_KEY)));
+        assertEquals(100.0, accessAndDrainHitPercent(A_CONTRACT_NUMBER, A_KEY));
+    }
+
+    @Test
+    void prefetchesNothingForUnknownAlias() {
+        subject.prefetchForCall(
+                context, ContractID.newBuilder().evmAddress(Bytes.wrap(B_ALIAS)).build());
+
+        verifyNoInteractions(contractStore);
+    }
+
+    @Test
+    void prefetchesAccessListAndRecentSlotsOfEthTx() {
+        given(context.createStore(ContractStateStore.class)).willReturn(contractStore);
+        given(accountStore.getAccountIDByAlias(Bytes.wrap(B_ALIAS)))
+                .willReturn(AccountID.newBuilder().accountNum(B_CONTRACT_NUMBER).build());
+        storageAccessHistory.recordAccess(A_CONTRACT_NUMBER, A_KEY);
+        final var accessList = RLPEncoder.encodeSequentially(
+                List.of(B_ALIAS, List.of(B_KEY.toArrayUnsafe(), new byte[] {1, 2, 3})));
+
+        subject.prefetchForEthTx(context, ethTxWith(longZeroAddress(A_CONTRACT_NUMBER), accessList));
+
+        verify(contractStore).warmBytecode(A_CONTRACT_ID);
+        verify(contractStore).warmBytecode(B_CONTRACT_ID);
+        verify(contractStore).warmSlots(List.of(slotKey(A_CONTRACT_ID, A_KEY), slotKey(B_CONTRACT_ID, B_KEY)));
+        assertEquals(100.0, accessAndDrainHitPercent(B_CONTRACT_NUMBER, B_KEY));
+    }
+
+    @Test
+    void stillPrefetchesForCalledContractGivenMalformedAccessList() {
+        given(context.createStore(ContractStateStore.class)).willReturn(contractStore);
+
+        subject.prefetchForEthTx(context, ethTxWith(longZeroAddress(A_CONTRACT_NUMBER), new byte[] {(byte) 0xf8}));
+
+        verify(contractStore).warmBytecode(A_CONTRACT_ID);
+    }
+
+    private double accessAndDrainHitPercent(final long contractNumber, final UInt256 key) {
+        storageAccessHistory.drainHitPercent();
+        storageAccessHistory.recordAccess(contractNumber, key);
+        return storageAccessHistory.drainHitPercent();
+    }
+
+    private static SlotKey slotKey(final ContractID contractID, final UInt256 key) {
+        return new SlotKey(contractID, tuweniToPbjBytes(key));
+    }
+
+    private static byte[] longZeroAddress(final long number) {
+        return ByteBuffer.allocate(20).putLong(12, number).array();
+    }
+
+    private static EthTxData ethTxWith(final byte[] to, final byte[] accessList) {
+        final var data = ETH_DATA_WITH_TO_ADDRESS;
+        return new EthTxData(
+                data.rawTx(),
+                data.type(),
+                data.chainId(),
+                data.nonce(),
+                data.gasPrice(),
+                data.maxPriorityGas(),
+                data.maxGas(),
+                data.gasLimit(),
+                to,
+                data.value(),
+                data.callData(),
+                accessList,
+                data.recId(),
+                data.v(),
+                data.r(),
+                data.s());
+    }
+}
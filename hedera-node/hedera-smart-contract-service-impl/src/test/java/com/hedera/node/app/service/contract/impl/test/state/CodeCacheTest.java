@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.test.state;
+
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.pbjToTuweniBytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.node.app.service.contract.impl.state.CodeCache;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import org.hyperledger.besu.datatypes.Hash;
+import org.junit.jupiter.api.Test;
+
+class CodeCacheTest {
+    private static final ContractID A_CONTRACT_ID =
+            ContractID.newBuilder().contractNum(1234L).build();
+    private static final ContractID B_CONTRACT_ID =
+            ContractID.newBuilder().contractNum(5678L).build();
+    private static final Bytes SOME_CODE = Bytes.wrap(new byte[] {0x60, 0x01, 0x5b, 0x00});
+    private static final Bytes OTHER_CODE = Bytes.wrap(new byte[] {0x60, 0x02, 0x5b, 0x00});
+
+    private final CodeCache subject = new CodeCache();
+
+    @Test
+    void reusesAnalysisOfEqualBytecode() {
+        final var code = subject.getOrAnalyze(A_CONTRACT_ID, SOME_CODE);
+
+        assertEquals(Hash.hash(pbjToTuweniBytes(SOME_CODE)), code.getCodeHash());
+        assertSame(code, subject.getOrAnalyze(A_CONTRACT_ID, Bytes.wrap(SOME_CODE.toByteArray())));
+        assertEquals(1, subject.size());
+    }
+
+    @Test
+    void neverReturnsAnalysisOfDifferentBytecode() {
+        final var code = subject.getOrAnalyze(A_CONTRACT_ID, SOME_CODE);
+
+        final var otherCode = subject.getOrAnalyze(A_CONTRACT_ID, OTHER_CODE);
+
+        assertEquals(Hash.hash(pbjToTuweniBytes(OTHER_CODE)), otherCode.getCodeHash());
+        assertNotSame(code, otherCode);
+    }
+
+    @Test
+    void analyzesSameBytecodeOfDifferentContractsSeparately() {
+        final var code = subject.getOrAnalyze(A_CONTRACT_ID, SOME_CODE);
+
+        assertNotSame(code, subject.getOrAnalyze(B_CONTRACT_ID, SOME_CODE));
+        assertEquals(2, subject.size());
+    }
+
+    @Test
+    void invalidatedCodeIsAnalyzedAgain() {
+        final var code = subject.getOrAnalyze(A_CONTRACT_ID, SOME_CODE);
+
+        subject.invalidate(A_CONTRACT_ID);
+
+        assertEquals(0, subject.size());
+        assertNotSame(code, subject.getOrAnalyze(A_CONTRACT_ID, SOME_CODE));
+    }
+}
@@ -21,9 +21,11 @@ import static org.mockito.BDDMockito.given;
 
 import com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations;
 import com.hedera.node.app.service.contract.impl.exec.scope.HederaOperations;
+import com.hedera.node.app.service.contract.impl.state.CodeCache;
 import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
 import com.hedera.node.app.service.contract.impl.state.DispatchingEvmFrameState;
 import com.hedera.node.app.service.contract.impl.state.ScopedEvmFrameStateFactory;
+import com.hedera.node.app.service.contract.impl.state.StorageAccessHistory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,7 +47,7 @@ class DispatchingEvmFrameStateFactoryTest {
 
     @BeforeEach
     void setUp() {
-        subject = new ScopedEvmFrameStateFactory(scope, extFrameScope);
+        subject = new ScopedEvmFrameStateFactory(scope, extFrameScope, new CodeCache(), new StorageAccessHistory());
     }
 
     @Test
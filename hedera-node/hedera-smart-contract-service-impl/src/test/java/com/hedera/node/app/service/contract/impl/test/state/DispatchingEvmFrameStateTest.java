@@ -25,6 +25,7 @@ import static com.hedera.node.app.service.contract.impl.exec.failure.CustomExcep
 import static com.hedera.node.app.service.contract.impl.exec.failure.CustomExceptionalHaltReason.INVALID_ALIAS_KEY;
 import static com.hedera.node.app.service.contract.impl.exec.failure.CustomExceptionalHaltReason.INVALID_SOLIDITY_ADDRESS;
 import static com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations.MISSING_ENTITY_NUMBER;
+import static com.hedera.node.app.service.contract.impl.state.StorageAccessHistory.NO_ACCESSES;
 import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.pbjToTuweniBytes;
 import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.pbjToTuweniUInt256;
 import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.tuweniToPbjBytes;
@@ -41,6 +42,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.hapi.node.base.AccountID;
@@ -57,13 +60,16 @@ import com.hedera.node.app.service.contract.impl.exec.failure.CustomExceptionalH
 import com.hedera.node.app.service.contract.impl.exec.scope.ActiveContractVerificationStrategy;
 import com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations;
 import com.hedera.node.app.service.contract.impl.exec.scope.VerificationStrategy;
+import com.hedera.node.app.service.contract.impl.state.CodeCache;
 import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
 import com.hedera.node.app.service.contract.impl.state.DispatchingEvmFrameState;
 import com.hedera.node.app.service.contract.impl.state.ProxyEvmAccount;
 import com.hedera.node.app.service.contract.impl.state.RentFactors;
 import com.hedera.node.app.service.contract.impl.state.StorageAccess;
+import com.hedera.node.app.service.contract.impl.state.StorageAccessHistory;
 import com.hedera.node.app.service.contract.impl.state.StorageAccesses;
 import com.hedera.node.app.service.contract.impl.state.TokenEvmAccount;
+import com.hedera.node.app.service.contract.impl.state.WritableContractStateStore;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.LinkedHashSet;
@@ -140,7 +146,11 @@ class DispatchingEvmFrameStateTest {
 
     @BeforeEach
     void setUp() {
-        subject = new DispatchingEvmFrameState(nativeOperations, contractStateStore);
+        subject = new DispatchingEvmFrameState(
+                nativeOperations,
+                contractStateStore,
+                new CodeCache(),
+                new StorageAccessHistory().newTransactionAccesses());
     }
 
     @Test
@@ -267,6 +277,86 @@ class DispatchingEvmFrameStateTest {
         verify(contractStateStore).putSlot(A_SLOT_KEY, newSlotValue);
     }
 
+    @Test
+    void readsEachStorageSlotFromStateOnce() {
+        given(contractStateStore.getSlotValue(A_SLOT_KEY)).willReturn(A_SLOT_VALUE);
+        final var key = pbjToTuweniUInt256(A_STORAGE_KEY);
+        final var expectedWord = pbjToTuweniUInt256(A_STORAGE_VALUE);
+
+        assertEquals(expectedWord, subject.getStorageValue(A_CONTRACT_ID, key));
+        assertEquals(expectedWord, subject.getStorageValue(A_CONTRACT_ID, key));
+
+        verify(contractStateStore, times(1)).getSlotValue(A_SLOT_KEY);
+    }
+
+    @Test
+    void buffersWritesToWritableStoreUntilFlushed() {
+        final var writableStore = mock(WritableContractStateStore.class);
+        subject = new DispatchingEvmFrameState(
+                nativeOperations, writableStore, new CodeCache(), new StorageAccessHistory().newTransactionAccesses());
+        final var key = pbjToTuweniUInt256(A_STORAGE_KEY);
+        final var value = pbjToTuweniUInt256(A_STORAGE_VALUE);
+
+        subject.setStorageValue(A_CONTRACT_ID, key, UInt256.ONE);
+        subject.setStorageValue(A_CONTRACT_ID, key, value);
+
+        assertEquals(value, subject.getStorageValue(A_CONTRACT_ID, key));
+        verify(writableStore, never()).putSlot(any(), any());
+
+        subject.flushStorage();
+
+        final var expectedSlotValue = A_SLOT_VALUE
+                .copyBuilder()
+                .previousKey(Bytes.EMPTY)
+                .nextKey(Bytes.EMPTY)
+                .build();
+        verify(writableStore).putSlot(A_SLOT_KEY, expectedSlotValue);
+        verify(writableStore, times(1)).putSlot(any(), any());
+    }
+
+    @Test
+    void recordsSlotsAccessedInHandleInHistoryOncePerTransaction() {
+        final var writableStore = mock(WritableContractStateStore.class);
+        final var history = new StorageAccessHistory();
+        final var storageAccesses = history.newTransactionAccesses();
+        subject = new DispatchingEvmFrameState(nativeOperations, writableStore, new CodeCache(), storageAccesses);
+        final var childFrameState =
+                new DispatchingEvmFrameState(nativeOperations, writableStore, new CodeCache(), storageAccesses);
+        final var key = pbjToTuweniUInt256(A_STORAGE_KEY);
+        history.recordPrefetch(A_CONTRACT_ID.contractNumOrThrow(), key);
+
+        subject.getStorageValue(A_CONTRACT_ID, key);
+        subject.setStorageValue(A_CONTRACT_ID, UInt256.ONE, UInt256.ONE);
+        subject.flushStorage();
+        childFrameState.getStorageValue(A_CONTRACT_ID, key);
+        childFrameState.discardStorage();
+        subject.getStorageValue(A_CONTRACT_ID, key);
+        subject.flushStorage();
+
+        assertEquals(NO_ACCESSES, history.drainHitPercent());
+
+        subject.recordStorageAccesses();
+        subject.recordStorageAccesses();
+
+        assertEquals(2, history.recentSlotsOf(A_CONTRACT_ID.contractNumOrThrow()).size());
+        assertEquals(50.0, history.drainHitPercent());
+    }
+
+    @Test
+    void discardsBufferedWrites() {
+        final var writableStore = mock(WritableContractStateStore.class);
+        subject = new DispatchingEvmFrameState(
+                nativeOperations, writableStore, new CodeCache(), new StorageAccessHistory().newTransactionAccesses());
+        final var key = pbjToTuweniUInt256(A_STORAGE_KEY);
+
+        subject.setStorageValue(A_CONTRACT_ID, key, UInt256.ONE);
+        subject.discardStorage();
+        subject.flushStorage();
+
+        verify(writableStore, never()).putSlot(any(), any());
+        assertSame(UInt256.ZERO, subject.getStorageValue(A_CONTRACT_ID, key));
+    }
+
     @Test
     void getsZeroWordForMissingSlotKey() {
         final var actualWord = subject.getStorageValue(A_CONTRACT_ID, pbjToTuweniUInt256(A_STORAGE_KEY));
@@ -337,6 +427,29 @@ class DispatchingEvmFrameStateTest {
         assertEquals(SOME_PRETEND_CODE_HASH, actualCodeHash);
     }
 
+    @Test
+    void reusesAnalyzedCodeForSameBytecode() {
+        givenWellKnownBytecode();
+
+        final var evmCode = subject.getEvmCode(A_CONTRACT_ID);
+
+        assertEquals(SOME_PRETEND_CODE_HASH, evmCode.getCodeHash());
+        assertSame(evmCode, subject.getEvmCode(A_CONTRACT_ID));
+    }
+
+    @Test
+    void getsEmptyEvmCodeForMissing() {
+        assertSame(CodeCache.EMPTY_CODE, subject.getEvmCode(A_CONTRACT_ID));
+    }
+
+    @Test
+    void reusesAnalyzedTokenRedirectCode() {
+        final var evmCode = subject.getTokenRedirectEvmCode(TOKEN_ADDRESS);
+
+        assertEquals(subject.getTokenRedirectCode(TOKEN_ADDRESS), evmCode.getBytes());
+        assertSame(evmCode, subject.getTokenRedirectEvmCode(TOKEN_ADDRESS));
+    }
+
     @Test
     void getsEmptyCodeHashForMissing() {
         final var actualCodeHash = subject.getCodeHash(A_CONTRACT_ID);
@@ -118,8 +118,9 @@ class ProxyEvmAccountTest {
     @Test
     void returnsEvmCode() {
         final var code = pbjToTuweniBytes(SOME_PRETEND_CODE);
-        given(hederaState.getCode(CONTRACT_ID)).willReturn(code);
-        assertEquals(CodeFactory.createCode(code, 0, false), subject.getEvmCode());
+        final var evmCode = CodeFactory.createCode(code, 0, false);
+        given(hederaState.getEvmCode(CONTRACT_ID)).willReturn(evmCode);
+        assertSame(evmCode, subject.getEvmCode());
     }
 
     @Test
@@ -38,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -288,6 +289,7 @@ class ProxyWorldUpdaterTest {
     @Test
     void revertDelegatesToScope() {
         subject.revert();
+        verify(evmFrameState).discardStorage();
         verify(hederaOperations).revert();
     }
 
@@ -296,13 +298,16 @@ class ProxyWorldUpdaterTest {
         subject.revert();
         subject.commit();
         verify(hederaOperations).revert();
+        verify(evmFrameState, never()).flushStorage();
         verify(hederaOperations, never()).commit();
     }
 
     @Test
     void commitDelegatesToScope() {
         subject.commit();
-        verify(hederaOperations).commit();
+        final var inOrder = inOrder(evmFrameState, hederaOperations);
+        inOrder.verify(evmFrameState).flushStorage();
+        inOrder.verify(hederaOperations).commit();
     }
 
     @Test
@@ -115,7 +115,8 @@ class RootProxyWorldUpdaterTest {
 
     @Test
     void performsAdditionalCommitActionsInOrder() {
-        InOrder inOrder = BDDMockito.inOrder(storageSizeValidator, storageManager, rentCalculator, hederaOperations);
+        InOrder inOrder = BDDMockito.inOrder(
+                storageSizeValidator, storageManager, rentCalculator, hederaOperations, evmFrameState);
 
         final var aExpiry = 1_234_567;
         final var aSlotsUsedBeforeCommit = 101;
@@ -147,11 +148,23 @@ class RootProxyWorldUpdaterTest {
         inOrder.verify(hederaOperations).chargeStorageRent(A_CONTRAC_ID, rentInTinybars, true);
         inOrder.verify(storageManager).persistChanges(enhancement, pendingChanges(), expectedSizeChanges(), store);
         inOrder.verify(hederaOperations).commit();
+        inOrder.verify(evmFrameState).recordStorageAccesses();
 
         assertSame(createdIds, subject.getCreatedContractIds());
         assertSame(updatedNonces, subject.getUpdatedContractNonces());
     }
 
+    @Test
+    void recordsStorageAccessesAfterDiscardingStorageOnRevert() {
+        InOrder inOrder = BDDMockito.inOrder(evmFrameState, hederaOperations);
+
+        subject.revert();
+
+        inOrder.verify(evmFrameState).discardStorage();
+        inOrder.verify(hederaOperations).revert();
+        inOrder.verify(evmFrameState).recordStorageAccesses();
+    }
+
     private void givenSubjectWith(@NonNull final Configuration configuration, @NonNull final Enhancement enhancement) {
         subject = new RootProxyWorldUpdater(
                 enhancement,
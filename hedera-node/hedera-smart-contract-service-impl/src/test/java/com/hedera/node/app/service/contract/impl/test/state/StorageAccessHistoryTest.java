@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.test.state;
+
+import static com.hedera.node.app.service.contract.impl.state.StorageAccessHistory.NO_ACCESSES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.node.app.service.contract.impl.state.StorageAccessHistory;
+import java.util.List;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class StorageAccessHistoryTest {
+    private static final long A_CONTRACT_NUMBER = 1234L;
+    private static final long B_CONTRACT_NUMBER = 5678L;
+
+    private final StorageAccessHistory subject = new StorageAccessHistory();
+
+    @Test
+    void remembersDistinctRecentSlotsPerContract() {
+        subject.recordAccess(A_CONTRACT_NUMBER, UInt256.ONE);
+        subject.recordAccess(A_CONTRACT_NUMBER, UInt256.ONE);
+        subject.recordAccess(A_CONTRACT_NUMBER, UInt256.MAX_VALUE);
+        subject.recordAccess(B_CONTRACT_NUMBER, UInt256.ZERO);
+
+        assertEquals(List.of(UInt256.ONE, UInt256.MAX_VALUE), subject.recentSlotsOf(A_CONTRACT_NUMBER));
+        assertEquals(List.of(UInt256.ZERO), subject.recentSlotsOf(B_CONTRACT_NUMBER));
+        assertTrue(subject.recentSlotsOf(42L).isEmpty());
+    }
+
+    @Test
+    void forgetsLeastRecentSlotsWhenFull() {
+        final int n = 100;
+        for (int i = 0; i < n; i++) {
+            subject.recordAccess(A_CONTRACT_NUMBER, UInt256.valueOf(i));
+        }
+
+        final var recentSlots = subject.recentSlotsOf(A_CONTRACT_NUMBER);
+        assertEquals(64, recentSlots.size());
+        for (int i = n - 64; i < n; i++) {
+            assertTrue(recentSlots.contains(UInt256.valueOf(i)));
+        }
+    }
+
+    @Test
+    void reportsPercentOfAccessesThatWerePrefetched() {
+        assertEquals(NO_ACCESSES, subject.drainHitPercent());
+
+        subject.recordPrefetch(A_CONTRACT_NUMBER, UInt256.ONE);
+        subject.recordPrefetch(B_CONTRACT_NUMBER, UInt256.ONE);
+        subject.recordAccess(A_CONTRACT_NUMBER, UInt256.ONE);
+        subject.recordAccess(A_CONTRACT_NUMBER, UInt256.ZERO);
+        subject.recordAccess(B_CONTRACT_NUMBER, UInt256.ONE);
+        subject.recordAccess(B_CONTRACT_NUMBER, UInt256.ZERO);
+
+        assertEquals(50.0, subject.drainHitPercent());
+        assertEquals(NO_ACCESSES, subject.drainHitPercent());
+    }
+
+    @Test
+    void countsEachSlotOncePerTransaction() {
+        subject.recordPrefetch(A_CONTRACT_NUMBER, UInt256.ONE);
+        final var transactionAccesses = subject.newTransactionAccesses();
+        transactionAccesses.add(A_CONTRACT_NUMBER, UInt256.ONE);
+        transactionAccesses.add(A_CONTRACT_NUMBER, UInt256.ONE);
+        transactionAccesses.add(A_CONTRACT_NUMBER, UInt256.ONE);
+        transactionAccesses.add(A_CONTRACT_NUMBER, UInt256.ZERO);
+
+        assertEquals(NO_ACCESSES, subject.drainHitPercent());
+
+        transactionAccesses.record();
+        transactionAccesses.record();
+
+        assertEquals(50.0, subject.drainHitPercent());
+        assertEquals(List.of(UInt256.ONE, UInt256.ZERO), subject.recentSlotsOf(A_CONTRACT_NUMBER));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.test.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.node.app.service.contract.impl.state.StorageSlotMap;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class StorageSlotMapTest {
+    private static final ContractID A_CONTRACT_ID =
+            ContractID.newBuilder().contractNum(1234L).build();
+    private static final ContractID B_CONTRACT_ID =
+            ContractID.newBuilder().contractNum(5678L).build();
+    private static final UInt256 A_KEY = UInt256.valueOf(1L);
+    private static final UInt256 B_KEY = UInt256.MAX_VALUE;
+
+    private record Write(ContractID contractID, UInt256 key, UInt256 value) {}
+
+    private final StorageSlotMap subject = new StorageSlotMap();
+
+    @Test
+    void distinguishesSlotsByContractAndKey() {
+        subject.putReadValue(A_CONTRACT_ID, A_KEY, UInt256.ONE);
+        subject.putReadValue(B_CONTRACT_ID, A_KEY, UInt256.ZERO);
+        subject.putOriginalValue(A_CONTRACT_ID, B_KEY, UInt256.MAX_VALUE);
+
+        assertSame(UInt256.ONE, subject.getValue(1234L, A_KEY));
+        assertSame(UInt256.ZERO, subject.getValue(5678L, A_KEY));
+        assertNull(subject.getValue(1234L, B_KEY));
+        assertSame(UInt256.MAX_VALUE, subject.getOriginalValue(1234L, B_KEY));
+        assertNull(subject.getOriginalValue(1234L, A_KEY));
+        assertEquals(3, subject.size());
+        assertEquals(0, subject.numPendingWrites());
+    }
+
+    @Test
+    void drainsPendingWritesInFirstWriteOrderAndClears() {
+        subject.putReadValue(A_CONTRACT_ID, B_KEY, UInt256.ONE);
+        subject.putPendingWrite(B_CONTRACT_ID, A_KEY, UInt256.ONE);
+        subject.putPendingWrite(A_CONTRACT_ID, B_KEY, UInt256.ZERO);
+        subject.putPendingWrite(B_CONTRACT_ID, A_KEY, UInt256.MAX_VALUE);
+        assertEquals(2, subject.numPendingWrites());
+
+        final List<Write> writes = new ArrayList<>();
+        subject.drainPendingWrites((contractID, key, value) -> writes.add(new Write(contractID, key, value)));
+
+        assertEquals(
+                List.of(
+                        new Write(B_CONTRACT_ID, A_KEY, UInt256.MAX_VALUE),
+                        new Write(A_CONTRACT_ID, B_KEY, UInt256.ZERO)),
+                writes);
+        assertEquals(0, subject.size());
+        assertNull(subject.getValue(1234L, B_KEY));
+    }
+
+    @Test
+    void keepsSlotsAndWriteOrderWhenGrowing() {
+        final int n = 1_000;
+        for (int i = 0; i < n; i++) {
+            subject.putPendingWrite(A_CONTRACT_ID, UInt256.valueOf(n - i), UInt256.valueOf(i));
+        }
+        assertEquals(n, subject.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(UInt256.valueOf(i), subject.getValue(1234L, UInt256.valueOf(n - i)));
+        }
+
+        final List<Write> writes = new ArrayList<>();
+        subject.drainPendingWrites((contractID, key, value) -> writes.add(new Write(contractID, key, value)));
+
+        assertEquals(n, writes.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(new Write(A_CONTRACT_ID, UInt256.valueOf(n - i), UInt256.valueOf(i)), writes.get(i));
+        }
+    }
+
+    @Test
+    void clearForgetsPendingWrites() {
+        subject.putPendingWrite(A_CONTRACT_ID, A_KEY, UInt256.ONE);
+
+        subject.clear();
+
+        assertEquals(0, subject.numPendingWrites());
+        assertNull(subject.getValue(1234L, A_KEY));
+    }
+}
@@ -87,8 +87,9 @@ class TokenEvmAccountTest {
     @Test
     void returnsEvmCode() {
         final var code = pbjToTuweniBytes(SOME_PRETEND_CODE);
-        given(state.getTokenRedirectCode(TOKEN_ADDRESS)).willReturn(code);
-        assertEquals(CodeFactory.createCode(code, 0, false), subject.getEvmCode());
+        final var evmCode = CodeFactory.createCode(code, 0, false);
+        given(state.getTokenRedirectEvmCode(TOKEN_ADDRESS)).willReturn(evmCode);
+        assertSame(evmCode, subject.getEvmCode());
     }
 
     @Test
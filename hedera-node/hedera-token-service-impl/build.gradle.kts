@@ -14,7 +14,10 @@
  * limitations under the License.
  */
 
-plugins { id("com.hedera.hashgraph.conventions") }
+plugins {
+    id("com.hedera.hashgraph.conventions")
+    id("com.hedera.hashgraph.benchmark-conventions")
+}
 
 description = "Default Hedera Token Service Implementation"
 
@@ -37,3 +40,14 @@ testModuleInfo {
     requiresStatic("com.github.spotbugs.annotations")
     requires("com.google.protobuf")
 }
+
+jmhModuleInfo {
+    requires("com.hedera.node.app.service.token.impl")
+    requires("com.hedera.node.app.spi.test.fixtures")
+    requires("com.hedera.node.config.test.fixtures")
+    requires("com.hedera.node.hapi")
+    requires("com.hedera.pbj.runtime")
+    requires("jmh.core")
+    requires("org.mockito")
+    requiresStatic("com.github.spotbugs.annotations")
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl.handlers.transfer;
+
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNTS_KEY;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ALIASES_KEY;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.NFTS_KEY;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.TOKENS_KEY;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.TOKEN_RELS_KEY;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.hapi.node.base.Key;
+import com.hedera.hapi.node.base.NftID;
+import com.hedera.hapi.node.base.NftTransfer;
+import com.hedera.hapi.node.base.ResponseCodeEnum;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.base.TokenSupplyType;
+import com.hedera.hapi.node.base.TokenTransferList;
+import com.hedera.hapi.node.base.TokenType;
+import com.hedera.hapi.node.state.common.EntityIDPair;
+import com.hedera.hapi.node.state.token.Account;
+import com.hedera.hapi.node.state.token.Nft;
+import com.hedera.hapi.node.state.token.Token;
+import com.hedera.hapi.node.state.token.TokenRelation;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.token.TokenMintTransactionBody;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.service.token.impl.WritableAccountStore;
+import com.hedera.node.app.service.token.impl.WritableNftStore;
+import com.hedera.node.app.service.token.impl.WritableTokenRelationStore;
+import com.hedera.node.app.service.token.impl.WritableTokenStore;
+import com.hedera.node.app.service.token.impl.handlers.TokenMintHandler;
+import com.hedera.node.app.service.token.impl.validators.TokenSupplyChangeOpsValidator;
+import com.hedera.node.app.service.token.records.TokenMintRecordBuilder;
+import com.hedera.node.app.spi.fixtures.state.MapWritableKVState;
+import com.hedera.node.app.spi.fixtures.state.MapWritableStates;
+import com.hedera.node.app.spi.validation.EntityType;
+import com.hedera.node.app.spi.validation.ExpiryMeta;
+import com.hedera.node.app.spi.validation.ExpiryValidator;
+import com.hedera.node.app.spi.workflows.HandleContext;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.config.api.Configuration;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures minting thousands of serials of one token with the {@link TokenMintHandler}, and moving all of them from
+ * the treasury to another account with the {@link NFTOwnersChangeStep}, against in-memory writable states. As in the
+ * unit tests of the handlers, the {@link HandleContext} is a mock that hands out the stores.
+ *
+ * <p>To compare against another implementation of the handler or the step, run this benchmark on a checkout of the
+ * other git revision as well.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NftOwnersChangeBenchmark {
+    private static final TokenID TOKEN_ID = TokenID.newBuilder().tokenNum(1_000L).build();
+    private static final AccountID TREASURY_ID =
+            AccountID.newBuilder().accountNum(1_001L).build();
+    private static final AccountID RECEIVER_ID =
+            AccountID.newBuilder().accountNum(1_002L).build();
+    private static final Key SUPPLY_KEY =
+            Key.newBuilder().ed25519(Bytes.wrap(new byte[32])).build();
+    private static final Instant CONSENSUS_NOW = Instant.ofEpochSecond(1_234_567L);
+    private static final Bytes METADATA = Bytes.wrap(new byte[] {1, 2, 3});
+
+    /** The number of serials minted, and then moved from the treasury to the receiver */
+    @Param({"1000", "5000"})
+    public int serials;
+
+    private final TokenMintHandler mintHandler = new TokenMintHandler(new TokenSupplyChangeOpsValidator());
+    private HandleContext mintContext;
+    private HandleContext transferContext;
+    private NFTOwnersChangeStep transferStep;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        final Configuration config = HederaTestConfigBuilder.create()
+                .withValue("tokens.nfts.maxBatchSizeMint", serials)
+                .getOrCreateConfig();
+        final var metadata = Collections.nCopies(serials, METADATA);
+        final var nftTransfers = new ArrayList<NftTransfer>(serials);
+        for (long serial = 1; serial <= serials; serial++) {
+            nftTransfers.add(NftTransfer.newBuilder()
+                    .senderAccountID(TREASURY_ID)
+                    .receiverAccountID(RECEIVER_ID)
+                    .serialNumber(serial)
+                    .build());
+        }
+        final var transfer = CryptoTransferTransactionBody.newBuilder()
+                .tokenTransfers(TokenTransferList.newBuilder()
+                        .token(TOKEN_ID)
+                        .nftTransfers(nftTransfers)
+                        .build())
+                .build();
+
+        mintContext = mockContext(
+                TransactionBody.newBuilder()
+                        .tokenMint(TokenMintTransactionBody.newBuilder()
+                                .token(TOKEN_ID)
+                                .metadata(metadata)
+                                .build())
+                        .build(),
+                config);
+        given(mintContext.recordBuilder(TokenMintRecordBuilder.class)).willReturn(mock(TokenMintRecordBuilder.class));
+        transferContext = mockContext(
+                TransactionBody.newBuilder().cryptoTransfer(transfer).build(), config);
+        transferStep = new NFTOwnersChangeStep(transfer, TREASURY_ID);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        final var nfts = MapWritableKVState.<NftID, Nft>builder(NFTS_KEY);
+        for (long serial = 1; serial <= serials; serial++) {
+            nfts.value(nftIdOf(serial), treasuryOwnedNft(serial));
+        }
+        final var states = MapWritableStates.builder()
+                .state(MapWritableKVState.<TokenID, Token>builder(TOKENS_KEY)
+                        .value(TOKEN_ID, token(serials))
+                        .build())
+                .state(MapWritableKVState.<AccountID, Account>builder(ACCOUNTS_KEY)
+                        .value(TREASURY_ID, account(TREASURY_ID, serials))
+                        .value(RECEIVER_ID, account(RECEIVER_ID, 0))
+                        .build())
+                .state(MapWritableKVState.builder(ALIASES_KEY).build())
+                .state(MapWritableKVState.<EntityIDPair, TokenRelation>builder(TOKEN_RELS_KEY)
+                        .value(new EntityIDPair(TREASURY_ID, TOKEN_ID), rel(TREASURY_ID, serials))
+                        .value(new EntityIDPair(RECEIVER_ID, TOKEN_ID), rel(RECEIVER_ID, 0))
+                        .build())
+                .state(MapWritableKVState.builder(ACCOUNT_TOKEN_PAGES_KEY).build())
+                .state(nfts.build())
+                .build();
+        final var accountStore = new WritableAccountStore(states);
+        final var tokenStore = new WritableTokenStore(states);
+        final var tokenRelStore = new WritableTokenRelationStore(states);
+        final var nftStore = new WritableNftStore(states);
+        for (final var context : List.of(mintContext, transferContext)) {
+            given(context.writableStore(WritableAccountStore.class)).willReturn(accountStore);
+            given(context.writableStore(WritableTokenStore.class)).willReturn(tokenStore);
+            given(context.writableStore(WritableTokenRelationStore.class)).willReturn(tokenRelStore);
+            given(context.writableStore(WritableNftStore.class)).willReturn(nftStore);
+        }
+    }
+
+    @Benchmark
+    public HandleContext mintSerials() {
+        mintHandler.handle(mintContext);
+        return mintContext;
+    }
+
+    @Benchmark
+    public HandleContext transferSerials() {
+        transferStep.doIn(new TransferContextImpl(transferContext));
+        return transferContext;
+    }
+
+    private static HandleContext mockContext(
+            @NonNull final TransactionBody body, @NonNull final Configuration config) {
+        final var context = mock(HandleContext.class);
+        given(context.body()).willReturn(body);
+        given(context.configuration()).willReturn(config);
+        given(context.consensusNow()).willReturn(CONSENSUS_NOW);
+        given(context.expiryValidator()).willReturn(new NeverExpiredValidator());
+        return context;
+    }
+
+    private static NftID nftIdOf(final long serial) {
+        return NftID.newBuilder().tokenId(TOKEN_ID).serialNumber(serial).build();
+    }
+
+    private static Nft treasuryOwnedNft(final long serial) {
+        return Nft.newBuilder()
+                .nftId(nftIdOf(serial))
+                .mintTime(Timestamp.newBuilder().seconds(CONSENSUS_NOW.getEpochSecond()))
+                .metadata(METADATA)
+                .build();
+    }
+
+    private static Token token(final long serials) {
+        return Token.newBuilder()
+                .tokenId(TOKEN_ID)
+                .tokenType(TokenType.NON_FUNGIBLE_UNIQUE)
+                .supplyType(TokenSupplyType.INFINITE)
+                .supplyKey(SUPPLY_KEY)
+                .treasuryAccountId(TREASURY_ID)
+                .totalSupply(serials)
+                .lastUsedSerialNumber(serials)
+                .build();
+    }
+
+    private static Account account(final AccountID accountId, final long ownedNfts) {
+        return Account.newBuilder()
+                .accountId(accountId)
+                .numberOwnedNfts(ownedNfts)
+                .numberPositiveBalances(ownedNfts > 0 ? 1 : 0)
+                .numberAssociations(1)
+                .build();
+    }
+
+    private static TokenRelation rel(final AccountID accountId, final long balance) {
+        return TokenRelation.newBuilder()
+                .accountId(accountId)
+                .tokenId(TOKEN_ID)
+                .balance(balance)
+                .kycGranted(true)
+                .build();
+    }
+
+    /**
+     * Considers every entity usable and accepts any requested expiry, so that the benchmark does not measure a
+     * mocked expiry check per serial.
+     */
+    private static final class NeverExpiredValidator implements ExpiryValidator {
+        @NonNull
+        @Override
+        public ExpiryMeta resolveCreationAttempt(
+                final boolean entityCanSelfFundRenewal,
+                @NonNull final ExpiryMeta creationMetadata,
+                @NonNull final HederaFunctionality functionality) {
+            return creationMetadata;
+        }
+
+        @NonNull
+        @Override
+        public ExpiryMeta resolveUpdateAttempt(
+                @NonNull final ExpiryMeta currentMetadata,
+                @NonNull final ExpiryMeta updateMetadata,
+                final boolean isForTokenUpdate) {
+            return updateMetadata;
+        }
+
+        @NonNull
+        @Override
+        public ResponseCodeEnum expirationStatus(
+                @NonNull final EntityType entityType,
+                final boolean isMarkedExpired,
+                final long balanceAvailableForSelfRenewal) {
+            return ResponseCodeEnum.OK;
+        }
+    }
+}
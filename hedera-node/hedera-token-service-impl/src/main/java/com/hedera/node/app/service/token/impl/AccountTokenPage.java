@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl;
+
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.node.app.service.token.impl.serdes.AccountTokenPageCodec;
+import com.hedera.pbj.runtime.Codec;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+
+/**
+ * One page of the index of the tokens associated with an account, in the order in which they were associated.
+ *
+ * @param tokenIds the IDs of the associated tokens, at most {@link #MAX_TOKEN_IDS}
+ */
+public record AccountTokenPage(@NonNull List<TokenID> tokenIds) {
+    public static final Codec<AccountTokenPage> PROTOBUF = new AccountTokenPageCodec();
+
+    /** The number of token IDs in every page of an account except the last one */
+    public static final int MAX_TOKEN_IDS = 64;
+
+    public AccountTokenPage {
+        tokenIds = List.copyOf(tokenIds);
+        if (tokenIds.size() > MAX_TOKEN_IDS) {
+            throw new IllegalArgumentException("A page holds at most " + MAX_TOKEN_IDS + " token IDs");
+        }
+    }
+
+    /**
+     * Returns whether no more token IDs fit into this page.
+     *
+     * @return whether the page is full
+     */
+    public boolean isFull() {
+        return tokenIds.size() == MAX_TOKEN_IDS;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.node.app.service.token.impl.serdes.AccountTokenPageIdCodec;
+import com.hedera.pbj.runtime.Codec;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * The key of one page of the index of the tokens associated with an account. The pages of an account are numbered
+ * from zero, and every page but the last one holds exactly {@link AccountTokenPage#MAX_TOKEN_IDS} token IDs.
+ *
+ * @param accountId the account whose associated tokens are indexed
+ * @param pageNumber the number of the page
+ */
+public record AccountTokenPageId(@NonNull AccountID accountId, int pageNumber) {
+    public static final Codec<AccountTokenPageId> PROTOBUF = new AccountTokenPageIdCodec();
+
+    public AccountTokenPageId {
+        requireNonNull(accountId);
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must not be negative, but was " + pageNumber);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The hash code decides where the key is stored on disk, so it is computed explicitly rather than relying
+     * on the unspecified hash code of a record.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * accountId.hashCode() + pageNumber;
+    }
+}
@@ -21,12 +21,15 @@ import static java.util.Objects.requireNonNull;
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.TokenID;
 import com.hedera.hapi.node.state.common.EntityIDPair;
+import com.hedera.hapi.node.state.token.Account;
 import com.hedera.hapi.node.state.token.TokenRelation;
 import com.hedera.node.app.service.token.ReadableTokenRelationStore;
 import com.hedera.node.app.spi.state.ReadableKVState;
 import com.hedera.node.app.spi.state.ReadableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Provides read-only methods for getting underlying data for working with TokenRelations.
@@ -37,6 +40,9 @@ public class ReadableTokenRelationStoreImpl implements ReadableTokenRelationStor
     /** The underlying data storage class that holds the token data. */
     private final ReadableKVState<EntityIDPair, TokenRelation> readableTokenRelState;
 
+    /** The paged index of the tokens associated with each account */
+    private final ReadableKVState<AccountTokenPageId, AccountTokenPage> readableAccountTokenPageState;
+
     /**
      * Create a new {@link ReadableTokenRelationStoreImpl} instance.
      *
@@ -44,6 +50,7 @@ public class ReadableTokenRelationStoreImpl implements ReadableTokenRelationStor
      */
     public ReadableTokenRelationStoreImpl(@NonNull final ReadableStates states) {
         this.readableTokenRelState = requireNonNull(states).get(TokenServiceImpl.TOKEN_RELS_KEY);
+        this.readableAccountTokenPageState = states.get(TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY);
     }
 
     /**
@@ -78,4 +85,44 @@ public class ReadableTokenRelationStoreImpl implements ReadableTokenRelationStor
                 EntityIDPair.newBuilder().accountId(accountID).tokenId(tokenId).build();
         readableTokenRelState.warm(key);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public List<TokenID> getAssociatedTokenIds(@NonNull final Account account) {
+        requireNonNull(account);
+        final var accountId = account.accountIdOrThrow();
+        // The number of associations tells us how many pages to expect, so all of them can be loaded in parallel
+        final int expectedPages = pagesFor(account.numberAssociations());
+        if (expectedPages > 1) {
+            for (int i = 0; i < expectedPages; i++) {
+                readableAccountTokenPageState.warm(new AccountTokenPageId(accountId, i));
+            }
+        }
+        final var tokenIds = new ArrayList<TokenID>();
+        for (int i = 0; ; i++) {
+            final var page = readableAccountTokenPageState.get(new AccountTokenPageId(accountId, i));
+            if (page == null) {
+                break;
+            }
+            tokenIds.addAll(page.tokenIds());
+            if (!page.isFull()) {
+                break;
+            }
+        }
+        return tokenIds;
+    }
+
+    /**
+     * Returns the number of index pages needed for the given number of associated tokens.
+     *
+     * @param numAssociations the number of associated tokens
+     * @return the number of pages
+     */
+    protected static int pagesFor(final long numAssociations) {
+        return (int) ((Math.max(0, numAssociations) + AccountTokenPage.MAX_TOKEN_IDS - 1)
+                / AccountTokenPage.MAX_TOKEN_IDS);
+    }
 }
@@ -48,6 +48,7 @@ public class TokenServiceImpl implements TokenService {
     public static final String ALIASES_KEY = "ALIASES";
     public static final String ACCOUNTS_KEY = "ACCOUNTS";
     public static final String TOKEN_RELS_KEY = "TOKEN_RELS";
+    public static final String ACCOUNT_TOKEN_PAGES_KEY = "ACCOUNT_TOKEN_PAGES";
     public static final String STAKING_INFO_KEY = "STAKING_INFOS";
     public static final String STAKING_NETWORK_REWARDS_KEY = "STAKING_NETWORK_REWARDS";
     private final Supplier<SortedSet<Account>> sysAccts;
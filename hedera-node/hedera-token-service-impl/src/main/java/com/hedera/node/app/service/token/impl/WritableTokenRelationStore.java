@@ -21,11 +21,16 @@ import static java.util.Objects.requireNonNull;
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.TokenID;
 import com.hedera.hapi.node.state.common.EntityIDPair;
+import com.hedera.hapi.node.state.token.Account;
 import com.hedera.hapi.node.state.token.TokenRelation;
 import com.hedera.node.app.spi.state.WritableKVState;
 import com.hedera.node.app.spi.state.WritableStates;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -40,6 +45,9 @@ public class WritableTokenRelationStore extends ReadableTokenRelationStoreImpl {
     /** The underlying data storage class that holds the token data. */
     private final WritableKVState<EntityIDPair, TokenRelation> tokenRelState;
 
+    /** The paged index of the tokens associated with each account */
+    private final WritableKVState<AccountTokenPageId, AccountTokenPage> accountTokenPageState;
+
     /**
      * Create a new {@link WritableTokenRelationStore} instance.
      *
@@ -48,6 +56,7 @@ public class WritableTokenRelationStore extends ReadableTokenRelationStoreImpl {
     public WritableTokenRelationStore(@NonNull final WritableStates states) {
         super(states);
         this.tokenRelState = requireNonNull(states).get(TokenServiceImpl.TOKEN_RELS_KEY);
+        this.accountTokenPageState = states.get(TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY);
     }
 
     /**
@@ -116,4 +125,97 @@ public class WritableTokenRelationStore extends ReadableTokenRelationStoreImpl {
     public Set<EntityIDPair> modifiedTokens() {
         return tokenRelState.modifiedKeys();
     }
+
+    /**
+     * Appends the given tokens to the paged index of the tokens associated with the account.
+     *
+     * @param account the account, as it was before the tokens were associated
+     * @param tokenIds the IDs of the newly associated tokens
+     */
+    public void addToAccountIndex(@NonNull final Account account, @NonNull final List<TokenID> tokenIds) {
+        requireNonNull(account);
+        requireNonNull(tokenIds);
+        if (tokenIds.isEmpty()) {
+            return;
+        }
+
+        final var accountId = account.accountIdOrThrow();
+        int pageNumber = firstNonFullPage(accountId, account.numberAssociations());
+        final var page = accountTokenPageState.get(new AccountTokenPageId(accountId, pageNumber));
+        var pageTokenIds = page == null ? new ArrayList<TokenID>() : new ArrayList<>(page.tokenIds());
+        for (final var tokenId : tokenIds) {
+            if (pageTokenIds.size() == AccountTokenPage.MAX_TOKEN_IDS) {
+                accountTokenPageState.put(
+                        new AccountTokenPageId(accountId, pageNumber++), new AccountTokenPage(pageTokenIds));
+                pageTokenIds = new ArrayList<>();
+            }
+            pageTokenIds.add(tokenId);
+        }
+        accountTokenPageState.put(new AccountTokenPageId(accountId, pageNumber), new AccountTokenPage(pageTokenIds));
+    }
+
+    /**
+     * Removes the given tokens from the paged index of the tokens associated with the account. The tokens after them
+     * move up, so that every page but the last one stays full.
+     *
+     * @param account the account, as it was before the tokens were dissociated
+     * @param tokenIds the IDs of the dissociated tokens
+     */
+    public void removeFromAccountIndex(@NonNull final Account account, @NonNull final Collection<TokenID> tokenIds) {
+        requireNonNull(account);
+        requireNonNull(tokenIds);
+        if (tokenIds.isEmpty()) {
+            return;
+        }
+
+        final var accountId = account.accountIdOrThrow();
+        final var oldTokenIds = getAssociatedTokenIds(account);
+        final var newTokenIds = new ArrayList<>(oldTokenIds);
+        newTokenIds.removeAll(new HashSet<>(tokenIds));
+        if (newTokenIds.size() == oldTokenIds.size()) {
+            return;
+        }
+
+        // Only the pages from the first removed token onwards change
+        int firstChanged = 0;
+        while (firstChanged < newTokenIds.size()
+                && newTokenIds.get(firstChanged).equals(oldTokenIds.get(firstChanged))) {
+            firstChanged++;
+        }
+        final int newPages = pagesFor(newTokenIds.size());
+        for (int i = firstChanged / AccountTokenPage.MAX_TOKEN_IDS; i < newPages; i++) {
+            final var from = i * AccountTokenPage.MAX_TOKEN_IDS;
+            final var to = Math.min(from + AccountTokenPage.MAX_TOKEN_IDS, newTokenIds.size());
+            accountTokenPageState.put(
+                    new AccountTokenPageId(accountId, i), new AccountTokenPage(newTokenIds.subList(from, to)));
+        }
+        for (int i = newPages; i < pagesFor(oldTokenIds.size()); i++) {
+            accountTokenPageState.remove(new AccountTokenPageId(accountId, i));
+        }
+    }
+
+    /**
+     * Returns the number of the first index page of the account that is missing or not yet full. The number of
+     * associations of the account points directly to it, unless the index is behind; then the pages are scanned.
+     *
+     * @param accountId the account
+     * @param numAssociations the number of tokens the account is associated with
+     * @return the number of the page to append to
+     */
+    private int firstNonFullPage(@NonNull final AccountID accountId, final long numAssociations) {
+        final int expected = (int) (Math.max(0, numAssociations) / AccountTokenPage.MAX_TOKEN_IDS);
+        if (!isFullPage(accountId, expected) && (expected == 0 || isFullPage(accountId, expected - 1))) {
+            return expected;
+        }
+        int pageNumber = 0;
+        while (isFullPage(accountId, pageNumber)) {
+            pageNumber++;
+        }
+        return pageNumber;
+    }
+
+    private boolean isFullPage(@NonNull final AccountID accountId, final int pageNumber) {
+        final var page = accountTokenPageState.get(new AccountTokenPageId(accountId, pageNumber));
+        return page != null && page.isFull();
+    }
 }
@@ -186,6 +186,7 @@ public class BaseTokenHandler {
         // Save the results
         accountStore.put(updatedAcct);
         newTokenRels.forEach(tokenRelStore::put);
+        tokenRelStore.addToAccountIndex(account, tokens.stream().map(Token::tokenIdOrThrow).toList());
     }
 
     /**
@@ -338,6 +339,7 @@ public class BaseTokenHandler {
 
         accountStore.put(copyAccount);
         tokenRelStore.put(newTokenRel);
+        tokenRelStore.addToAccountIndex(account, List.of(tokenId));
         return newTokenRel;
     }
 
@@ -21,6 +21,7 @@ import static com.hedera.hapi.node.base.ResponseCodeEnum.CONTRACT_DELETED;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.INVALID_ACCOUNT_ID;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.INVALID_CONTRACT_ID;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.OK;
+import static com.hedera.node.app.service.token.api.AccountSummariesApi.warmTokenRelationsOf;
 import static com.hedera.node.app.spi.workflows.PreCheckException.validateFalsePreCheck;
 import static java.util.Objects.requireNonNull;
 
@@ -136,6 +137,7 @@ public class CryptoGetAccountBalanceHandler extends FreeQueryHandler {
             @NonNull final Account account,
             @NonNull final ReadableTokenStore readableTokenStore,
             @NonNull final ReadableTokenRelationStore tokenRelationStore) {
+        warmTokenRelationsOf(account, readableTokenStore, tokenRelationStore, tokenConfig.maxRelsPerInfoQuery());
         final var ret = new ArrayList<TokenBalance>();
         var tokenId = account.headTokenId();
         int count = 0;
@@ -198,6 +198,8 @@ public class TokenDissociateFromAccountHandler implements TransactionHandler {
         accountStore.put(updatedAcct);
         updatedTokenRels.updatedTokenRelsStillInChain().forEach(tokenRelStore::put);
         tokenRelsToRemove.forEach(tokenRelStore::remove);
+        tokenRelStore.removeFromAccountIndex(
+                account, tokenRelsToRemove.stream().map(TokenRelation::tokenIdOrThrow).toList());
         treasuryBalancesToUpdate.forEach(tokenRelStore::put);
     }
 
@@ -216,12 +216,17 @@ public class TokenMintHandler extends BaseTokenHandler implements TransactionHan
         // The token is modified in previous step, so we need to get the modified token
         final var modifiedToken = tokenStore.get(token.tokenId());
         final var mintedSerials = new ArrayList<Long>(metadata.size());
+        // every serial minted by this transaction shares the same mint time
+        final var mintTime = Timestamp.newBuilder()
+                .seconds(consensusTime.getEpochSecond())
+                .nanos(consensusTime.getNano())
+                .build();
 
         // for each serial number minted increment serial numbers and create new unique token
         for (final var meta : metadata) {
             currentSerialNumber++;
             // The default sentinel account is used (0.0.0) to represent unique tokens owned by the treasury
-            final var uniqueToken = buildNewlyMintedNft(consensusTime, tokenId, meta, currentSerialNumber);
+            final var uniqueToken = buildNewlyMintedNft(mintTime, tokenId, meta, currentSerialNumber);
             nftStore.put(uniqueToken);
             // all minted serials should be added to the receipt
             mintedSerials.add(currentSerialNumber);
@@ -243,7 +248,7 @@ public class TokenMintHandler extends BaseTokenHandler implements TransactionHan
 
     /**
      * Builds a new unique token when minting a non-fungible token.
-     * @param consensusTime - the consensus time of the transaction
+     * @param mintTime - the consensus time of the transaction, shared by all serials it mints
      * @param tokenId - the token id
      * @param meta - the metadata of the nft
      * @param currentSerialNumber - the current serial number of the nft
@@ -251,7 +256,7 @@ public class TokenMintHandler extends BaseTokenHandler implements TransactionHan
      */
     @NonNull
     private Nft buildNewlyMintedNft(
-            @NonNull final Instant consensusTime,
+            @NonNull final Timestamp mintTime,
             @NonNull final TokenID tokenId,
             @NonNull final Bytes meta,
             final long currentSerialNumber) {
@@ -261,10 +266,7 @@ public class TokenMintHandler extends BaseTokenHandler implements TransactionHan
                         .serialNumber(currentSerialNumber)
                         .build())
                 // ownerID is null to indicate owned by treasury
-                .mintTime(Timestamp.newBuilder()
-                        .seconds(consensusTime.getEpochSecond())
-                        .nanos(consensusTime.getNano())
-                        .build())
+                .mintTime(mintTime)
                 .metadata(meta)
                 .build();
     }
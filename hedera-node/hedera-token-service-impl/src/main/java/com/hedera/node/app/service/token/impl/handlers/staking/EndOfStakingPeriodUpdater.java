@@ -119,32 +119,31 @@ public class EndOfStakingPeriodUpdater {
         final Map<Long, StakingNodeInfo> updatedNodeInfos = new HashMap<>();
         final Map<Long, Long> newPendingRewardRates = new HashMap<>();
         for (final var nodeNum : nodeIds.stream().sorted().toList()) {
-            var currStakingInfo = stakingInfoStore.getForModify(nodeNum);
+            final var oldStakingInfo = stakingInfoStore.getForModify(nodeNum);
 
             // The return value here includes both the new reward sum history, and the reward rate
             // (tinybars-per-hbar-staked-to-reward) that will be paid to all accounts who had staked-to-reward for this
             // node long enough to be eligible in the just-finished period
             final var newRewardSumHistory = calculateRewardSumHistory(
-                    currStakingInfo,
+                    oldStakingInfo,
                     perHbarRate,
                     stakingConfig.perHbarRewardRate(),
                     stakingConfig.requireMinStakeToReward());
             final var newPendingRewardRate = newRewardSumHistory.pendingRewardRate();
             newPendingRewardRates.put(nodeNum, newPendingRewardRate);
-            currStakingInfo = currStakingInfo
-                    .copyBuilder()
-                    .rewardSumHistory(newRewardSumHistory.rewardSumHistory())
-                    .build();
             log.info(
                     "   > Non-zero reward sum history is now {}",
                     () -> readableNonZeroHistory(newRewardSumHistory.rewardSumHistory()));
 
-            final var oldStakeRewardStart = currStakingInfo.stakeRewardStart();
+            // The stake aggregates were kept current as accounts changed their stake during the period, so the
+            // next stake only depends on this node's info; build the node's new info in a single copy
+            final var oldStakeRewardStart = oldStakingInfo.stakeRewardStart();
             final var pendingRewardHbars =
-                    (oldStakeRewardStart - currStakingInfo.unclaimedStakeRewardStart()) / HBARS_TO_TINYBARS;
-            final var recomputedStake = computeNextStake(currStakingInfo);
-            currStakingInfo = currStakingInfo
+                    (oldStakeRewardStart - oldStakingInfo.unclaimedStakeRewardStart()) / HBARS_TO_TINYBARS;
+            final var recomputedStake = computeNextStake(oldStakingInfo);
+            var currStakingInfo = oldStakingInfo
                     .copyBuilder()
+                    .rewardSumHistory(newRewardSumHistory.rewardSumHistory())
                     .stake(recomputedStake.stake())
                     .stakeRewardStart(recomputedStake.stakeRewardStart())
                     .unclaimedStakeRewardStart(0)
@@ -41,6 +41,7 @@ import com.hedera.node.app.service.token.ReadableTokenRelationStore;
 import com.hedera.node.app.service.token.ReadableTokenStore;
 import com.hedera.node.app.service.token.impl.handlers.transfer.customfees.AssessmentResult;
 import com.hedera.node.app.service.token.impl.handlers.transfer.customfees.CustomFeeAssessor;
+import com.hedera.node.app.service.token.impl.handlers.transfer.customfees.CustomFeeMeta;
 import com.hedera.node.app.service.token.impl.handlers.transfer.customfees.CustomFixedFeeAssessor;
 import com.hedera.node.app.service.token.impl.handlers.transfer.customfees.CustomFractionalFeeAssessor;
 import com.hedera.node.app.service.token.impl.handlers.transfer.customfees.CustomRoyaltyFeeAssessor;
@@ -51,6 +52,7 @@ import com.swirlds.base.utility.Pair;
 import com.swirlds.config.api.Configuration;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -170,6 +172,10 @@ public class CustomFeeAssessmentStep {
         // list of assessed transactions, to be fed into further steps
         final List<CryptoTransferTransactionBody> assessedTxns = new ArrayList<>();
 
+        // The fee metadata of each token seen so far; the token store does not change during assessment, so each
+        // token only needs to be looked up and validated once across all levels and transfer lists
+        final Map<TokenID, CustomFeeMeta> feeMetas = new HashMap<>();
+
         // The first assessment inputs
         var tokenTransfers = op.tokenTransfersOrElse(emptyList());
         var hbarTransfers = op.transfersOrElse(TransferList.DEFAULT).accountAmountsOrElse(emptyList());
@@ -178,7 +184,7 @@ public class CustomFeeAssessmentStep {
             validateTrue(levelNum <= maxCustomFeeDepth, CUSTOM_FEE_CHARGING_EXCEEDED_MAX_RECURSION_DEPTH);
             // The result after each assessment
             final var result = assessCustomFeesFrom(
-                    hbarTransfers, tokenTransfers, tokenStore, tokenRelStore, accountStore, autoCreationTest);
+                    hbarTransfers, tokenTransfers, tokenStore, tokenRelStore, accountStore, autoCreationTest, feeMetas);
             // when there are adjustments made to given transaction, need to re-build the transaction
             if (!result.getAssessedCustomFees().isEmpty()) {
                 final var modifiedInputBody = changedInputTxn(txnToAssess, result);
@@ -350,7 +356,8 @@ public class CustomFeeAssessmentStep {
             @NonNull final ReadableTokenStore tokenStore,
             @NonNull final ReadableTokenRelationStore tokenRelStore,
             @NonNull final ReadableAccountStore accountStore,
-            @NonNull final Predicate<AccountID> autoCreationTest) {
+            @NonNull final Predicate<AccountID> autoCreationTest,
+            @NonNull final Map<TokenID, CustomFeeMeta> feeMetas) {
         final var result = new AssessmentResult(tokenTransfers, hbarTransfers);
 
         for (final var xfer : tokenTransfers) {
@@ -358,16 +365,16 @@ public class CustomFeeAssessmentStep {
             final var ftTransfers = xfer.transfersOrElse(emptyList());
             final var nftTransfers = xfer.nftTransfersOrElse(emptyList());
 
-            final var token = getIfUsable(tokenId, tokenStore, PERMIT_PAUSED);
-            final var feeMeta = customFeeMetaFrom(token);
+            final var feeMeta = feeMetas.computeIfAbsent(
+                    tokenId, id -> customFeeMetaFrom(getIfUsable(id, tokenStore, PERMIT_PAUSED)));
             if (feeMeta.customFees().isEmpty()) {
                 continue;
             }
 
+            final boolean isFungible = feeMeta.tokenType().equals(FUNGIBLE_COMMON);
             for (final var aa : ftTransfers) {
                 final var adjustment = aa.amount();
 
-                final boolean isFungible = token.tokenType().equals(FUNGIBLE_COMMON);
                 validateFalse(
                         !isFungible && adjustment != 0, ACCOUNT_AMOUNT_TRANSFERS_ONLY_ALLOWED_FOR_FUNGIBLE_COMMON);
 
@@ -29,7 +29,6 @@ import com.hedera.hapi.node.base.TokenID;
 import com.hedera.hapi.node.state.token.Account;
 import com.hedera.hapi.node.state.token.AccountApprovalForAllAllowance;
 import com.hedera.hapi.node.state.token.Nft;
-import com.hedera.hapi.node.state.token.TokenRelation;
 import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
 import com.hedera.node.app.service.token.impl.WritableAccountStore;
 import com.hedera.node.app.service.token.impl.WritableNftStore;
@@ -55,6 +54,7 @@ public class NFTOwnersChangeStep extends BaseTokenHandler implements TransferSte
         final var tokenStore = handleContext.writableStore(WritableTokenStore.class);
         final var tokenRelStore = handleContext.writableStore(WritableTokenRelationStore.class);
         final var expiryValidator = handleContext.expiryValidator();
+        final var ownershipChanges = new NftOwnershipChanges();
 
         for (var xfers : op.tokenTransfers()) {
             final var tokenId = xfers.token();
@@ -94,19 +94,13 @@ public class NFTOwnersChangeStep extends BaseTokenHandler implements TransferSte
                     validateTrue(treasury.equals(senderId), SENDER_DOES_NOT_OWN_NFT_SERIAL_NO);
                 }
 
-                // Update the ownership of the nft
-                updateOwnership(
-                        nft,
-                        treasury,
-                        senderAccount,
-                        receiverAccount,
-                        senderRel,
-                        receiverRel,
-                        accountStore,
-                        tokenRelStore,
-                        nftStore);
+                // Update the ownership of the nft; the sender and receiver counters are written once below
+                updateOwnership(nft, treasury, receiverAccount.accountIdOrThrow(), nftStore);
+                ownershipChanges.recordTransfer(
+                        senderAccount.accountIdOrThrow(), receiverAccount.accountIdOrThrow(), tokenId);
             }
         }
+        ownershipChanges.applyTo(accountStore, tokenRelStore);
     }
 
     /**
@@ -133,74 +127,30 @@ public class NFTOwnersChangeStep extends BaseTokenHandler implements TransferSte
 
     /**
      * Update the ownership of the nft. It updates the owner of NFT to {@link AccountID#DEFAULT}
-     * if it is being transferred back to treasury account. It also updates the number of NFTs
-     * owned and number of positive balances by the sender and receiver accounts.
-     * Also updates the token relations balance for both sender and receiver accounts.
-     * It also wipes the spender on the nft if the nft is being transferred, since
-     * owner no more owns the NFT.
+     * if it is being transferred back to treasury account. It also wipes the spender on the nft
+     * if the nft is being transferred, since owner no more owns the NFT. The number of NFTs owned,
+     * number of positive balances and token relation balances of the sender and receiver accounts
+     * are accumulated in {@link NftOwnershipChanges} and written once for the whole transfer.
      *
      * @param nft - NFT to be transferred
      * @param treasuryId - Treasury account of the token
-     * @param senderAccount - Sender account
-     * @param receiverAccount - Receiver account
-     * @param senderRel - Token relation of sender account
-     * @param receiverRel - Token relation of receiver account
-     * @param accountStore - Account store
-     * @param tokenRelStore - Token relation store
+     * @param receiverId - Receiver account id
      * @param nftStore - NFT store
      */
     private void updateOwnership(
             @NonNull final Nft nft,
             @NonNull final AccountID treasuryId,
-            @NonNull final Account senderAccount,
-            @NonNull final Account receiverAccount,
-            final TokenRelation senderRel,
-            final TokenRelation receiverRel,
-            final WritableAccountStore accountStore,
-            final WritableTokenRelationStore tokenRelStore,
-            final WritableNftStore nftStore) {
+            @NonNull final AccountID receiverId,
+            @NonNull final WritableNftStore nftStore) {
         final var nftCopy = nft.copyBuilder();
-
-        final var fromNftsOwned = senderAccount.numberOwnedNfts();
-        final var toNftsOwned = receiverAccount.numberOwnedNfts();
-        final var fromTokenRelBalance = senderRel.balance();
-        final var toTokenRelBalance = receiverRel.balance();
-        final var fromNumPositiveBalances = senderAccount.numberPositiveBalances();
-        final var toNumPositiveBalances = receiverAccount.numberPositiveBalances();
-        final var isTreasuryReturn = treasuryId.equals(receiverAccount.accountId());
-
         // If the token is being returned back to treasury null out the owner
-        if (isTreasuryReturn) {
+        if (treasuryId.equals(receiverId)) {
             nftCopy.ownerId((AccountID) null);
         } else {
-            nftCopy.ownerId(receiverAccount.accountId());
+            nftCopy.ownerId(receiverId);
         }
         // wipe the spender on this NFT
         nftCopy.spenderId((AccountID) null);
-
-        // adjust number of positive balances
-        final var updatedFromPositiveBalances =
-                fromTokenRelBalance - 1 == 0 ? fromNumPositiveBalances - 1 : fromNumPositiveBalances;
-        final var updatedToPositiveBalances =
-                toTokenRelBalance == 0 ? toNumPositiveBalances + 1 : toNumPositiveBalances;
-
-        // Make copies of the objects to be updated
-        final var senderAccountCopy = senderAccount.copyBuilder();
-        final var receiverAccountCopy = receiverAccount.copyBuilder();
-        final var senderRelCopy = senderRel.copyBuilder();
-        final var receiverRelCopy = receiverRel.copyBuilder();
-
-        accountStore.put(senderAccountCopy
-                .numberOwnedNfts(fromNftsOwned - 1)
-                .numberPositiveBalances(updatedFromPositiveBalances)
-                .build());
-        accountStore.put(receiverAccountCopy
-                .numberOwnedNfts(toNftsOwned + 1)
-                .numberPositiveBalances(updatedToPositiveBalances)
-                .build());
-        tokenRelStore.put(senderRelCopy.balance(fromTokenRelBalance - 1).build());
-        tokenRelStore.put(receiverRelCopy.balance(toTokenRelBalance + 1).build());
         nftStore.put(nftCopy.build());
-        // TODO: make sure finalize is capturing all these in transfer list
     }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl.handlers.transfer;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.state.common.EntityIDPair;
+import com.hedera.node.app.service.token.impl.WritableAccountStore;
+import com.hedera.node.app.service.token.impl.WritableTokenRelationStore;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the changes that NFT ownership changes make to the number of NFTs owned by accounts, and to the
+ * balances of their token relations, so that each account and token relation is written once no matter how many
+ * serials change hands. The changes are applied in the order the accounts and relations were first seen.
+ */
+public class NftOwnershipChanges {
+    private final Map<AccountID, Long> ownedNftChanges = new LinkedHashMap<>();
+    private final Map<EntityIDPair, Long> balanceChanges = new LinkedHashMap<>();
+
+    /**
+     * Records that one serial of the given token moves from the sender to the receiver.
+     *
+     * @param senderId the account that owned the serial
+     * @param receiverId the account that now owns the serial
+     * @param tokenId the token of the serial
+     */
+    public void recordTransfer(
+            @NonNull final AccountID senderId, @NonNull final AccountID receiverId, @NonNull final TokenID tokenId) {
+        requireNonNull(senderId);
+        requireNonNull(receiverId);
+        requireNonNull(tokenId);
+        ownedNftChanges.merge(senderId, -1L, Long::sum);
+        ownedNftChanges.merge(receiverId, 1L, Long::sum);
+        balanceChanges.merge(new EntityIDPair(senderId, tokenId), -1L, Long::sum);
+        balanceChanges.merge(new EntityIDPair(receiverId, tokenId), 1L, Long::sum);
+    }
+
+    /**
+     * Applies all recorded changes. Each changed token relation gets its new balance, and each changed account gets
+     * its new number of owned NFTs and of positive balances; a relation counts as a positive balance whenever its
+     * balance is above zero. All accounts and token relations involved must exist.
+     *
+     * @param accountStore the account store
+     * @param tokenRelStore the token relation store
+     */
+    public void applyTo(
+            @NonNull final WritableAccountStore accountStore, @NonNull final WritableTokenRelationStore tokenRelStore) {
+        requireNonNull(accountStore);
+        requireNonNull(tokenRelStore);
+        final Map<AccountID, Long> positiveBalanceChanges = new LinkedHashMap<>();
+        for (final var entry : balanceChanges.entrySet()) {
+            final long change = entry.getValue();
+            if (change == 0) {
+                continue;
+            }
+            final var accountId = entry.getKey().accountIdOrThrow();
+            final var rel = requireNonNull(tokenRelStore.get(accountId, entry.getKey().tokenIdOrThrow()));
+            final var oldBalance = rel.balance();
+            final var newBalance = oldBalance + change;
+            tokenRelStore.put(rel.copyBuilder().balance(newBalance).build());
+            final int positiveChange = (newBalance > 0 ? 1 : 0) - (oldBalance > 0 ? 1 : 0);
+            if (positiveChange != 0) {
+                positiveBalanceChanges.merge(accountId, (long) positiveChange, Long::sum);
+            }
+        }
+        for (final var entry : ownedNftChanges.entrySet()) {
+            final long ownedChange = entry.getValue();
+            final long positiveChange = positiveBalanceChanges.getOrDefault(entry.getKey(), 0L);
+            if (ownedChange == 0 && positiveChange == 0) {
+                continue;
+            }
+            final var account = requireNonNull(accountStore.get(entry.getKey()));
+            accountStore.put(account.copyBuilder()
+                    .numberOwnedNfts(account.numberOwnedNfts() + ownedChange)
+                    .numberPositiveBalances((int) (account.numberPositiveBalances() + positiveChange))
+                    .build());
+        }
+        ownedNftChanges.clear();
+        balanceChanges.clear();
+    }
+}
@@ -20,6 +20,7 @@ import static com.hedera.node.app.service.token.api.StakingRewardsApi.clampedSta
 import static com.hedera.node.app.service.token.api.StakingRewardsApi.computeRewardFromDetails;
 import static com.hedera.node.app.service.token.api.StakingRewardsApi.stakePeriodAt;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNTS_KEY;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ALIASES_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.NFTS_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.STAKING_INFO_KEY;
@@ -62,7 +63,10 @@ import com.hedera.node.app.service.mono.state.virtual.UniqueTokenValue;
 import com.hedera.node.app.service.mono.state.virtual.entities.OnDiskAccount;
 import com.hedera.node.app.service.mono.state.virtual.entities.OnDiskTokenRel;
 import com.hedera.node.app.service.mono.utils.EntityNum;
+import com.hedera.node.app.service.mono.utils.EntityNumPair;
 import com.hedera.node.app.service.token.AliasUtils;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
 import com.hedera.node.app.service.token.impl.TokenServiceImpl;
 import com.hedera.node.app.service.token.impl.codec.NetworkingStakingTranslator;
 import com.hedera.node.app.spi.state.MigrationContext;
@@ -81,7 +85,10 @@ import com.swirlds.merkle.map.MerkleMap;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
@@ -108,6 +115,7 @@ public class InitialModServiceTokenSchema extends Schema {
     private static final long MAX_TOKENS = 1_000_000_000L;
     private static final long MAX_ACCOUNTS = 1_000_000_000L;
     private static final long MAX_TOKEN_RELS = 1_000_000_000L;
+    private static final long MAX_ACCOUNT_TOKEN_PAGES = MAX_TOKEN_RELS / AccountTokenPage.MAX_TOKEN_IDS;
     private static final long MAX_MINTABLE_NFTS = 1_000_000_000L;
     private static final long FIRST_RESERVED_SYSTEM_CONTRACT = 350L;
     private static final long LAST_RESERVED_SYSTEM_CONTRACT = 399L;
@@ -158,6 +166,11 @@ public class InitialModServiceTokenSchema extends Schema {
                 StateDefinition.onDisk(ALIASES_KEY, ProtoBytes.PROTOBUF, AccountID.PROTOBUF, MAX_ACCOUNTS),
                 StateDefinition.onDisk(NFTS_KEY, NftID.PROTOBUF, Nft.PROTOBUF, MAX_MINTABLE_NFTS),
                 StateDefinition.onDisk(TOKEN_RELS_KEY, EntityIDPair.PROTOBUF, TokenRelation.PROTOBUF, MAX_TOKEN_RELS),
+                StateDefinition.onDisk(
+                        ACCOUNT_TOKEN_PAGES_KEY,
+                        AccountTokenPageId.PROTOBUF,
+                        AccountTokenPage.PROTOBUF,
+                        MAX_ACCOUNT_TOKEN_PAGES),
                 StateDefinition.inMemory(STAKING_INFO_KEY, EntityNumber.PROTOBUF, StakingNodeInfo.PROTOBUF),
                 StateDefinition.singleton(STAKING_NETWORK_REWARDS_KEY, NetworkStakingRewards.PROTOBUF));
     }
@@ -327,6 +340,10 @@ public class InitialModServiceTokenSchema extends Schema {
             final var acctsToState = new AtomicReference<>(ctx.newStates().<AccountID, Account>get(ACCOUNTS_KEY));
             final var aliasesState = new AtomicReference<>(ctx.newStates().<ProtoBytes, AccountID>get(ALIASES_KEY));
             final Map<Long, Long> pendingRewards = new ConcurrentHashMap<>();
+            // Each account's token relations also fill its pages of the index of associated tokens
+            final var numTokenPageInsertions = new AtomicLong();
+            final var tokenPagesToState = new AtomicReference<>(
+                    ctx.newStates().<AccountTokenPageId, AccountTokenPage>get(ACCOUNT_TOKEN_PAGES_KEY));
             try {
                 VirtualMapLike.from(acctsFs)
                         .extractVirtualMapData(
@@ -342,6 +359,26 @@ public class InitialModServiceTokenSchema extends Schema {
                                                             .accountNum(acctNum)
                                                             .build(),
                                                     toAcct);
+                                    final var tokenIds = associatedTokenIdsOf(acctNum, fromAcct);
+                                    for (int i = 0; i < tokenIds.size(); i += AccountTokenPage.MAX_TOKEN_IDS) {
+                                        final var pageId = new AccountTokenPageId(
+                                                AccountID.newBuilder()
+                                                        .accountNum(acctNum)
+                                                        .build(),
+                                                i / AccountTokenPage.MAX_TOKEN_IDS);
+                                        final var pageEnd =
+                                                Math.min(tokenIds.size(), i + AccountTokenPage.MAX_TOKEN_IDS);
+                                        tokenPagesToState
+                                                .get()
+                                                .put(pageId, new AccountTokenPage(tokenIds.subList(i, pageEnd)));
+                                        if (numTokenPageInsertions.incrementAndGet() % 10_000 == 0) {
+                                            // Make sure we are flushing data to disk as we go
+                                            ((WritableKVStateBase) tokenPagesToState.get()).commit();
+                                            ctx.copyAndReleaseOnDiskState(ACCOUNT_TOKEN_PAGES_KEY);
+                                            // And ensure we have the latest writable state
+                                            tokenPagesToState.set(ctx.newStates().get(ACCOUNT_TOKEN_PAGES_KEY));
+                                        }
+                                    }
                                     if (!toAcct.deleted() && !toAcct.declineReward() && toAcct.hasStakedNodeId()) {
                                         final var stakedNodeId = toAcct.stakedNodeIdOrThrow();
                                         final var stakingInfo = stakingToState.get(new EntityNumber(stakedNodeId));
@@ -386,6 +423,7 @@ public class InitialModServiceTokenSchema extends Schema {
                 throw new RuntimeException(e);
             }
             if (acctsToState.get().isModified()) ((WritableKVStateBase) acctsToState.get()).commit();
+            if (tokenPagesToState.get().isModified()) ((WritableKVStateBase) tokenPagesToState.get()).commit();
             // Also persist the per-node pending reward information
             stakingFs.forEach((entityNum, ignore) -> {
                 final var toKey = new EntityNumber(entityNum.longValue());
@@ -430,6 +468,31 @@ public class InitialModServiceTokenSchema extends Schema {
         mnc = null;
     }
 
+    /**
+     * Returns the ids of the tokens associated with a mono-service account, in the order they were associated.
+     * Mono-service links each new association in at the head of the account's token relation list, so the list
+     * is walked from its head and then reversed.
+     *
+     * @param acctNum the number of the account
+     * @param fromAcct the mono-service account
+     * @return the ids of the tokens associated with the account
+     */
+    private List<TokenID> associatedTokenIdsOf(final long acctNum, @NonNull final OnDiskAccount fromAcct) {
+        final var tokenIds = new ArrayList<TokenID>();
+        var tokenNum = fromAcct.getHeadTokenId();
+        // The number of associations bounds the walk, in case the list in state is malformed
+        while (tokenNum != 0 && tokenIds.size() < fromAcct.getNumAssociations()) {
+            final var fromTokenRel = trFs.get(EntityNumVirtualKey.fromPair(EntityNumPair.fromLongs(acctNum, tokenNum)));
+            if (fromTokenRel == null) {
+                break;
+            }
+            tokenIds.add(TokenID.newBuilder().tokenNum(tokenNum).build());
+            tokenNum = fromTokenRel.getNext();
+        }
+        Collections.reverse(tokenIds);
+        return tokenIds;
+    }
+
     private void createGenesisSchema(@NonNull final MigrationContext ctx) {
         // Create the network rewards state
         initializeNetworkRewards(ctx);
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl.serdes;
+
+import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.pbj.runtime.Codec;
+import com.hedera.pbj.runtime.FieldDefinition;
+import com.hedera.pbj.runtime.FieldType;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.ProtoWriterTools;
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+
+/**
+ * Protobuf codec for {@link AccountTokenPage}, equivalent to the message
+ * <pre>
+ * message AccountTokenPage {
+ *     repeated TokenID token_ids = 1;
+ * }
+ * </pre>
+ */
+public class AccountTokenPageCodec implements Codec<AccountTokenPage> {
+    private static final FieldDefinition FIELD_TOKEN_IDS =
+            new FieldDefinition("tokenIds", FieldType.MESSAGE, true, false, false, 1);
+
+    @NonNull
+    @Override
+    public AccountTokenPage parse(
+            @NonNull final ReadableSequentialData input, final boolean strictMode, final int maxDepth)
+            throws ParseException {
+        requireNonNull(input);
+        final var tokenIds = new ArrayList<TokenID>();
+        while (input.hasRemaining()) {
+            final int tag = input.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_TOKEN_IDS.number()) {
+                final int size = input.readVarInt(false);
+                final long oldLimit = input.limit();
+                input.limit(input.position() + size);
+                tokenIds.add(TokenID.PROTOBUF.parse(input));
+                input.limit(oldLimit);
+            } else {
+                throw new ParseException("Unknown account token page field: " + fieldNum);
+            }
+        }
+        return new AccountTokenPage(tokenIds);
+    }
+
+    @Override
+    public void write(@NonNull final AccountTokenPage item, @NonNull final WritableSequentialData output)
+            throws IOException {
+        requireNonNull(item);
+        requireNonNull(output);
+        for (final var tokenId : item.tokenIds()) {
+            ProtoWriterTools.writeDelimited(
+                    output,
+                    FIELD_TOKEN_IDS,
+                    TokenID.PROTOBUF.measureRecord(tokenId),
+                    out -> writeTokenId(tokenId, out));
+        }
+    }
+
+    @Override
+    public int measure(@NonNull final ReadableSequentialData input) throws ParseException {
+        final long start = input.position();
+        parse(input);
+        return (int) (input.position() - start);
+    }
+
+    @Override
+    public int measureRecord(@NonNull final AccountTokenPage item) {
+        int size = 0;
+        for (final var tokenId : item.tokenIds()) {
+            size += ProtoWriterTools.sizeOfDelimited(FIELD_TOKEN_IDS, TokenID.PROTOBUF.measureRecord(tokenId));
+        }
+        return size;
+    }
+
+    @Override
+    public boolean fastEquals(@NonNull final AccountTokenPage item, @NonNull final ReadableSequentialData input)
+            throws ParseException {
+        return item.equals(parse(input));
+    }
+
+    private static void writeTokenId(@NonNull final TokenID tokenId, @NonNull final WritableSequentialData output) {
+        try {
+            TokenID.PROTOBUF.write(tokenId, output);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl.serdes;
+
+import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
+import com.hedera.pbj.runtime.Codec;
+import com.hedera.pbj.runtime.FieldDefinition;
+import com.hedera.pbj.runtime.FieldType;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.ProtoConstants;
+import com.hedera.pbj.runtime.ProtoWriterTools;
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Protobuf codec for {@link AccountTokenPageId}, equivalent to the message
+ * <pre>
+ * message AccountTokenPageId {
+ *     AccountID account_id = 1;
+ *     uint32 page_number = 2;
+ * }
+ * </pre>
+ */
+public class AccountTokenPageIdCodec implements Codec<AccountTokenPageId> {
+    private static final FieldDefinition FIELD_ACCOUNT_ID =
+            new FieldDefinition("accountId", FieldType.MESSAGE, false, false, false, 1);
+    private static final FieldDefinition FIELD_PAGE_NUMBER =
+            new FieldDefinition("pageNumber", FieldType.UINT32, false, true, false, 2);
+
+    @NonNull
+    @Override
+    public AccountTokenPageId parse(
+            @NonNull final ReadableSequentialData input, final boolean strictMode, final int maxDepth)
+            throws ParseException {
+        requireNonNull(input);
+        AccountID accountId = AccountID.DEFAULT;
+        int pageNumber = 0;
+        while (input.hasRemaining()) {
+            final int tag = input.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_ACCOUNT_ID.number()) {
+                final int size = input.readVarInt(false);
+                final long oldLimit = input.limit();
+                input.limit(input.position() + size);
+                accountId = AccountID.PROTOBUF.parse(input);
+                input.limit(oldLimit);
+            } else if (fieldNum == FIELD_PAGE_NUMBER.number()) {
+                pageNumber = input.readVarInt(false);
+            } else {
+                throw new ParseException("Unknown account token page id field: " + fieldNum);
+            }
+        }
+        return new AccountTokenPageId(accountId, pageNumber);
+    }
+
+    @Override
+    public void write(@NonNull final AccountTokenPageId item, @NonNull final WritableSequentialData output)
+            throws IOException {
+        requireNonNull(item);
+        requireNonNull(output);
+        ProtoWriterTools.writeDelimited(
+                output,
+                FIELD_ACCOUNT_ID,
+                AccountID.PROTOBUF.measureRecord(item.accountId()),
+                out -> writeAccountId(item.accountId(), out));
+        if (item.pageNumber() != 0) {
+            ProtoWriterTools.writeTag(output, FIELD_PAGE_NUMBER);
+            output.writeVarInt(item.pageNumber(), false);
+        }
+    }
+
+    @Override
+    public int measure(@NonNull final ReadableSequentialData input) throws ParseException {
+        final long start = input.position();
+        parse(input);
+        return (int) (input.position() - start);
+    }
+
+    @Override
+    public int measureRecord(@NonNull final AccountTokenPageId item) {
+        int size = ProtoWriterTools.sizeOfDelimited(
+                FIELD_ACCOUNT_ID, AccountID.PROTOBUF.measureRecord(item.accountId()));
+        if (item.pageNumber() != 0) {
+            size += ProtoWriterTools.sizeOfTag(FIELD_PAGE_NUMBER, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
+            size += ProtoWriterTools.sizeOfVarInt32(item.pageNumber());
+        }
+        return size;
+    }
+
+    @Override
+    public boolean fastEquals(@NonNull final AccountTokenPageId item, @NonNull final ReadableSequentialData input)
+            throws ParseException {
+        return item.equals(parse(input));
+    }
+
+    private static void writeAccountId(
+            @NonNull final AccountID accountId, @NonNull final WritableSequentialData output) {
+        try {
+            AccountID.PROTOBUF.write(accountId, output);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
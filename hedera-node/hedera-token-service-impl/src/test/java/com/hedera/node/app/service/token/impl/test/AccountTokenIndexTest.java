@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl.test;
+
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.TOKEN_RELS_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.state.token.Account;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
+import com.hedera.node.app.service.token.impl.WritableTokenRelationStore;
+import com.hedera.node.app.spi.fixtures.state.MapWritableKVState;
+import com.hedera.node.app.spi.fixtures.state.MapWritableStates;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AccountTokenIndexTest {
+    private static final AccountID ACCOUNT_ID =
+            AccountID.newBuilder().accountNum(1001L).build();
+
+    private MapWritableKVState<AccountTokenPageId, AccountTokenPage> pages;
+
+    private WritableTokenRelationStore subject;
+
+    @BeforeEach
+    void setUp() {
+        pages = MapWritableKVState.<AccountTokenPageId, AccountTokenPage>builder(ACCOUNT_TOKEN_PAGES_KEY)
+                .build();
+        subject = new WritableTokenRelationStore(MapWritableStates.builder()
+                .state(MapWritableKVState.builder(TOKEN_RELS_KEY).build())
+                .state(pages)
+                .build());
+    }
+
+    @Test
+    void appendsTokensInAssociationOrderAcrossPages() {
+        final var first = tokenIds(1, 60);
+        final var second = tokenIds(61, 70);
+
+        subject.addToAccountIndex(accountWith(0), first);
+        subject.addToAccountIndex(accountWith(60), second);
+
+        assertThat(pages.size()).isEqualTo(2);
+        assertThat(pages.get(new AccountTokenPageId(ACCOUNT_ID, 0)).isFull()).isTrue();
+        assertThat(pages.get(new AccountTokenPageId(ACCOUNT_ID, 1)).tokenIds()).hasSize(6);
+        assertThat(subject.getAssociatedTokenIds(accountWith(70))).isEqualTo(tokenIds(1, 70));
+    }
+
+    @Test
+    void appendsToFirstNonFullPageEvenIfAssociationCountIsAhead() {
+        subject.addToAccountIndex(accountWith(0), tokenIds(1, 3));
+
+        subject.addToAccountIndex(accountWith(AccountTokenPage.MAX_TOKEN_IDS + 1), tokenIds(4, 5));
+
+        assertThat(pages.size()).isEqualTo(1);
+        assertThat(subject.getAssociatedTokenIds(accountWith(5))).isEqualTo(tokenIds(1, 5));
+    }
+
+    @Test
+    void removalCompactsLaterPagesAndDropsEmptyOnes() {
+        subject.addToAccountIndex(accountWith(0), tokenIds(1, 130));
+
+        subject.removeFromAccountIndex(accountWith(130), List.of(tokenId(2), tokenId(129), tokenId(130)));
+
+        final var expected = LongStream.rangeClosed(1, 128)
+                .filter(num -> num != 2)
+                .mapToObj(AccountTokenIndexTest::tokenId)
+                .toList();
+        assertThat(subject.getAssociatedTokenIds(accountWith(127))).isEqualTo(expected);
+        assertThat(pages.size()).isEqualTo(2);
+        assertThat(pages.get(new AccountTokenPageId(ACCOUNT_ID, 1)).tokenIds()).hasSize(63);
+    }
+
+    @Test
+    void removingUnknownTokensChangesNothing() {
+        subject.addToAccountIndex(accountWith(0), tokenIds(1, 3));
+        pages.commit();
+
+        subject.removeFromAccountIndex(accountWith(3), List.of(tokenId(4)));
+
+        assertThat(pages.modifiedKeys()).isEmpty();
+        assertThat(subject.getAssociatedTokenIds(accountWith(3))).isEqualTo(tokenIds(1, 3));
+    }
+
+    @Test
+    void removingAllTokensRemovesAllPages() {
+        subject.addToAccountIndex(accountWith(0), tokenIds(1, 65));
+
+        subject.removeFromAccountIndex(accountWith(65), tokenIds(1, 65));
+
+        assertThat(pages.get(new AccountTokenPageId(ACCOUNT_ID, 0))).isNull();
+        assertThat(pages.get(new AccountTokenPageId(ACCOUNT_ID, 1))).isNull();
+        assertThat(subject.getAssociatedTokenIds(accountWith(0))).isEmpty();
+    }
+
+    private static Account accountWith(final long numAssociations) {
+        return Account.newBuilder()
+                .accountId(ACCOUNT_ID)
+                .numberAssociations(numAssociations)
+                .build();
+    }
+
+    private static List<TokenID> tokenIds(final long from, final long to) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(AccountTokenIndexTest::tokenId)
+                .toList();
+    }
+
+    private static TokenID tokenId(final long num) {
+        return TokenID.newBuilder().tokenNum(num).build();
+    }
+}
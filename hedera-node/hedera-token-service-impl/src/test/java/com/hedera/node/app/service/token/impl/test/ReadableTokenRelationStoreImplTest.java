@@ -25,6 +25,8 @@ import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.TokenID;
 import com.hedera.hapi.node.state.common.EntityIDPair;
 import com.hedera.hapi.node.state.token.TokenRelation;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
 import com.hedera.node.app.service.token.impl.ReadableTokenRelationStoreImpl;
 import com.hedera.node.app.service.token.impl.TokenServiceImpl;
 import com.hedera.node.app.spi.state.ReadableKVState;
@@ -56,12 +58,17 @@ class ReadableTokenRelationStoreImplTest {
     @Mock
     private ReadableKVState<EntityIDPair, TokenRelation> tokenRelState;
 
+    @Mock
+    private ReadableKVState<AccountTokenPageId, AccountTokenPage> accountTokenPageState;
+
     private ReadableTokenRelationStoreImpl subject;
 
     @BeforeEach
     void setUp() {
         given(states.<EntityIDPair, TokenRelation>get(TokenServiceImpl.TOKEN_RELS_KEY))
                 .willReturn(tokenRelState);
+        given(states.<AccountTokenPageId, AccountTokenPage>get(TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY))
+                .willReturn(accountTokenPageState);
 
         subject = new ReadableTokenRelationStoreImpl(states);
     }
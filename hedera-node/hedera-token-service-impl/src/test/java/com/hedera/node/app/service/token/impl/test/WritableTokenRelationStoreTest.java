@@ -28,6 +28,8 @@ import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.TokenID;
 import com.hedera.hapi.node.state.common.EntityIDPair;
 import com.hedera.hapi.node.state.token.TokenRelation;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
 import com.hedera.node.app.service.token.impl.TokenServiceImpl;
 import com.hedera.node.app.service.token.impl.WritableTokenRelationStore;
 import com.hedera.node.app.spi.state.WritableKVStateBase;
@@ -55,12 +57,17 @@ class WritableTokenRelationStoreTest {
     @Mock
     private WritableKVStateBase<EntityIDPair, TokenRelation> tokenRelState;
 
+    @Mock
+    private WritableKVStateBase<AccountTokenPageId, AccountTokenPage> accountTokenPageState;
+
     private WritableTokenRelationStore subject;
 
     @BeforeEach
     void setUp() {
         given(states.<EntityIDPair, TokenRelation>get(TokenServiceImpl.TOKEN_RELS_KEY))
                 .willReturn(tokenRelState);
+        given(states.<AccountTokenPageId, AccountTokenPage>get(TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY))
+                .willReturn(accountTokenPageState);
 
         subject = new WritableTokenRelationStore(states);
     }
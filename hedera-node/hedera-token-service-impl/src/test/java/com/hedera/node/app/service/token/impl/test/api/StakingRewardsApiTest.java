@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl.test.api;
+
+import static com.hedera.node.app.service.token.api.StakingRewardsApi.DAILY_STAKING_PERIOD_MINS;
+import static com.hedera.node.app.service.token.api.StakingRewardsApi.estimatePendingReward;
+import static com.hedera.node.app.service.token.api.StakingRewardsApi.estimatedCurrentStakePeriod;
+import static com.hedera.node.app.service.token.api.StakingRewardsApi.pendingRewardAt;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import com.hedera.hapi.node.state.token.Account;
+import com.hedera.hapi.node.state.token.StakingNodeInfo;
+import com.hedera.node.app.service.token.ReadableStakingInfoStore;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StakingRewardsApiTest {
+    private static final int NUM_STORED_PERIODS = 6;
+    private static final long TEN_HBARS = 10 * 100_000_000L;
+    private static final StakingNodeInfo NODE_INFO = StakingNodeInfo.newBuilder()
+            .nodeNumber(0L)
+            .rewardSumHistory(List.of(6L, 5L, 4L, 3L, 2L, 1L, 0L))
+            .build();
+
+    @Mock
+    private ReadableStakingInfoStore stakingInfoStore;
+
+    @Test
+    void rewardsAccountsThatStartedStakingBeforeThePreviousPeriod() {
+        given(stakingInfoStore.get(0L)).willReturn(NODE_INFO);
+
+        assertThat(pendingRewardAt(NUM_STORED_PERIODS, 1000L, true, stakedSince(998L), stakingInfoStore))
+                .isEqualTo(10L);
+        assertThat(pendingRewardAt(NUM_STORED_PERIODS, 1000L, true, stakedSince(996L), stakingInfoStore))
+                .isEqualTo(30L);
+    }
+
+    @Test
+    void doesNotRewardAccountsThatStartedStakingInThePreviousPeriod() {
+        assertThat(pendingRewardAt(NUM_STORED_PERIODS, 1000L, true, stakedSince(999L), stakingInfoStore))
+                .isZero();
+    }
+
+    @Test
+    void doesNotRewardWhileRewardsAreInactive() {
+        assertThat(pendingRewardAt(NUM_STORED_PERIODS, 1000L, false, stakedSince(998L), stakingInfoStore))
+                .isZero();
+    }
+
+    @Test
+    void checksEligibilityInTheSamePeriodAsTheReward() {
+        given(stakingInfoStore.get(0L)).willReturn(NODE_INFO);
+        // A period the wall clock has not reached yet, so an eligibility check against the clock would fail
+        final var currentStakePeriod = estimatedCurrentStakePeriod(DAILY_STAKING_PERIOD_MINS) + 10;
+
+        final var reward = pendingRewardAt(
+                NUM_STORED_PERIODS, currentStakePeriod, true, stakedSince(currentStakePeriod - 2), stakingInfoStore);
+
+        assertThat(reward).isEqualTo(10L);
+    }
+
+    @Test
+    void estimatesRewardsInTheCurrentPeriod() {
+        given(stakingInfoStore.get(0L)).willReturn(NODE_INFO);
+        final var currentStakePeriod = estimatedCurrentStakePeriod(DAILY_STAKING_PERIOD_MINS);
+
+        final var reward = estimatePendingReward(
+                NUM_STORED_PERIODS,
+                DAILY_STAKING_PERIOD_MINS,
+                true,
+                stakedSince(currentStakePeriod - 2),
+                stakingInfoStore);
+
+        // One more period is rewarded if the day changed in between
+        assertThat(reward).isIn(10L, 20L);
+    }
+
+    private static Account stakedSince(final long stakePeriodStart) {
+        return Account.newBuilder()
+                .stakedNodeId(0L)
+                .stakePeriodStart(stakePeriodStart)
+                .stakeAtStartOfLastRewardedPeriod(-1L)
+                .tinybarBalance(TEN_HBARS)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.token.impl.test.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
+import com.hedera.pbj.runtime.Codec;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class AccountTokenPageCodecTest {
+    private static final AccountID ACCOUNT_ID =
+            AccountID.newBuilder().shardNum(1L).realmNum(2L).accountNum(1001L).build();
+
+    @Test
+    void roundTripsPageIds() throws IOException, ParseException {
+        assertRoundTrips(AccountTokenPageId.PROTOBUF, new AccountTokenPageId(ACCOUNT_ID, 0));
+        assertRoundTrips(AccountTokenPageId.PROTOBUF, new AccountTokenPageId(ACCOUNT_ID, 1234));
+    }
+
+    @Test
+    void roundTripsPages() throws IOException, ParseException {
+        assertRoundTrips(AccountTokenPage.PROTOBUF, new AccountTokenPage(List.of()));
+        assertRoundTrips(
+                AccountTokenPage.PROTOBUF,
+                new AccountTokenPage(LongStream.rangeClosed(1, AccountTokenPage.MAX_TOKEN_IDS)
+                        .mapToObj(num -> TokenID.newBuilder().tokenNum(num).build())
+                        .toList()));
+    }
+
+    @Test
+    void pageIdHashCodeDependsOnlyOnContents() {
+        assertEquals(
+                new AccountTokenPageId(ACCOUNT_ID, 7).hashCode(),
+                new AccountTokenPageId(ACCOUNT_ID.copyBuilder().build(), 7).hashCode());
+    }
+
+    @Test
+    void rejectsInvalidPages() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountTokenPageId(ACCOUNT_ID, -1));
+        final var tooMany = LongStream.rangeClosed(0, AccountTokenPage.MAX_TOKEN_IDS)
+                .mapToObj(num -> TokenID.newBuilder().tokenNum(num).build())
+                .toList();
+        assertThrows(IllegalArgumentException.class, () -> new AccountTokenPage(tooMany));
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        final var input = BufferedData.wrap(new byte[] {(byte) (15 << 3), 1});
+        assertThrows(ParseException.class, () -> AccountTokenPageId.PROTOBUF.parse(input));
+    }
+
+    private static <T> void assertRoundTrips(final Codec<T> codec, final T item) throws IOException, ParseException {
+        final var bytes = codec.toBytes(item);
+        assertEquals(codec.measureRecord(item), (int) bytes.length());
+        assertEquals(item, codec.parse(bytes.toReadableSequentialData()));
+        assertEquals(codec.measureRecord(item), codec.measure(bytes.toReadableSequentialData()));
+        assertTrue(codec.fastEquals(item, bytes.toReadableSequentialData()));
+    }
+}
@@ -17,6 +17,7 @@
 package com.hedera.node.app.service.token.impl.test.handlers;
 
 import static com.hedera.node.app.service.token.impl.handlers.BaseTokenHandler.asToken;
+import static com.hedera.node.app.service.token.impl.test.handlers.util.StateBuilderUtil.ACCOUNT_TOKEN_PAGES;
 import static com.hedera.node.app.service.token.impl.test.handlers.util.StateBuilderUtil.TOKENS;
 import static com.hedera.node.app.service.token.impl.test.handlers.util.StateBuilderUtil.TOKEN_RELS;
 import static com.hedera.node.app.spi.fixtures.workflows.ExceptionConditions.responseCode;
@@ -47,6 +48,8 @@ import com.hedera.hapi.node.transaction.Response;
 import com.hedera.node.app.service.token.ReadableAccountStore;
 import com.hedera.node.app.service.token.ReadableTokenRelationStore;
 import com.hedera.node.app.service.token.ReadableTokenStore;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
 import com.hedera.node.app.service.token.impl.ReadableAccountStoreImpl;
 import com.hedera.node.app.service.token.impl.ReadableTokenRelationStoreImpl;
 import com.hedera.node.app.service.token.impl.ReadableTokenStoreImpl;
@@ -292,6 +295,9 @@ class CryptoGetAccountBalanceHandlerTest extends CryptoHandlerTestBase {
                         tokenRelation)
                 .build();
         given(readableStates3.<EntityIDPair, TokenRelation>get(TOKEN_RELS)).willReturn(readableTokenRel);
+        given(readableStates3.<AccountTokenPageId, AccountTokenPage>get(ACCOUNT_TOKEN_PAGES))
+                .willReturn(MapReadableKVState.<AccountTokenPageId, AccountTokenPage>builder(ACCOUNT_TOKEN_PAGES)
+                        .build());
         final var readableTokenRelStore = new ReadableTokenRelationStoreImpl(readableStates3);
 
         final var query = createGetAccountBalanceQuery(accountNum);
@@ -388,6 +394,9 @@ class CryptoGetAccountBalanceHandlerTest extends CryptoHandlerTestBase {
                         tokenRelation3)
                 .build();
         given(readableStates3.<EntityIDPair, TokenRelation>get(TOKEN_RELS)).willReturn(readableTokenRel);
+        given(readableStates3.<AccountTokenPageId, AccountTokenPage>get(ACCOUNT_TOKEN_PAGES))
+                .willReturn(MapReadableKVState.<AccountTokenPageId, AccountTokenPage>builder(ACCOUNT_TOKEN_PAGES)
+                        .build());
         final var readableTokenRelStore = new ReadableTokenRelationStoreImpl(readableStates3);
 
         final var query = createGetAccountBalanceQuery(accountNum);
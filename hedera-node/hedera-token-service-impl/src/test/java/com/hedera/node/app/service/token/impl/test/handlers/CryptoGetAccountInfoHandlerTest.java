@@ -21,6 +21,7 @@ import static com.hedera.hapi.node.base.ResponseType.ANSWER_ONLY;
 import static com.hedera.hapi.node.base.TokenFreezeStatus.FREEZE_NOT_APPLICABLE;
 import static com.hedera.hapi.node.base.TokenKycStatus.KYC_NOT_APPLICABLE;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNTS_KEY;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.STAKING_INFO_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.TOKENS_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.TOKEN_RELS_KEY;
@@ -60,6 +61,8 @@ import com.hedera.node.app.service.token.ReadableNetworkStakingRewardsStore;
 import com.hedera.node.app.service.token.ReadableStakingInfoStore;
 import com.hedera.node.app.service.token.ReadableTokenRelationStore;
 import com.hedera.node.app.service.token.ReadableTokenStore;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
 import com.hedera.node.app.service.token.impl.ReadableAccountStoreImpl;
 import com.hedera.node.app.service.token.impl.ReadableNetworkStakingRewardsStoreImpl;
 import com.hedera.node.app.service.token.impl.ReadableStakingInfoStoreImpl;
@@ -448,6 +451,9 @@ class CryptoGetAccountInfoHandlerTest extends CryptoHandlerTestBase {
                     tokenRelation);
         }
         given(readableStates3.<EntityIDPair, TokenRelation>get(TOKEN_RELS_KEY)).willReturn(readableTokenRel.build());
+        given(readableStates3.<AccountTokenPageId, AccountTokenPage>get(ACCOUNT_TOKEN_PAGES_KEY))
+                .willReturn(MapReadableKVState.<AccountTokenPageId, AccountTokenPage>builder(ACCOUNT_TOKEN_PAGES_KEY)
+                        .build());
         final var readableTokenRelStore = new ReadableTokenRelationStoreImpl(readableStates3);
         when(context.createStore(ReadableTokenRelationStore.class)).thenReturn(readableTokenRelStore);
     }
@@ -32,9 +32,11 @@ import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
 import com.hedera.node.app.service.token.impl.handlers.transfer.AssociateTokenRecipientsStep;
 import com.hedera.node.app.service.token.impl.handlers.transfer.EnsureAliasesStep;
 import com.hedera.node.app.service.token.impl.handlers.transfer.NFTOwnersChangeStep;
+import com.hedera.node.app.service.token.impl.handlers.transfer.NftOwnershipChanges;
 import com.hedera.node.app.service.token.impl.handlers.transfer.ReplaceAliasesWithIDsInOp;
 import com.hedera.node.app.service.token.impl.handlers.transfer.TransferContextImpl;
 import com.hedera.node.app.spi.workflows.HandleException;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -208,6 +210,26 @@ class ChangeNFTOwnersStepTest extends StepsBase {
                 .has(responseCode(SPENDER_DOES_NOT_HAVE_ALLOWANCE));
     }
 
+    @Test
+    void doesNotWriteOwnershipChangesThatNetOut() {
+        final var receiver = asAccount(tokenReceiver);
+        getReplacedOp();
+        final var senderAccount = writableAccountStore.get(ownerId);
+        final var receiverAccount = writableAccountStore.get(receiver);
+        final var modifiedAccounts = Set.copyOf(writableAccountStore.modifiedAccountsInState());
+        final var modifiedRels = Set.copyOf(writableTokenRelStore.modifiedTokens());
+
+        final var ownershipChanges = new NftOwnershipChanges();
+        ownershipChanges.recordTransfer(ownerId, receiver, nonFungibleTokenId);
+        ownershipChanges.recordTransfer(receiver, ownerId, nonFungibleTokenId);
+        ownershipChanges.applyTo(writableAccountStore, writableTokenRelStore);
+
+        assertThat(writableAccountStore.get(ownerId)).isEqualTo(senderAccount);
+        assertThat(writableAccountStore.get(receiver)).isEqualTo(receiverAccount);
+        assertThat(writableAccountStore.modifiedAccountsInState()).isEqualTo(modifiedAccounts);
+        assertThat(writableTokenRelStore.modifiedTokens()).isEqualTo(modifiedRels);
+    }
+
     CryptoTransferTransactionBody getReplacedOp() {
         givenAutoCreationDispatchEffects();
         ensureAliasesStep.doIn(transferContext);
@@ -21,6 +21,9 @@ import static com.hedera.node.app.service.token.impl.test.handlers.transfer.Acco
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.hedera.hapi.node.base.AccountAmount;
@@ -423,6 +426,37 @@ class CustomFeeAssessmentStepTest extends StepsBase {
         //        verify(xferRecordBuilder).assessedCustomFees(anyList());
     }
 
+    @Test
+    void looksUpEachTokenOnlyOnceAcrossLevels() {
+        body = CryptoTransferTransactionBody.newBuilder()
+                .tokenTransfers(
+                        TokenTransferList.newBuilder()
+                                .token(fungibleTokenId)
+                                .expectedDecimals(1000)
+                                .transfers(List.of(aaWith(ownerId, -1_00), aaWith(payerId, +1_00)))
+                                .build(),
+                        TokenTransferList.newBuilder()
+                                .token(fungibleTokenIDB)
+                                .expectedDecimals(1000)
+                                .transfers(List.of(aaWith(payerId, -10), aaWith(ownerId, +10)))
+                                .build())
+                .build();
+        givenDifferentTxn(body, payerId);
+
+        writableTokenStore.put(fungibleWithNoKyc
+                .copyBuilder()
+                .customFees(withFractionalFee(
+                        fractionalFee.copyBuilder().netOfTransfers(true).build()))
+                .build());
+        final var tokenStore = spy(writableTokenStore);
+        given(handleContext.readableStore(ReadableTokenStore.class)).willReturn(tokenStore);
+
+        // fungibleTokenId is assessed at the first and the last level
+        assertThat(subject.assessCustomFees(transferContext)).hasSize(3);
+
+        verify(tokenStore, times(1)).get(fungibleTokenId);
+    }
+
     private void givenDifferentTxn(final CryptoTransferTransactionBody body, final AccountID payerId) {
         givenStoresAndConfig(handleContext);
         givenTxn(body, payerId);
@@ -64,6 +64,8 @@ import com.hedera.node.app.service.token.ReadableNftStore;
 import com.hedera.node.app.service.token.ReadableStakingInfoStore;
 import com.hedera.node.app.service.token.ReadableTokenRelationStore;
 import com.hedera.node.app.service.token.ReadableTokenStore;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
 import com.hedera.node.app.service.token.impl.ReadableAccountStoreImpl;
 import com.hedera.node.app.service.token.impl.ReadableNetworkStakingRewardsStoreImpl;
 import com.hedera.node.app.service.token.impl.ReadableNftStoreImpl;
@@ -304,6 +306,8 @@ public class CryptoTokenHandlerTestBase extends StateBuilderUtil {
     protected MapWritableKVState<TokenID, Token> writableTokenState;
     protected MapReadableKVState<EntityIDPair, TokenRelation> readableTokenRelState;
     protected MapWritableKVState<EntityIDPair, TokenRelation> writableTokenRelState;
+    protected MapReadableKVState<AccountTokenPageId, AccountTokenPage> readableAccountTokenPageState;
+    protected MapWritableKVState<AccountTokenPageId, AccountTokenPage> writableAccountTokenPageState;
     protected MapReadableKVState<NftID, Nft> readableNftState;
     protected MapWritableKVState<NftID, Nft> writableNftState;
     protected MapReadableKVState<EntityNumber, StakingNodeInfo> readableStakingInfoState;
@@ -552,12 +556,18 @@ public class CryptoTokenHandlerTestBase extends StateBuilderUtil {
     private void givenReadableTokenRelsStore() {
         readableTokenRelState = readableTokenRelState();
         given(readableStates.<EntityIDPair, TokenRelation>get(TOKEN_RELS)).willReturn(readableTokenRelState);
+        readableAccountTokenPageState = emptyReadableAccountTokenPagesStateBuilder().build();
+        given(readableStates.<AccountTokenPageId, AccountTokenPage>get(ACCOUNT_TOKEN_PAGES))
+                .willReturn(readableAccountTokenPageState);
         readableTokenRelStore = new ReadableTokenRelationStoreImpl(readableStates);
     }
 
     private void givenWritableTokenRelsStore() {
         writableTokenRelState = writableTokenRelState();
         given(writableStates.<EntityIDPair, TokenRelation>get(TOKEN_RELS)).willReturn(writableTokenRelState);
+        writableAccountTokenPageState = emptyWritableAccountTokenPagesStateBuilder().build();
+        given(writableStates.<AccountTokenPageId, AccountTokenPage>get(ACCOUNT_TOKEN_PAGES))
+                .willReturn(writableAccountTokenPageState);
         writableTokenRelStore = new WritableTokenRelationStore(writableStates);
     }
 
@@ -25,6 +25,8 @@ import com.hedera.hapi.node.state.token.Account;
 import com.hedera.hapi.node.state.token.Nft;
 import com.hedera.hapi.node.state.token.Token;
 import com.hedera.hapi.node.state.token.TokenRelation;
+import com.hedera.node.app.service.token.impl.AccountTokenPage;
+import com.hedera.node.app.service.token.impl.AccountTokenPageId;
 import com.hedera.node.app.spi.fixtures.state.MapReadableKVState;
 import com.hedera.node.app.spi.fixtures.state.MapWritableKVState;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -35,6 +37,7 @@ public class StateBuilderUtil {
     public static final String ALIASES = "ALIASES";
     public static final String TOKENS = "TOKENS";
     public static final String TOKEN_RELS = "TOKEN_RELS";
+    public static final String ACCOUNT_TOKEN_PAGES = "ACCOUNT_TOKEN_PAGES";
     public static final String NFTS = "NFTS";
     public static final String STAKING_INFO = "STAKING_INFOS";
     public static final String NETWORK_REWARDS = "STAKING_NETWORK_REWARDS";
@@ -59,6 +62,18 @@ public class StateBuilderUtil {
         return MapWritableKVState.builder(TOKEN_RELS);
     }
 
+    @NonNull
+    protected MapReadableKVState.Builder<AccountTokenPageId, AccountTokenPage>
+            emptyReadableAccountTokenPagesStateBuilder() {
+        return MapReadableKVState.builder(ACCOUNT_TOKEN_PAGES);
+    }
+
+    @NonNull
+    protected MapWritableKVState.Builder<AccountTokenPageId, AccountTokenPage>
+            emptyWritableAccountTokenPagesStateBuilder() {
+        return MapWritableKVState.builder(ACCOUNT_TOKEN_PAGES);
+    }
+
     @NonNull
     protected MapReadableKVState.Builder<NftID, Nft> emptyReadableNftStateBuilder() {
         return MapReadableKVState.builder(NFTS);
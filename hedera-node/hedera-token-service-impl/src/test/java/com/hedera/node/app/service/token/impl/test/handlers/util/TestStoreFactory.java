@@ -86,8 +86,10 @@ public final class TestStoreFactory {
 
     public static ReadableTokenRelationStore newReadableStoreWithTokenRels(final TokenRelation... tokenRels) {
         final var wrappedState = newTokenRelStateFromTokenRels(tokenRels);
-        return new ReadableTokenRelationStoreImpl(
-                new MapReadableStates(Map.of(TokenServiceImpl.TOKEN_RELS_KEY, wrappedState)));
+        return new ReadableTokenRelationStoreImpl(new MapReadableStates(Map.of(
+                TokenServiceImpl.TOKEN_RELS_KEY, wrappedState,
+                TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY,
+                        new MapWritableKVState<>(TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY))));
     }
 
     private static MapWritableKVState<EntityIDPair, TokenRelation> newTokenRelStateFromTokenRels(
@@ -107,8 +109,10 @@ public final class TestStoreFactory {
 
     public static WritableTokenRelationStore newWritableStoreWithTokenRels(final TokenRelation... tokenRels) {
         final var wrappingState = newTokenRelStateFromTokenRels(tokenRels);
-        return new WritableTokenRelationStore(
-                new MapWritableStates(Map.of(TokenServiceImpl.TOKEN_RELS_KEY, wrappingState)));
+        return new WritableTokenRelationStore(new MapWritableStates(Map.of(
+                TokenServiceImpl.TOKEN_RELS_KEY, wrappingState,
+                TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY,
+                        new MapWritableKVState<>(TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY))));
     }
 
     public static ReadableNftStore newReadableStoreWithNfts(Nft... nfts) {
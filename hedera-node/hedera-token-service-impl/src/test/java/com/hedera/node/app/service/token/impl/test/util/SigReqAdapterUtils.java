@@ -22,6 +22,7 @@ import static com.hedera.node.app.service.mono.pbj.PbjConverter.fromGrpcKey;
 import static com.hedera.node.app.service.mono.pbj.PbjConverter.fromPbj;
 import static com.hedera.node.app.service.mono.pbj.PbjConverter.toPbj;
 import static com.hedera.node.app.service.mono.utils.MiscUtils.asKeyUnchecked;
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ALIASES_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.TOKEN_RELS_KEY;
 import static com.hedera.node.app.service.token.impl.test.handlers.util.AdapterUtils.mockStates;
@@ -218,7 +219,9 @@ public class SigReqAdapterUtils {
                         .build());
 
         final var wrappedState = new MapWritableKVState<>(TOKEN_RELS_KEY, destination);
-        return new WritableTokenRelationStore(mockWritableStates(Map.of(TOKEN_RELS_KEY, wrappedState)));
+        return new WritableTokenRelationStore(mockWritableStates(Map.of(
+                TOKEN_RELS_KEY, wrappedState,
+                ACCOUNT_TOKEN_PAGES_KEY, new MapWritableKVState<>(ACCOUNT_TOKEN_PAGES_KEY))));
     }
 
     public static ReadableAccountStoreImpl wellKnownAccountStoreAt() {
@@ -16,6 +16,7 @@
 
 package com.hedera.node.app.service.token.impl.test.util;
 
+import static com.hedera.node.app.service.token.impl.TokenServiceImpl.ACCOUNT_TOKEN_PAGES_KEY;
 import static com.hedera.node.app.service.token.impl.TokenServiceImpl.TOKEN_RELS_KEY;
 import static com.hedera.node.app.service.token.impl.handlers.BaseCryptoHandler.asAccount;
 import static com.hedera.node.app.service.token.impl.handlers.BaseTokenHandler.asToken;
@@ -305,6 +306,8 @@ class TokenRelListCalculatorTest {
                 LOCAL_TOKEN_REL_5);
 
         final var wrappedState = new MapReadableKVState<>(TOKEN_RELS_KEY, tokenRels);
-        return new ReadableTokenRelationStoreImpl(mockStates(Map.of(TOKEN_RELS_KEY, wrappedState)));
+        return new ReadableTokenRelationStoreImpl(mockStates(Map.of(
+                TOKEN_RELS_KEY, wrappedState,
+                ACCOUNT_TOKEN_PAGES_KEY, new MapReadableKVState<>(ACCOUNT_TOKEN_PAGES_KEY, Map.of()))));
     }
 }
@@ -18,9 +18,11 @@ package com.hedera.node.app.service.token;
 
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.state.token.Account;
 import com.hedera.hapi.node.state.token.TokenRelation;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
 
 /**
  * Provides read-only methods for getting underlying data for working with TokenRelations.
@@ -52,4 +54,19 @@ public interface ReadableTokenRelationStore {
      * @param accountID the account id
      */
     default void warm(@NonNull final AccountID accountID, @NonNull final TokenID tokenId) {}
+
+    /**
+     * Returns the IDs of all tokens associated with the given account, read from the paged per-account index. Unlike
+     * walking the linked list of the account's token relations, this needs no dependent reads, so the relations and
+     * tokens can be fetched in parallel afterwards.
+     *
+     * <p>The default implementation returns an empty list because the index is only kept by some implementations.
+     *
+     * @param account the account
+     * @return the IDs of the tokens associated with the account, in the order they were associated
+     */
+    @NonNull
+    default List<TokenID> getAssociatedTokenIds(@NonNull final Account account) {
+        return List.of();
+    }
 }
@@ -100,6 +100,7 @@ public interface AccountSummariesApi {
         requireNonNull(tokenRelationStore);
         requireNonNull(readableTokenStore);
 
+        warmTokenRelationsOf(account, readableTokenStore, tokenRelationStore, limit);
         final var ret = new ArrayList<TokenRelationship>();
         var tokenId = account.headTokenId();
         int count = 0;
@@ -123,6 +124,34 @@ public interface AccountSummariesApi {
         return ret;
     }
 
+    /**
+     * Starts loading all token relations of the given account, and their tokens, in parallel. The token relations
+     * are then walked as a linked list as usual, but without waiting for one dependent read per relation. Accounts
+     * with more associations than the given limit are skipped, since most of their relations would not be used.
+     *
+     * @param account the account whose token relationships will be read
+     * @param readableTokenStore the readable token store
+     * @param tokenRelationStore the readable token relation store
+     * @param limit the maximum number of token relationships that will be read
+     */
+    static void warmTokenRelationsOf(
+            @NonNull final Account account,
+            @NonNull final ReadableTokenStore readableTokenStore,
+            @NonNull final ReadableTokenRelationStore tokenRelationStore,
+            final long limit) {
+        requireNonNull(account);
+        requireNonNull(tokenRelationStore);
+        requireNonNull(readableTokenStore);
+
+        if (account.numberAssociations() < 2 || account.numberAssociations() > limit) {
+            return;
+        }
+        for (final var tokenId : tokenRelationStore.getAssociatedTokenIds(account)) {
+            tokenRelationStore.warm(account.accountIdOrThrow(), tokenId);
+            readableTokenStore.warm(tokenId);
+        }
+    }
+
     private static void addTokenRelation(
             ArrayList<TokenRelationship> ret, Token token, TokenRelation tokenRelation, TokenID tokenId) {
         TokenFreezeStatus freezeStatus = FREEZE_NOT_APPLICABLE;
@@ -82,11 +82,35 @@ public interface StakingRewardsApi {
             final boolean areRewardsActive,
             @NonNull final Account account,
             @NonNull final ReadableStakingInfoStore readableStakingInfoStore) {
+        return pendingRewardAt(
+                numStoredPeriods,
+                estimatedCurrentStakePeriod(stakePeriodMins),
+                areRewardsActive,
+                account,
+                readableStakingInfoStore);
+    }
+
+    /**
+     * Computes the pending rewards for the given account as of the given stake period, which is used both to decide
+     * whether the account is eligible for a reward and to compute the reward.
+     *
+     * @param numStoredPeriods the number of periods being stored
+     * @param currentStakePeriod the current stake period
+     * @param areRewardsActive whether or not rewards are active
+     * @param account the account for which the pending rewards are to be calculated
+     * @param readableStakingInfoStore the store from which the staking info of the node is to be retrieved
+     * @return the pending rewards for the account
+     */
+    static long pendingRewardAt(
+            final int numStoredPeriods,
+            final long currentStakePeriod,
+            final boolean areRewardsActive,
+            @NonNull final Account account,
+            @NonNull final ReadableStakingInfoStore readableStakingInfoStore) {
         if (account.hasStakedNodeId() && !account.declineReward()) {
-            final var currentStakePeriod = estimatedCurrentStakePeriod(stakePeriodMins);
             final var clampedStakePeriodStart =
                     clampedStakePeriodStart(account.stakePeriodStart(), currentStakePeriod, numStoredPeriods);
-            if (isEstimatedRewardable(stakePeriodMins, clampedStakePeriodStart, areRewardsActive)) {
+            if (isRewardable(currentStakePeriod, clampedStakePeriodStart, areRewardsActive)) {
                 return computeRewardFromDetails(
                         account,
                         readableStakingInfoStore.get(account.stakedNodeIdOrThrow()),
@@ -107,8 +131,21 @@ public interface StakingRewardsApi {
      */
     static boolean isEstimatedRewardable(
             final long stakePeriodMins, final long stakePeriodStart, final boolean areRewardsActive) {
+        return isRewardable(estimatedCurrentStakePeriod(stakePeriodMins), stakePeriodStart, areRewardsActive);
+    }
+
+    /**
+     * Returns whether the given stake period start is rewardable in the given current stake period.
+     *
+     * @param currentStakePeriod the current stake period
+     * @param stakePeriodStart the stake period start
+     * @param areRewardsActive whether or not rewards are active
+     * @return true if the given stake period start is rewardable, false otherwise
+     */
+    private static boolean isRewardable(
+            final long currentStakePeriod, final long stakePeriodStart, final boolean areRewardsActive) {
         return stakePeriodStart > -1
-                && stakePeriodStart < estimatedFirstNonRewardableStakePeriod(stakePeriodMins, areRewardsActive);
+                && stakePeriodStart < firstNonRewardableStakePeriod(currentStakePeriod, areRewardsActive);
     }
 
     /**
@@ -199,8 +236,8 @@ public interface StakingRewardsApi {
         return account.tinybarBalance() + account.stakedToMe();
     }
 
-    private static long estimatedFirstNonRewardableStakePeriod(
-            final long stakingPeriodMins, final boolean stakingRewardsActive) {
-        return stakingRewardsActive ? estimatedCurrentStakePeriod(stakingPeriodMins) - 1 : Long.MIN_VALUE;
+    private static long firstNonRewardableStakePeriod(
+            final long currentStakePeriod, final boolean stakingRewardsActive) {
+        return stakingRewardsActive ? currentStakePeriod - 1 : Long.MIN_VALUE;
     }
 }
@@ -32,6 +32,16 @@ import java.util.List;
 public class AsyncVerificationHandler
         extends AsyncOperationHandler<
                 TransactionSignature, OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType>> {
+    /**
+     * The items to be verified together, or {@code null} if each item is verified on its own
+     */
+    private final List<TransactionSignature> batchWorkItems;
+
+    /**
+     * The verifier used for the whole list, or {@code null} if each item is verified on its own
+     */
+    private final DeduplicatingSignatureVerifier deduplicatingVerifier;
+
     /**
      * Constructs an {@link AsyncOperationHandler} which will operate on the provided {@link List} of items using the
      * specified algorithm provider. This method does not make a copy of the list provided and expects exclusive access
@@ -45,7 +55,7 @@ public class AsyncVerificationHandler
     public AsyncVerificationHandler(
             final List<TransactionSignature> workItems,
             final OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType> provider) {
-        super(workItems, provider);
+        this(workItems, false, provider);
     }
 
     /**
@@ -64,6 +74,48 @@ public class AsyncVerificationHandler
             final boolean shouldCopy,
             final OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType> provider) {
         super(workItems, shouldCopy, provider);
+        this.batchWorkItems = null;
+        this.deduplicatingVerifier = null;
+    }
+
+    /**
+     * Constructs an {@link AsyncOperationHandler} which will verify the provided {@link List} of items at once using
+     * the given {@link DeduplicatingSignatureVerifier}. This method does not make a copy of the list provided and
+     * expects exclusive access to the list.
+     *
+     * @param workItems
+     * 		the list of items to be asynchronously processed by the deduplicating verifier
+     * @param provider
+     * 		the algorithm provider, only used if the deduplicating verifier is {@code null}
+     * @param deduplicatingVerifier
+     * 		the verifier used to verify all items at once
+     */
+    public AsyncVerificationHandler(
+            final List<TransactionSignature> workItems,
+            final OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType> provider,
+            final DeduplicatingSignatureVerifier deduplicatingVerifier) {
+        super(workItems, provider);
+        this.batchWorkItems = workItems;
+        this.deduplicatingVerifier = deduplicatingVerifier;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+        if (deduplicatingVerifier == null) {
+            super.run();
+            return;
+        }
+
+        for (final TransactionSignature item : batchWorkItems) {
+            item.setFuture(this);
+        }
+        // a failure of a single item is handled by the verifier, so that it never affects the other items
+        deduplicatingVerifier.verify(batchWorkItems);
+
+        complete(null);
     }
 
     /**
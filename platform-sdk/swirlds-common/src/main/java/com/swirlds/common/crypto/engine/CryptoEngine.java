@@ -83,6 +83,11 @@ public class CryptoEngine implements Cryptography {
      */
     private final DelegatingVerificationProvider delegatingVerificationProvider;
 
+    /**
+     * The verifier used for lists of {@link TransactionSignature} instances, both synchronously and asynchronously.
+     */
+    private final DeduplicatingSignatureVerifier deduplicatingVerifier;
+
     /**
      * The intake dispatcher instance that handles asynchronous signature verification
      */
@@ -119,6 +124,8 @@ public class CryptoEngine implements Cryptography {
         this.ecdsaSecp256k1VerificationProvider = new EcdsaSecp256k1VerificationProvider();
         this.delegatingVerificationProvider =
                 new DelegatingVerificationProvider(ed25519VerificationProvider, ecdsaSecp256k1VerificationProvider);
+        this.deduplicatingVerifier =
+                new DeduplicatingSignatureVerifier(ed25519VerificationProvider, new EcdsaSecp256k1Verifier());
 
         this.serializationDigestProvider = new SerializationDigestProvider();
         this.runningHashProvider = new RunningHashProvider();
@@ -136,10 +143,10 @@ public class CryptoEngine implements Cryptography {
      *                  implementation
      * @return an {@link AsyncOperationHandler} implementation
      */
-    private static AsyncVerificationHandler verificationHandler(
+    private AsyncVerificationHandler verificationHandler(
             final OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType> provider,
             final List<TransactionSignature> workItems) {
-        return new AsyncVerificationHandler(workItems, provider);
+        return new AsyncVerificationHandler(workItems, provider, deduplicatingVerifier);
     }
 
     /**
@@ -273,19 +280,10 @@ public class CryptoEngine implements Cryptography {
         final StandardFuture<Void> future = new StandardFuture<>();
         future.complete(null);
 
-        boolean finalOutcome = true;
-
-        OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType> provider;
+        // the whole list is verified at once, so repeated signatures and signers are only processed once
+        final boolean finalOutcome = deduplicatingVerifier.verify(signatures);
         for (final TransactionSignature signature : signatures) {
-            if (signature.getSignatureType() == SignatureType.ECDSA_SECP256K1) {
-                provider = ecdsaSecp256k1VerificationProvider;
-            } else {
-                provider = ed25519VerificationProvider;
-            }
-
-            if (!verifySyncInternal(signature, provider, future)) {
-                finalOutcome = false;
-            }
+            signature.setFuture(future);
         }
 
         return finalOutcome;
@@ -333,7 +331,7 @@ public class CryptoEngine implements Cryptography {
                 TransactionSignature.class,
                 this.delegatingVerificationProvider,
                 config.computeCpuVerifierThreadCount(),
-                CryptoEngine::verificationHandler);
+                this::verificationHandler);
     }
 
     /**
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.crypto.engine;
+
+import static com.swirlds.logging.legacy.LogMarker.TESTING_EXCEPTIONS;
+
+import com.swirlds.common.crypto.SignatureType;
+import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.VerificationStatus;
+import com.swirlds.common.crypto.engine.EcdsaSecp256k1Verifier.PreparedPublicKey;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Verifies a list of {@link TransactionSignature} instances of mixed types, skipping the work that is repeated within
+ * the list:
+ * <ul>
+ *     <li>a signature that occurs more than once in the list (same type, public key, message and signature) is only
+ *     verified once, and its result is used for all occurrences</li>
+ *     <li>the public key of an ECDSA(secp256k1) signer that signed more than one message in the list is parsed only
+ *     once, and reused for all of its signatures</li>
+ * </ul>
+ *
+ * <p>This is not a batch verification in the cryptographic sense. Neither libSodium nor libsecp256k1 exposes a batch
+ * equation, so every distinct signature is still verified on its own, and a list without repeated signatures or
+ * signers costs the same as verifying each signature separately. In exchange, an invalid or malformed signature never
+ * affects the result of any other signature in the list, so no fallback is needed to find out which signatures are
+ * invalid.
+ *
+ * <p>Instances are stateless and may be shared between threads.
+ */
+public class DeduplicatingSignatureVerifier {
+
+    private static final Logger logger = LogManager.getLogger(DeduplicatingSignatureVerifier.class);
+
+    private final Ed25519VerificationProvider ed25519VerificationProvider;
+    private final EcdsaSecp256k1Verifier ecdsaSecp256k1Verifier;
+
+    /**
+     * Constructs a new {@link DeduplicatingSignatureVerifier}.
+     *
+     * @param ed25519VerificationProvider
+     * 		the provider used to verify ED25519 signatures
+     * @param ecdsaSecp256k1Verifier
+     * 		the verifier used for ECDSA(secp256k1) signatures
+     */
+    public DeduplicatingSignatureVerifier(
+            @NonNull final Ed25519VerificationProvider ed25519VerificationProvider,
+            @NonNull final EcdsaSecp256k1Verifier ecdsaSecp256k1Verifier) {
+        this.ed25519VerificationProvider = Objects.requireNonNull(ed25519VerificationProvider);
+        this.ecdsaSecp256k1Verifier = Objects.requireNonNull(ecdsaSecp256k1Verifier);
+    }
+
+    /**
+     * Verifies all signatures of the list and sets the {@link VerificationStatus} of each of them. A signature that
+     * cannot be verified because it is malformed, for example because its offsets do not fit its contents, is marked
+     * {@link VerificationStatus#INVALID} without affecting the other signatures. This method does not touch the
+     * futures of the signatures.
+     *
+     * @param signatures
+     * 		the signatures to be verified
+     * @return true if all signatures are valid; otherwise false
+     */
+    public boolean verify(@NonNull final List<TransactionSignature> signatures) {
+        Objects.requireNonNull(signatures, "signatures must not be null");
+        final Map<Content, VerificationStatus> results = new HashMap<>(signatures.size() * 2);
+        final Map<ByteBuffer, PreparedPublicKey> ecdsaSigners = new HashMap<>();
+
+        boolean allValid = true;
+        for (final TransactionSignature signature : signatures) {
+            VerificationStatus status;
+            try {
+                final Content content = Content.of(signature);
+                status = results.get(content);
+                if (status == null) {
+                    status = verify(content, ecdsaSigners) ? VerificationStatus.VALID : VerificationStatus.INVALID;
+                    results.put(content, status);
+                }
+            } catch (RuntimeException ex) {
+                logger.warn(TESTING_EXCEPTIONS.getMarker(), "Intercepted Uncaught Exception", ex);
+                status = VerificationStatus.INVALID;
+            }
+            signature.setSignatureStatus(status);
+            allValid &= status == VerificationStatus.VALID;
+        }
+        return allValid;
+    }
+
+    private boolean verify(
+            @NonNull final Content content, @NonNull final Map<ByteBuffer, PreparedPublicKey> ecdsaSigners) {
+        final byte[] message = toArray(content.message());
+        final byte[] signature = toArray(content.signature());
+        if (content.type() != SignatureType.ECDSA_SECP256K1) {
+            return ed25519VerificationProvider.compute(
+                    message, signature, toArray(content.publicKey()), SignatureType.ED25519);
+        }
+
+        // The key of a signer seen for the first time is parsed into a thread local struct, like for a single
+        // verification. Only if the signer shows up again, it is worth to keep a parsed copy of its key.
+        final ByteBuffer publicKey = content.publicKey();
+        if (!ecdsaSigners.containsKey(publicKey)) {
+            ecdsaSigners.put(publicKey, null);
+            return ecdsaSecp256k1Verifier.verify(signature, message, toArray(publicKey));
+        }
+        PreparedPublicKey prepared = ecdsaSigners.get(publicKey);
+        if (prepared == null) {
+            prepared = ecdsaSecp256k1Verifier.prepare(toArray(publicKey));
+            if (prepared == null) {
+                return false;
+            }
+            ecdsaSigners.put(publicKey, prepared);
+        }
+        return ecdsaSecp256k1Verifier.verify(signature, message, prepared);
+    }
+
+    @NonNull
+    private static byte[] toArray(@NonNull final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * The parts of a {@link TransactionSignature} that determine its verification result. The buffers are views of the
+     * signature's arrays, so they can be compared without copying.
+     */
+    private record Content(
+            @NonNull SignatureType type,
+            @NonNull ByteBuffer publicKey,
+            @NonNull ByteBuffer message,
+            @NonNull ByteBuffer signature) {
+
+        @NonNull
+        static Content of(@NonNull final TransactionSignature sig) {
+            final byte[] payload = sig.getContentsDirect();
+            final byte[] expandedPublicKey = sig.getExpandedPublicKeyDirect();
+            final byte[] pkSource =
+                    (expandedPublicKey != null && expandedPublicKey.length > 0) ? expandedPublicKey : payload;
+            return new Content(
+                    sig.getSignatureType(),
+                    ByteBuffer.wrap(pkSource, sig.getPublicKeyOffset(), sig.getPublicKeyLength())
+                            .slice(),
+                    ByteBuffer.wrap(payload, sig.getMessageOffset(), sig.getMessageLength())
+                            .slice(),
+                    ByteBuffer.wrap(payload, sig.getSignatureOffset(), sig.getSignatureLength())
+                            .slice());
+        }
+    }
+}
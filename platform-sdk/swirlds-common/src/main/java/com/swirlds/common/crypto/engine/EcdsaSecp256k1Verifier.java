@@ -20,6 +20,7 @@ import static com.swirlds.common.utility.CommonUtils.hex;
 import static com.swirlds.logging.legacy.LogMarker.TESTING_EXCEPTIONS;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.nativelib.secp256k1.LibSecp256k1;
@@ -109,34 +110,110 @@ public class EcdsaSecp256k1Verifier {
         }
         // get cached buffers so we can reuse them and avoid allocating memory for each verification
         final ThreadLocalCache cache = CACHE.get();
+        // convert public key to native format
+        if (!parsePublicKey(pubKey, cache.uncompressedPublicKeyInput, cache.publicKey)) {
+            logger.warn(
+                    TESTING_EXCEPTIONS.getMarker(), () -> "Failed to parse public key [ publicKey = %s, rawSig = %s ]"
+                            .formatted(hex(pubKey), hex(rawSig)));
+            return false;
+        }
+        return verify(cache.signature, rawSig, msgHash, cache.publicKey);
+    }
+
+    /**
+     * Parses the given public key once, so it can be used to verify many signatures with
+     * {@link #verify(byte[], byte[], PreparedPublicKey)}. This saves parsing the key again for every signature of a
+     * repeat signer.
+     *
+     * @param pubKey
+     * 		the 64 bytes uncompressed public key
+     * @return the prepared public key, or {@code null} if the public key is not valid
+     */
+    @Nullable
+    public PreparedPublicKey prepare(@NonNull final byte[] pubKey) {
+        if (pubKey.length != ECDSA_UNCOMPRESSED_KEY_SIZE) {
+            logger.warn(TESTING_EXCEPTIONS.getMarker(), () -> "Public key is not %d bytes [ publicKey = %s ]"
+                    .formatted(ECDSA_UNCOMPRESSED_KEY_SIZE, hex(pubKey)));
+            return null;
+        }
+        final LibSecp256k1.secp256k1_pubkey nativePublicKey = new LibSecp256k1.secp256k1_pubkey();
+        if (!parsePublicKey(pubKey, CACHE.get().uncompressedPublicKeyInput, nativePublicKey)) {
+            logger.warn(TESTING_EXCEPTIONS.getMarker(), () -> "Failed to parse public key [ publicKey = %s ]"
+                    .formatted(hex(pubKey)));
+            return null;
+        }
+        return new PreparedPublicKey(nativePublicKey);
+    }
+
+    /**
+     * Verifies a ECDSA(secp256k1) signature of a message is valid for a public key that was prepared with
+     * {@link #prepare(byte[])}. The same requirements as for {@link #verify(byte[], byte[], byte[])} apply to the
+     * signature and the message hash.
+     *
+     * @param rawSig
+     * 		the (r, s) signature to be verified
+     * @param msgHash
+     * 		the 32 bytes 256bit keccak hash of the message that was signed
+     * @param pubKey
+     * 		the prepared public key to use to verify the signature
+     * @return true if the signature is valid
+     */
+    public boolean verify(
+            @NonNull final byte[] rawSig, @NonNull final byte[] msgHash, @NonNull final PreparedPublicKey pubKey) {
+        if (msgHash.length != ECDSA_KECCAK_256_SIZE) {
+            logger.warn(TESTING_EXCEPTIONS.getMarker(), () -> "Message is not Keccak256 hash size 32 bytes [ msg = %s ]"
+                    .formatted(hex(msgHash)));
+            return false;
+        }
+        if (rawSig.length != ECDSA_SIGNATURE_SIZE) {
+            logger.warn(TESTING_EXCEPTIONS.getMarker(), () -> "Signature is not %d bytes [ rawSig = %s ]"
+                    .formatted(ECDSA_SIGNATURE_SIZE, hex(rawSig)));
+            return false;
+        }
+        return verify(CACHE.get().signature, rawSig, msgHash, pubKey.nativePublicKey);
+    }
+
+    private static boolean parsePublicKey(
+            @NonNull final byte[] pubKey,
+            @NonNull final byte[] publicKeyInput,
+            @NonNull final LibSecp256k1.secp256k1_pubkey nativePublicKey) {
+        // convert public key to input format, the header byte is already set
+        System.arraycopy(pubKey, 0, publicKeyInput, 1, ECDSA_UNCOMPRESSED_KEY_SIZE);
+        return LibSecp256k1.secp256k1_ec_pubkey_parse(
+                        LibSecp256k1.CONTEXT, nativePublicKey, publicKeyInput, publicKeyInput.length)
+                == 1;
+    }
+
+    private static boolean verify(
+            @NonNull final LibSecp256k1.secp256k1_ecdsa_signature nativeSignature,
+            @NonNull final byte[] rawSig,
+            @NonNull final byte[] msgHash,
+            @NonNull final LibSecp256k1.secp256k1_pubkey nativePublicKey) {
         // convert signature to native format
-        final LibSecp256k1.secp256k1_ecdsa_signature nativeSignature = cache.signature;
         final var signatureParseResult =
                 LibSecp256k1.secp256k1_ecdsa_signature_parse_compact(LibSecp256k1.CONTEXT, nativeSignature, rawSig);
         if (signatureParseResult != 1) {
-            logger.warn(
-                    TESTING_EXCEPTIONS.getMarker(), () -> "Failed to parse signature [ publicKey = %s, rawSig = %s ]"
-                            .formatted(hex(pubKey), hex(rawSig)));
+            logger.warn(TESTING_EXCEPTIONS.getMarker(), () -> "Failed to parse signature [ rawSig = %s ]"
+                    .formatted(hex(rawSig)));
             return false;
         }
         // Normalize the signature to lower-S form. This will return 1 if the signature was normalized, 0 otherwise.
         LibSecp256k1.secp256k1_ecdsa_signature_normalize(LibSecp256k1.CONTEXT, nativeSignature, nativeSignature);
-        // convert public key to input format
-        final byte[] publicKeyInput = cache.uncompressedPublicKeyInput;
-        System.arraycopy(pubKey, 0, publicKeyInput, 1, ECDSA_UNCOMPRESSED_KEY_SIZE);
-        // convert public key to native format
-        final LibSecp256k1.secp256k1_pubkey nativePublicKey = cache.publicKey;
-        final int keyParseResult = LibSecp256k1.secp256k1_ec_pubkey_parse(
-                LibSecp256k1.CONTEXT, nativePublicKey, publicKeyInput, publicKeyInput.length);
-        if (keyParseResult != 1) {
-            logger.warn(
-                    TESTING_EXCEPTIONS.getMarker(), () -> "Failed to parse public key [ publicKey = %s, rawSig = %s ]"
-                            .formatted(hex(pubKey), hex(rawSig)));
-            return false;
-        }
         // verify signature
         final int result =
                 LibSecp256k1.secp256k1_ecdsa_verify(LibSecp256k1.CONTEXT, nativeSignature, msgHash, nativePublicKey);
         return result == 1;
     }
+
+    /**
+     * A public key in the native format of the secp256k1 library. Instances are not thread safe, they are meant to be
+     * used by a single thread for all signatures of one signer in a batch.
+     */
+    public static final class PreparedPublicKey {
+        private final LibSecp256k1.secp256k1_pubkey nativePublicKey;
+
+        private PreparedPublicKey(@NonNull final LibSecp256k1.secp256k1_pubkey nativePublicKey) {
+            this.nativePublicKey = nativePublicKey;
+        }
+    }
 }
@@ -26,6 +26,7 @@ import com.swirlds.common.metrics.StatEntry;
 import com.swirlds.metrics.api.Counter;
 import com.swirlds.metrics.api.DoubleAccumulator;
 import com.swirlds.metrics.api.DoubleGauge;
+import com.swirlds.metrics.api.Histogram;
 import com.swirlds.metrics.api.IntegerAccumulator;
 import com.swirlds.metrics.api.IntegerGauge;
 import com.swirlds.metrics.api.LongAccumulator;
@@ -77,6 +78,14 @@ public class NoOpMetricsFactory implements PlatformMetricsFactory {
         return new NoOpFunctionGauge<>(config, config.getSupplier().get());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Histogram createHistogram(final @NonNull Histogram.Config config) {
+        return new NoOpHistogram(config);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform;
+
+import static com.swirlds.common.metrics.platform.LogLinearBuckets.BUCKET_COUNT;
+import static com.swirlds.common.metrics.platform.LogLinearBuckets.bucketOf;
+import static com.swirlds.common.metrics.platform.LogLinearBuckets.count;
+import static com.swirlds.common.metrics.platform.LogLinearBuckets.highestValueIn;
+import static com.swirlds.common.metrics.platform.LogLinearBuckets.percentile;
+import static com.swirlds.metrics.api.Metric.ValueType.MAX;
+import static com.swirlds.metrics.api.Metric.ValueType.P50;
+import static com.swirlds.metrics.api.Metric.ValueType.P90;
+import static com.swirlds.metrics.api.Metric.ValueType.P99;
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+
+import com.swirlds.base.utility.ToStringBuilder;
+import com.swirlds.common.metrics.platform.Snapshot.SnapshotEntry;
+import com.swirlds.metrics.api.Histogram;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Platform-implementation of {@link Histogram}.
+ * <p>
+ * Values are counted in {@link LogLinearBuckets}. They are recorded into one of several stripes, each an
+ * {@link AtomicLongArray} of bucket counts, so that threads recording concurrently rarely contend on the same cache
+ * line. The stripes are only summed up when the histogram is read.
+ */
+public class DefaultHistogram extends DefaultMetric implements Histogram {
+
+    /**
+     * Each stripe stores the sum of its values after the bucket counts.
+     */
+    private static final int SUM_INDEX = BUCKET_COUNT;
+
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final long[] bucketBoundaries;
+
+    /**
+     * The bucket counts and sum at the time of the previous snapshot.
+     */
+    private long[] previousSnapshot = new long[BUCKET_COUNT + 1];
+
+    public DefaultHistogram(@NonNull final Histogram.Config config) {
+        super(config);
+        this.bucketBoundaries = config.getBucketBoundaries();
+
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, processors - 1)) << 1);
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT + 1);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final long value) {
+        final long nonNegative = Math.max(0, value);
+        final AtomicLongArray stripe = stripes[Thread.currentThread().hashCode() & stripeMask];
+        stripe.incrementAndGet(bucketOf(nonNegative));
+        stripe.addAndGet(SUM_INDEX, nonNegative);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount() {
+        return count(merge());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getSum() {
+        long sum = 0;
+        for (final AtomicLongArray stripe : stripes) {
+            sum += stripe.get(SUM_INDEX);
+        }
+        return sum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPercentile(final double percentile) {
+        return percentile(merge(), percentile);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public long[] getBucketBoundaries() {
+        return bucketBoundaries.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public long[] getBucketCounts() {
+        final long[] counts = merge();
+        final long[] result = new long[bucketBoundaries.length + 1];
+        long cumulative = 0;
+        int boundary = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            while (boundary < bucketBoundaries.length && highestValueIn(bucket) > bucketBoundaries[boundary]) {
+                result[boundary++] = cumulative;
+            }
+            cumulative += counts[bucket];
+        }
+        while (boundary <= bucketBoundaries.length) {
+            result[boundary++] = cumulative;
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot only takes values into account that were recorded since the previous snapshot.
+     */
+    @NonNull
+    @Override
+    public synchronized List<SnapshotEntry> takeSnapshot() {
+        final long[] current = merge();
+        final long[] interval = new long[BUCKET_COUNT + 1];
+        for (int i = 0; i <= BUCKET_COUNT; i++) {
+            interval[i] = current[i] - previousSnapshot[i];
+        }
+        previousSnapshot = current;
+
+        final long count = count(interval);
+        final double mean = count == 0 ? 0.0 : (double) interval[SUM_INDEX] / count;
+        return List.of(
+                new SnapshotEntry(VALUE, mean),
+                new SnapshotEntry(MAX, (double) percentile(interval, 1.0)),
+                new SnapshotEntry(P50, (double) percentile(interval, 0.5)),
+                new SnapshotEntry(P90, (double) percentile(interval, 0.9)),
+                new SnapshotEntry(P99, (double) percentile(interval, 0.99)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() {
+        for (final AtomicLongArray stripe : stripes) {
+            for (int i = 0; i <= BUCKET_COUNT; i++) {
+                stripe.set(i, 0);
+            }
+        }
+        previousSnapshot = new long[BUCKET_COUNT + 1];
+    }
+
+    /**
+     * Sum up the bucket counts and sums of all stripes.
+     *
+     * @return the bucket counts, followed by the sum
+     */
+    @NonNull
+    private long[] merge() {
+        final long[] merged = new long[BUCKET_COUNT + 1];
+        for (final AtomicLongArray stripe : stripes) {
+            for (int i = 0; i <= BUCKET_COUNT; i++) {
+                merged[i] += stripe.get(i);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .appendSuper(super.toString())
+                .append("count", getCount())
+                .append("sum", getSum())
+                .toString();
+    }
+}
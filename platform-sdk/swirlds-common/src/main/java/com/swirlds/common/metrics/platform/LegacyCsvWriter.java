@@ -31,6 +31,7 @@ import com.swirlds.common.metrics.config.MetricsConfig;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.utility.ThresholdLimitingHandler;
 import com.swirlds.config.api.Configuration;
+import com.swirlds.metrics.api.Histogram;
 import com.swirlds.metrics.api.Metric;
 import com.swirlds.metrics.api.Metric.ValueType;
 import com.swirlds.metrics.api.Metrics;
@@ -75,6 +76,8 @@ import org.apache.logging.log4j.Logger;
  *     <dt>verboseStatistics</dt>
  *     <dd>If {@code true}, also secondary values (e.g. minimum and maximum) are written to the CSV-file</dd>
  * </dl>
+ * <p>
+ * The percentiles of a {@link Histogram} are always written, regardless of {@code verboseStatistics}.
  */
 public class LegacyCsvWriter {
 
@@ -189,6 +192,9 @@ public class LegacyCsvWriter {
 
     private boolean showAllEntries(@NonNull final Metric metric) {
         Objects.requireNonNull(metric, "metric is null");
+        if (metric instanceof Histogram) {
+            return true;
+        }
         return basicConfig.verboseStatistics() && !metric.getCategory().contains(EXCLUDE_CATEGORY);
     }
 
@@ -224,6 +230,9 @@ public class LegacyCsvWriter {
                 case MAX -> names.add(metric.getName() + "Max");
                 case MIN -> names.add(metric.getName() + "Min");
                 case STD_DEV -> names.add(metric.getName() + "Std");
+                case P50 -> names.add(metric.getName() + "P50");
+                case P90 -> names.add(metric.getName() + "P90");
+                case P99 -> names.add(metric.getName() + "P99");
                 default -> names.add(metric.getName());
             }
         }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Log-linear buckets for histograms of non-negative longs. Every power of two is split into {@link #SUB_BUCKETS}
+ * equally sized buckets, so a value is never reported with a relative error greater than 1/{@link #SUB_BUCKETS}, and
+ * a histogram has a fixed number of buckets regardless of the range of recorded values.
+ */
+public final class LogLinearBuckets {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Enough buckets to hold any non-negative long.
+     */
+    public static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private LogLinearBuckets() {}
+
+    /**
+     * Get the bucket that holds a value.
+     *
+     * @param value a non-negative value
+     * @return the index of the bucket
+     */
+    public static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // The leading one bit selects the power of two, the next SUB_BUCKET_BITS bits select the sub-bucket
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Get the largest value that is placed in a bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the largest value in the bucket
+     */
+    public static long highestValueIn(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long lowestValue = ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS)) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+
+    /**
+     * Get the number of values in the buckets.
+     *
+     * @param counts the bucket counts, any entries after the first {@link #BUCKET_COUNT} are ignored
+     * @return the number of values
+     */
+    public static long count(@NonNull final long[] counts) {
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            count += counts[bucket];
+        }
+        return count;
+    }
+
+    /**
+     * Get an upper bound for the value at the given percentile.
+     *
+     * @param counts the bucket counts, any entries after the first {@link #BUCKET_COUNT} are ignored
+     * @param percentile the percentile, between 0.0 and 1.0 (inclusive)
+     * @return the largest value that could be in the bucket containing the percentile, or 0 if there are no values
+     * @throws IllegalArgumentException if the percentile is not between 0.0 and 1.0
+     */
+    public static long percentile(@NonNull final long[] counts, final double percentile) {
+        if (percentile < 0.0 || percentile > 1.0) {
+            throw new IllegalArgumentException("Percentile must be between 0.0 and 1.0, but was " + percentile);
+        }
+        final long count = count(counts);
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return highestValueIn(bucket);
+            }
+        }
+        return highestValueIn(BUCKET_COUNT - 1);
+    }
+}
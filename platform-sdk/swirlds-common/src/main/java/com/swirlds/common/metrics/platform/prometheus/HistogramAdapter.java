@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform.prometheus;
+
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType.GLOBAL;
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType.PLATFORM;
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.NODE_LABEL;
+
+import com.swirlds.common.metrics.platform.Snapshot;
+import com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType;
+import com.swirlds.common.platform.NodeId;
+import com.swirlds.metrics.api.Histogram;
+import com.swirlds.metrics.api.Metric;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.SimpleCollector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Adapter that synchronizes a {@link Histogram} with a Prometheus histogram.
+ * <p>
+ * The Prometheus client only supports histograms that are updated one observation at a time. Since a
+ * {@link Histogram} already counts its values, this adapter uses a collector that exposes the cumulative bucket counts
+ * of the {@link Histogram} as they were at the time of the last snapshot.
+ */
+public class HistogramAdapter extends AbstractMetricAdapter {
+
+    private final BucketHistogram histogram;
+
+    /**
+     * Constructor of {@code HistogramAdapter}.
+     *
+     * @param registry
+     * 		The {@link CollectorRegistry} with which the Prometheus {@link Collector} should be registered
+     * @param metric
+     * 		The {@link Histogram} which values should be reported to Prometheus
+     * @param adapterType
+     * 		Scope of the {@link Histogram},
+     * 		either {@link AdapterType#GLOBAL} or {@link AdapterType#PLATFORM}
+     * @throws NullPointerException if any of the following parameters are {@code null}.
+     *     <ul>
+     *       <li>{@code registry}</li>
+     *       <li>{@code metric}</li>
+     *     </ul>
+     */
+    public HistogramAdapter(final CollectorRegistry registry, final Metric metric, final AdapterType adapterType) {
+        super(adapterType, metric);
+        Objects.requireNonNull(registry, "registry must not be null");
+        Objects.requireNonNull(metric, "metric must not be null");
+
+        final BucketHistogram.Builder builder = assignCommonValues(
+                new BucketHistogram.Builder(((Histogram) metric).getBucketBoundaries()));
+        if (adapterType == PLATFORM) {
+            builder.labelNames(NODE_LABEL);
+        }
+        this.histogram = builder.register(registry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final Snapshot snapshot, final NodeId nodeId) {
+        Objects.requireNonNull(snapshot, "snapshot must not be null");
+        final Histogram metric = (Histogram) snapshot.metric();
+        final BucketHistogram.Child child;
+        if (adapterType == GLOBAL) {
+            child = histogram.labels();
+        } else {
+            Objects.requireNonNull(nodeId, "nodeId must not be null");
+            child = histogram.labels(nodeId.toString());
+        }
+        child.set(metric.getBucketCounts(), metric.getSum());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unregister(final CollectorRegistry registry) {
+        registry.unregister(histogram);
+    }
+
+    /**
+     * A Prometheus histogram whose cumulative bucket counts are set directly instead of being observed.
+     */
+    static class BucketHistogram extends SimpleCollector<BucketHistogram.Child> {
+
+        private static final String LE_LABEL = "le";
+
+        private final long[] bucketBoundaries;
+
+        private BucketHistogram(final Builder builder) {
+            super(builder);
+            this.bucketBoundaries = builder.bucketBoundaries;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Child newChild() {
+            return new Child();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public List<MetricFamilySamples> collect() {
+            final List<String> labelNamesWithLe = new ArrayList<>(labelNames);
+            labelNamesWithLe.add(LE_LABEL);
+
+            final List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+            for (final Map.Entry<List<String>, Child> entry : children.entrySet()) {
+                final Child.Values values = entry.getValue().values;
+                if (values == null) {
+                    // no snapshot has been taken yet
+                    continue;
+                }
+                final List<String> labelValues = entry.getKey();
+                for (int i = 0; i <= bucketBoundaries.length; i++) {
+                    final double upperBound =
+                            i < bucketBoundaries.length ? bucketBoundaries[i] : Double.POSITIVE_INFINITY;
+                    final List<String> labelValuesWithLe = new ArrayList<>(labelValues);
+                    labelValuesWithLe.add(doubleToGoString(upperBound));
+                    samples.add(new MetricFamilySamples.Sample(
+                            fullname + "_bucket", labelNamesWithLe, labelValuesWithLe, values.bucketCounts()[i]));
+                }
+                samples.add(new MetricFamilySamples.Sample(
+                        fullname + "_count", labelNames, labelValues, values.bucketCounts()[bucketBoundaries.length]));
+                samples.add(new MetricFamilySamples.Sample(fullname + "_sum", labelNames, labelValues, values.sum()));
+            }
+            return familySamplesList(Type.HISTOGRAM, samples);
+        }
+
+        /**
+         * The values of a single labelled histogram.
+         */
+        static class Child {
+
+            private record Values(long[] bucketCounts, long sum) {}
+
+            private volatile Values values;
+
+            /**
+             * Set the values of this histogram.
+             *
+             * @param bucketCounts the cumulative count of each bucket, followed by the total count
+             * @param sum          the sum of all values
+             */
+            void set(final long[] bucketCounts, final long sum) {
+                values = new Values(bucketCounts, sum);
+            }
+        }
+
+        /**
+         * Builder of a {@link BucketHistogram}.
+         */
+        static class Builder extends SimpleCollector.Builder<Builder, BucketHistogram> {
+
+            private final long[] bucketBoundaries;
+
+            Builder(final long[] bucketBoundaries) {
+                this.bucketBoundaries = Objects.requireNonNull(bucketBoundaries, "bucketBoundaries must not be null");
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public BucketHistogram create() {
+                return new BucketHistogram(this);
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.swirlds.common.wiring.component.internal.TransformerToBind;
 import com.swirlds.common.wiring.component.internal.WiringComponentProxy;
 import com.swirlds.common.wiring.model.WiringModel;
 import com.swirlds.common.wiring.schedulers.TaskScheduler;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
 import com.swirlds.common.wiring.transformers.WireFilter;
 import com.swirlds.common.wiring.transformers.WireTransformer;
 import com.swirlds.common.wiring.wires.input.BindableInputWire;
@@ -143,7 +144,7 @@ public class ComponentWiring<COMPONENT_TYPE, OUTPUT_TYPE> {
                             + "instead.");
         }
 
-        return getOrBuildInputWire(proxy.getMostRecentlyInvokedMethod(), handler, null, null);
+        return getOrBuildInputWire(proxy.getMostRecentlyInvokedMethod(), handler, null, null, false);
     }
 
     /**
@@ -166,7 +167,7 @@ public class ComponentWiring<COMPONENT_TYPE, OUTPUT_TYPE> {
                     "Component wiring does not support primitive input types. Use a boxed primitive instead.");
         }
 
-        return getOrBuildInputWire(proxy.getMostRecentlyInvokedMethod(), null, handler, null);
+        return getOrBuildInputWire(proxy.getMostRecentlyInvokedMethod(), null, handler, null, false);
     }
 
     /**
@@ -189,7 +190,64 @@ public class ComponentWiring<COMPONENT_TYPE, OUTPUT_TYPE> {
                     "Component wiring does not support primitive input types. Use a boxed primitive instead.");
         }
 
-        return getOrBuildInputWire(proxy.getMostRecentlyInvokedMethod(), null, null, handler);
+        return getOrBuildInputWire(proxy.getMostRecentlyInvokedMethod(), null, null, handler, false);
+    }
+
+    /**
+     * Get an input wire for this component that hands data to the component in batches. The wire accepts one piece of
+     * data at a time. If the component runs on a {@link TaskSchedulerType#BATCHING BATCHING} task scheduler,
+     * consecutive data on this wire is passed to the handler as a single list, otherwise each piece of data is passed
+     * as a list of one.
+     *
+     * @param handler      the component method that will handle batches of input, e.g. "MyComponent::handleInputs".
+     *                     Should be a method on the class, not a method on a specific instance.
+     * @param <INPUT_TYPE> the type of the input
+     * @return the input wire
+     */
+    @NonNull
+    public <INPUT_TYPE> InputWire<INPUT_TYPE> getBatchInputWire(
+            @NonNull final BiFunction<COMPONENT_TYPE, List<INPUT_TYPE>, OUTPUT_TYPE> handler) {
+
+        Objects.requireNonNull(handler);
+
+        try {
+            handler.apply(proxyComponent, null);
+        } catch (final NullPointerException e) {
+            throw new IllegalStateException(
+                    "Component wiring does not support primitive return types. Use a boxed primitive instead.");
+        }
+
+        return getOrBuildInputWire(
+                proxy.getMostRecentlyInvokedMethod(),
+                (BiFunction<COMPONENT_TYPE, INPUT_TYPE, OUTPUT_TYPE>) (Object) handler,
+                null,
+                null,
+                true);
+    }
+
+    /**
+     * Get an input wire for this component that hands data to the component in batches. See
+     * {@link #getBatchInputWire(BiFunction)} for how data is grouped.
+     *
+     * @param handler      the component method that will handle batches of input, e.g. "MyComponent::handleInputs".
+     *                     Should be a method on the class, not a method on a specific instance.
+     * @param <INPUT_TYPE> the type of the input
+     * @return the input wire
+     */
+    @NonNull
+    public <INPUT_TYPE> InputWire<INPUT_TYPE> getBatchInputWire(
+            @NonNull final BiConsumer<COMPONENT_TYPE, List<INPUT_TYPE>> handler) {
+
+        Objects.requireNonNull(handler);
+
+        handler.accept(proxyComponent, null);
+
+        return getOrBuildInputWire(
+                proxy.getMostRecentlyInvokedMethod(),
+                null,
+                (BiConsumer<COMPONENT_TYPE, INPUT_TYPE>) (Object) handler,
+                null,
+                true);
     }
 
     /**
@@ -406,6 +464,7 @@ public class ComponentWiring<COMPONENT_TYPE, OUTPUT_TYPE> {
      * @param handlerWithReturn       the handler for the method if it has a return type
      * @param handlerWithoutReturn    the handler for the method if it does not have a return type
      * @param handlerWithoutParameter the handler for the method if it does not have a parameter
+     * @param batch                   true if the handler accepts a list of inputs rather than a single input
      * @param <INPUT_TYPE>            the input type
      * @return the input wire
      */
@@ -413,7 +472,8 @@ public class ComponentWiring<COMPONENT_TYPE, OUTPUT_TYPE> {
             @NonNull final Method method,
             @Nullable final BiFunction<COMPONENT_TYPE, INPUT_TYPE, OUTPUT_TYPE> handlerWithReturn,
             @Nullable final BiConsumer<COMPONENT_TYPE, INPUT_TYPE> handlerWithoutReturn,
-            @Nullable final Function<COMPONENT_TYPE, OUTPUT_TYPE> handlerWithoutParameter) {
+            @Nullable final Function<COMPONENT_TYPE, OUTPUT_TYPE> handlerWithoutParameter,
+            final boolean batch) {
 
         if (inputWires.containsKey(method)) {
             // We've already created this wire
@@ -431,25 +491,51 @@ public class ComponentWiring<COMPONENT_TYPE, OUTPUT_TYPE> {
         final BindableInputWire<INPUT_TYPE, OUTPUT_TYPE> inputWire = scheduler.buildInputWire(label);
         inputWires.put(method, (BindableInputWire<Object, Object>) inputWire);
 
+        final InputWireToBind<COMPONENT_TYPE, Object, OUTPUT_TYPE> wireToBind =
+                (InputWireToBind<COMPONENT_TYPE, Object, OUTPUT_TYPE>) new InputWireToBind<>(
+                        inputWire, handlerWithReturn, handlerWithoutReturn, handlerWithoutParameter, batch);
+
         if (component == null) {
             // we will bind this later
-            inputsToBind.add((InputWireToBind<COMPONENT_TYPE, Object, OUTPUT_TYPE>)
-                    new InputWireToBind<>(inputWire, handlerWithReturn, handlerWithoutReturn, handlerWithoutParameter));
+            inputsToBind.add(wireToBind);
         } else {
             // bind this now
+            bindInputWire(wireToBind);
+        }
+
+        return inputWire;
+    }
+
+    /**
+     * Bind an input wire to the component.
+     *
+     * @param wireToBind the input wire and its handler
+     */
+    private void bindInputWire(@NonNull final InputWireToBind<COMPONENT_TYPE, Object, OUTPUT_TYPE> wireToBind) {
+        final BindableInputWire<Object, OUTPUT_TYPE> inputWire = wireToBind.inputWire();
+        final BiFunction<COMPONENT_TYPE, Object, OUTPUT_TYPE> handlerWithReturn = wireToBind.handlerWithReturn();
+        final BiConsumer<COMPONENT_TYPE, Object> handlerWithoutReturn = wireToBind.handlerWithoutReturn();
+
+        if (wireToBind.batch()) {
+            // Batch handlers were registered with a list as their input type
             if (handlerWithReturn != null) {
-                inputWire.bind(x -> handlerWithReturn.apply(component, x));
-            } else if (handlerWithoutReturn != null) {
-                inputWire.bindConsumer(x -> {
-                    handlerWithoutReturn.accept(component, x);
-                });
+                inputWire.bindBatch(batch -> handlerWithReturn.apply(component, batch));
             } else {
-                assert handlerWithoutParameter != null;
-                inputWire.bind(x -> handlerWithoutParameter.apply(component));
+                assert handlerWithoutReturn != null;
+                inputWire.bindBatchConsumer(batch -> {
+                    handlerWithoutReturn.accept(component, batch);
+                });
             }
+        } else if (handlerWithReturn != null) {
+            inputWire.bind(x -> handlerWithReturn.apply(component, x));
+        } else if (handlerWithoutReturn != null) {
+            inputWire.bindConsumer(x -> {
+                handlerWithoutReturn.accept(component, x);
+            });
+        } else {
+            inputWire.bind(x -> Objects.requireNonNull(wireToBind.handlerWithoutParameter())
+                    .apply(component));
         }
-
-        return inputWire;
     }
 
     /**
@@ -492,21 +578,8 @@ public class ComponentWiring<COMPONENT_TYPE, OUTPUT_TYPE> {
         this.component = component;
 
         // Bind input wires
-        for (final InputWireToBind<COMPONENT_TYPE, ?, OUTPUT_TYPE> wireToBind : inputsToBind) {
-            if (wireToBind.handlerWithReturn() != null) {
-                final BiFunction<COMPONENT_TYPE, Object, OUTPUT_TYPE> handlerWithReturn =
-                        (BiFunction<COMPONENT_TYPE, Object, OUTPUT_TYPE>) wireToBind.handlerWithReturn();
-                wireToBind.inputWire().bind(x -> handlerWithReturn.apply(component, x));
-            } else if (wireToBind.handlerWithoutReturn() != null) {
-                final BiConsumer<COMPONENT_TYPE, Object> handlerWithoutReturn =
-                        (BiConsumer<COMPONENT_TYPE, Object>) wireToBind.handlerWithoutReturn();
-                wireToBind.inputWire().bindConsumer(x -> {
-                    handlerWithoutReturn.accept(component, x);
-                });
-            } else {
-                wireToBind.inputWire().bind(x -> Objects.requireNonNull(wireToBind.handlerWithoutParameter())
-                        .apply(component));
-            }
+        for (final InputWireToBind<COMPONENT_TYPE, Object, OUTPUT_TYPE> wireToBind : inputsToBind) {
+            bindInputWire(wireToBind);
         }
 
         // Bind transformers
@@ -33,6 +33,7 @@ import java.util.function.Function;
  *                                void return type
  * @param handlerWithoutParameter null if initially bound. If not initially bound, will be non-null if the method has
  *                                no parameters
+ * @param batch                   true if the handler accepts a list of inputs rather than a single input
  * @param <COMPONENT_TYPE>        the type of the component
  * @param <INPUT_TYPE>            the input type of the input wire
  * @param <OUTPUT_TYPE>           the output type of the component
@@ -41,4 +42,5 @@ public record InputWireToBind<COMPONENT_TYPE, INPUT_TYPE, OUTPUT_TYPE>(
         @NonNull BindableInputWire<INPUT_TYPE, OUTPUT_TYPE> inputWire,
         @Nullable BiFunction<COMPONENT_TYPE, INPUT_TYPE, OUTPUT_TYPE> handlerWithReturn,
         @Nullable BiConsumer<COMPONENT_TYPE, INPUT_TYPE> handlerWithoutReturn,
-        @Nullable Function<COMPONENT_TYPE, OUTPUT_TYPE> handlerWithoutParameter) {}
+        @Nullable Function<COMPONENT_TYPE, OUTPUT_TYPE> handlerWithoutParameter,
+        boolean batch) {}
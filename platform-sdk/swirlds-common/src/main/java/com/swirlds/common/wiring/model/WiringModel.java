@@ -74,6 +74,19 @@ public interface WiringModel extends Startable, Stoppable {
     @NonNull
     TaskSchedulerMetricsBuilder metricsBuilder();
 
+    /**
+     * Enable sampled latency tracing. On average, one out of every {@code samplePeriod} pieces of data that enter the
+     * model from outside is traced as it (and anything derived from it) moves from input wire to input wire. Time
+     * spent waiting in each task scheduler and time spent in each handler is recorded for every input wire, and
+     * {@link #generateWiringDiagram(List, List, List, boolean)} annotates edges with the observed latency and
+     * highlights the path through the model where data spends the most time. When tracing is not enabled, none of this
+     * work is done.
+     *
+     * @param samplePeriod the average number of pieces of data entering the model per traced sample, 1 traces all data
+     * @throws IllegalStateException if any input wires have already been created, or if start() has been called
+     */
+    void enableLatencyTracing(int samplePeriod);
+
     /**
      * Check to see if there is cyclic backpressure in the wiring model. Cyclical back pressure can lead to deadlocks,
      * and so it should be avoided at all costs.
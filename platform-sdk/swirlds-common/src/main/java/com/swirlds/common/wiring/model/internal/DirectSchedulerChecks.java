@@ -46,14 +46,16 @@ public final class DirectSchedulerChecks {
      * <ul>
      * <li>
      * Calling into a component with type {@link TaskSchedulerType#DIRECT DIRECT}
-     * from a component with {@link TaskSchedulerType#CONCURRENT CONCURRENT} is not
+     * from a component with {@link TaskSchedulerType#CONCURRENT CONCURRENT} or
+     * {@link TaskSchedulerType#ORDERED_CONCURRENT ORDERED_CONCURRENT} is not
      * allowed.
      * </li>
      * <li>
      * Calling into a component with type {@link TaskSchedulerType#DIRECT DIRECT}
      * from more than one component with type
-     * {@link TaskSchedulerType#SEQUENTIAL SEQUENTIAL} or type
-     * {@link TaskSchedulerType#SEQUENTIAL_THREAD SEQUENTIAL_THREAD} is not allowed.
+     * {@link TaskSchedulerType#SEQUENTIAL SEQUENTIAL}, type
+     * {@link TaskSchedulerType#SEQUENTIAL_THREAD SEQUENTIAL_THREAD}, or type
+     * {@link TaskSchedulerType#BATCHING BATCHING} is not allowed.
      * </li>
      * <li>
      * Calling into a component A with type
@@ -89,7 +91,8 @@ public final class DirectSchedulerChecks {
 
             final Set<ModelVertex> directSchedulersAccessed = collectDirectVerticesAccessedByScheduler(vertex);
 
-            if (vertexType == TaskSchedulerType.CONCURRENT && !directSchedulersAccessed.isEmpty()) {
+            if ((vertexType == TaskSchedulerType.CONCURRENT || vertexType == TaskSchedulerType.ORDERED_CONCURRENT)
+                    && !directSchedulersAccessed.isEmpty()) {
                 // It is illegal for a concurrent scheduler to call into a direct scheduler.
                 illegalAccessDetected = true;
                 sb.append("  ")
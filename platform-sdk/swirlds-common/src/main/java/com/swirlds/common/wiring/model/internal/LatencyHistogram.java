@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.model.internal;
+
+import static com.swirlds.common.metrics.platform.LogLinearBuckets.BUCKET_COUNT;
+import static com.swirlds.common.metrics.platform.LogLinearBuckets.bucketOf;
+
+import com.swirlds.common.metrics.platform.LogLinearBuckets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of durations in nanoseconds, counted in {@link LogLinearBuckets}.
+ */
+public class LatencyHistogram {
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Record a duration. Negative durations (e.g. caused by clock adjustments) are recorded as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+    }
+
+    /**
+     * Get the number of durations recorded.
+     *
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        return LogLinearBuckets.count(snapshot());
+    }
+
+    /**
+     * Get an upper bound for the duration at the given percentile. Values recorded concurrently with this call may or
+     * may not be taken into account.
+     *
+     * @param percentile the percentile, between 0 and 1 (inclusive)
+     * @return the largest value that could be in the bucket containing the percentile, or 0 if nothing was recorded
+     */
+    public long getPercentile(final double percentile) {
+        return LogLinearBuckets.percentile(snapshot(), percentile);
+    }
+
+    private long[] snapshot() {
+        final long[] snapshot = new long[BUCKET_COUNT];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.model.internal;
+
+import com.swirlds.base.time.Time;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Samples data as it enters the wiring and follows it from input wire to input wire, recording how long it waits in
+ * each task scheduler's queue and how long each handler takes with it.
+ *
+ * <p>
+ * Data is sampled when it is inserted into an input wire by a thread that is not currently handling data for the
+ * wiring (i.e. when it enters the wiring from the outside). Data inserted into an input wire by a handler that is
+ * handling sampled data is itself sampled, with the same time of entry, so a sample traces an item and everything
+ * derived from it through the model. Only input wires created after tracing is enabled are traced. A model without a
+ * tracer does none of this work.
+ */
+public class LatencyTracer {
+
+    /**
+     * The trace context of a thread that is handling data that was not sampled.
+     */
+    private static final Trace UNSAMPLED = new Trace(0);
+
+    private final Time time;
+    private final int samplePeriod;
+
+    /**
+     * The trace context of the data being handled by the current thread, null if the current thread is not handling
+     * data for the wiring.
+     */
+    private final ThreadLocal<Trace> currentTrace = new ThreadLocal<>();
+
+    private final Map<InputWireDescriptor, WireLatency> wireLatencies = new ConcurrentHashMap<>();
+
+    /**
+     * The trace context of a sampled piece of data.
+     *
+     * @param entryTime the time when the data (or the data it was derived from) entered the wiring, in nanoseconds
+     */
+    private record Trace(long entryTime) {}
+
+    /**
+     * Sampled data waiting in a task scheduler.
+     *
+     * @param data        the data
+     * @param trace       the trace context of the data
+     * @param enqueueTime the time when the data was inserted into the input wire, in nanoseconds
+     */
+    private record TracedData(@NonNull Object data, @NonNull Trace trace, long enqueueTime) {}
+
+    /**
+     * Latency statistics for a single input wire.
+     *
+     * @param queueTime    time between insertion into the input wire and the start of the handler
+     * @param handlerTime  time spent in the handler
+     * @param sinceEntry   time between the data entering the wiring and the handler finishing with it
+     */
+    public record WireLatency(
+            @NonNull LatencyHistogram queueTime,
+            @NonNull LatencyHistogram handlerTime,
+            @NonNull LatencyHistogram sinceEntry) {
+
+        /**
+         * The time a typical sample spends on this wire, including time spent waiting in the queue.
+         *
+         * @return the sum of the median queue time and the median handler time, in nanoseconds
+         */
+        public long medianLatency() {
+            return queueTime.getPercentile(0.5) + handlerTime.getPercentile(0.5);
+        }
+
+        /**
+         * Describe the latency of this wire for a wiring diagram. The p99 value is the sum of the p99 queue time and
+         * the p99 handler time, and so is an upper bound.
+         *
+         * @return a short description of the latency
+         */
+        @NonNull
+        public String describe() {
+            final long p99 = queueTime.getPercentile(0.99) + handlerTime.getPercentile(0.99);
+            return "p50 " + formatNanos(medianLatency()) + ", p99 " + formatNanos(p99);
+        }
+
+        /**
+         * Format a duration for display.
+         *
+         * @param nanos the duration in nanoseconds
+         * @return the formatted duration
+         */
+        @NonNull
+        private static String formatNanos(final long nanos) {
+            if (nanos < 1_000) {
+                return nanos + "ns";
+            } else if (nanos < 1_000_000) {
+                return String.format("%.1fus", nanos / 1_000.0);
+            } else if (nanos < 1_000_000_000) {
+                return String.format("%.1fms", nanos / 1_000_000.0);
+            }
+            return String.format("%.1fs", nanos / 1_000_000_000.0);
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param time         provides the time
+     * @param samplePeriod on average, one out of every this many pieces of data entering the wiring is sampled
+     */
+    public LatencyTracer(@NonNull final Time time, final int samplePeriod) {
+        if (samplePeriod < 1) {
+            throw new IllegalArgumentException("Sample period must be at least 1, got " + samplePeriod);
+        }
+        this.time = Objects.requireNonNull(time);
+        this.samplePeriod = samplePeriod;
+    }
+
+    /**
+     * Get (or create) the latency statistics for an input wire.
+     *
+     * @param taskSchedulerName the name of the task scheduler the input wire is bound to
+     * @param inputWireName     the name of the input wire
+     * @return the latency statistics
+     */
+    @NonNull
+    public WireLatency getWireLatency(@NonNull final String taskSchedulerName, @NonNull final String inputWireName) {
+        return wireLatencies.computeIfAbsent(
+                new InputWireDescriptor(taskSchedulerName, inputWireName),
+                k -> new WireLatency(new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram()));
+    }
+
+    /**
+     * Get the latency statistics for an input wire if any have been recorded.
+     *
+     * @param taskSchedulerName the name of the task scheduler the input wire is bound to
+     * @param inputWireName     the name of the input wire
+     * @return the latency statistics, or null if the wire is not traced
+     */
+    @Nullable
+    public WireLatency findWireLatency(@NonNull final String taskSchedulerName, @NonNull final String inputWireName) {
+        return wireLatencies.get(new InputWireDescriptor(taskSchedulerName, inputWireName));
+    }
+
+    /**
+     * Decide whether data being inserted into an input wire is traced.
+     *
+     * @param data the data being inserted
+     * @return the data wrapped with its trace context if it is traced, or null if it is not
+     */
+    @Nullable
+    public Object trace(@NonNull final Object data) {
+        Trace trace = currentTrace.get();
+        if (trace == null) {
+            // The data is entering the wiring
+            if (ThreadLocalRandom.current().nextInt(samplePeriod) != 0) {
+                return null;
+            }
+            trace = new Trace(time.nanoTime());
+        } else if (trace == UNSAMPLED) {
+            return null;
+        }
+        return new TracedData(data, trace, time.nanoTime());
+    }
+
+    /**
+     * Wrap the handler of an input wire for data that is not traced. The wrapper remembers that the current thread is
+     * handling unsampled data, so that anything the handler inserts into other input wires is not sampled either.
+     *
+     * @param handler the handler of the input wire
+     * @return the wrapped handler
+     */
+    @NonNull
+    public Consumer<Object> wrapHandler(@NonNull final Consumer<Object> handler) {
+        return data -> {
+            final Trace previous = currentTrace.get();
+            currentTrace.set(UNSAMPLED);
+            try {
+                handler.accept(data);
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap the handler of an input wire for data returned by {@link #trace(Object)}.
+     *
+     * @param handler the handler of the input wire
+     * @param latency where to record the latency of the input wire
+     * @return the wrapped handler
+     */
+    @NonNull
+    public Consumer<Object> wrapTracedHandler(
+            @NonNull final Consumer<Object> handler, @NonNull final WireLatency latency) {
+        return data -> {
+            final TracedData traced = (TracedData) data;
+            final long start = time.nanoTime();
+            latency.queueTime().record(start - traced.enqueueTime());
+
+            final Trace previous = currentTrace.get();
+            currentTrace.set(traced.trace());
+            try {
+                handler.accept(traced.data());
+            } finally {
+                restore(previous);
+                final long end = time.nanoTime();
+                latency.handlerTime().record(end - start);
+                latency.sinceEntry().record(end - traced.trace().entryTime());
+            }
+        };
+    }
+
+    /**
+     * Restore the trace context of the current thread.
+     *
+     * @param previous the trace context to restore, or null if there was none
+     */
+    private void restore(@Nullable final Trace previous) {
+        if (previous == null) {
+            currentTrace.remove();
+        } else {
+            currentTrace.set(previous);
+        }
+    }
+
+    /**
+     * Find the path through the model where sampled data currently spends the most time, where the cost of an edge is
+     * the median latency of the input wire it leads into. Edges that would close a cycle are ignored.
+     *
+     * @param vertices the vertices of the model
+     * @return the edges of the critical path, in order, or an empty list if nothing has been sampled
+     */
+    @NonNull
+    public List<ModelEdge> findCriticalPath(@NonNull final Collection<ModelVertex> vertices) {
+        final Map<ModelVertex, Long> longestFrom = new HashMap<>();
+        final Map<ModelVertex, ModelEdge> bestEdge = new HashMap<>();
+
+        ModelVertex start = null;
+        long longest = 0;
+        for (final ModelVertex vertex : vertices) {
+            final long length = longestPathFrom(vertex, longestFrom, bestEdge, new HashSet<>());
+            if (length > longest) {
+                longest = length;
+                start = vertex;
+            }
+        }
+
+        final List<ModelEdge> path = new ArrayList<>();
+        ModelVertex vertex = start;
+        while (vertex != null && bestEdge.containsKey(vertex)) {
+            final ModelEdge edge = bestEdge.get(vertex);
+            path.add(edge);
+            vertex = edge.getDestination();
+        }
+        return path;
+    }
+
+    /**
+     * Compute the length of the longest path starting at a vertex.
+     *
+     * @param vertex      the vertex
+     * @param longestFrom memoized path lengths for vertices whose longest path is known
+     * @param bestEdge    the first edge of the longest path from each vertex, if that path is not empty
+     * @param visiting    vertices on the current search path, used to detect cycles
+     * @return the length of the longest path, in nanoseconds
+     */
+    private long longestPathFrom(
+            @NonNull final ModelVertex vertex,
+            @NonNull final Map<ModelVertex, Long> longestFrom,
+            @NonNull final Map<ModelVertex, ModelEdge> bestEdge,
+            @NonNull final Set<ModelVertex> visiting) {
+
+        final Long known = longestFrom.get(vertex);
+        if (known != null) {
+            return known;
+        }
+
+        visiting.add(vertex);
+        long longest = 0;
+        for (final ModelEdge edge : vertex.getOutgoingEdges()) {
+            final ModelVertex destination = edge.getDestination();
+            if (visiting.contains(destination)) {
+                continue;
+            }
+            final WireLatency latency = findWireLatency(destination.getName(), edge.getLabel());
+            final long cost = latency == null ? 0 : latency.medianLatency();
+            final long length = cost + longestPathFrom(destination, longestFrom, bestEdge, visiting);
+            if (length > longest) {
+                longest = length;
+                bestEdge.put(vertex, edge);
+            }
+        }
+        visiting.remove(vertex);
+
+        longestFrom.put(vertex, longest);
+        return longest;
+    }
+}
@@ -33,6 +33,16 @@ public class ModelEdge implements Comparable<ModelEdge> {
     private final boolean insertionIsBlocking;
     private final boolean manual;
 
+    /**
+     * A description of the latency observed on this edge, or null if latency is not traced.
+     */
+    private String latencyDescription;
+
+    /**
+     * True if this edge is on the critical latency path.
+     */
+    private boolean criticalPath;
+
     /**
      * Constructor.
      *
@@ -114,6 +124,17 @@ public class ModelEdge implements Comparable<ModelEdge> {
         return insertionIsBlocking;
     }
 
+    /**
+     * Annotate this edge with the latency observed on it.
+     *
+     * @param latencyDescription a description of the latency, or null if there is none
+     * @param criticalPath       true if this edge is on the critical latency path
+     */
+    public void setLatency(@Nullable final String latencyDescription, final boolean criticalPath) {
+        this.latencyDescription = latencyDescription;
+        this.criticalPath = criticalPath;
+    }
+
     @Override
     public boolean equals(@Nullable final Object obj) {
         if (obj instanceof final ModelEdge that) {
@@ -174,17 +195,33 @@ public class ModelEdge implements Comparable<ModelEdge> {
         final String sourceName = nameProvider.getShortVertexName(source.getName());
         sb.append(sourceName).append(" ");
 
-        if (insertionIsBlocking) {
-            if (label.isEmpty()) {
+        final String text;
+        if (latencyDescription == null) {
+            text = label;
+        } else if (label.isEmpty()) {
+            text = latencyDescription;
+        } else {
+            text = label + "<br />" + latencyDescription;
+        }
+
+        if (criticalPath) {
+            // Thick edges highlight the critical latency path
+            if (text.isEmpty()) {
+                sb.append("==");
+            } else {
+                sb.append("== \"").append(text).append("\" ==");
+            }
+        } else if (insertionIsBlocking) {
+            if (text.isEmpty()) {
                 sb.append("--");
             } else {
-                sb.append("-- \"").append(label).append("\" --");
+                sb.append("-- \"").append(text).append("\" --");
             }
         } else {
-            if (label.isEmpty()) {
+            if (text.isEmpty()) {
                 sb.append("-.-");
             } else {
-                sb.append("-. \"").append(label).append("\" .-");
+                sb.append("-. \"").append(text).append("\" .-");
             }
         }
 
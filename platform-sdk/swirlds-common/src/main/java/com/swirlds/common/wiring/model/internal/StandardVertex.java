@@ -215,7 +215,7 @@ public class StandardVertex implements ModelVertex {
             case GROUP -> sb.append("[");
             case SCHEDULER -> {
                 switch (type) {
-                    case CONCURRENT -> sb.append("[[");
+                    case CONCURRENT, ORDERED_CONCURRENT -> sb.append("[[");
                     case DIRECT -> sb.append("[/");
                     case DIRECT_THREADSAFE -> sb.append("{{");
                     default -> sb.append("[");
@@ -244,7 +244,7 @@ public class StandardVertex implements ModelVertex {
             case GROUP -> sb.append("]");
             case SCHEDULER -> {
                 switch (type) {
-                    case CONCURRENT -> sb.append("]]");
+                    case CONCURRENT, ORDERED_CONCURRENT -> sb.append("]]");
                     case DIRECT -> sb.append("/]");
                     case DIRECT_THREADSAFE -> sb.append("}}");
                     default -> sb.append("]");
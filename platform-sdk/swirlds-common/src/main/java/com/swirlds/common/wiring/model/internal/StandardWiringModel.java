@@ -17,6 +17,7 @@
 package com.swirlds.common.wiring.model.internal;
 
 import static com.swirlds.common.wiring.model.internal.ModelVertexMetaType.SCHEDULER;
+import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.BATCHING;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.DIRECT;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.DIRECT_THREADSAFE;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL_THREAD;
@@ -30,6 +31,7 @@ import com.swirlds.common.wiring.schedulers.TaskScheduler;
 import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerBuilder;
 import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerMetricsBuilder;
 import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import com.swirlds.common.wiring.schedulers.internal.BatchingTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.HeartbeatScheduler;
 import com.swirlds.common.wiring.schedulers.internal.SequentialThreadTaskScheduler;
 import com.swirlds.common.wiring.wires.SolderType;
@@ -77,6 +79,11 @@ public class StandardWiringModel implements WiringModel {
      */
     private final List<SequentialThreadTaskScheduler<?>> threadSchedulers = new ArrayList<>();
 
+    /**
+     * Batching schedulers also run on a dedicated thread that needs to be started/stopped.
+     */
+    private final List<BatchingTaskScheduler<?>> batchingSchedulers = new ArrayList<>();
+
     /**
      * Input wires that have been created.
      */
@@ -97,6 +104,11 @@ public class StandardWiringModel implements WiringModel {
      */
     private final ForkJoinPool defaultPool;
 
+    /**
+     * Traces the latency of sampled data as it moves through the model, null if latency tracing is disabled.
+     */
+    private LatencyTracer latencyTracer;
+
     /**
      * True if start() has been called.
      */
@@ -157,6 +169,28 @@ public class StandardWiringModel implements WiringModel {
         return getHeartbeatScheduler().buildHeartbeatWire(frequency);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void enableLatencyTracing(final int samplePeriod) {
+        throwIfStarted();
+        if (!inputWires.isEmpty()) {
+            throw new IllegalStateException("Latency tracing must be enabled before any input wires are created");
+        }
+        latencyTracer = new LatencyTracer(time, samplePeriod);
+    }
+
+    /**
+     * Get the latency tracer for this model.
+     *
+     * @return the latency tracer, or null if latency tracing is disabled
+     */
+    @Nullable
+    public LatencyTracer getLatencyTracer() {
+        return latencyTracer;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -192,7 +226,8 @@ public class StandardWiringModel implements WiringModel {
             @NonNull final List<ModelManualLink> manualLinks,
             final boolean moreMystery) {
         addVertexForUnsolderedInputWires(moreMystery);
-        final WiringFlowchart flowchart = new WiringFlowchart(vertices, substitutions, groups, manualLinks);
+        final WiringFlowchart flowchart =
+                new WiringFlowchart(vertices, substitutions, groups, manualLinks, latencyTracer);
         return flowchart.render();
     }
 
@@ -231,6 +266,8 @@ public class StandardWiringModel implements WiringModel {
         registerVertex(scheduler.getName(), scheduler.getType(), hyperlink, scheduler.isInsertionBlocking());
         if (scheduler.getType() == SEQUENTIAL_THREAD) {
             threadSchedulers.add((SequentialThreadTaskScheduler<?>) scheduler);
+        } else if (scheduler.getType() == BATCHING) {
+            batchingSchedulers.add((BatchingTaskScheduler<?>) scheduler);
         }
     }
 
@@ -366,6 +403,10 @@ public class StandardWiringModel implements WiringModel {
         for (final SequentialThreadTaskScheduler<?> threadScheduler : threadSchedulers) {
             threadScheduler.start();
         }
+
+        for (final BatchingTaskScheduler<?> batchingScheduler : batchingSchedulers) {
+            batchingScheduler.start();
+        }
     }
 
     /**
@@ -383,6 +424,10 @@ public class StandardWiringModel implements WiringModel {
         for (final SequentialThreadTaskScheduler<?> threadScheduler : threadSchedulers) {
             threadScheduler.stop();
         }
+
+        for (final BatchingTaskScheduler<?> batchingScheduler : batchingSchedulers) {
+            batchingScheduler.stop();
+        }
     }
 
     /**
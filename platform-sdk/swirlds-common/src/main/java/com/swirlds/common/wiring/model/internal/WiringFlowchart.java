@@ -18,17 +18,21 @@ package com.swirlds.common.wiring.model.internal;
 
 import static com.swirlds.common.wiring.model.internal.ModelVertexMetaType.SCHEDULER;
 import static com.swirlds.common.wiring.model.internal.ModelVertexMetaType.SUBSTITUTION;
+import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.BATCHING;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.CONCURRENT;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.DIRECT;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.DIRECT_THREADSAFE;
+import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.ORDERED_CONCURRENT;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL;
 import static com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType.SEQUENTIAL_THREAD;
 
 import com.swirlds.common.wiring.model.ModelEdgeSubstitution;
 import com.swirlds.common.wiring.model.ModelGroup;
 import com.swirlds.common.wiring.model.ModelManualLink;
+import com.swirlds.common.wiring.model.internal.LatencyTracer.WireLatency;
 import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -65,16 +69,18 @@ public class WiringFlowchart {
      * @param substitutions  a list of edge substitutions to perform
      * @param groups         a list of groups to create
      * @param manualLinks    a list of manual links to draw
+     * @param latencyTracer  if not null, edges are annotated with the latency it has observed
      */
     public WiringFlowchart(
             @NonNull final Map<String, ModelVertex> modelVertexMap,
             @NonNull final List<ModelEdgeSubstitution> substitutions,
             @NonNull final List<ModelGroup> groups,
-            @NonNull final List<ModelManualLink> manualLinks) {
+            @NonNull final List<ModelManualLink> manualLinks,
+            @Nullable final LatencyTracer latencyTracer) {
 
         Objects.requireNonNull(modelVertexMap);
 
-        vertexMap = copyVertexMap(modelVertexMap);
+        vertexMap = copyVertexMap(modelVertexMap, latencyTracer);
         addManualLinks(manualLinks);
         substituteEdges(substitutions);
         handleGroups(groups);
@@ -83,12 +89,19 @@ public class WiringFlowchart {
     /**
      * Do a deep copy of the vertex map. Allows the local copy to be modified without affecting the original.
      *
+     * @param original      the vertex map to copy
+     * @param latencyTracer if not null, the copied edges are annotated with the latency it has observed
      * @return a deep copy of the vertex map
      */
     @NonNull
-    private Map<String, ModelVertex> copyVertexMap(@NonNull final Map<String, ModelVertex> original) {
+    private Map<String, ModelVertex> copyVertexMap(
+            @NonNull final Map<String, ModelVertex> original, @Nullable final LatencyTracer latencyTracer) {
         final Map<String, ModelVertex> copy = new HashMap<>();
 
+        final Set<ModelEdge> criticalPath = latencyTracer == null
+                ? Set.of()
+                : new HashSet<>(latencyTracer.findCriticalPath(original.values()));
+
         // First, copy the vertices without copying the edges.
         // We should only encounter StandardVertex instances here.
         for (final ModelVertex vertex : original.values()) {
@@ -115,6 +128,14 @@ public class WiringFlowchart {
                 final ModelEdge edgeCopy =
                         new ModelEdge(source, destination, edge.getLabel(), edge.isInsertionIsBlocking(), false);
 
+                if (latencyTracer != null) {
+                    final WireLatency latency =
+                            latencyTracer.findWireLatency(edge.getDestination().getName(), edge.getLabel());
+                    if (latency != null && latency.queueTime().getCount() > 0) {
+                        edgeCopy.setLatency(latency.describe(), criticalPath.contains(edge));
+                    }
+                }
+
                 source.getOutgoingEdges().add(edgeCopy);
             }
         }
@@ -305,11 +326,13 @@ public class WiringFlowchart {
         boolean hasState = false;
 
         for (final ModelVertex vertex : groupVertices) {
-            if (vertex.getType() == CONCURRENT) {
+            if (vertex.getType() == CONCURRENT || vertex.getType() == ORDERED_CONCURRENT) {
                 return CONCURRENT;
             }
 
-            if (vertex.getType() == SEQUENTIAL || vertex.getType() == SEQUENTIAL_THREAD) {
+            if (vertex.getType() == SEQUENTIAL
+                    || vertex.getType() == SEQUENTIAL_THREAD
+                    || vertex.getType() == BATCHING) {
                 if (hasSequential) {
                     // We've detected more than one sequential scheduler type, so there is more than one logical
                     // thread of execution within this group.
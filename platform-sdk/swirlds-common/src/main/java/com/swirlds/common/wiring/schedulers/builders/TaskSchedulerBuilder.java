@@ -27,8 +27,10 @@ import com.swirlds.common.wiring.counters.ObjectCounter;
 import com.swirlds.common.wiring.counters.StandardObjectCounter;
 import com.swirlds.common.wiring.model.internal.StandardWiringModel;
 import com.swirlds.common.wiring.schedulers.TaskScheduler;
+import com.swirlds.common.wiring.schedulers.internal.BatchingTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.ConcurrentTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.DirectTaskScheduler;
+import com.swirlds.common.wiring.schedulers.internal.OrderedConcurrentTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.SequentialTaskScheduler;
 import com.swirlds.common.wiring.schedulers.internal.SequentialThreadTaskScheduler;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -69,6 +71,9 @@ public class TaskSchedulerBuilder<O> {
 
     private Duration sleepDuration = Duration.ofNanos(100);
 
+    private int maxBatchSize = 1024;
+    private Duration maxBatchDelay = Duration.ZERO;
+
     /**
      * Constructor.
      *
@@ -120,6 +125,41 @@ public class TaskSchedulerBuilder<O> {
         return this;
     }
 
+    /**
+     * Set the maximum number of tasks a {@link TaskSchedulerType#BATCHING BATCHING} task scheduler takes off of its
+     * queue at once, and therefore the maximum size of a batch passed to a batch-aware handler. Default 1024. Ignored
+     * by other task scheduler types.
+     *
+     * @param maxBatchSize the maximum batch size, must be at least 1
+     * @return this
+     */
+    @NonNull
+    public TaskSchedulerBuilder<O> withMaxBatchSize(final int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Set the maximum length of time a {@link TaskSchedulerType#BATCHING BATCHING} task scheduler waits for a batch
+     * to fill up once the first task of the batch has been taken off of its queue. Default zero, i.e. a batch contains
+     * whatever is already waiting in the queue. A non-zero delay trades latency for larger batches. Ignored by other
+     * task scheduler types.
+     *
+     * @param maxBatchDelay the maximum batch delay
+     * @return this
+     */
+    @NonNull
+    public TaskSchedulerBuilder<O> withMaxBatchDelay(@NonNull final Duration maxBatchDelay) {
+        if (maxBatchDelay.isNegative()) {
+            throw new IllegalArgumentException("Maximum batch delay must not be negative");
+        }
+        this.maxBatchDelay = maxBatchDelay;
+        return this;
+    }
+
     /**
      * Set whether the task scheduler should enable flushing. Default false. Flushing a scheduler with this disabled
      * will cause the scheduler to throw an exception. Enabling flushing may add overhead.
@@ -310,8 +350,8 @@ public class TaskSchedulerBuilder<O> {
         // If we don't need to enforce a maximum capacity, we need to use a standard object counter if any
         // of the following conditions are true:
         //  - we have unhandled task metrics enabled
-        //  - the scheduler is concurrent and flushing is enabled. This is because the concurrent scheduler's
-        //    flush implementation requires a counter that is not a no-op counter.
+        //  - the scheduler is concurrent (ordered or not) and flushing is enabled. This is because the concurrent
+        //    schedulers' flush implementation requires a counter that is not a no-op counter.
         //
         // In all other cases, better to use a no-op counter. Counters have overhead, and if we don't need one
         // then we shouldn't use one.
@@ -319,7 +359,8 @@ public class TaskSchedulerBuilder<O> {
         if (unhandledTaskCapacity != UNLIMITED_CAPACITY) {
             innerCounter = new BackpressureObjectCounter(name, unhandledTaskCapacity, sleepDuration);
         } else if ((metricsBuilder != null && metricsBuilder.isUnhandledTaskMetricEnabled())
-                || (type == TaskSchedulerType.CONCURRENT && flushingEnabled)) {
+                || ((type == TaskSchedulerType.CONCURRENT || type == TaskSchedulerType.ORDERED_CONCURRENT)
+                        && flushingEnabled)) {
             innerCounter = new StandardObjectCounter(sleepDuration);
         } else {
             innerCounter = null;
@@ -338,7 +379,7 @@ public class TaskSchedulerBuilder<O> {
         if (metricsBuilder == null || !metricsBuilder.isBusyFractionMetricEnabled()) {
             return NoOpFractionalTimer.getInstance();
         }
-        if (type == TaskSchedulerType.CONCURRENT) {
+        if (type == TaskSchedulerType.CONCURRENT || type == TaskSchedulerType.ORDERED_CONCURRENT) {
             throw new IllegalStateException("Busy fraction metric is not compatible with concurrent schedulers");
         }
         return metricsBuilder.buildBusyTimer();
@@ -372,6 +413,16 @@ public class TaskSchedulerBuilder<O> {
                             flushingEnabled,
                             squelchingEnabled,
                             insertionIsBlocking);
+                    case ORDERED_CONCURRENT -> new OrderedConcurrentTaskScheduler<>(
+                            model,
+                            name,
+                            pool,
+                            buildUncaughtExceptionHandler(),
+                            counters.onRamp(),
+                            counters.offRamp(),
+                            flushingEnabled,
+                            squelchingEnabled,
+                            insertionIsBlocking);
                     case SEQUENTIAL -> new SequentialTaskScheduler<>(
                             model,
                             name,
@@ -394,6 +445,19 @@ public class TaskSchedulerBuilder<O> {
                             flushingEnabled,
                             squelchingEnabled,
                             insertionIsBlocking);
+                    case BATCHING -> new BatchingTaskScheduler<>(
+                            model,
+                            name,
+                            buildUncaughtExceptionHandler(),
+                            counters.onRamp(),
+                            counters.offRamp(),
+                            busyFractionTimer,
+                            sleepDuration,
+                            maxBatchSize,
+                            maxBatchDelay,
+                            flushingEnabled,
+                            squelchingEnabled,
+                            insertionIsBlocking);
                     case DIRECT -> new DirectTaskScheduler<>(
                             model,
                             name,
@@ -414,6 +478,11 @@ public class TaskSchedulerBuilder<O> {
                             true);
                 };
 
+        if (metricsBuilder != null && scheduler instanceof final OrderedConcurrentTaskScheduler<?> ordered) {
+            metricsBuilder.registerReorderBufferMetrics(
+                    name, ordered::getReorderBufferDepth, ordered::getMaxReorderBufferDepth);
+        }
+
         model.registerScheduler(scheduler, hyperlink);
 
         return scheduler;
@@ -27,6 +27,7 @@ import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Objects;
+import java.util.function.LongSupplier;
 
 /**
  * Configures metrics for a {@link TaskScheduler}.
@@ -37,6 +38,7 @@ public class TaskSchedulerMetricsBuilder {
     private final Time time;
     private boolean unhandledTaskMetricEnabled = false;
     private boolean busyFractionMetricEnabled = false;
+    private boolean reorderBufferMetricsEnabled = false;
     private StandardFractionalTimer busyFractionTimer;
 
     /**
@@ -76,6 +78,19 @@ public class TaskSchedulerMetricsBuilder {
         return this;
     }
 
+    /**
+     * Set whether the reorder buffer metrics should be enabled. Default false. These metrics are only registered for
+     * {@link TaskSchedulerType#ORDERED_CONCURRENT ORDERED_CONCURRENT} task schedulers.
+     *
+     * @param enabled true if the reorder buffer metrics should be enabled, false otherwise
+     * @return this
+     */
+    @NonNull
+    public TaskSchedulerMetricsBuilder withReorderBufferMetricsEnabled(final boolean enabled) {
+        this.reorderBufferMetricsEnabled = enabled;
+        return this;
+    }
+
     /**
      * Check if the scheduled task count metric is enabled.
      *
@@ -137,4 +152,29 @@ public class TaskSchedulerMetricsBuilder {
                     "Fraction (out of 1.0) of time spent processing tasks for the task scheduler " + taskSchedulerName);
         }
     }
+
+    /**
+     * Register the reorder buffer metrics of an ordered concurrent task scheduler, if enabled.
+     *
+     * @param taskSchedulerName the name of the task scheduler
+     * @param depth             supplies the number of finished tasks whose output is waiting on earlier tasks
+     * @param maxDepth          supplies the largest depth the reorder buffer has reached
+     */
+    void registerReorderBufferMetrics(
+            @NonNull final String taskSchedulerName,
+            @NonNull final LongSupplier depth,
+            @NonNull final LongSupplier maxDepth) {
+        if (!reorderBufferMetricsEnabled) {
+            return;
+        }
+
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        "platform", taskSchedulerName + "_reorder_buffer_depth", Long.class, depth::getAsLong)
+                .withDescription("The number of finished tasks whose output is waiting on earlier tasks for the "
+                        + "scheduler " + taskSchedulerName));
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        "platform", taskSchedulerName + "_max_reorder_buffer_depth", Long.class, maxDepth::getAsLong)
+                .withDescription("The largest number of finished tasks ever waiting on earlier tasks for the "
+                        + "scheduler " + taskSchedulerName));
+    }
 }
@@ -32,20 +32,37 @@ public enum TaskSchedulerType {
      * the implementation and performance characteristics are not identical.
      */
     SEQUENTIAL_THREAD,
+    /**
+     * Tasks are executed on a dedicated thread in the order they were enqueued, as with {@link #SEQUENTIAL_THREAD}.
+     * Consecutive tasks for an input wire that was bound with a batch-aware handler are passed to that handler as a
+     * single list, amortizing per-task overhead. A batch holds at most
+     * {@link TaskSchedulerBuilder#withMaxBatchSize(int) the maximum batch size} tasks, and the scheduler waits at most
+     * {@link TaskSchedulerBuilder#withMaxBatchDelay(java.time.Duration) the maximum batch delay} for a batch to fill
+     * up. Tasks for other input wires are handled one at a time.
+     */
+    BATCHING,
     /**
      * Tasks are executed on a fork join pool. Tasks may be executed in parallel with each other. Ordering is not
      * guaranteed.
      */
     CONCURRENT,
+    /**
+     * Tasks are executed on a fork join pool and may be executed in parallel with each other, but output is released
+     * to the primary output wire in the order in which tasks were enqueued. Output from a task that finishes early is
+     * held in a reorder buffer until all earlier tasks have finished. A task counts as unhandled until its output has
+     * been released, so the unhandled task capacity also bounds the size of the reorder buffer. With respect to direct
+     * schedulers, this type is subject to the same restrictions as {@link #CONCURRENT}.
+     */
+    ORDERED_CONCURRENT,
     /**
      * Tasks are executed immediately on the caller's thread. There is no queue for tasks waiting to be handled (logical
      * or otherwise). Useful for scenarios where tasks are extremely small and not worth the scheduling overhead.
      * <p>
      * Only a single logical thread of execution is permitted to send data to a direct task scheduler.
-     * {@link #SEQUENTIAL} and {@link #SEQUENTIAL_THREAD} schedulers are permitted to send data to a direct task
-     * scheduler, but it is illegal for more than one of these schedulers to send data to the same direct task
-     * scheduler. {@link #CONCURRENT} task schedulers are forbidden from sending data to a direct task scheduler. It is
-     * legal for operations that are executed on the calling thread (e.g. filters, transformers, stateless/stateful
+     * {@link #SEQUENTIAL}, {@link #SEQUENTIAL_THREAD}, and {@link #BATCHING} schedulers are permitted to send data to a
+     * direct task scheduler, but it is illegal for more than one of these schedulers to send data to the same direct
+     * task scheduler. {@link #CONCURRENT} task schedulers are forbidden from sending data to a direct task scheduler. It
+     * is legal for operations that are executed on the calling thread (e.g. filters, transformers, stateless/stateful
      * direct schedulers) to call into a direct scheduler as long as the calling thread is not in a concurrent scheduler
      * or originating from more than one sequential scheduler.
      * <p>
@@ -54,10 +71,11 @@ public enum TaskSchedulerType {
      * <li>Create a directed graph where vertices are schedulers and edges are wires between schedulers</li>
      * <li>Starting from each vertex, walk over the graph in depth first order. Follow edges that lead to
      * DIRECT or DIRECT_THREADSAFE vertices, but do not follow edges that lead into SEQUENTIAL, SEQUENTIAL_THREAD,
-     * or CONCURRENT vertices.</li>
-     * <li>If a DIRECT vertex is reachable starting from a CONCURRENT vertex, the wiring is illegal.</li>
-     * <li>For each vertex with type DIRECT, count the number of unique SEQUENTIAL or SEQUENTIAL_THREAD vertexes that
-     * it can be reached by. If that number exceeds 1, then the wiring is illegal.</li>
+     * BATCHING, CONCURRENT, or ORDERED_CONCURRENT vertices.</li>
+     * <li>If a DIRECT vertex is reachable starting from a CONCURRENT or ORDERED_CONCURRENT vertex, the wiring is
+     * illegal.</li>
+     * <li>For each vertex with type DIRECT, count the number of unique SEQUENTIAL, SEQUENTIAL_THREAD, or BATCHING
+     * vertexes that it can be reached by. If that number exceeds 1, then the wiring is illegal.</li>
      * </ul>
      *
      * <p>
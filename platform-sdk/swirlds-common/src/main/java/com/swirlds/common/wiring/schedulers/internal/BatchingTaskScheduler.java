@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.schedulers.internal;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.swirlds.base.state.Startable;
+import com.swirlds.base.state.Stoppable;
+import com.swirlds.common.metrics.extensions.FractionalTimer;
+import com.swirlds.common.wiring.counters.ObjectCounter;
+import com.swirlds.common.wiring.model.internal.StandardWiringModel;
+import com.swirlds.common.wiring.schedulers.TaskScheduler;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import com.swirlds.common.wiring.wires.input.BatchHandler;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A scheduler that performs work sequentially on a dedicated thread, handing consecutive data destined for the same
+ * batch-aware handler (see {@link BatchHandler}) to that handler as a single list. A batch is closed once it contains
+ * the maximum number of tasks, or once the maximum batch delay has elapsed since the first task of the batch was
+ * taken off the queue, whichever comes first. Data for handlers that are not batch-aware is handled one piece at a
+ * time, exactly as it would be by a {@link SequentialThreadTaskScheduler}.
+ *
+ * @param <OUT> the type of the primary output wire
+ */
+public class BatchingTaskScheduler<OUT> extends TaskScheduler<OUT> implements Startable, Stoppable {
+
+    private final UncaughtExceptionHandler uncaughtExceptionHandler;
+    private final ObjectCounter onRamp;
+    private final ObjectCounter offRamp;
+    private final FractionalTimer busyTimer;
+    private final Duration sleepDuration;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+
+    private final BlockingQueue<SequentialThreadTask> tasks = new LinkedBlockingQueue<>();
+
+    private final AtomicBoolean alive = new AtomicBoolean(true);
+
+    private final Thread thread;
+
+    /**
+     * Constructor.
+     *
+     * @param model                    the wiring model containing this task scheduler
+     * @param name                     the name of the task scheduler
+     * @param uncaughtExceptionHandler the handler to call when an exception is thrown by a task
+     * @param onRamp                   the counter to increment when a task is added to the queue
+     * @param offRamp                  the counter to decrement when a task is removed from the queue
+     * @param busyTimer                the timer to activate when a task is being handled
+     * @param sleepDuration            the duration to sleep when the queue is empty
+     * @param maxBatchSize             the maximum number of tasks taken off the queue at once
+     * @param maxBatchDelay            the maximum time to wait for a batch to fill up once its first task has been
+     *                                 taken off the queue
+     * @param flushEnabled             if true, then {@link #flush()} will be enabled, otherwise it will throw.
+     * @param squelchingEnabled        if true, then squelching will be enabled, otherwise trying to squelch will throw
+     * @param insertionIsBlocking      when data is inserted into this task scheduler, will it block until capacity is
+     *                                 available?
+     */
+    public BatchingTaskScheduler(
+            @NonNull final StandardWiringModel model,
+            @NonNull final String name,
+            @NonNull final UncaughtExceptionHandler uncaughtExceptionHandler,
+            @NonNull final ObjectCounter onRamp,
+            @NonNull final ObjectCounter offRamp,
+            @NonNull final FractionalTimer busyTimer,
+            @NonNull final Duration sleepDuration,
+            final int maxBatchSize,
+            @NonNull final Duration maxBatchDelay,
+            final boolean flushEnabled,
+            final boolean squelchingEnabled,
+            final boolean insertionIsBlocking) {
+        super(model, name, TaskSchedulerType.BATCHING, flushEnabled, squelchingEnabled, insertionIsBlocking);
+
+        this.uncaughtExceptionHandler = Objects.requireNonNull(uncaughtExceptionHandler);
+        this.onRamp = Objects.requireNonNull(onRamp);
+        this.offRamp = Objects.requireNonNull(offRamp);
+        this.busyTimer = Objects.requireNonNull(busyTimer);
+        this.sleepDuration = Objects.requireNonNull(sleepDuration);
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+
+        thread = new Thread(this::run, "<scheduler " + name + ">");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnprocessedTaskCount() {
+        return onRamp.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        throwIfFlushDisabled();
+        onRamp.waitUntilEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void put(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.onRamp();
+        tasks.add(new SequentialThreadTask(handler, data));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean offer(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        final boolean accepted = onRamp.attemptOnRamp();
+        if (!accepted) {
+            return false;
+        }
+
+        tasks.add(new SequentialThreadTask(handler, data));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void inject(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.forceOnRamp();
+        tasks.add(new SequentialThreadTask(handler, data));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        alive.set(false);
+    }
+
+    /**
+     * Take work off of the queue and handle it.
+     */
+    private void run() {
+        final List<SequentialThreadTask> buffer = new ArrayList<>(maxBatchSize);
+
+        while (alive.get()) {
+            try {
+                if (!collect(buffer)) {
+                    continue;
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            busyTimer.activate();
+            handle(buffer);
+            busyTimer.deactivate();
+
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Take up to {@link #maxBatchSize} tasks off of the queue, waiting up to the maximum batch delay for the batch to
+     * fill up once the first task has arrived.
+     *
+     * @param buffer the buffer to add tasks to
+     * @return true if at least one task was collected
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private boolean collect(@NonNull final List<SequentialThreadTask> buffer) throws InterruptedException {
+        tasks.drainTo(buffer, maxBatchSize);
+        if (buffer.isEmpty()) {
+            if (sleepDuration.toNanos() <= 0) {
+                return false;
+            }
+            final SequentialThreadTask task = tasks.poll(sleepDuration.toNanos(), NANOSECONDS);
+            if (task == null) {
+                return false;
+            }
+            buffer.add(task);
+        }
+
+        if (maxBatchDelayNanos <= 0) {
+            return true;
+        }
+
+        final long deadline = System.nanoTime() + maxBatchDelayNanos;
+        while (buffer.size() < maxBatchSize) {
+            tasks.drainTo(buffer, maxBatchSize - buffer.size());
+            final long remaining = deadline - System.nanoTime();
+            if (buffer.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            final SequentialThreadTask task = tasks.poll(remaining, NANOSECONDS);
+            if (task == null) {
+                break;
+            }
+            buffer.add(task);
+        }
+        return true;
+    }
+
+    /**
+     * Handle a buffer of tasks in order. Runs of consecutive tasks for the same batch-aware handler are passed to that
+     * handler as a single batch.
+     *
+     * @param buffer the tasks to handle
+     */
+    private void handle(@NonNull final List<SequentialThreadTask> buffer) {
+        int index = 0;
+        while (index < buffer.size()) {
+            final Consumer<Object> handler = buffer.get(index).handler();
+
+            if (!(handler instanceof final BatchHandler batchHandler)) {
+                try {
+                    buffer.get(index).handle();
+                } catch (final Throwable t) {
+                    uncaughtExceptionHandler.uncaughtException(thread, t);
+                } finally {
+                    offRamp.offRamp();
+                }
+                index++;
+                continue;
+            }
+
+            final List<Object> batch = new ArrayList<>();
+            while (index < buffer.size() && buffer.get(index).handler() == handler) {
+                batch.add(buffer.get(index).data());
+                index++;
+            }
+
+            try {
+                batchHandler.acceptBatch(batch);
+            } catch (final Throwable t) {
+                uncaughtExceptionHandler.uncaughtException(thread, t);
+            } finally {
+                for (int i = 0; i < batch.size(); i++) {
+                    offRamp.offRamp();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.schedulers.internal;
+
+import com.swirlds.common.wiring.counters.ObjectCounter;
+import com.swirlds.common.wiring.model.internal.StandardWiringModel;
+import com.swirlds.common.wiring.schedulers.TaskScheduler;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A {@link TaskScheduler} that permits parallel execution of tasks, but that releases the output of those tasks in the
+ * order in which the tasks were inserted.
+ *
+ * <p>
+ * Each inserted task reserves a slot at the tail of a reorder buffer. When a task finishes, its output (if any) is
+ * stored in its slot, and all finished slots at the head of the buffer are drained in order to the primary output
+ * wire. Only one thread drains the buffer at a time, so data is never forwarded concurrently, and a slow downstream
+ * consumer only ever blocks the thread that happens to be draining. A task is not considered to be handled (from the
+ * perspective of the object counters) until its output has been released, so the capacity of this scheduler also
+ * bounds the depth of the reorder buffer.
+ *
+ * <p>
+ * Only data sent to the primary output wire is reordered. Data sent to secondary output wires is forwarded as soon as
+ * it is produced.
+ *
+ * @param <OUT> the output type of the scheduler (use {@link Void} for a task scheduler with no output type)
+ */
+public class OrderedConcurrentTaskScheduler<OUT> extends TaskScheduler<OUT> {
+
+    private final ObjectCounter onRamp;
+    private final ObjectCounter offRamp;
+    private final UncaughtExceptionHandler uncaughtExceptionHandler;
+    private final ForkJoinPool pool;
+
+    /**
+     * The slot of the task currently being executed by this thread, used to capture the output of the task.
+     */
+    private final ThreadLocal<Slot> currentSlot = new ThreadLocal<>();
+
+    /**
+     * Slots for tasks that have been inserted but whose output has not yet been released, in insertion order. Guarded
+     * by synchronizing on the buffer itself.
+     */
+    private final ArrayDeque<Slot> reorderBuffer = new ArrayDeque<>();
+
+    /**
+     * True while some thread is draining the reorder buffer. Guarded by synchronizing on {@link #reorderBuffer}.
+     */
+    private boolean draining = false;
+
+    /**
+     * The number of tasks that have finished but whose output is held back waiting for earlier tasks to finish.
+     */
+    private final AtomicLong reorderBufferDepth = new AtomicLong();
+
+    /**
+     * The largest value ever observed for {@link #reorderBufferDepth}.
+     */
+    private final AtomicLong maxReorderBufferDepth = new AtomicLong();
+
+    /**
+     * A position in the reorder buffer.
+     */
+    private static final class Slot {
+        /**
+         * The output produced by the task, or null if the task produced no output.
+         */
+        private Object output;
+
+        /**
+         * True once the task has finished executing. Guarded by synchronizing on the reorder buffer.
+         */
+        private boolean finished;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param model                    the wiring model containing this scheduler
+     * @param name                     the name of the scheduler
+     * @param pool                     the fork join pool that will execute tasks on this scheduler
+     * @param uncaughtExceptionHandler the handler for uncaught exceptions
+     * @param onRamp                   an object counter that is incremented when data is added to the scheduler
+     * @param offRamp                  an object counter that is decremented when the output of a task is released
+     * @param flushEnabled             if true, then {@link #flush()} will be enabled, otherwise it will throw.
+     * @param squelchingEnabled        if true, then squelching will be enabled, otherwise trying to squelch will throw
+     * @param insertionIsBlocking      when data is inserted into this scheduler, will it block until capacity is
+     *                                 available?
+     */
+    public OrderedConcurrentTaskScheduler(
+            @NonNull final StandardWiringModel model,
+            @NonNull final String name,
+            @NonNull final ForkJoinPool pool,
+            @NonNull final UncaughtExceptionHandler uncaughtExceptionHandler,
+            @NonNull final ObjectCounter onRamp,
+            @NonNull final ObjectCounter offRamp,
+            final boolean flushEnabled,
+            final boolean squelchingEnabled,
+            final boolean insertionIsBlocking) {
+
+        super(
+                model,
+                name,
+                TaskSchedulerType.ORDERED_CONCURRENT,
+                flushEnabled,
+                squelchingEnabled,
+                insertionIsBlocking);
+
+        this.pool = Objects.requireNonNull(pool);
+        this.uncaughtExceptionHandler = Objects.requireNonNull(uncaughtExceptionHandler);
+        this.onRamp = Objects.requireNonNull(onRamp);
+        this.offRamp = Objects.requireNonNull(offRamp);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void put(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.onRamp();
+        schedule(handler, data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean offer(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        final boolean accepted = onRamp.attemptOnRamp();
+        if (accepted) {
+            schedule(handler, data);
+        }
+        return accepted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void inject(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.forceOnRamp();
+        schedule(handler, data);
+    }
+
+    /**
+     * Reserve a slot in the reorder buffer for a task and send the task to the pool.
+     *
+     * @param handler the method that will be called when the task is executed
+     * @param data    the data to be passed to the handler
+     */
+    private void schedule(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        final Slot slot = new Slot();
+        synchronized (reorderBuffer) {
+            reorderBuffer.addLast(slot);
+        }
+        new OrderedConcurrentTask(pool, () -> execute(handler, data, slot)).send();
+    }
+
+    /**
+     * Execute a task on the current thread, then release any output that is now in order.
+     *
+     * @param handler the method to call
+     * @param data    the data to pass to the handler
+     * @param slot    the slot reserved for the task
+     */
+    private void execute(
+            @NonNull final Consumer<Object> handler, @NonNull final Object data, @NonNull final Slot slot) {
+        currentSlot.set(slot);
+        try {
+            handler.accept(data);
+        } catch (final Throwable t) {
+            uncaughtExceptionHandler.uncaughtException(Thread.currentThread(), t);
+        } finally {
+            currentSlot.remove();
+            finish(slot);
+        }
+    }
+
+    /**
+     * Capture the output of the task executing on this thread. The output is forwarded once all tasks inserted before
+     * it have released their output.
+     */
+    @Override
+    protected void forward(@NonNull final OUT data) {
+        final Slot slot = currentSlot.get();
+        if (slot == null) {
+            // Not called from within one of our tasks, there is nothing to order against.
+            super.forward(data);
+            return;
+        }
+        if (slot.output != null) {
+            throw new IllegalStateException(
+                    "Task scheduler " + getName() + " produced more than one output for a single task");
+        }
+        slot.output = data;
+    }
+
+    /**
+     * Mark a slot as finished and, unless another thread is already doing so, drain all finished slots at the head of
+     * the reorder buffer.
+     *
+     * @param slot the slot of the task that just finished
+     */
+    private void finish(@NonNull final Slot slot) {
+        synchronized (reorderBuffer) {
+            slot.finished = true;
+            if (reorderBuffer.peekFirst() != slot) {
+                final long depth = reorderBufferDepth.incrementAndGet();
+                maxReorderBufferDepth.accumulateAndGet(depth, Math::max);
+            }
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        drain();
+    }
+
+    /**
+     * Release finished slots from the head of the reorder buffer until an unfinished slot (or the end of the buffer) is
+     * reached. Output is forwarded without holding the lock, so a blocking downstream scheduler does not prevent other
+     * tasks from finishing.
+     */
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        while (true) {
+            final Slot head;
+            synchronized (reorderBuffer) {
+                head = reorderBuffer.peekFirst();
+                if (head == null || !head.finished) {
+                    draining = false;
+                    return;
+                }
+                reorderBuffer.pollFirst();
+                if (reorderBuffer.peekFirst() != null && reorderBuffer.peekFirst().finished) {
+                    reorderBufferDepth.decrementAndGet();
+                }
+            }
+
+            try {
+                final Object output = head.output;
+                if (output != null) {
+                    super.forward((OUT) output);
+                }
+            } catch (final Throwable t) {
+                uncaughtExceptionHandler.uncaughtException(Thread.currentThread(), t);
+            } finally {
+                offRamp.offRamp();
+            }
+        }
+    }
+
+    /**
+     * Get the number of tasks that have finished but whose output is being held back until earlier tasks finish.
+     *
+     * @return the current depth of the reorder buffer
+     */
+    public long getReorderBufferDepth() {
+        return reorderBufferDepth.get();
+    }
+
+    /**
+     * Get the largest depth the reorder buffer has reached since this scheduler was created.
+     *
+     * @return the maximum depth of the reorder buffer
+     */
+    public long getMaxReorderBufferDepth() {
+        return maxReorderBufferDepth.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnprocessedTaskCount() {
+        return onRamp.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        throwIfFlushDisabled();
+        onRamp.waitUntilEmpty();
+    }
+}
@@ -20,7 +20,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.function.Consumer;
 
 /**
- * A task that is performed by a {@link SequentialThreadTaskScheduler}.
+ * A task that is performed by a {@link SequentialThreadTaskScheduler} or a {@link BatchingTaskScheduler}.
  *
  * @param handler the handler to call
  * @param data    the data to pass to the handler
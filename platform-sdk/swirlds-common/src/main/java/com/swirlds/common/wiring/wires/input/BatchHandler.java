@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.wires.input;
+
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * The handler installed on an input wire that was bound to a batch-aware handler. A
+ * {@link TaskSchedulerType#BATCHING BATCHING} task scheduler recognizes this handler and passes it several pieces of
+ * data at once. Any other task scheduler passes data one piece at a time, which is handled as a batch of one.
+ */
+public final class BatchHandler implements Consumer<Object> {
+
+    private final Consumer<List<Object>> handler;
+
+    /**
+     * Constructor.
+     *
+     * @param handler the handler to pass batches to
+     */
+    BatchHandler(@NonNull final Consumer<List<Object>> handler) {
+        this.handler = Objects.requireNonNull(handler);
+    }
+
+    /**
+     * Handle a single piece of data as a batch of one.
+     *
+     * @param data the data to handle
+     */
+    @Override
+    public void accept(@NonNull final Object data) {
+        handler.accept(List.of(data));
+    }
+
+    /**
+     * Handle a batch of data.
+     *
+     * @param batch the data to handle, in the order it was inserted
+     */
+    public void acceptBatch(@NonNull final List<Object> batch) {
+        handler.accept(batch);
+    }
+}
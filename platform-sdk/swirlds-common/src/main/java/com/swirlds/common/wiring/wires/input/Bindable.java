@@ -17,6 +17,7 @@
 package com.swirlds.common.wiring.wires.input;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -61,4 +62,25 @@ public interface Bindable<IN, OUT> {
      * @throws IllegalStateException if a handler is already bound and this method is called a second time
      */
     void bind(@NonNull final Function<IN, OUT> handler);
+
+    /**
+     * Bind this object to a handler that accepts several pieces of data at once. For things that don't send data to
+     * the output wire. {@link com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType#BATCHING BATCHING}
+     * task schedulers pass the handler consecutive data in insertion order, other task schedulers pass it one piece of
+     * data at a time.
+     *
+     * @param handler the handler to bind to this input wire
+     * @throws IllegalStateException if a handler is already bound and this method is called a second time
+     */
+    void bindBatchConsumer(@NonNull Consumer<List<IN>> handler);
+
+    /**
+     * Bind this object to a handler that accepts several pieces of data at once. See
+     * {@link #bindBatchConsumer(Consumer)} for how data is grouped.
+     *
+     * @param handler the handler to bind to this input wire, values returned are passed to the primary output wire of
+     *                the associated scheduler. One value may be returned per batch.
+     * @throws IllegalStateException if a handler is already bound and this method is called a second time
+     */
+    void bindBatch(@NonNull Function<List<IN>, OUT> handler);
 }
@@ -19,6 +19,7 @@ package com.swirlds.common.wiring.wires.input;
 import com.swirlds.common.wiring.model.internal.StandardWiringModel;
 import com.swirlds.common.wiring.schedulers.TaskScheduler;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -54,7 +55,7 @@ public class BindableInputWire<IN, OUT> extends InputWire<IN> implements Bindabl
             @NonNull final StandardWiringModel model,
             @NonNull final TaskScheduler<OUT> taskScheduler,
             @NonNull final String name) {
-        super(taskScheduler, name);
+        super(taskScheduler, name, model.getLatencyTracer());
         this.model = Objects.requireNonNull(model);
         taskSchedulerInput = Objects.requireNonNull(taskScheduler);
         taskSchedulerName = taskScheduler.getName();
@@ -97,4 +98,39 @@ public class BindableInputWire<IN, OUT> extends InputWire<IN> implements Bindabl
         });
         model.registerInputWireBinding(taskSchedulerName, getName());
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public void bindBatchConsumer(@NonNull final Consumer<List<IN>> handler) {
+        Objects.requireNonNull(handler);
+        setHandler(new BatchHandler(batch -> {
+            if (currentlySquelching.get()) {
+                return;
+            }
+
+            handler.accept((List<IN>) (List<?>) batch);
+        }));
+        model.registerInputWireBinding(taskSchedulerName, getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public void bindBatch(@NonNull final Function<List<IN>, OUT> handler) {
+        Objects.requireNonNull(handler);
+        setHandler(new BatchHandler(batch -> {
+            if (currentlySquelching.get()) {
+                return;
+            }
+
+            final OUT output = handler.apply((List<IN>) (List<?>) batch);
+            if (output != null) {
+                taskSchedulerInput.forward(output);
+            }
+        }));
+        model.registerInputWireBinding(taskSchedulerName, getName());
+    }
 }
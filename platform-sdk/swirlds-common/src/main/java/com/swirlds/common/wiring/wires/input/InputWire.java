@@ -16,8 +16,10 @@
 
 package com.swirlds.common.wiring.wires.input;
 
+import com.swirlds.common.wiring.model.internal.LatencyTracer;
 import com.swirlds.common.wiring.schedulers.TaskScheduler;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -33,17 +35,32 @@ public abstract class InputWire<IN> {
     private final String name;
     private final String taskSchedulerName;
 
+    /**
+     * Traces the latency of sampled data, null if latency tracing is disabled.
+     */
+    private final LatencyTracer latencyTracer;
+
+    /**
+     * The handler for sampled data, null if latency tracing is disabled.
+     */
+    private Consumer<Object> tracedHandler;
+
     /**
      * Constructor.
      *
      * @param taskScheduler the scheduler to insert data into
      * @param name          the name of the input wire
+     * @param latencyTracer traces the latency of sampled data, or null if latency tracing is disabled
      */
-    protected InputWire(@NonNull final TaskScheduler<?> taskScheduler, @NonNull final String name) {
+    protected InputWire(
+            @NonNull final TaskScheduler<?> taskScheduler,
+            @NonNull final String name,
+            @Nullable final LatencyTracer latencyTracer) {
 
         this.taskSchedulerInput = Objects.requireNonNull(taskScheduler);
         this.name = Objects.requireNonNull(name);
         this.taskSchedulerName = taskScheduler.getName();
+        this.latencyTracer = latencyTracer;
     }
 
     /**
@@ -72,6 +89,13 @@ public abstract class InputWire<IN> {
      * @param data the data to be processed by the task scheduler
      */
     public void put(@NonNull final IN data) {
+        if (latencyTracer != null) {
+            final Object traced = latencyTracer.trace(data);
+            if (traced != null) {
+                taskSchedulerInput.put(tracedHandler, traced);
+                return;
+            }
+        }
         taskSchedulerInput.put(handler, data);
     }
 
@@ -83,6 +107,12 @@ public abstract class InputWire<IN> {
      * @return true if the data was accepted, false otherwise
      */
     public boolean offer(@NonNull final IN data) {
+        if (latencyTracer != null) {
+            final Object traced = latencyTracer.trace(data);
+            if (traced != null) {
+                return taskSchedulerInput.offer(tracedHandler, traced);
+            }
+        }
         return taskSchedulerInput.offer(handler, data);
     }
 
@@ -94,6 +124,13 @@ public abstract class InputWire<IN> {
      * @param data the data to be processed by the task scheduler
      */
     public void inject(@NonNull final IN data) {
+        if (latencyTracer != null) {
+            final Object traced = latencyTracer.trace(data);
+            if (traced != null) {
+                taskSchedulerInput.inject(tracedHandler, traced);
+                return;
+            }
+        }
         taskSchedulerInput.inject(handler, data);
     }
 
@@ -106,6 +143,18 @@ public abstract class InputWire<IN> {
         if (this.handler != null) {
             throw new IllegalStateException("Handler already bound");
         }
-        this.handler = Objects.requireNonNull(handler);
+        Objects.requireNonNull(handler);
+
+        if (latencyTracer == null || handler instanceof BatchHandler) {
+            // Batch handlers are left unwrapped so that batching schedulers can still recognize them. Sampled data
+            // is still traced, but data inserted by a batch handler is treated as if it were entering the model.
+            this.handler = handler;
+        } else {
+            this.handler = latencyTracer.wrapHandler(handler);
+        }
+        if (latencyTracer != null) {
+            tracedHandler = latencyTracer.wrapTracedHandler(
+                    handler, latencyTracer.getWireLatency(taskSchedulerName, name));
+        }
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.swirlds.common.crypto.engine.DeduplicatingSignatureVerifier;
+import com.swirlds.common.crypto.engine.EcdsaSecp256k1Verifier;
+import com.swirlds.common.crypto.engine.Ed25519VerificationProvider;
+import com.swirlds.common.test.fixtures.crypto.ED25519SigningProvider;
+import com.swirlds.common.test.fixtures.crypto.EcdsaUtils;
+import java.security.KeyPair;
+import java.security.Security;
+import java.security.SignatureException;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DeduplicatingSignatureVerifierTest {
+    private static final Random RANDOM = new Random(42);
+
+    private final DeduplicatingSignatureVerifier subject =
+            new DeduplicatingSignatureVerifier(new Ed25519VerificationProvider(), new EcdsaSecp256k1Verifier());
+
+    @BeforeAll
+    static void setupClass() {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    @DisplayName("A batch of valid signatures of mixed types is valid")
+    void mixedValidBatch() throws Exception {
+        final var ed25519 = new ED25519SigningProvider();
+        final var ecdsa = EcdsaUtils.genEcdsaSecp256k1KeyPair();
+        final List<TransactionSignature> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batch.add(ed25519Signature(ed25519, randomBytes(100), false));
+            batch.add(ecdsaSignature(ecdsa, randomBytes(32), false));
+        }
+
+        assertThat(subject.verify(batch)).isTrue();
+        assertThat(batch).allMatch(sig -> sig.getSignatureStatus() == VerificationStatus.VALID);
+    }
+
+    @Test
+    @DisplayName("Invalid signatures do not affect the other signatures of the batch")
+    void invalidSignaturesAreIsolated() throws Exception {
+        final var ed25519 = new ED25519SigningProvider();
+        final var ecdsa = EcdsaUtils.genEcdsaSecp256k1KeyPair();
+        final var validEd = ed25519Signature(ed25519, randomBytes(100), false);
+        final var invalidEd = ed25519Signature(ed25519, randomBytes(100), true);
+        final var validEc = ecdsaSignature(ecdsa, randomBytes(32), false);
+        // the second signature of the same signer uses the prepared public key
+        final var invalidEc = ecdsaSignature(ecdsa, randomBytes(32), true);
+        final var validEc2 = ecdsaSignature(ecdsa, randomBytes(32), false);
+
+        assertThat(subject.verify(List.of(validEd, invalidEd, validEc, invalidEc, validEc2)))
+                .isFalse();
+
+        assertThat(validEd.getSignatureStatus()).isEqualTo(VerificationStatus.VALID);
+        assertThat(invalidEd.getSignatureStatus()).isEqualTo(VerificationStatus.INVALID);
+        assertThat(validEc.getSignatureStatus()).isEqualTo(VerificationStatus.VALID);
+        assertThat(invalidEc.getSignatureStatus()).isEqualTo(VerificationStatus.INVALID);
+        assertThat(validEc2.getSignatureStatus()).isEqualTo(VerificationStatus.VALID);
+    }
+
+    @Test
+    @DisplayName("A malformed signature is invalid without affecting the other signatures of the batch")
+    void malformedSignatureIsIsolated() throws Exception {
+        final var ed25519 = new ED25519SigningProvider();
+        final var before = ed25519Signature(ed25519, randomBytes(100), false);
+        final var valid = ed25519Signature(ed25519, randomBytes(100), false);
+        final var malformed = new TransactionSignature(valid) {
+            @Override
+            public int getSignatureOffset() {
+                return getContentsDirect().length;
+            }
+        };
+        final var after = ed25519Signature(ed25519, randomBytes(100), false);
+
+        assertThat(subject.verify(List.of(before, malformed, after))).isFalse();
+
+        assertThat(before.getSignatureStatus()).isEqualTo(VerificationStatus.VALID);
+        assertThat(malformed.getSignatureStatus()).isEqualTo(VerificationStatus.INVALID);
+        assertThat(after.getSignatureStatus()).isEqualTo(VerificationStatus.VALID);
+    }
+
+    @Test
+    @DisplayName("Repeated signatures get the same result")
+    void repeatedSignatures() throws Exception {
+        final var ed25519 = new ED25519SigningProvider();
+        final var message = randomBytes(100);
+        final var first = ed25519Signature(ed25519, message, false);
+        final var second = new TransactionSignature(first);
+        final var tampered = ed25519Signature(ed25519, message, true);
+
+        assertThat(subject.verify(List.of(first, second, tampered))).isFalse();
+
+        assertThat(first.getSignatureStatus()).isEqualTo(VerificationStatus.VALID);
+        assertThat(second.getSignatureStatus()).isEqualTo(VerificationStatus.VALID);
+        assertThat(tampered.getSignatureStatus()).isEqualTo(VerificationStatus.INVALID);
+    }
+
+    @Test
+    @DisplayName("An empty batch is valid")
+    void emptyBatch() {
+        assertThat(subject.verify(List.of())).isTrue();
+    }
+
+    private static TransactionSignature ed25519Signature(
+            final ED25519SigningProvider signer, final byte[] message, final boolean tamper)
+            throws SignatureException {
+        final byte[] signature = signer.sign(message);
+        if (tamper) {
+            signature[0] ^= 1;
+        }
+        return transactionSignature(message, signature, signer.getPublicKeyBytes(), SignatureType.ED25519);
+    }
+
+    private static TransactionSignature ecdsaSignature(final KeyPair pair, final byte[] digest, final boolean tamper) {
+        final byte[] signature = EcdsaUtils.signDigestWithEcdsaSecp256k1(pair.getPrivate(), digest);
+        if (tamper) {
+            signature[63] ^= 1;
+        }
+        final byte[] publicKey = EcdsaUtils.asRawEcdsaSecp256k1Key((ECPublicKey) pair.getPublic());
+        return transactionSignature(digest, signature, publicKey, SignatureType.ECDSA_SECP256K1);
+    }
+
+    private static TransactionSignature transactionSignature(
+            final byte[] message, final byte[] signature, final byte[] publicKey, final SignatureType type) {
+        final byte[] contents = new byte[message.length + signature.length + publicKey.length];
+        System.arraycopy(message, 0, contents, 0, message.length);
+        System.arraycopy(signature, 0, contents, message.length, signature.length);
+        System.arraycopy(publicKey, 0, contents, message.length + signature.length, publicKey.length);
+        return new TransactionSignature(
+                contents,
+                message.length,
+                signature.length,
+                message.length + signature.length,
+                publicKey.length,
+                0,
+                message.length,
+                type);
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform;
+
+import static com.swirlds.metrics.api.Metric.ValueType.MAX;
+import static com.swirlds.metrics.api.Metric.ValueType.P50;
+import static com.swirlds.metrics.api.Metric.ValueType.P90;
+import static com.swirlds.metrics.api.Metric.ValueType.P99;
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.metrics.platform.Snapshot.SnapshotEntry;
+import com.swirlds.metrics.api.Histogram;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DefaultHistogramTest {
+
+    private static final String CATEGORY = "CaTeGoRy";
+    private static final String NAME = "NaMe";
+    private static final String DESCRIPTION = "DeScRiPtIoN";
+    private static final String UNIT = "UnIt";
+
+    @Test
+    @DisplayName("Constructor should store values")
+    void testConstructor() {
+        final Histogram.Config config = new Histogram.Config(CATEGORY, NAME)
+                .withDescription(DESCRIPTION)
+                .withUnit(UNIT)
+                .withBucketBoundaries(10, 100);
+        final Histogram histogram = new DefaultHistogram(config);
+
+        assertEquals(CATEGORY, histogram.getCategory(), "The category was not set correctly in the constructor");
+        assertEquals(NAME, histogram.getName(), "The name was not set correctly in the constructor");
+        assertEquals(DESCRIPTION, histogram.getDescription(), "The description was not set correctly");
+        assertEquals(UNIT, histogram.getUnit(), "The unit was not set correctly in the constructor");
+        assertArrayEquals(new long[] {10, 100}, histogram.getBucketBoundaries(), "The boundaries were not set");
+        assertEquals(0L, histogram.getCount(), "The count was not initialized correctly");
+        assertEquals(0.0, histogram.get(VALUE), "The value was not initialized correctly");
+        assertThat(histogram.getValueTypes()).containsExactly(VALUE, MAX, P50, P90, P99);
+    }
+
+    @Test
+    @DisplayName("Percentiles should be upper bounds within the precision of the histogram")
+    void testPercentiles() {
+        final Histogram histogram = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.update(i * 1000L);
+        }
+        histogram.update(-1L);
+
+        assertEquals(1001L, histogram.getCount(), "All values should be counted");
+        assertEquals(500_500_000L, histogram.getSum(), "Negative values should be recorded as 0");
+        assertEquals(0L, histogram.getPercentile(0.0), "The lowest value should be 0");
+        assertPercentile(500_000L, histogram.getPercentile(0.5));
+        assertPercentile(900_000L, histogram.getPercentile(0.9));
+        assertPercentile(990_000L, histogram.getPercentile(0.99));
+        assertPercentile(1_000_000L, histogram.getPercentile(1.0));
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5));
+
+        histogram.update(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(1.0), "The largest value should be supported");
+    }
+
+    @Test
+    @DisplayName("Bucket counts should be cumulative")
+    void testBucketCounts() {
+        final Histogram histogram =
+                new DefaultHistogram(new Histogram.Config(CATEGORY, NAME).withBucketBoundaries(10, 200, 5000));
+        histogram.update(5L);
+        histogram.update(7L);
+        histogram.update(150L);
+        histogram.update(100_000L);
+
+        assertArrayEquals(new long[] {2, 3, 3, 4}, histogram.getBucketCounts());
+    }
+
+    @Test
+    @DisplayName("Snapshots should only contain values recorded since the previous snapshot")
+    void testSnapshot() {
+        final DefaultHistogram histogram = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        histogram.update(1000L);
+        histogram.update(3000L);
+
+        final List<SnapshotEntry> first = histogram.takeSnapshot();
+        assertThat(first.stream().map(SnapshotEntry::valueType)).containsExactly(VALUE, MAX, P50, P90, P99);
+        assertEquals(2000.0, first.get(0).value(), "The mean should be reported as value");
+        assertPercentile(3000L, ((Double) first.get(1).value()).longValue());
+
+        histogram.update(10L);
+        final List<SnapshotEntry> second = histogram.takeSnapshot();
+        assertEquals(10.0, second.get(0).value(), "Only the new value should be taken into account");
+        assertEquals(10.0, second.get(4).value(), "Only the new value should be taken into account");
+
+        final List<SnapshotEntry> third = histogram.takeSnapshot();
+        assertEquals(0.0, third.get(0).value(), "No values were recorded since the previous snapshot");
+
+        // the accessors still take all values into account
+        assertEquals(3L, histogram.getCount(), "All values should be counted");
+    }
+
+    @Test
+    @DisplayName("Reset should remove all values")
+    void testReset() {
+        final DefaultHistogram histogram = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        histogram.update(42L);
+        histogram.reset();
+
+        assertEquals(0L, histogram.getCount(), "All values should be removed");
+        assertEquals(0L, histogram.getSum(), "All values should be removed");
+        assertEquals(0.0, histogram.takeSnapshot().get(0).value(), "All values should be removed");
+    }
+
+    @Test
+    @DisplayName("Values recorded concurrently should not get lost")
+    void testConcurrentUpdates() throws InterruptedException {
+        final Histogram histogram = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.update(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000L, histogram.getCount(), "No value should get lost");
+        assertEquals(8L * 49_995_000L, histogram.getSum(), "No value should get lost");
+    }
+
+    private static void assertPercentile(final long expected, final long actual) {
+        assertTrue(
+                actual >= expected && actual <= expected + expected / 8,
+                "Expected a value between " + expected + " and " + (expected + expected / 8) + " but got " + actual);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform;
+
+import static com.swirlds.common.metrics.platform.BUCKET_COUNT;
+import static com.swirlds.common.metrics.platform.bucketOf;
+import static com.swirlds.common.metrics.platform.count;
+import static com.swirlds.common.metrics.platform.highestValueIn;
+import static com.swirlds.common.metrics.platform.percentile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogLinearBucketsTest {
+
+    @Test
+    @DisplayName("Buckets should cover all non-negative values")
+    void testBuckets() {
+        for (long value = 0; value < 10_000; value++) {
+            final int bucket = bucketOf(value);
+            assertTrue(value <= highestValueIn(bucket), "Value is larger than its bucket");
+            assertTrue(bucket == 0 || value > highestValueIn(bucket - 1), "Value is in wrong bucket");
+        }
+        assertEquals(BUCKET_COUNT - 1, bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Percentiles should be the upper bound of the bucket holding them")
+    void testPercentile() {
+        final long[] counts = new long[BUCKET_COUNT];
+        assertEquals(0L, percentile(counts, 0.5), "No values should give zero");
+
+        for (long value = 1; value <= 100; value++) {
+            counts[bucketOf(value)]++;
+        }
+
+        assertEquals(100L, count(counts));
+        assertEquals(1L, percentile(counts, 0.0));
+        assertEquals(highestValueIn(bucketOf(50)), percentile(counts, 0.5));
+        assertEquals(highestValueIn(bucketOf(100)), percentile(counts, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> percentile(counts, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> percentile(counts, 1.1));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.metrics.platform.prometheus;
+
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType.GLOBAL;
+import static com.swirlds.common.metrics.platform.prometheus.PrometheusEndpoint.AdapterType.PLATFORM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+import com.swirlds.common.metrics.platform.DefaultHistogram;
+import com.swirlds.common.metrics.platform.Snapshot;
+import com.swirlds.common.platform.NodeId;
+import com.swirlds.metrics.api.Histogram;
+import com.swirlds.metrics.api.Metric;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Test;
+
+class HistogramAdapterTest {
+
+    private static final String CATEGORY = "CaTeGoRy";
+    private static final String NAME = "NaMe";
+    private static final String MAPPING_NAME = "CaTeGoRy_NaMe";
+    private static final String DESCRIPTION = "DeScRiPtIoN";
+    private static final String UNIT = "UnIt";
+
+    private static final String[] LE_LABEL = new String[] {"le"};
+    private static final String[] NODE_LABEL = new String[] {"node"};
+    private static final String[] NODE_LE_LABEL = new String[] {"node", "le"};
+    private static final String[] NODE_VALUE = new String[] {"1"};
+
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    void testCreateGlobalMetric() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final Metric metric = new DefaultHistogram(
+                new Histogram.Config(CATEGORY, NAME).withDescription(DESCRIPTION).withUnit(UNIT));
+
+        // when
+        new HistogramAdapter(registry, metric, GLOBAL);
+
+        // then
+        final Collector.MetricFamilySamples mapping =
+                registry.metricFamilySamples().nextElement();
+        assertThat(mapping.type).isEqualTo(Collector.Type.HISTOGRAM);
+        assertThat(mapping.name).isEqualTo(MAPPING_NAME + "_" + UNIT);
+        assertThat(mapping.help).isEqualTo(DESCRIPTION);
+        assertThat(mapping.unit).isEqualTo(UNIT);
+    }
+
+    @Test
+    void testConstructorWithNullParameters() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final Metric metric = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+
+        // then
+        assertThatThrownBy(() -> new HistogramAdapter(null, metric, GLOBAL)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new HistogramAdapter(registry, null, GLOBAL))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new HistogramAdapter(registry, metric, null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void testUpdateGlobalMetric() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final DefaultHistogram metric =
+                new DefaultHistogram(new Histogram.Config(CATEGORY, NAME).withBucketBoundaries(10, 1000));
+        metric.update(5L);
+        metric.update(100L);
+        metric.update(50_000L);
+        final HistogramAdapter adapter = new HistogramAdapter(registry, metric, GLOBAL);
+
+        // when
+        adapter.update(Snapshot.of(metric), null);
+
+        // then
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", LE_LABEL, new String[] {"10.0"}))
+                .isCloseTo(1.0, offset(EPSILON));
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", LE_LABEL, new String[] {"1000.0"}))
+                .isCloseTo(2.0, offset(EPSILON));
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", LE_LABEL, new String[] {"+Inf"}))
+                .isCloseTo(3.0, offset(EPSILON));
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_count")).isCloseTo(3.0, offset(EPSILON));
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_sum")).isCloseTo(50_105.0, offset(EPSILON));
+    }
+
+    @Test
+    void testUpdatePlatformMetric() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final DefaultHistogram metric =
+                new DefaultHistogram(new Histogram.Config(CATEGORY, NAME).withBucketBoundaries(10));
+        metric.update(5L);
+        final HistogramAdapter adapter = new HistogramAdapter(registry, metric, PLATFORM);
+
+        // when
+        adapter.update(Snapshot.of(metric), new NodeId(1L));
+
+        // then
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_bucket", NODE_LE_LABEL, new String[] {"1", "10.0"}))
+                .isCloseTo(1.0, offset(EPSILON));
+        assertThat(registry.getSampleValue(MAPPING_NAME + "_count", NODE_LABEL, NODE_VALUE))
+                .isCloseTo(1.0, offset(EPSILON));
+    }
+
+    @Test
+    void testUpdateWithNullParameters() {
+        // given
+        final CollectorRegistry registry = new CollectorRegistry();
+        final DefaultHistogram metric = new DefaultHistogram(new Histogram.Config(CATEGORY, NAME));
+        final HistogramAdapter adapter = new HistogramAdapter(registry, metric, PLATFORM);
+        final NodeId nodeId = new NodeId(1L);
+
+        // then
+        assertThatThrownBy(() -> adapter.update(null, null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> adapter.update(null, nodeId)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> adapter.update(Snapshot.of(metric), null)).isInstanceOf(NullPointerException.class);
+    }
+}
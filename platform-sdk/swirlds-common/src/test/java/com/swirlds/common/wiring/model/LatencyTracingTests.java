@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.TestWiringModelBuilder;
+import com.swirlds.common.wiring.model.internal.LatencyHistogram;
+import com.swirlds.common.wiring.model.internal.LatencyTracer;
+import com.swirlds.common.wiring.model.internal.LatencyTracer.WireLatency;
+import com.swirlds.common.wiring.model.internal.StandardWiringModel;
+import com.swirlds.common.wiring.schedulers.TaskScheduler;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import com.swirlds.common.wiring.wires.input.BindableInputWire;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class LatencyTracingTests {
+
+    @Test
+    void histogramPercentileTest() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(0.5));
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+        histogram.record(-5);
+
+        assertEquals(101, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0));
+
+        // Reported values are upper bounds with a relative error of at most 1/8
+        final long median = histogram.getPercentile(0.5);
+        assertTrue(median >= 50_000 && median <= 50_000 * 9 / 8, "unexpected median " + median);
+        final long max = histogram.getPercentile(1);
+        assertTrue(max >= 100_000 && max <= 100_000 * 9 / 8, "unexpected max " + max);
+
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(1));
+    }
+
+    /**
+     * Every piece of data is traced when the sample period is 1, including data derived from it in other task
+     * schedulers, and the traced wires show up in the wiring diagram.
+     */
+    @Test
+    void tracedDataTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+        model.enableLatencyTracing(1);
+
+        final TaskScheduler<Integer> schedulerA = model.schedulerBuilder("A")
+                .withType(TaskSchedulerType.SEQUENTIAL)
+                .withFlushingEnabled(true)
+                .build()
+                .cast();
+        final TaskScheduler<Void> schedulerB = model.schedulerBuilder("B")
+                .withType(TaskSchedulerType.SEQUENTIAL)
+                .withFlushingEnabled(true)
+                .build()
+                .cast();
+
+        final BindableInputWire<Integer, Integer> inputA = schedulerA.buildInputWire("inputA");
+        inputA.bind(x -> x + 1);
+        final BindableInputWire<Integer, Void> inputB = schedulerB.buildInputWire("inputB");
+        final AtomicLong sum = new AtomicLong();
+        inputB.bindConsumer(sum::addAndGet);
+        schedulerA.getOutputWire().solderTo(inputB);
+
+        model.start();
+        for (int i = 0; i < 100; i++) {
+            inputA.put(i);
+        }
+        schedulerA.flush();
+        schedulerB.flush();
+        model.stop();
+
+        assertEquals(5050, sum.get());
+
+        final LatencyTracer tracer = ((StandardWiringModel) model).getLatencyTracer();
+        assertNotNull(tracer);
+        final WireLatency latencyA = tracer.findWireLatency("A", "inputA");
+        final WireLatency latencyB = tracer.findWireLatency("B", "inputB");
+        assertNotNull(latencyA);
+        assertNotNull(latencyB);
+        assertEquals(100, latencyA.handlerTime().getCount());
+        assertEquals(100, latencyB.handlerTime().getCount());
+        assertNull(tracer.findWireLatency("B", "nonexistent"));
+
+        final String diagram = model.generateWiringDiagram(List.of(), List.of(), List.of(), false);
+        assertTrue(diagram.contains("p50"), diagram);
+        assertTrue(diagram.contains("=="), diagram);
+    }
+
+    @Test
+    void enableAfterWiresCreatedTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+        final TaskScheduler<Void> scheduler = model.schedulerBuilder("A").build().cast();
+        scheduler.buildInputWire("input");
+
+        assertThrows(IllegalStateException.class, () -> model.enableLatencyTracing(1));
+    }
+}
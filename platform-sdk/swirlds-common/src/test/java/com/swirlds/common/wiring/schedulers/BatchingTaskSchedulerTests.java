@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.schedulers;
+
+import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyEquals;
+import static com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags.TIMING_SENSITIVE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.TestWiringModelBuilder;
+import com.swirlds.common.wiring.component.ComponentWiring;
+import com.swirlds.common.wiring.model.WiringModel;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import com.swirlds.common.wiring.wires.input.BindableInputWire;
+import com.swirlds.common.wiring.wires.input.InputWire;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TIMING_SENSITIVE)
+class BatchingTaskSchedulerTests {
+
+    /**
+     * Data that is already queued when the scheduler starts should be delivered in order, in batches that never exceed
+     * the maximum batch size. Data for a handler that is not batch-aware is handled in order with the batched data.
+     */
+    @Test
+    void batchesDeliveredInOrderTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final TaskScheduler<Void> taskScheduler = model.schedulerBuilder("test")
+                .withType(TaskSchedulerType.BATCHING)
+                .withMaxBatchSize(10)
+                .withFlushingEnabled(true)
+                .build()
+                .cast();
+
+        final List<String> handled = new ArrayList<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+
+        final BindableInputWire<Integer, Void> batchedInput = taskScheduler.buildInputWire("batched");
+        batchedInput.bindBatchConsumer(batch -> {
+            batchSizes.add(batch.size());
+            batch.forEach(x -> handled.add("b" + x));
+        });
+        final BindableInputWire<Integer, Void> singleInput = taskScheduler.buildInputWire("single");
+        singleInput.bindConsumer(x -> handled.add("s" + x));
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            batchedInput.put(i);
+            expected.add("b" + i);
+        }
+        singleInput.put(100);
+        expected.add("s100");
+        for (int i = 25; i < 28; i++) {
+            batchedInput.put(i);
+            expected.add("b" + i);
+        }
+
+        model.start();
+        taskScheduler.flush();
+
+        assertEquals(expected, handled);
+        assertEquals(List.of(10, 10, 5, 3), batchSizes);
+        assertEquals(0, taskScheduler.getUnprocessedTaskCount());
+
+        model.stop();
+    }
+
+    /**
+     * Output returned by a batch handler is forwarded once per batch, and a non-zero batch delay lets a batch fill up
+     * with data that arrives after the first piece of data.
+     */
+    @Test
+    void batchDelayTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final TaskScheduler<Integer> taskScheduler = model.schedulerBuilder("test")
+                .withType(TaskSchedulerType.BATCHING)
+                .withMaxBatchSize(5)
+                .withMaxBatchDelay(Duration.ofSeconds(10))
+                .build()
+                .cast();
+
+        final BindableInputWire<Integer, Integer> input = taskScheduler.buildInputWire("input");
+        input.bindBatch(List::size);
+
+        final List<Integer> outputs = new ArrayList<>();
+        taskScheduler.getOutputWire().solderTo("recorder", "batch sizes", x -> {
+            synchronized (outputs) {
+                outputs.add(x);
+            }
+        });
+
+        model.start();
+
+        // With a long batch delay, a batch is only closed once it is full
+        for (int i = 0; i < 10; i++) {
+            input.put(i);
+        }
+
+        assertEventuallyEquals(
+                List.of(5, 5),
+                () -> {
+                    synchronized (outputs) {
+                        return List.copyOf(outputs);
+                    }
+                },
+                Duration.ofSeconds(5),
+                "batches were not delivered at full size");
+
+        model.stop();
+    }
+
+    private interface Summer {
+        void addAll(@NonNull List<Long> values);
+    }
+
+    /**
+     * A component can opt into batches through its component wiring.
+     */
+    @Test
+    void componentWiringBatchInputTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final TaskScheduler<Void> taskScheduler = model.schedulerBuilder("summer")
+                .withType(TaskSchedulerType.BATCHING)
+                .withFlushingEnabled(true)
+                .build()
+                .cast();
+        final ComponentWiring<Summer, Void> wiring = new ComponentWiring<>(model, Summer.class, taskScheduler);
+        final InputWire<Long> input = wiring.getBatchInputWire(Summer::addAll);
+
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong batches = new AtomicLong();
+        wiring.bind(values -> {
+            batches.incrementAndGet();
+            values.forEach(sum::addAndGet);
+        });
+
+        for (long i = 0; i < 100; i++) {
+            input.put(i);
+        }
+
+        model.start();
+        wiring.flush();
+
+        assertEquals(4950, sum.get());
+        assertTrue(batches.get() < 100, "data should have been handled in batches");
+
+        model.stop();
+    }
+
+    @Test
+    void illegalBatchParametersTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+        assertThrows(
+                IllegalArgumentException.class, () -> model.schedulerBuilder("test").withMaxBatchSize(0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> model.schedulerBuilder("test").withMaxBatchDelay(Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.wiring.schedulers;
+
+import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyEquals;
+import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyTrue;
+import static com.swirlds.common.test.fixtures.AssertionUtils.completeBeforeTimeout;
+import static com.swirlds.common.test.fixtures.RandomUtils.getRandomPrintSeed;
+import static com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags.TIMING_SENSITIVE;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.TestWiringModelBuilder;
+import com.swirlds.common.wiring.model.WiringModel;
+import com.swirlds.common.wiring.schedulers.builders.TaskSchedulerType;
+import com.swirlds.common.wiring.schedulers.internal.OrderedConcurrentTaskScheduler;
+import com.swirlds.common.wiring.wires.input.BindableInputWire;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TIMING_SENSITIVE)
+class OrderedConcurrentTaskSchedulerTests {
+
+    /**
+     * Build a sequential scheduler that records everything it receives, in the order it is received.
+     */
+    private static BindableInputWire<Integer, Void> buildRecorder(
+            final WiringModel model, final List<Integer> received) {
+        final TaskScheduler<Void> recorder = model.schedulerBuilder("recorder")
+                .withType(TaskSchedulerType.SEQUENTIAL)
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Void> recorderInput = recorder.buildInputWire("recorded values");
+        recorderInput.bindConsumer(x -> {
+            synchronized (received) {
+                received.add(x);
+            }
+        });
+        return recorderInput;
+    }
+
+    /**
+     * Tasks that take a random amount of time to handle should still have their output released in insertion order.
+     */
+    @Test
+    void outputReleasedInInputOrderTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+        final Random random = getRandomPrintSeed();
+
+        final TaskScheduler<Integer> taskScheduler = model.schedulerBuilder("test")
+                .withType(TaskSchedulerType.ORDERED_CONCURRENT)
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Integer> channel = taskScheduler.buildInputWire("channel");
+        channel.bind(x -> {
+            try {
+                MICROSECONDS.sleep(random.nextInt(1000));
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            // Odd values produce no output, they must not stall the values behind them
+            return x % 2 == 0 ? x : null;
+        });
+
+        final List<Integer> received = new ArrayList<>();
+        taskScheduler.getOutputWire().solderTo(buildRecorder(model, received));
+
+        model.start();
+
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            channel.put(i);
+            if (i % 2 == 0) {
+                expected.add(i);
+            }
+        }
+
+        assertEventuallyEquals(
+                expected.size(),
+                () -> {
+                    synchronized (received) {
+                        return received.size();
+                    }
+                },
+                Duration.ofSeconds(10),
+                "not all output was released");
+        synchronized (received) {
+            assertEquals(expected, received, "output was not released in input order");
+        }
+
+        model.stop();
+    }
+
+    /**
+     * A slow task should not prevent later tasks from being handled, but it should hold back their output.
+     */
+    @Test
+    @DisplayName("Output is held behind a slow task")
+    void outputHeldBehindSlowTaskTest() {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger handleCount = new AtomicInteger();
+
+        final TaskScheduler<Integer> taskScheduler = model.schedulerBuilder("test")
+                .withType(TaskSchedulerType.ORDERED_CONCURRENT)
+                .withMetricsBuilder(model.metricsBuilder().withReorderBufferMetricsEnabled(true))
+                .withFlushingEnabled(true)
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Integer> channel = taskScheduler.buildInputWire("channel");
+        channel.bind(x -> {
+            if (x == 0) {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            handleCount.incrementAndGet();
+            return x;
+        });
+
+        final List<Integer> received = new ArrayList<>();
+        taskScheduler.getOutputWire().solderTo(buildRecorder(model, received));
+
+        model.start();
+
+        for (int i = 0; i < 10; i++) {
+            channel.put(i);
+        }
+
+        // Everything but the first task is able to finish
+        assertEventuallyEquals(9, handleCount::get, Duration.ofSeconds(10), "later tasks were not handled");
+        final OrderedConcurrentTaskScheduler<?> ordered = (OrderedConcurrentTaskScheduler<?>) taskScheduler;
+        assertEventuallyEquals(
+                9L,
+                ordered::getReorderBufferDepth,
+                Duration.ofSeconds(10),
+                "finished tasks should be waiting in the reorder buffer");
+        assertEquals(10, taskScheduler.getUnprocessedTaskCount(), "no output has been released yet");
+        synchronized (received) {
+            assertTrue(received.isEmpty(), "output should be held back by the slow task");
+        }
+
+        latch.countDown();
+        taskScheduler.flush();
+
+        assertEquals(0, taskScheduler.getUnprocessedTaskCount());
+        assertEquals(0, ordered.getReorderBufferDepth());
+        assertEquals(9, ordered.getMaxReorderBufferDepth());
+        assertEventuallyEquals(
+                List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9),
+                () -> {
+                    synchronized (received) {
+                        return List.copyOf(received);
+                    }
+                },
+                Duration.ofSeconds(10),
+                "output was not released in input order");
+
+        model.stop();
+    }
+
+    /**
+     * Tasks that have finished but whose output has not been released still count against the capacity.
+     */
+    @Test
+    void backpressureTest() throws InterruptedException {
+        final WiringModel model = TestWiringModelBuilder.create();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger handleCount = new AtomicInteger();
+
+        final TaskScheduler<Integer> taskScheduler = model.schedulerBuilder("test")
+                .withType(TaskSchedulerType.ORDERED_CONCURRENT)
+                .withUnhandledTaskCapacity(5)
+                .withSleepDuration(Duration.ofMillis(1))
+                .build()
+                .cast();
+        final BindableInputWire<Integer, Integer> channel = taskScheduler.buildInputWire("channel");
+        channel.bind(x -> {
+            if (x == 0) {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            handleCount.incrementAndGet();
+            return x;
+        });
+
+        final List<Integer> received = new ArrayList<>();
+        taskScheduler.getOutputWire().solderTo(buildRecorder(model, received));
+
+        model.start();
+
+        completeBeforeTimeout(
+                () -> {
+                    for (int i = 0; i < 5; i++) {
+                        channel.put(i);
+                    }
+                },
+                Duration.ofSeconds(10),
+                "unable to add tasks");
+
+        assertEventuallyEquals(4, handleCount::get, Duration.ofSeconds(10), "later tasks were not handled");
+
+        // The four tasks that are done are still waiting to be released, so there is no capacity left
+        MILLISECONDS.sleep(50);
+        assertFalse(channel.offer(5));
+        assertEquals(5, taskScheduler.getUnprocessedTaskCount());
+
+        latch.countDown();
+
+        assertEventuallyEquals(
+                0L, taskScheduler::getUnprocessedTaskCount, Duration.ofSeconds(10), "tasks were not released");
+        assertTrue(channel.offer(5));
+        assertEventuallyTrue(
+                () -> {
+                    synchronized (received) {
+                        return received.equals(List.of(0, 1, 2, 3, 4, 5));
+                    }
+                },
+                Duration.ofSeconds(10),
+                "output was not released in input order");
+
+        model.stop();
+    }
+}
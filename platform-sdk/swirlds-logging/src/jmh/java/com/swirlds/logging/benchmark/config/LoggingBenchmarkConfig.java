@@ -43,6 +43,12 @@ public interface LoggingBenchmarkConfig<T> {
     @NonNull
     T configureFileAndConsoleLogging();
 
+    /**
+     * Create an asynchronous appender for File
+     */
+    @NonNull
+    T configureAsyncFileLogging();
+
     /**
      * Performs the necessary operations to clean after the benchmark is done
      */
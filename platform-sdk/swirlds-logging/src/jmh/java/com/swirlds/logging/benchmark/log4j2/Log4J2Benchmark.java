@@ -16,6 +16,7 @@
 
 package com.swirlds.logging.benchmark.log4j2;
 
+import static com.swirlds.logging.benchmark.config.Constants.ASYNC_FILE_TYPE;
 import static com.swirlds.logging.benchmark.config.Constants.CONSOLE_AND_FILE_TYPE;
 import static com.swirlds.logging.benchmark.config.Constants.CONSOLE_TYPE;
 import static com.swirlds.logging.benchmark.config.Constants.FILE_TYPE;
@@ -51,7 +52,7 @@ import org.openjdk.jmh.annotations.Warmup;
 public class Log4J2Benchmark {
     private static final String LOGGER_NAME = Constants.LOG4J2 + "Benchmark";
 
-    @Param({CONSOLE_TYPE, FILE_TYPE, CONSOLE_AND_FILE_TYPE})
+    @Param({CONSOLE_TYPE, FILE_TYPE, CONSOLE_AND_FILE_TYPE, ASYNC_FILE_TYPE})
     public String loggingType;
 
     private Logger logger;
@@ -68,6 +69,8 @@ public class Log4J2Benchmark {
             logger = config.configureConsoleLogging().getLogger(LOGGER_NAME);
         } else if (Objects.equals(loggingType, CONSOLE_AND_FILE_TYPE)) {
             logger = config.configureFileAndConsoleLogging().getLogger(LOGGER_NAME);
+        } else if (Objects.equals(loggingType, ASYNC_FILE_TYPE)) {
+            logger = config.configureAsyncFileLogging().getLogger(LOGGER_NAME);
         }
         logRunner = new Log4JRunner(logger);
     }
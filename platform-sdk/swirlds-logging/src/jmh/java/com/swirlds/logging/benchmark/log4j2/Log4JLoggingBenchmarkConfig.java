@@ -42,6 +42,7 @@ public class Log4JLoggingBenchmarkConfig implements LoggingBenchmarkConfig<Logge
                     + " %-5level [%t] %c - %msg - [%marker] %X %n%throwable";
     private static final String CONSOLE_APPENDER_NAME = "console";
     private static final String FILE_APPENDER_NAME = "file";
+    private static final String ASYNC_APPENDER_NAME = "async";
     public static final String BRIDGE_APPENDER_NAME = "SwirldsAppender";
 
     /**
@@ -94,6 +95,24 @@ public class Log4JLoggingBenchmarkConfig implements LoggingBenchmarkConfig<Logge
         return create(builder);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public LoggerContext configureAsyncFileLogging() {
+        final String logFile = LogFiles.provideLogFilePath(Constants.LOG4J2, Constants.ASYNC_FILE_TYPE);
+        System.clearProperty("log4j2.contextSelector");
+        final ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.setStatusLevel(Level.ERROR);
+        builder.setConfigurationName("asyncFileLoggingConfig");
+        builder.add(createFileAppender(builder, logFile));
+        builder.add(builder.newAppender(ASYNC_APPENDER_NAME, "Async")
+                .addComponent(builder.newAppenderRef(FILE_APPENDER_NAME)));
+        builder.add(builder.newRootLogger(Level.DEBUG).add(builder.newAppenderRef(ASYNC_APPENDER_NAME)));
+        return create(builder);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -102,6 +121,7 @@ public class Log4JLoggingBenchmarkConfig implements LoggingBenchmarkConfig<Logge
         if (ConfigManagement.deleteOutputFiles()) {
             LogFiles.deleteFile(LogFiles.provideLogFilePath(Constants.SWIRLDS, Constants.FILE_TYPE));
             LogFiles.deleteFile(LogFiles.provideLogFilePath(Constants.SWIRLDS, Constants.CONSOLE_AND_FILE_TYPE));
+            LogFiles.deleteFile(LogFiles.provideLogFilePath(Constants.LOG4J2, Constants.ASYNC_FILE_TYPE));
         }
         if (ConfigManagement.deleteOutputFolder()) {
             LogFiles.tryDeleteDirAndContent();
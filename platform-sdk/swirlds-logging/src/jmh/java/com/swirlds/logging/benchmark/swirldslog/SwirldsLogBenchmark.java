@@ -16,6 +16,7 @@
 
 package com.swirlds.logging.benchmark.swirldslog;
 
+import static com.swirlds.logging.benchmark.config.Constants.ASYNC_FILE_TYPE;
 import static com.swirlds.logging.benchmark.config.Constants.CONSOLE_AND_FILE_TYPE;
 import static com.swirlds.logging.benchmark.config.Constants.CONSOLE_TYPE;
 import static com.swirlds.logging.benchmark.config.Constants.FILE_TYPE;
@@ -50,7 +51,7 @@ import org.openjdk.jmh.annotations.Warmup;
 @State(Scope.Benchmark)
 public class SwirldsLogBenchmark {
 
-    @Param({CONSOLE_TYPE, FILE_TYPE, CONSOLE_AND_FILE_TYPE})
+    @Param({CONSOLE_TYPE, FILE_TYPE, CONSOLE_AND_FILE_TYPE, ASYNC_FILE_TYPE})
     public String loggingType;
 
     private static final String LOGGER_NAME = Constants.SWIRLDS + "Benchmark";
@@ -69,6 +70,8 @@ public class SwirldsLogBenchmark {
             loggingSystem = config.configureConsoleLogging();
         } else if (Objects.equals(loggingType, CONSOLE_AND_FILE_TYPE)) {
             loggingSystem = config.configureFileAndConsoleLogging();
+        } else if (Objects.equals(loggingType, ASYNC_FILE_TYPE)) {
+            loggingSystem = config.configureAsyncFileLogging();
         }
         logger = loggingSystem.getLogger(LOGGER_NAME);
         logRunner = new SwirldsLogRunner(logger);
@@ -99,6 +99,28 @@ public class SwirldsLogLoggingBenchmarkConfig implements LoggingBenchmarkConfig<
         return configure(configuration);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public @NonNull LoggingSystem configureAsyncFileLogging() {
+        final String logFile = LogFiles.provideLogFilePath(Constants.SWIRLDS, Constants.ASYNC_FILE_TYPE);
+        final com.swirlds.config.api.Configuration configuration = ConfigurationBuilder.create()
+                .withConverter(new ConfigLevelConverter())
+                .withConverter(new MarkerStateConverter())
+                .withValue("logging.level", "trace")
+                .withValue("logging.handler.file.type", "file")
+                .withValue("logging.handler.file.enabled", "true")
+                .withValue("logging.handler.file.async", "true")
+                .withValue("logging.handler.file.async.blockWhenFull", "true")
+                .withValue("logging.handler.file.formatTimestamp", ConfigManagement.formatTimestamp() + "")
+                .withValue("logging.handler.file.level", "trace")
+                .withValue("logging.handler.file.file", logFile)
+                .withValue("logging.provider.log4j.enabled", "true")
+                .build();
+
+        return configure(configuration);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -108,6 +130,7 @@ public class SwirldsLogLoggingBenchmarkConfig implements LoggingBenchmarkConfig<
         if (ConfigManagement.deleteOutputFiles()) {
             LogFiles.deleteFile(LogFiles.provideLogFilePath(Constants.SWIRLDS, Constants.FILE_TYPE));
             LogFiles.deleteFile(LogFiles.provideLogFilePath(Constants.SWIRLDS, Constants.CONSOLE_AND_FILE_TYPE));
+            LogFiles.deleteFile(LogFiles.provideLogFilePath(Constants.SWIRLDS, Constants.ASYNC_FILE_TYPE));
         }
         if (ConfigManagement.deleteOutputFolder()) {
             LogFiles.tryDeleteDirAndContent();
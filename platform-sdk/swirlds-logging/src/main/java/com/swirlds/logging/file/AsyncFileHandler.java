@@ -0,0 +1,439 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.logging.file;
+
+import com.swirlds.config.api.Configuration;
+import com.swirlds.logging.api.Level;
+import com.swirlds.logging.api.extensions.event.LogEvent;
+import com.swirlds.logging.api.extensions.handler.AbstractLogHandler;
+import com.swirlds.logging.api.internal.event.MutableLogEvent;
+import com.swirlds.logging.api.internal.format.FormattedLinePrinter;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A file handler that writes log events to a file on a background thread.
+ * <p>
+ * The thread that logs an event only copies it into a pre-allocated ring buffer of {@link MutableLogEvent}s. A
+ * dedicated writer thread formats the events, encodes them into a reusable byte buffer and writes them to the file in
+ * batches. Neither side allocates per event. Since the {@link com.swirlds.logging.api.extensions.event.LogMessage} of
+ * an event is only formatted by the writer thread, parameters of a log message must not be mutated after logging.
+ * <p>
+ * In addition to the properties of the {@link FileHandler}, you can configure the following properties:
+ * <ul>
+ *     <li>{@code async.bufferSize} - the number of events the ring buffer can hold, rounded up to a power of two</li>
+ *     <li>{@code async.blockWhenFull} - whether a thread that logs an event waits for free space in a full ring
+ *     buffer ({@code true}) or drops the event ({@code false}, the default)</li>
+ *     <li>{@code maxFileSize} - the size in bytes after which the file is rolled over, {@code 0} (the default)
+ *     disables rolling</li>
+ *     <li>{@code maxRollover} - the number of rolled over files that are kept, named {@code <file>.1} (the most
+ *     recent) to {@code <file>.<maxRollover>}</li>
+ * </ul>
+ * If events are dropped, the handler writes a line with the number of dropped events to the file.
+ */
+public class AsyncFileHandler extends AbstractLogHandler {
+
+    private static final String FILE_NAME_PROPERTY = "%s.file";
+    private static final String APPEND_PROPERTY = "%s.append";
+    private static final String BUFFER_SIZE_PROPERTY = "%s.async.bufferSize";
+    private static final String BLOCK_WHEN_FULL_PROPERTY = "%s.async.blockWhenFull";
+    private static final String MAX_FILE_SIZE_PROPERTY = "%s.maxFileSize";
+    private static final String MAX_ROLLOVER_PROPERTY = "%s.maxRollover";
+    private static final String DEFAULT_FILE_NAME = "swirlds-log.log";
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_MAX_ROLLOVER = 10;
+    private static final int WRITE_BUFFER_CAPACITY = 8192 * 8;
+    private static final int LINE_CAPACITY = 4 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long UNPUBLISHED = -1;
+
+    /**
+     * The ring buffer. The event with sequence number {@code s} is stored at index {@code s & mask}.
+     */
+    private final MutableLogEvent[] ring;
+
+    /**
+     * The sequence number of the event currently stored at each index, or {@link #UNPUBLISHED}. A slot may only be
+     * read by the writer thread once its sequence number has been published here.
+     */
+    private final AtomicLongArray published;
+
+    private final int mask;
+
+    /**
+     * The sequence number that will be assigned to the next event.
+     */
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * The sequence number of the next event the writer thread will handle. All slots with lower sequence numbers may
+     * be reused. Only written by the writer thread.
+     */
+    private volatile long consumed;
+
+    private final boolean blockWhenFull;
+    private final LongAdder droppedEvents = new LongAdder();
+    private volatile boolean stopped;
+    private volatile boolean writerIdle;
+    private final Thread writerThread;
+
+    // The following fields are only used by the writer thread.
+    private final FormattedLinePrinter format;
+    private final Path filePath;
+    private final long maxFileSize;
+    private final int maxRollover;
+    private final StringBuilder line = new StringBuilder(LINE_CAPACITY);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_CAPACITY);
+    private char[] chars = new char[LINE_CAPACITY];
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private FileChannel channel;
+    private long fileSize;
+    private long reportedDroppedEvents;
+
+    /**
+     * Creates a new asynchronous file handler and starts its writer thread.
+     *
+     * @param handlerName   the unique handler name
+     * @param configuration the configuration
+     * @throws IOException if the log file can not be opened
+     */
+    public AsyncFileHandler(@NonNull final String handlerName, @NonNull final Configuration configuration)
+            throws IOException {
+        super(handlerName, configuration);
+
+        this.format = FormattedLinePrinter.createForHandler(handlerName, configuration);
+
+        final String propertyPrefix = PROPERTY_HANDLER.formatted(handlerName);
+        this.filePath = Objects.requireNonNullElse(
+                configuration.getValue(FILE_NAME_PROPERTY.formatted(propertyPrefix), Path.class, null),
+                Path.of(DEFAULT_FILE_NAME));
+        final boolean append = Objects.requireNonNullElse(
+                configuration.getValue(APPEND_PROPERTY.formatted(propertyPrefix), Boolean.class, null), true);
+        final int bufferSize = Objects.requireNonNullElse(
+                configuration.getValue(BUFFER_SIZE_PROPERTY.formatted(propertyPrefix), Integer.class, null),
+                DEFAULT_BUFFER_SIZE);
+        this.blockWhenFull = Objects.requireNonNullElse(
+                configuration.getValue(BLOCK_WHEN_FULL_PROPERTY.formatted(propertyPrefix), Boolean.class, null),
+                false);
+        this.maxFileSize = Objects.requireNonNullElse(
+                configuration.getValue(MAX_FILE_SIZE_PROPERTY.formatted(propertyPrefix), Long.class, null), 0L);
+        this.maxRollover = Objects.requireNonNullElse(
+                configuration.getValue(MAX_ROLLOVER_PROPERTY.formatted(propertyPrefix), Integer.class, null),
+                DEFAULT_MAX_ROLLOVER);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive, but was " + bufferSize);
+        }
+
+        final int capacity = bufferSize == 1 ? 1 : Integer.highestOneBit(bufferSize - 1) << 1;
+        this.ring = new MutableLogEvent[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new MutableLogEvent();
+            published.set(i, UNPUBLISHED);
+        }
+        this.mask = capacity - 1;
+
+        try {
+            if (Files.exists(filePath) && !(append && Files.isWritable(filePath))) {
+                throw new IOException("Log file exist and is not writable or is not append mode");
+            }
+            if (filePath.getParent() != null) Files.createDirectories(filePath.getParent());
+            this.channel = open(append);
+            this.fileSize = channel.size();
+        } catch (IOException e) {
+            throw new IOException("Could not create log file " + filePath.toAbsolutePath(), e);
+        }
+
+        this.writerThread = new Thread(this::writeEvents, handlerName + "-async-file-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Copies the log event into the ring buffer. If the ring buffer is full, the event is dropped or the calling
+     * thread waits, depending on the configuration.
+     *
+     * @param event the log event
+     */
+    @Override
+    public void accept(@NonNull final LogEvent event) {
+        if (stopped) {
+            EMERGENCY_LOGGER.log(event);
+            return;
+        }
+        final long sequence = claim();
+        if (sequence == UNPUBLISHED) {
+            droppedEvents.increment();
+            return;
+        }
+        final int index = (int) (sequence & mask);
+        ring[index].update(
+                event.level(),
+                event.loggerName(),
+                event.threadName(),
+                event.timestamp(),
+                event.message(),
+                event.throwable(),
+                event.marker(),
+                event.context());
+        published.set(index, sequence);
+        if (writerIdle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Claims the next free slot of the ring buffer.
+     *
+     * @return the sequence number of the claimed slot, or {@link #UNPUBLISHED} if the event must be dropped
+     */
+    private long claim() {
+        while (true) {
+            final long sequence = nextSequence.get();
+            if (sequence - consumed >= ring.length) {
+                if (!blockWhenFull || stopped) {
+                    return UNPUBLISHED;
+                }
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            } else if (nextSequence.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events that were dropped because the ring buffer was full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Returns the number of events that are waiting to be written.
+     *
+     * @return the number of queued events
+     */
+    public long getQueuedEventCount() {
+        return Math.max(0, nextSequence.get() - consumed);
+    }
+
+    /**
+     * Stops the handler. All events that were accepted before are written to the file before this method returns.
+     */
+    @Override
+    public void stopAndFinalize() {
+        stopped = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            EMERGENCY_LOGGER.log(Level.ERROR, "Interrupted while waiting for the log writer thread", exception);
+        }
+    }
+
+    /**
+     * The loop of the writer thread.
+     */
+    private void writeEvents() {
+        while (true) {
+            if (writeAvailableEvents() > 0) {
+                continue;
+            }
+            writeDroppedEventNotice();
+            flush();
+            if (stopped && consumed == nextSequence.get()) {
+                break;
+            }
+            writerIdle = true;
+            if (published.get((int) (consumed & mask)) != consumed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerIdle = false;
+        }
+        try {
+            channel.close();
+        } catch (final IOException exception) {
+            EMERGENCY_LOGGER.log(Level.ERROR, "Failed to close log file", exception);
+        }
+    }
+
+    /**
+     * Writes all events that are available in the ring buffer, up to the capacity of the ring buffer.
+     *
+     * @return the number of events written
+     */
+    private int writeAvailableEvents() {
+        int count = 0;
+        long sequence = consumed;
+        while (count < ring.length) {
+            final int index = (int) (sequence & mask);
+            if (published.get(index) != sequence) {
+                break;
+            }
+            line.setLength(0);
+            format.print(line, ring[index]);
+            encode(line);
+            sequence++;
+            count++;
+            consumed = sequence;
+        }
+        return count;
+    }
+
+    /**
+     * Writes a line to the file if events were dropped since the last time this method was called.
+     */
+    private void writeDroppedEventNotice() {
+        final long dropped = droppedEvents.sum();
+        if (dropped != reportedDroppedEvents) {
+            line.setLength(0);
+            line.append(dropped - reportedDroppedEvents)
+                    .append(" log events were dropped because the log buffer was full")
+                    .append(System.lineSeparator());
+            encode(line);
+            reportedDroppedEvents = dropped;
+        }
+    }
+
+    /**
+     * Encodes the characters into the write buffer, writing the buffer to the file whenever it is full.
+     *
+     * @param text the characters to encode
+     */
+    private void encode(@NonNull final StringBuilder text) {
+        final int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        text.getChars(0, length, chars, 0);
+        charBuffer.clear().limit(length);
+
+        encoder.reset();
+        CoderResult result = encoder.encode(charBuffer, writeBuffer, true);
+        while (result.isOverflow()) {
+            writeBufferToFile();
+            result = encoder.encode(charBuffer, writeBuffer, true);
+        }
+        while (encoder.flush(writeBuffer).isOverflow()) {
+            writeBufferToFile();
+        }
+
+        if (maxFileSize > 0 && fileSize + writeBuffer.position() >= maxFileSize) {
+            writeBufferToFile();
+            roll();
+        }
+    }
+
+    /**
+     * Writes the write buffer to the file.
+     */
+    private void writeBufferToFile() {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                fileSize += channel.write(writeBuffer);
+            }
+        } catch (final IOException exception) {
+            EMERGENCY_LOGGER.log(Level.ERROR, "Failed to write to log file", exception);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Writes all buffered data to the file.
+     */
+    private void flush() {
+        if (writeBuffer.position() > 0) {
+            writeBufferToFile();
+        }
+    }
+
+    /**
+     * Rolls the file over: {@code <file>.1} becomes {@code <file>.2} and so on, the current file becomes
+     * {@code <file>.1}, and a new, empty file is started.
+     */
+    private void roll() {
+        try {
+            channel.close();
+            final String fileName = filePath.getFileName().toString();
+            Files.deleteIfExists(filePath.resolveSibling(fileName + "." + maxRollover));
+            for (int i = maxRollover - 1; i >= 1; i--) {
+                final Path source = filePath.resolveSibling(fileName + "." + i);
+                if (Files.exists(source)) {
+                    Files.move(
+                            source,
+                            filePath.resolveSibling(fileName + "." + (i + 1)),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (maxRollover > 0) {
+                Files.move(filePath, filePath.resolveSibling(fileName + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            }
+            channel = open(false);
+            fileSize = 0;
+        } catch (final IOException exception) {
+            EMERGENCY_LOGGER.log(Level.ERROR, "Failed to roll over log file", exception);
+            if (!channel.isOpen()) {
+                try {
+                    channel = open(true);
+                } catch (final IOException reopenException) {
+                    EMERGENCY_LOGGER.log(Level.ERROR, "Failed to reopen log file", reopenException);
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens the log file.
+     *
+     * @param append whether to append to an existing file or to truncate it
+     * @return the channel to write to
+     * @throws IOException if the file can not be opened
+     */
+    @NonNull
+    private FileChannel open(final boolean append) throws IOException {
+        final OpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        return FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+    }
+}
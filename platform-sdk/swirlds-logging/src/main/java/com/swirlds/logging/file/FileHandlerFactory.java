@@ -22,13 +22,15 @@ import com.swirlds.logging.api.extensions.handler.LogHandler;
 import com.swirlds.logging.api.extensions.handler.LogHandlerFactory;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.util.Objects;
 import java.util.ServiceLoader;
 
 /**
  * A factory for creating new {@link FileHandler} instances.
  * <p>
  * This is a {@link LogHandlerFactory} and is discovered by the {@link ServiceLoader} at runtime. The factory creates
- * new {@link FileHandler} instances with the specified {@link Configuration}.
+ * new {@link FileHandler} instances with the specified {@link Configuration}. If the {@code async} property of the
+ * handler is set to {@code true}, an {@link AsyncFileHandler} is created instead.
  *
  * @see LogHandlerFactory
  * @see FileHandler
@@ -43,6 +45,8 @@ public class FileHandlerFactory implements LogHandlerFactory {
      */
     public static final String FILE_HANDLER_TYPE = "file";
 
+    private static final String ASYNC_PROPERTY = "%s.async";
+
     /**
      * Creates a new {@link FileHandler} instance with the specified {@link Configuration}.
      *
@@ -55,7 +59,13 @@ public class FileHandlerFactory implements LogHandlerFactory {
     @NonNull
     @Override
     public LogHandler create(@NonNull final String handlerName, @NonNull final Configuration configuration) {
+        final String propertyPrefix = LogHandler.PROPERTY_HANDLER.formatted(handlerName);
+        final boolean async = Objects.requireNonNullElse(
+                configuration.getValue(ASYNC_PROPERTY.formatted(propertyPrefix), Boolean.class, null), false);
         try {
+            if (async) {
+                return new AsyncFileHandler(handlerName, configuration);
+            }
             return new FileHandler(handlerName, configuration, true);
         } catch (IOException e) {
             throw new RuntimeException("Unable to create FileHandler", e);
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.logging.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.logging.api.Logger;
+import com.swirlds.logging.api.internal.LoggingSystem;
+import com.swirlds.logging.api.internal.configuration.ConfigLevelConverter;
+import com.swirlds.logging.api.internal.configuration.MarkerStateConverter;
+import com.swirlds.logging.api.internal.level.ConfigLevel;
+import com.swirlds.logging.api.internal.level.MarkerState;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AsyncFileHandlerTest {
+
+    private static final String HANDLER_NAME = "async";
+
+    @TempDir
+    Path tempDir;
+
+    private TestConfigBuilder configBuilder(final Path logFile) {
+        return new TestConfigBuilder()
+                .withConverter(ConfigLevel.class, new ConfigLevelConverter())
+                .withConverter(MarkerState.class, new MarkerStateConverter())
+                .withValue("logging.level", "trace")
+                .withValue("logging.handler.%s.type".formatted(HANDLER_NAME), "file")
+                .withValue("logging.handler.%s.enabled".formatted(HANDLER_NAME), "true")
+                .withValue("logging.handler.%s.async".formatted(HANDLER_NAME), "true")
+                .withValue("logging.handler.%s.formatTimestamp".formatted(HANDLER_NAME), "false")
+                .withValue("logging.handler.%s.file".formatted(HANDLER_NAME), logFile.toString());
+    }
+
+    private static long logAndStop(final Configuration configuration, final int count) throws IOException {
+        final LoggingSystem loggingSystem = new LoggingSystem(configuration);
+        final AsyncFileHandler handler = new AsyncFileHandler(HANDLER_NAME, configuration);
+        loggingSystem.addHandler(handler);
+        final Logger logger = loggingSystem.getLogger("test");
+        for (int i = 0; i < count; i++) {
+            logger.info("Message {}", i);
+        }
+        loggingSystem.stopAndFinalize();
+        return handler.getDroppedEventCount();
+    }
+
+    @Test
+    void testAllEventsAreWrittenInOrder() throws IOException {
+        // given
+        final Path logFile = tempDir.resolve("async.log");
+        final Configuration configuration = configBuilder(logFile)
+                .withValue("logging.handler.%s.async.blockWhenFull".formatted(HANDLER_NAME), "true")
+                .withValue("logging.handler.%s.async.bufferSize".formatted(HANDLER_NAME), "16")
+                .getOrCreateConfig();
+
+        // when
+        final long dropped = logAndStop(configuration, 1000);
+
+        // then
+        assertThat(dropped).isZero();
+        final List<String> lines = Files.readAllLines(logFile);
+        assertThat(lines).hasSize(1000);
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i)).contains("INFO").endsWith("Message " + i);
+        }
+    }
+
+    @Test
+    void testDroppedEventsAreReported() throws IOException {
+        // given
+        final Path logFile = tempDir.resolve("dropping.log");
+        final Configuration configuration = configBuilder(logFile)
+                .withValue("logging.handler.%s.async.bufferSize".formatted(HANDLER_NAME), "2")
+                .getOrCreateConfig();
+
+        // when
+        final long dropped = logAndStop(configuration, 10_000);
+
+        // then
+        final List<String> lines = Files.readAllLines(logFile);
+        final long written = lines.stream().filter(line -> line.contains("Message")).count();
+        final long reported = lines.stream()
+                .filter(line -> line.endsWith("log events were dropped because the log buffer was full"))
+                .mapToLong(line -> Long.parseLong(line.substring(0, line.indexOf(' '))))
+                .sum();
+        assertThat(written + dropped).isEqualTo(10_000);
+        assertThat(reported).isEqualTo(dropped);
+    }
+
+    @Test
+    void testFileIsRolledOver() throws IOException {
+        // given
+        final Path logFile = tempDir.resolve("rolling.log");
+        final Configuration configuration = configBuilder(logFile)
+                .withValue("logging.handler.%s.async.blockWhenFull".formatted(HANDLER_NAME), "true")
+                .withValue("logging.handler.%s.maxFileSize".formatted(HANDLER_NAME), "1024")
+                .withValue("logging.handler.%s.maxRollover".formatted(HANDLER_NAME), "3")
+                .getOrCreateConfig();
+
+        // when
+        logAndStop(configuration, 1000);
+
+        // then
+        try (final Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder("rolling.log", "rolling.log.1", "rolling.log.2", "rolling.log.3");
+        }
+        assertThat(Files.size(logFile.resolveSibling("rolling.log.1"))).isBetween(1024L, 2048L);
+        final List<String> lines = Files.readAllLines(logFile);
+        assertThat(lines).isNotEmpty();
+        assertThat(lines.get(lines.size() - 1)).endsWith("Message 999");
+    }
+}
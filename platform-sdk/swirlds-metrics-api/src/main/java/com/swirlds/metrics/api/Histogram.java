@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.metrics.api;
+
+import static com.swirlds.metrics.api.Metric.ValueType.MAX;
+import static com.swirlds.metrics.api.Metric.ValueType.P50;
+import static com.swirlds.metrics.api.Metric.ValueType.P90;
+import static com.swirlds.metrics.api.Metric.ValueType.P99;
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+
+import com.swirlds.base.utility.ToStringBuilder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * A {@code Histogram} records the distribution of {@code long}-values, e.g. latencies, so that percentiles can be
+ * reported in addition to the mean.
+ * <p>
+ * Values are stored in log-linear buckets: every power of two is split into eight equally sized buckets. A reported
+ * percentile is the largest value of the bucket it falls into, and is therefore never more than 12.5% larger than the
+ * actual value. Recording a value is lock-free and does not allocate.
+ * <p>
+ * The accessors of a {@code Histogram} take all values into account that were recorded since it was created or
+ * {@link #reset()}. Snapshots (e.g. the values written to the CSV-file) only take values into account that were
+ * recorded since the previous snapshot.
+ */
+public interface Histogram extends Metric {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    default MetricType getMetricType() {
+        return MetricType.HISTOGRAM;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    default DataType getDataType() {
+        return DataType.FLOAT;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    default EnumSet<ValueType> getValueTypes() {
+        return EnumSet.of(VALUE, MAX, P50, P90, P99);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@link ValueType#VALUE} is the mean of all recorded values.
+     */
+    @Override
+    @NonNull
+    default Double get(@NonNull final ValueType valueType) {
+        Objects.requireNonNull(valueType, "valueType must not be null");
+        return switch (valueType) {
+            case VALUE -> getMean();
+            case MAX -> (double) getPercentile(1.0);
+            case P50 -> (double) getPercentile(0.5);
+            case P90 -> (double) getPercentile(0.9);
+            case P99 -> (double) getPercentile(0.99);
+            default -> throw new IllegalArgumentException("Unsupported ValueType: " + valueType);
+        };
+    }
+
+    /**
+     * Record a value. Negative values are recorded as {@code 0}.
+     *
+     * @param value the value to record
+     */
+    void update(final long value);
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    long getCount();
+
+    /**
+     * Returns the sum of all recorded values.
+     *
+     * @return the sum of all recorded values
+     */
+    long getSum();
+
+    /**
+     * Returns the mean of all recorded values.
+     *
+     * @return the mean, or {@code 0.0} if no value was recorded
+     */
+    default double getMean() {
+        final long count = getCount();
+        return count == 0 ? 0.0 : (double) getSum() / count;
+    }
+
+    /**
+     * Returns an upper bound of the value at the given percentile.
+     *
+     * @param percentile the percentile, between {@code 0.0} and {@code 1.0} (inclusive)
+     * @return the largest value of the bucket that contains the percentile, or {@code 0} if no value was recorded
+     * @throws IllegalArgumentException if {@code percentile} is not between {@code 0.0} and {@code 1.0}
+     */
+    long getPercentile(final double percentile);
+
+    /**
+     * Returns the upper bounds of the buckets that are reported to monitoring systems that only support a small,
+     * fixed set of buckets (e.g. Prometheus).
+     *
+     * @return the bucket boundaries in ascending order
+     */
+    @NonNull
+    long[] getBucketBoundaries();
+
+    /**
+     * Returns the cumulative number of recorded values for each of the {@link #getBucketBoundaries() bucket
+     * boundaries}. Because values are stored in log-linear buckets, a value may be counted in the next higher
+     * bucket if it is less than 12.5% below a boundary.
+     *
+     * @return the number of values less than or equal to each boundary, followed by the number of all values
+     */
+    @NonNull
+    long[] getBucketCounts();
+
+    /**
+     * Configuration of a {@link Histogram}.
+     */
+    final class Config extends MetricConfig<Histogram, Histogram.Config> {
+
+        private static final long[] DEFAULT_BUCKET_BOUNDARIES = createDefaultBucketBoundaries();
+
+        private final @NonNull long[] bucketBoundaries;
+
+        /**
+         * Constructor of {@code Histogram.Config}
+         * <p>
+         * By default, the {@link #getBucketBoundaries() bucketBoundaries} follow the 1-2-5 series from {@code 1} to
+         * {@code 5,000,000,000}, and the {@link #getFormat() format} is set to {@link FloatFormats#FORMAT_DECIMAL_0}.
+         *
+         * @param category the kind of metric (metrics are grouped or filtered by this)
+         * @param name     a short name for the metric
+         * @throws NullPointerException     if one of the parameters is {@code null}
+         * @throws IllegalArgumentException if one of the parameters consists only of whitespaces
+         */
+        public Config(@NonNull final String category, @NonNull final String name) {
+            super(category, name, FloatFormats.FORMAT_DECIMAL_0);
+            this.bucketBoundaries = DEFAULT_BUCKET_BOUNDARIES;
+        }
+
+        /**
+         * Constructor of {@code Histogram.Config}
+         *
+         * @param category         the kind of metric (metrics are grouped or filtered by this)
+         * @param name             a short name for the metric
+         * @param description      metric description
+         * @param unit             metric unit
+         * @param format           format for metric
+         * @param bucketBoundaries the upper bounds of the buckets reported to monitoring systems
+         * @throws NullPointerException     if one of the parameters is {@code null}
+         * @throws IllegalArgumentException if one of the parameters consists only of whitespaces
+         */
+        private Config(
+                @NonNull final String category,
+                @NonNull final String name,
+                @NonNull final String description,
+                @NonNull final String unit,
+                @NonNull final String format,
+                @NonNull final long[] bucketBoundaries) {
+            super(category, name, description, unit, format);
+            this.bucketBoundaries = bucketBoundaries;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public Histogram.Config withDescription(@NonNull final String description) {
+            return new Histogram.Config(
+                    getCategory(), getName(), description, getUnit(), getFormat(), bucketBoundaries);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public Histogram.Config withUnit(@NonNull final String unit) {
+            return new Histogram.Config(
+                    getCategory(), getName(), getDescription(), unit, getFormat(), bucketBoundaries);
+        }
+
+        /**
+         * Sets the {@link Metric#getFormat() Metric.format} in fluent style.
+         *
+         * @param format the format-string
+         * @return a new configuration-object with updated {@code format}
+         * @throws NullPointerException     if {@code format} is {@code null}
+         * @throws IllegalArgumentException if {@code format} consists only of whitespaces
+         */
+        @NonNull
+        public Histogram.Config withFormat(@NonNull final String format) {
+            return new Histogram.Config(
+                    getCategory(), getName(), getDescription(), getUnit(), format, bucketBoundaries);
+        }
+
+        /**
+         * Getter of the {@link Histogram#getBucketBoundaries() bucketBoundaries}
+         *
+         * @return a copy of the bucket boundaries
+         */
+        @NonNull
+        public long[] getBucketBoundaries() {
+            return bucketBoundaries.clone();
+        }
+
+        /**
+         * Fluent-style setter of the bucket boundaries.
+         *
+         * @param bucketBoundaries the upper bounds of the buckets reported to monitoring systems
+         * @return a new configuration-object with updated {@code bucketBoundaries}
+         * @throws NullPointerException     if {@code bucketBoundaries} is {@code null}
+         * @throws IllegalArgumentException if {@code bucketBoundaries} is empty, contains negative values, or is not
+         *                                  strictly ascending
+         */
+        @NonNull
+        public Histogram.Config withBucketBoundaries(@NonNull final long... bucketBoundaries) {
+            Objects.requireNonNull(bucketBoundaries, "bucketBoundaries must not be null");
+            if (bucketBoundaries.length == 0) {
+                throw new IllegalArgumentException("At least one bucket boundary is required");
+            }
+            if (bucketBoundaries[0] < 0) {
+                throw new IllegalArgumentException("Bucket boundaries must not be negative");
+            }
+            for (int i = 1; i < bucketBoundaries.length; i++) {
+                if (bucketBoundaries[i] <= bucketBoundaries[i - 1]) {
+                    throw new IllegalArgumentException("Bucket boundaries must be strictly ascending");
+                }
+            }
+            return new Histogram.Config(
+                    getCategory(), getName(), getDescription(), getUnit(), getFormat(), bucketBoundaries.clone());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public Class<Histogram> getResultClass() {
+            return Histogram.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @NonNull
+        public Histogram create(@NonNull final MetricsFactory factory) {
+            return factory.createHistogram(this);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .appendSuper(super.toString())
+                    .append("bucketBoundaries", Arrays.toString(bucketBoundaries))
+                    .toString();
+        }
+
+        @NonNull
+        private static long[] createDefaultBucketBoundaries() {
+            final long[] boundaries = new long[30];
+            long magnitude = 1;
+            for (int i = 0; i < boundaries.length; i += 3) {
+                boundaries[i] = magnitude;
+                boundaries[i + 1] = 2 * magnitude;
+                boundaries[i + 2] = 5 * magnitude;
+                magnitude *= 10;
+            }
+            return boundaries;
+        }
+    }
+}
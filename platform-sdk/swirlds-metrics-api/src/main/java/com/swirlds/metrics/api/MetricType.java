@@ -50,5 +50,10 @@ public enum MetricType {
     /**
      * A stat entry is a flexible metric which behavior is defined by a provided operation.
      */
-    STAT_ENTRY
+    STAT_ENTRY,
+
+    /**
+     * A histogram is a metric that records the distribution of values, e.g. to report percentiles of latencies.
+     */
+    HISTOGRAM
 }
@@ -48,6 +48,15 @@ public interface MetricsFactory {
      */
     DoubleGauge createDoubleGauge(final DoubleGauge.Config config);
 
+    /**
+     * Creates a {@link Histogram}
+     *
+     * @param config the configuration
+     * @return the new {@code Histogram}
+     * @throws IllegalArgumentException if {@code config} is {@code null}
+     */
+    Histogram createHistogram(final Histogram.Config config);
+
     /**
      * Creates a {@link IntegerAccumulator}
      *
@@ -92,6 +92,9 @@ import com.swirlds.config.api.ConfigProperty;
  * @param completeStateNotifierUnhandledCapacity            number of unhandled tasks allowed for the state completion notifier
  * @param stateHasherSchedulerType                          the state hasher scheduler type
  * @param stateHasherUnhandledCapacity                      number of unhandled tasks allowed for the state hasher
+ * @param latencyTracingSamplePeriod                        if positive, one out of every this many pieces of data
+ *                                                          entering the wiring is sampled for latency tracing. If 0,
+ *                                                          latency tracing is disabled.
  */
 @ConfigData("platformSchedulers")
 public record PlatformSchedulersConfig(
@@ -138,4 +141,5 @@ public record PlatformSchedulersConfig(
         @ConfigProperty(defaultValue = "100") int hashLoggerUnhandledTaskCapacity,
         @ConfigProperty(defaultValue = "1000") int completeStateNotifierUnhandledCapacity,
         @ConfigProperty(defaultValue = "SEQUENTIAL_THREAD") TaskSchedulerType stateHasherSchedulerType,
-        @ConfigProperty(defaultValue = "2") int stateHasherUnhandledCapacity) {}
+        @ConfigProperty(defaultValue = "2") int stateHasherUnhandledCapacity,
+        @ConfigProperty(defaultValue = "0") int latencyTracingSamplePeriod) {}
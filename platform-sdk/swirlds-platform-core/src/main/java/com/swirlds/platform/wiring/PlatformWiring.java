@@ -185,6 +185,9 @@ public class PlatformWiring implements Startable, Stoppable, Clearable {
         logger.info(STARTUP.getMarker(), "Default platform pool parallelism: {}", parallelism);
 
         model = WiringModel.create(platformContext, platformContext.getTime(), defaultPool);
+        if (schedulersConfig.latencyTracingSamplePeriod() > 0) {
+            model.enableLatencyTracing(schedulersConfig.latencyTracingSamplePeriod());
+        }
 
         // This counter spans both the event hasher and the post hash collector. This is a workaround for the current
         // inability of concurrent schedulers to handle backpressure from an immediately subsequent scheduler.